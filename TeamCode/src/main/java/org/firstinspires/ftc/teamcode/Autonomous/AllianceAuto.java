@@ -0,0 +1,151 @@
+package org.firstinspires.ftc.teamcode.Autonomous;
+
+import com.pedropathing.follower.Follower;
+import com.pedropathing.geometry.Pose;
+import com.pedropathing.math.Vector;
+import com.pedropathing.paths.PathChain;
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.Constants;
+import org.firstinspires.ftc.teamcode.subsystems.HardwareRegistry;
+import org.firstinspires.ftc.teamcode.subsystems.InitOrchestrator;
+import org.firstinspires.ftc.teamcode.subsystems.MechanismInit;
+import org.firstinspires.ftc.teamcode.subsystems.NanoClock;
+import org.firstinspires.ftc.teamcode.subsystems.PoseHandoff;
+import org.firstinspires.ftc.teamcode.subsystems.RobotRecorder;
+import org.firstinspires.ftc.teamcode.subsystems.SmartShooter;
+import org.firstinspires.ftc.teamcode.subsystems.TelemetryPublisher;
+import org.firstinspires.ftc.teamcode.subsystems.TurretTargeting;
+
+/**
+ * Path-following autonomous shared by both alliances.
+ *
+ * Subclasses supply the alliance, start pose and paths; the routine itself is
+ * declared once in {@link #scoringRoutine} and run by {@link AutoLoop}, which
+ * drives the follower back through {@link AutoLoop.PathDriver}.
+ */
+public abstract class AllianceAuto extends OpMode implements AutoLoop.PathDriver {
+
+    private final boolean isRed;
+    private final Pose startPose;
+
+    private Follower follower;
+    private HardwareRegistry registry;
+    private AutoStep[] routine;
+    private AutoLoop auto;
+
+    // Subsystems
+    private SmartShooter shooter;
+    private TurretTargeting targeting;
+
+    private final RobotRecorder recorder = new RobotRecorder();
+
+    /**
+     * @param isRed     true for the red alliance
+     * @param startPose Field pose the robot is placed at, matching the first path
+     */
+    protected AllianceAuto(boolean isRed, Pose startPose) {
+        this.isRed = isRed;
+        this.startPose = startPose;
+    }
+
+    /**
+     * Builds this alliance's paths and routine.
+     *
+     * @param follower Follower the paths are built for
+     * @return Steps for the engine
+     */
+    protected abstract AutoStep[] buildRoutine(Follower follower);
+
+    /**
+     * Score the preload, then cycle three spike marks, then park. Spin-up overlaps
+     * the drive to each shooting spot and the intake runs along each collect path.
+     */
+    protected static AutoStep[] scoringRoutine(PathChain basket1, PathChain collect1, PathChain gate1,
+                                               PathChain basket2, PathChain collect2, PathChain basket3,
+                                               PathChain collect3, PathChain shoot4, PathChain park) {
+        return new AutoRoutine()
+                .follow("Basket1", basket1).with(AutoAction.SPIN_UP)
+                .shoot(3)
+                .follow("Collect1", collect1).with(AutoAction.INTAKE)
+                .follow("Gate1", gate1)
+                .follow("Basket2", basket2).with(AutoAction.SPIN_UP)
+                .shoot(3)
+                .follow("Collect2", collect2).with(AutoAction.INTAKE)
+                .follow("Basket3", basket3).with(AutoAction.SPIN_UP)
+                .shoot(3)
+                .follow("Collect3", collect3).with(AutoAction.INTAKE)
+                .follow("Shoot4", shoot4).with(AutoAction.SPIN_UP)
+                .shoot(3)
+                .follow("Park", park)
+                .build();
+    }
+
+    @Override
+    public void init() {
+        // Only the pose this run saves in stop() may reach TeleOp
+        PoseHandoff.clear();
+        HardwareRegistry.reset();
+        registry = HardwareRegistry.get(hardwareMap);
+
+        // Independent bring-up runs concurrently; see the durations on the driver station
+        InitOrchestrator orchestrator = new InitOrchestrator();
+        orchestrator.addStep("Follower", () -> {
+            follower = Constants.createFollower(hardwareMap);
+            follower.setStartingPose(startPose);
+        });
+        orchestrator.addStep("Paths", () -> routine = buildRoutine(follower), "Follower");
+        // The turret is centered at the start of Auto; zero it here and TeleOp keeps the count
+        MechanismInit mechanisms = MechanismInit.addMechanismSteps(orchestrator, hardwareMap, true);
+        orchestrator.run();
+        shooter = mechanisms.getShooter();
+        targeting = mechanisms.getTargeting();
+
+        telemetry.addData("Status", "Initialized");
+        MechanismInit.reportInit(telemetry, orchestrator, recorder, getClass().getSimpleName());
+
+        auto = new AutoLoop(isRed, routine, this, registry, shooter, targeting, recorder,
+                new TelemetryPublisher(telemetry), NanoClock.SYSTEM);
+    }
+
+    @Override
+    public void start() {
+        auto.start();
+    }
+
+    @Override
+    public void loop() {
+        registry.beginLoop();
+        follower.update();
+        Pose pose = follower.getPose();
+        Vector velocity = follower.getVelocity();
+        auto.update(pose.getX(), pose.getY(), pose.getHeading(),
+                velocity.getXComponent(), velocity.getYComponent());
+    }
+
+    // AutoLoop.PathDriver
+
+    @Override
+    public void followPath(PathChain path) {
+        follower.followPath(path);
+    }
+
+    @Override
+    public boolean isPathDone() {
+        return follower.atParametricEnd();
+    }
+
+    @Override
+    public void hold() {
+        follower.startTeleopDrive(true);
+        follower.setTeleOpDrive(0, 0, 0, true);
+    }
+
+    @Override
+    public void stop() {
+        // Let TeleOp start from where Auto ended
+        PoseHandoff.save(follower.getPose());
+        auto.stopAllSubsystems();
+        recorder.stop();
+    }
+}
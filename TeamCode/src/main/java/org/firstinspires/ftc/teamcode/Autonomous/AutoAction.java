@@ -0,0 +1,20 @@
+package org.firstinspires.ftc.teamcode.Autonomous;
+
+/**
+ * Actions that run alongside a step, e.g. intaking while a path is followed.
+ *
+ * A step stores its actions as a bit mask so checking them in the loop allocates nothing.
+ */
+public enum AutoAction {
+    /** Run the intake with the indexer open. */
+    INTAKE,
+    /** Aim the turret and hold the flywheels at shooting speed. */
+    SPIN_UP;
+
+    /**
+     * @return This action's bit in a step's action mask
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+}
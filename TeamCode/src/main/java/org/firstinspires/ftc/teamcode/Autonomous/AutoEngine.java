@@ -0,0 +1,221 @@
+package org.firstinspires.ftc.teamcode.Autonomous;
+
+import org.firstinspires.ftc.teamcode.subsystems.NanoClock;
+import org.firstinspires.ftc.teamcode.subsystems.ShotDetector;
+
+/**
+ * Runs an autonomous routine: a fixed array of {@link AutoStep}s, one after another.
+ *
+ * Each loop the engine:
+ * - checks whether the current step is done, dispatching on its type
+ * - applies the step's parallel actions (intake, spin-up) to the robot
+ * - moves to the next step if the current one finished
+ *
+ * Steps are built once at init and the engine only keeps an index and a few
+ * counters, so {@link #update()} allocates nothing.
+ *
+ * Shooting feeds one ball at a time: wait for the flywheels to recover, feed until
+ * the RPM dip shows the ball left. The timeouts only catch a missing ball or a
+ * stuck wheel.
+ */
+public class AutoEngine {
+
+    private static final long FEED_TIMEOUT_NANOS = 500_000_000L;       // No RPM dip seen: move on
+    private static final long RECOVERY_TIMEOUT_NANOS = 1_000_000_000L; // Never recovered: feed anyway
+
+    private final AutoStep[] steps;
+    private final AutoRobot robot;
+    private final NanoClock clock;
+
+    private int index = -1;
+    private boolean finished = false;
+    private long stepStartNanos;
+    private boolean shooterRunning = false;
+
+    // Shooting state
+    private int ballsShot;
+    private boolean feeding;
+    private long phaseStartNanos;
+    private int shotsBeforeFeed;
+
+    /**
+     * Constructs an engine on the system clock.
+     *
+     * @param steps Routine from {@link AutoRoutine#build()}
+     * @param robot Hardware to drive
+     */
+    public AutoEngine(AutoStep[] steps, AutoRobot robot) {
+        this(steps, robot, NanoClock.SYSTEM);
+    }
+
+    /**
+     * @param steps Routine from {@link AutoRoutine#build()}
+     * @param robot Hardware to drive
+     * @param clock Time source for waits and shooting timeouts
+     */
+    public AutoEngine(AutoStep[] steps, AutoRobot robot, NanoClock clock) {
+        if (steps == null || steps.length == 0) {
+            throw new IllegalArgumentException("Routine has no steps");
+        }
+        this.steps = steps.clone();
+        this.robot = robot;
+        this.clock = clock;
+    }
+
+    /**
+     * Enters the first step. Call from the OpMode's start().
+     */
+    public void start() {
+        finished = false;
+        enter(0, clock.nanoTime());
+    }
+
+    /**
+     * Advances the routine. Call once per loop, after the follower and shooter updates.
+     */
+    public void update() {
+        if (finished || index < 0) {
+            return;
+        }
+        long now = clock.nanoTime();
+        AutoStep step = steps[index];
+
+        boolean done;
+        switch (step.type) {
+            case FOLLOW_PATH:
+                done = robot.isPathDone();
+                break;
+            case SHOOT:
+                done = updateShooting(step, now);
+                break;
+            case WAIT_UNTIL:
+                done = step.condition.isMet()
+                        || (step.timeoutNanos > 0 && now - stepStartNanos >= step.timeoutNanos);
+                break;
+            case WAIT:
+                done = now - stepStartNanos >= step.timeoutNanos;
+                break;
+            default:
+                done = true;
+                break;
+        }
+
+        applyActions(step);
+
+        if (done) {
+            enter(index + 1, now);
+        }
+    }
+
+    private boolean updateShooting(AutoStep step, long now) {
+        if (ballsShot < step.count) {
+            ShotDetector detector = robot.getShotDetector();
+            long timeInPhase = now - phaseStartNanos;
+            if (feeding) {
+                if (detector.getShotCount() > shotsBeforeFeed || timeInPhase >= FEED_TIMEOUT_NANOS) {
+                    ballsShot++;
+                    feeding = false;
+                    phaseStartNanos = now;
+                }
+            } else if (detector.isRecovered() || timeInPhase >= RECOVERY_TIMEOUT_NANOS) {
+                shotsBeforeFeed = detector.getShotCount();
+                feeding = true;
+                phaseStartNanos = now;
+            }
+        }
+        return ballsShot >= step.count;
+    }
+
+    private void applyActions(AutoStep step) {
+        boolean shooting = step.type == AutoStep.Type.SHOOT;
+        // Intake and feed share a belt; while shooting it only runs to feed
+        boolean intaking = step.has(AutoAction.INTAKE) && !shooting;
+        robot.setIntake(intaking || feeding);
+        robot.setIndexerOpen(intaking || shooting);
+
+        if (shooting || step.has(AutoAction.SPIN_UP)) {
+            robot.spinUp();
+            shooterRunning = true;
+        } else if (shooterRunning) {
+            robot.stopShooter();
+            shooterRunning = false;
+        }
+    }
+
+    private void enter(int next, long now) {
+        ballsShot = 0;
+        feeding = false;
+        phaseStartNanos = now;
+        stepStartNanos = now;
+
+        if (next >= steps.length) {
+            index = steps.length;
+            finished = true;
+            shooterRunning = false;
+            robot.finish();
+            return;
+        }
+        index = next;
+        AutoStep step = steps[index];
+        if (step.type == AutoStep.Type.FOLLOW_PATH) {
+            robot.followPath(step.path);
+        }
+    }
+
+    /**
+     * @return true once every step has run
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * @return Index of the current step (step count once finished, -1 before start)
+     */
+    public int getStepIndex() {
+        return index;
+    }
+
+    /**
+     * @return Current step, or null before start and once finished
+     */
+    public AutoStep getCurrentStep() {
+        return index >= 0 && index < steps.length ? steps[index] : null;
+    }
+
+    /**
+     * @return Name of the current step for telemetry
+     */
+    public String getStepName() {
+        AutoStep step = getCurrentStep();
+        if (step != null) {
+            return step.name;
+        }
+        return finished ? "Done" : "Not started";
+    }
+
+    /**
+     * @return Balls fed in the current shooting step
+     */
+    public int getBallsShot() {
+        return ballsShot;
+    }
+
+    /**
+     * @return true while a ball is being fed
+     */
+    public boolean isFeeding() {
+        return feeding;
+    }
+
+    /**
+     * @return Milliseconds spent in the current step
+     */
+    public long getStepElapsedMs() {
+        return (clock.nanoTime() - stepStartNanos) / 1_000_000L;
+    }
+
+    public int getStepCount() {
+        return steps.length;
+    }
+}
@@ -0,0 +1,219 @@
+package org.firstinspires.ftc.teamcode.Autonomous;
+
+import com.pedropathing.paths.PathChain;
+
+import org.firstinspires.ftc.teamcode.subsystems.HardwareRegistry;
+import org.firstinspires.ftc.teamcode.subsystems.Indexer;
+import org.firstinspires.ftc.teamcode.subsystems.Intake;
+import org.firstinspires.ftc.teamcode.subsystems.NanoClock;
+import org.firstinspires.ftc.teamcode.subsystems.RobotRecorder;
+import org.firstinspires.ftc.teamcode.subsystems.ShotDetector;
+import org.firstinspires.ftc.teamcode.subsystems.SmartShooter;
+import org.firstinspires.ftc.teamcode.subsystems.TelemetryPublisher;
+import org.firstinspires.ftc.teamcode.subsystems.TurretTargeting;
+
+/**
+ * Autonomous loop and mechanism actions shared by both alliances.
+ *
+ * The OpMode owns the Pedro follower. Each loop it calls
+ * {@link HardwareRegistry#beginLoop()}, updates the follower and passes its pose
+ * and velocity to {@link #update}; path commands from the routine go back to it
+ * through {@link PathDriver}. Everything else happens here, so tests run the same
+ * code the robot does.
+ */
+public class AutoLoop implements AutoRobot {
+
+    private static final double INTAKE_POWER = 0.8;
+
+    /**
+     * The drivetrain side of {@link AutoRobot}.
+     */
+    public interface PathDriver {
+
+        /**
+         * Starts following a path.
+         *
+         * @param path Path to follow
+         */
+        void followPath(PathChain path);
+
+        /**
+         * @return true once the last path has been followed to its end
+         */
+        boolean isPathDone();
+
+        /**
+         * Holds position for the rest of the period.
+         */
+        void hold();
+    }
+
+    private final boolean isRed;
+    private final PathDriver driver;
+    private final AutoEngine engine;
+
+    // Subsystems
+    private final Intake intake;
+    private final SmartShooter shooter;
+    private final TurretTargeting targeting;
+    private final Indexer indexer;
+
+    // Pedro owns the drive motors here and reading their power back costs a hub
+    // transaction each, so Auto records pose and mechanisms but not drive powers
+    private final RobotRecorder recorder;
+
+    // Follower pose and velocity, read once per loop
+    private double robotX;
+    private double robotY;
+    private double robotHeading;
+    private double velocityX;
+    private double velocityY;
+
+    private final TelemetryPublisher publisher;
+    private final int tStep;
+    private final int tBallsShot;
+    private final int tShotsDetected;
+
+    /**
+     * Registers the telemetry lines. The intake and indexer come from the registry.
+     *
+     * @param isRed     true for the red alliance
+     * @param routine   Steps for the engine
+     * @param driver    Path follower
+     * @param registry  Shared hardware for this OpMode
+     * @param shooter   Shooter
+     * @param targeting Turret aiming
+     * @param recorder  Flight recorder, already started (or off)
+     * @param publisher Telemetry publisher to register the loop lines on
+     * @param clock     Time source for the engine's waits and timeouts
+     */
+    public AutoLoop(boolean isRed, AutoStep[] routine, PathDriver driver, HardwareRegistry registry,
+                    SmartShooter shooter, TurretTargeting targeting, RobotRecorder recorder,
+                    TelemetryPublisher publisher, NanoClock clock) {
+        this.isRed = isRed;
+        this.driver = driver;
+        this.intake = registry.getIntake();
+        this.indexer = registry.getIndexer();
+        this.shooter = shooter;
+        this.targeting = targeting;
+        this.recorder = recorder;
+        this.engine = new AutoEngine(routine, this, clock);
+
+        this.publisher = publisher;
+        tStep = publisher.add("Step", "%d %s");
+        tBallsShot = publisher.add("Balls Shot", "%d");
+        tShotsDetected = publisher.add("Shots Detected", "%d");
+    }
+
+    /**
+     * Starts the routine. Call from the OpMode's start().
+     */
+    public void start() {
+        engine.start();
+    }
+
+    /**
+     * Runs one loop: subsystems, the routine, the flight recorder and telemetry.
+     * Call after {@link HardwareRegistry#beginLoop()} and the follower update.
+     *
+     * @param x         Follower X in inches
+     * @param y         Follower Y in inches
+     * @param heading   Follower heading in radians
+     * @param velocityX Follower X velocity in inches per second
+     * @param velocityY Follower Y velocity in inches per second
+     */
+    public void update(double x, double y, double heading, double velocityX, double velocityY) {
+        // One pose and velocity read per loop; the shooting steps and the recorder share them
+        robotX = x;
+        robotY = y;
+        robotHeading = heading;
+        this.velocityX = velocityX;
+        this.velocityY = velocityY;
+
+        shooter.update();
+        targeting.update();
+        engine.update();
+
+        recorder.getSample().setStep(engine.getStepIndex());
+        recorder.getSample().setPose(true, robotX, robotY, robotHeading);
+        recorder.record(shooter, targeting);
+
+        publisher.set(tStep, engine.getStepIndex());
+        publisher.setText(tStep, 1, engine.getStepName());
+        publisher.set(tBallsShot, engine.getBallsShot());
+        publisher.set(tShotsDetected, shooter.getShotDetector().getShotCount());
+        publisher.publish();
+    }
+
+    /**
+     * @return Engine running the routine
+     */
+    public AutoEngine getEngine() {
+        return engine;
+    }
+
+    // AutoRobot
+
+    @Override
+    public void followPath(PathChain path) {
+        driver.followPath(path);
+    }
+
+    @Override
+    public boolean isPathDone() {
+        return driver.isPathDone();
+    }
+
+    @Override
+    public void setIntake(boolean running) {
+        if (running) {
+            intake.intake(INTAKE_POWER);
+        } else {
+            intake.stop();
+        }
+    }
+
+    @Override
+    public void setIndexerOpen(boolean open) {
+        if (open) {
+            indexer.open();
+        } else {
+            indexer.close();
+        }
+    }
+
+    @Override
+    public void spinUp() {
+        // Lead the basket if still moving
+        shooter.shootWhileMoving(robotX, robotY, robotHeading, velocityX, velocityY, isRed);
+        targeting.setLeadAngle(shooter.getMovingShotSolver().getLeadAngleDegrees());
+        // Aim from the follower pose so the turret tracks even when the tag is out of view
+        targeting.aimFieldRelative(robotX, robotY, robotHeading, isRed);
+    }
+
+    @Override
+    public void stopShooter() {
+        shooter.stopShooter();
+    }
+
+    @Override
+    public ShotDetector getShotDetector() {
+        return shooter.getShotDetector();
+    }
+
+    @Override
+    public void finish() {
+        stopAllSubsystems();
+        driver.hold();
+    }
+
+    /**
+     * Stops every mechanism. Call from the OpMode's stop().
+     */
+    public void stopAllSubsystems() {
+        intake.stop();
+        shooter.stop();
+        targeting.stop();
+        indexer.close();
+    }
+}
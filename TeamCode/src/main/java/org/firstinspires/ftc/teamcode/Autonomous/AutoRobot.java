@@ -0,0 +1,55 @@
+package org.firstinspires.ftc.teamcode.Autonomous;
+
+import com.pedropathing.paths.PathChain;
+
+import org.firstinspires.ftc.teamcode.subsystems.ShotDetector;
+
+/**
+ * The hardware {@link AutoEngine} drives. Implemented by the OpMode; the engine
+ * calls the setters every loop, so implementations should write through cached
+ * hardware (or ignore repeats) rather than assume a call means a change.
+ */
+public interface AutoRobot {
+
+    /**
+     * Starts following a path.
+     */
+    void followPath(PathChain path);
+
+    /**
+     * @return true once the path started by {@link #followPath} has reached its end
+     */
+    boolean isPathDone();
+
+    /**
+     * Runs or stops the intake. The same belt feeds the shooter, so this also
+     * feeds balls while shooting.
+     */
+    void setIntake(boolean running);
+
+    /**
+     * Opens or closes the indexer between the intake and the shooter.
+     */
+    void setIndexerOpen(boolean open);
+
+    /**
+     * Aims the turret and holds the flywheels at shooting speed. Called every loop
+     * while spin-up is active.
+     */
+    void spinUp();
+
+    /**
+     * Stops the flywheels. Called once when spin-up ends.
+     */
+    void stopShooter();
+
+    /**
+     * @return Detector watching the flywheels for fired balls
+     */
+    ShotDetector getShotDetector();
+
+    /**
+     * Called once after the last step.
+     */
+    void finish();
+}
@@ -0,0 +1,111 @@
+package org.firstinspires.ftc.teamcode.Autonomous;
+
+import com.pedropathing.paths.PathChain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the step list for {@link AutoEngine}.
+ *
+ * Usage:
+ * <pre>
+ * AutoStep[] steps = new AutoRoutine()
+ *         .follow("Basket1", paths.Basket1).with(AutoAction.SPIN_UP)
+ *         .shoot(3)
+ *         .follow("Collect1", paths.Collect1).with(AutoAction.INTAKE)
+ *         .build();
+ * </pre>
+ */
+public class AutoRoutine {
+
+    private static final long NANOS_PER_MS = 1_000_000L;
+
+    private final List<AutoStep> steps = new ArrayList<>();
+
+    /**
+     * Follows a path until the follower reaches its end.
+     *
+     * @param name Shown on telemetry
+     * @param path Path to follow
+     */
+    public AutoRoutine follow(String name, PathChain path) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path must not be null: " + name);
+        }
+        return add(new AutoStep(AutoStep.Type.FOLLOW_PATH, name, path, 0, 0L, null, 0));
+    }
+
+    /**
+     * Fires balls one at a time, aiming and holding the flywheels throughout.
+     *
+     * @param balls Number of balls to fire
+     */
+    public AutoRoutine shoot(int balls) {
+        if (balls < 1) {
+            throw new IllegalArgumentException("Ball count must be positive: " + balls);
+        }
+        return add(new AutoStep(AutoStep.Type.SHOOT, "Shoot " + balls, null, balls, 0L, null, 0));
+    }
+
+    /**
+     * Waits until a condition holds.
+     *
+     * @param name      Shown on telemetry
+     * @param condition Polled every loop
+     * @param timeoutMs Give up and move on after this long; 0 waits forever
+     */
+    public AutoRoutine waitUntil(String name, AutoStep.Condition condition, long timeoutMs) {
+        if (condition == null) {
+            throw new IllegalArgumentException("Condition must not be null: " + name);
+        }
+        if (timeoutMs < 0) {
+            throw new IllegalArgumentException("Timeout must not be negative: " + timeoutMs);
+        }
+        return add(new AutoStep(AutoStep.Type.WAIT_UNTIL, name, null, 0,
+                timeoutMs * NANOS_PER_MS, condition, 0));
+    }
+
+    /**
+     * Waits a fixed time.
+     *
+     * @param ms Milliseconds to wait
+     */
+    public AutoRoutine waitMs(long ms) {
+        if (ms < 0) {
+            throw new IllegalArgumentException("Wait must not be negative: " + ms);
+        }
+        return add(new AutoStep(AutoStep.Type.WAIT, "Wait " + ms + "ms", null, 0,
+                ms * NANOS_PER_MS, null, 0));
+    }
+
+    /**
+     * Runs actions in parallel with the last added step.
+     *
+     * @param actions Actions to run while the step is active
+     */
+    public AutoRoutine with(AutoAction... actions) {
+        if (steps.isEmpty()) {
+            throw new IllegalStateException("with() needs a step to attach to");
+        }
+        int mask = 0;
+        for (AutoAction action : actions) {
+            mask |= action.bit();
+        }
+        int last = steps.size() - 1;
+        steps.set(last, steps.get(last).withActions(mask));
+        return this;
+    }
+
+    private AutoRoutine add(AutoStep step) {
+        steps.add(step);
+        return this;
+    }
+
+    /**
+     * @return The steps in order
+     */
+    public AutoStep[] build() {
+        return steps.toArray(new AutoStep[0]);
+    }
+}
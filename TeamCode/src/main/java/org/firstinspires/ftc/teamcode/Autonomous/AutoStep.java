@@ -0,0 +1,89 @@
+package org.firstinspires.ftc.teamcode.Autonomous;
+
+import com.pedropathing.paths.PathChain;
+
+/**
+ * One state of an autonomous routine. Built once by {@link AutoRoutine} at init,
+ * never modified afterwards.
+ */
+public final class AutoStep {
+
+    /** What the step does; {@link AutoEngine} dispatches on this. */
+    public enum Type {
+        /** Follow a path until the follower reaches its end. */
+        FOLLOW_PATH,
+        /** Fire a number of balls, one at a time. */
+        SHOOT,
+        /** Wait until a condition holds, or until the timeout. */
+        WAIT_UNTIL,
+        /** Wait a fixed time. */
+        WAIT
+    }
+
+    /**
+     * Condition for {@link Type#WAIT_UNTIL}. Create it once when the routine is
+     * built; it is polled every loop.
+     */
+    public interface Condition {
+        boolean isMet();
+    }
+
+    final Type type;
+    final String name;
+    final PathChain path;
+    final int count;
+    final long timeoutNanos;
+    final Condition condition;
+    final int actions;
+
+    AutoStep(Type type, String name, PathChain path, int count, long timeoutNanos,
+             Condition condition, int actions) {
+        this.type = type;
+        this.name = name;
+        this.path = path;
+        this.count = count;
+        this.timeoutNanos = timeoutNanos;
+        this.condition = condition;
+        this.actions = actions;
+    }
+
+    /**
+     * @return Copy of this step with more parallel actions
+     */
+    AutoStep withActions(int mask) {
+        return new AutoStep(type, name, path, count, timeoutNanos, condition, actions | mask);
+    }
+
+    /**
+     * @return true if the action runs in parallel with this step
+     */
+    public boolean has(AutoAction action) {
+        return (actions & action.bit()) != 0;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public PathChain getPath() {
+        return path;
+    }
+
+    /**
+     * @return Balls to fire for {@link Type#SHOOT}
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return Timeout for {@link Type#WAIT_UNTIL}, or duration for {@link Type#WAIT}; 0 for none
+     */
+    public long getTimeoutNanos() {
+        return timeoutNanos;
+    }
+}
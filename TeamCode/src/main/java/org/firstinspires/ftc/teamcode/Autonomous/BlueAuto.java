@@ -0,0 +1,24 @@
+package org.firstinspires.ftc.teamcode;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.pedropathing.follower.Follower;
+import com.pedropathing.geometry.Pose;
+
+import org.firstinspires.ftc.teamcode.Autonomous.AllianceAuto;
+import org.firstinspires.ftc.teamcode.Autonomous.AutoStep;
+
+@Autonomous(name = "Blue Path Auto", group = "Pedro Pathing")
+public class BlueAuto extends AllianceAuto {
+
+    public BlueAuto() {
+        // Match first pose in Basket1
+        super(false, new Pose(56.000, 136.000));
+    }
+
+    @Override
+    protected AutoStep[] buildRoutine(Follower follower) {
+        BluePaths.Paths paths = new BluePaths.Paths(follower);
+        return scoringRoutine(paths.Basket1, paths.Collect1, paths.Gate1, paths.Basket2,
+                paths.Collect2, paths.Basket3, paths.Collect3, paths.Shoot4, paths.Park);
+    }
+}
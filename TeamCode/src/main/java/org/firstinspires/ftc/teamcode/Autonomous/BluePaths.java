@@ -1,11 +1,73 @@
 package org.firstinspires.ftc.teamcode;
 
 import com.pedropathing.follower.Follower;
-import com.pedropathing.geometry.*;
 import com.pedropathing.paths.*;
 
+import org.firstinspires.ftc.teamcode.Autonomous.PathSpec;
+
 public class BluePaths {
 
+    // Authored on the blue side; RedPaths mirrors these
+    public static final PathSpec BASKET1 = new PathSpec.Builder()
+            .addPath(56.000, 136.000,
+                     47.498, 96.334)
+            .setConstantHeading(180)
+            .build();
+
+    public static final PathSpec COLLECT1 = new PathSpec.Builder()
+            .addPath(47.498, 96.334,
+                     39.263, 83.685,
+                     20.672, 83.725)
+            .setConstantHeading(180)
+            .build();
+
+    public static final PathSpec GATE1 = new PathSpec.Builder()
+            .addPath(20.672, 83.725,
+                     28.432, 71.585,
+                     16.892, 70.913)
+            .setConstantHeading(180)
+            .build();
+
+    public static final PathSpec BASKET2 = new PathSpec.Builder()
+            .addPath(16.892, 70.913,
+                     61.547, 72.251)
+            .setConstantHeading(180)
+            .build();
+
+    public static final PathSpec COLLECT2 = new PathSpec.Builder()
+            .addPath(61.547, 72.251,
+                     58.298, 59.760,
+                     20.770, 59.805)
+            .setConstantHeading(180)
+            .build();
+
+    public static final PathSpec BASKET3 = new PathSpec.Builder()
+            .addPath(20.770, 59.805,
+                     58.246, 59.770,
+                     61.240, 72.446)
+            .setConstantHeading(180)
+            .build();
+
+    public static final PathSpec COLLECT3 = new PathSpec.Builder()
+            .addPath(61.240, 72.446,
+                     50.307, 32.611,
+                     19.638, 35.906)
+            .setConstantHeading(180)
+            .build();
+
+    public static final PathSpec SHOOT4 = new PathSpec.Builder()
+            .addPath(19.638, 35.906,
+                     50.416, 32.416,
+                     61.111, 72.411)
+            .setConstantHeading(180)
+            .build();
+
+    public static final PathSpec PARK = new PathSpec.Builder()
+            .addPath(61.111, 72.411,
+                     16.725, 70.913)
+            .setTangentHeading()
+            .build();
+
     public static class Paths {
         public PathChain Basket1;
         public PathChain Collect1;
@@ -17,75 +79,17 @@ public class BluePaths {
         public PathChain Shoot4;
         public PathChain Park;
 
+        // Builds every chain up front so start() does no geometry work
         public Paths(Follower follower) {
-            Basket1 = follower.pathBuilder()
-                    .addPath(new BezierLine(
-                            new Pose(56.000, 136.000),
-                            new Pose(47.498, 96.334)))
-                    .setConstantHeadingInterpolation(Math.toRadians(180))
-                    .build();
-
-            Collect1 = follower.pathBuilder()
-                    .addPath(new BezierCurve(
-                            new Pose(47.498, 96.334),
-                            new Pose(39.263, 83.685),
-                            new Pose(20.672, 83.725)))
-                    .setConstantHeadingInterpolation(Math.toRadians(180))
-                    .build();
-
-            Gate1 = follower.pathBuilder()
-                    .addPath(new BezierCurve(
-                            new Pose(20.672, 83.725),
-                            new Pose(28.432, 71.585),
-                            new Pose(16.892, 70.913)))
-                    .setConstantHeadingInterpolation(Math.toRadians(180))
-                    .build();
-
-            Basket2 = follower.pathBuilder()
-                    .addPath(new BezierLine(
-                            new Pose(16.892, 70.913),
-                            new Pose(61.547, 72.251)))
-                    .setConstantHeadingInterpolation(Math.toRadians(180))
-                    .build();
-
-            Collect2 = follower.pathBuilder()
-                    .addPath(new BezierCurve(
-                            new Pose(61.547, 72.251),
-                            new Pose(58.298, 59.760),
-                            new Pose(20.770, 59.805)))
-                    .setConstantHeadingInterpolation(Math.toRadians(180))
-                    .build();
-
-            Basket3 = follower.pathBuilder()
-                    .addPath(new BezierCurve(
-                            new Pose(20.770, 59.805),
-                            new Pose(58.246, 59.770),
-                            new Pose(61.240, 72.446)))
-                    .setConstantHeadingInterpolation(Math.toRadians(180))
-                    .build();
-
-            Collect3 = follower.pathBuilder()
-                    .addPath(new BezierCurve(
-                            new Pose(61.240, 72.446),
-                            new Pose(50.307, 32.611),
-                            new Pose(19.638, 35.906)))
-                    .setConstantHeadingInterpolation(Math.toRadians(180))
-                    .build();
-
-            Shoot4 = follower.pathBuilder()
-                    .addPath(new BezierCurve(
-                            new Pose(19.638, 35.906),
-                            new Pose(50.416, 32.416),
-                            new Pose(61.111, 72.411)))
-                    .setConstantHeadingInterpolation(Math.toRadians(180))
-                    .build();
-
-            Park = follower.pathBuilder()
-                    .addPath(new BezierLine(
-                            new Pose(61.111, 72.411),
-                            new Pose(16.725, 70.913)))
-                    .setTangentHeadingInterpolation()
-                    .build();
+            Basket1 = BASKET1.build(follower);
+            Collect1 = COLLECT1.build(follower);
+            Gate1 = GATE1.build(follower);
+            Basket2 = BASKET2.build(follower);
+            Collect2 = COLLECT2.build(follower);
+            Basket3 = BASKET3.build(follower);
+            Collect3 = COLLECT3.build(follower);
+            Shoot4 = SHOOT4.build(follower);
+            Park = PARK.build(follower);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package org.firstinspires.ftc.teamcode.Autonomous;
+
+/**
+ * Mirrors paths between alliances.
+ *
+ * The field is symmetric about y = 72, so a red path is the blue one with
+ * new_y = 144 - old_y and the heading negated (180 stays 180, 90 becomes -90).
+ * Mirror the specs once, e.g. in a static field, and build the chains in init.
+ */
+public final class PathMirror {
+
+    /** Field width in inches. */
+    public static final double FIELD_SIZE = 144.0;
+
+    private PathMirror() {
+    }
+
+    /**
+     * @param y Field y in inches
+     * @return The y on the other alliance's side
+     */
+    public static double mirrorY(double y) {
+        return FIELD_SIZE - y;
+    }
+
+    /**
+     * @param headingDegrees Field heading
+     * @return The mirrored heading, in (-180, 180]
+     */
+    public static double mirrorHeading(double headingDegrees) {
+        double mirrored = -headingDegrees % 360.0;
+        if (mirrored <= -180.0) {
+            mirrored += 360.0;
+        } else if (mirrored > 180.0) {
+            mirrored -= 360.0;
+        }
+        return mirrored;
+    }
+
+    /**
+     * @param spec Path for one alliance
+     * @return The same path for the other alliance
+     */
+    public static PathSpec mirror(PathSpec spec) {
+        PathSpec.Builder builder = new PathSpec.Builder();
+        for (int s = 0; s < spec.getSegmentCount(); s++) {
+            PathSpec.Segment segment = spec.getSegment(s);
+            double[] xs = new double[segment.getPointCount()];
+            double[] ys = new double[segment.getPointCount()];
+            for (int i = 0; i < xs.length; i++) {
+                xs[i] = segment.getX(i);
+                ys[i] = mirrorY(segment.getY(i));
+            }
+            boolean tangent = segment.getHeadingMode() == PathSpec.HeadingMode.TANGENT;
+            builder.addSegment(new PathSpec.Segment(xs, ys, segment.getHeadingMode(),
+                    tangent ? 0.0 : mirrorHeading(segment.getStartHeadingDegrees()),
+                    tangent ? 0.0 : mirrorHeading(segment.getEndHeadingDegrees())));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,217 @@
+package org.firstinspires.ftc.teamcode.Autonomous;
+
+import com.pedropathing.follower.Follower;
+import com.pedropathing.geometry.BezierCurve;
+import com.pedropathing.geometry.BezierLine;
+import com.pedropathing.geometry.Pose;
+import com.pedropathing.paths.PathBuilder;
+import com.pedropathing.paths.PathChain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain-number description of a PathChain: Bezier control points and heading
+ * interpolation for each segment.
+ *
+ * Paths are declared once as specs, transformed (see {@link PathMirror}) without
+ * touching the follower, then turned into PathChains with {@link #build(Follower)}
+ * during init.
+ *
+ * Usage:
+ * <pre>
+ * PathSpec basket = new PathSpec.Builder()
+ *         .addPath(56.000, 136.000, 47.498, 96.334)
+ *         .setConstantHeading(180)
+ *         .build();
+ * </pre>
+ */
+public final class PathSpec {
+
+    /** Heading interpolation, matching the PathBuilder setters. */
+    public enum HeadingMode {
+        CONSTANT,
+        LINEAR,
+        TANGENT
+    }
+
+    /** One Bezier segment and how the heading follows it. */
+    public static final class Segment {
+        private final double[] xs;
+        private final double[] ys;
+        private final HeadingMode headingMode;
+        private final double startHeading;
+        private final double endHeading;
+
+        Segment(double[] xs, double[] ys, HeadingMode headingMode, double startHeading, double endHeading) {
+            this.xs = xs;
+            this.ys = ys;
+            this.headingMode = headingMode;
+            this.startHeading = startHeading;
+            this.endHeading = endHeading;
+        }
+
+        /**
+         * @return Number of control points; 2 is a line
+         */
+        public int getPointCount() {
+            return xs.length;
+        }
+
+        public double getX(int point) {
+            return xs[point];
+        }
+
+        public double getY(int point) {
+            return ys[point];
+        }
+
+        public HeadingMode getHeadingMode() {
+            return headingMode;
+        }
+
+        /**
+         * @return Heading for CONSTANT, start heading for LINEAR (degrees); 0 for TANGENT
+         */
+        public double getStartHeadingDegrees() {
+            return startHeading;
+        }
+
+        /**
+         * @return End heading for LINEAR, same as the start otherwise (degrees)
+         */
+        public double getEndHeadingDegrees() {
+            return endHeading;
+        }
+    }
+
+    private final Segment[] segments;
+
+    private PathSpec(Segment[] segments) {
+        this.segments = segments;
+    }
+
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    public Segment getSegment(int index) {
+        return segments[index];
+    }
+
+    /**
+     * Builds the PathChain. Call during init; this allocates the Pedro geometry.
+     *
+     * @param follower Follower the chain is built for
+     * @return The chain
+     */
+    public PathChain build(Follower follower) {
+        PathBuilder builder = follower.pathBuilder();
+        for (Segment segment : segments) {
+            Pose[] poses = new Pose[segment.getPointCount()];
+            for (int i = 0; i < poses.length; i++) {
+                poses[i] = new Pose(segment.xs[i], segment.ys[i]);
+            }
+            if (poses.length == 2) {
+                builder.addPath(new BezierLine(poses[0], poses[1]));
+            } else {
+                builder.addPath(new BezierCurve(poses));
+            }
+            switch (segment.headingMode) {
+                case CONSTANT:
+                    builder.setConstantHeadingInterpolation(Math.toRadians(segment.startHeading));
+                    break;
+                case LINEAR:
+                    builder.setLinearHeadingInterpolation(
+                            Math.toRadians(segment.startHeading), Math.toRadians(segment.endHeading));
+                    break;
+                case TANGENT:
+                    builder.setTangentHeadingInterpolation();
+                    break;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Collects segments in the same order as Pedro's PathBuilder: add a path, then
+     * set its heading interpolation.
+     */
+    public static class Builder {
+        private final List<Segment> segments = new ArrayList<>();
+        private double[] pendingXs;
+        private double[] pendingYs;
+
+        /**
+         * Adds a Bezier segment; two points make a line.
+         *
+         * @param xy Control points as x0, y0, x1, y1, ... (inches)
+         */
+        public Builder addPath(double... xy) {
+            if (xy.length < 4 || xy.length % 2 != 0) {
+                throw new IllegalArgumentException("Need at least two x, y control points: " + xy.length);
+            }
+            flush();
+            pendingXs = new double[xy.length / 2];
+            pendingYs = new double[xy.length / 2];
+            for (int i = 0; i < pendingXs.length; i++) {
+                pendingXs[i] = xy[2 * i];
+                pendingYs[i] = xy[2 * i + 1];
+            }
+            return this;
+        }
+
+        /**
+         * @param headingDegrees Heading held along the last added segment
+         */
+        public Builder setConstantHeading(double headingDegrees) {
+            return finish(HeadingMode.CONSTANT, headingDegrees, headingDegrees);
+        }
+
+        /**
+         * @param startDegrees Heading at the start of the last added segment
+         * @param endDegrees   Heading at its end
+         */
+        public Builder setLinearHeading(double startDegrees, double endDegrees) {
+            return finish(HeadingMode.LINEAR, startDegrees, endDegrees);
+        }
+
+        /**
+         * Faces along the last added segment.
+         */
+        public Builder setTangentHeading() {
+            return finish(HeadingMode.TANGENT, 0.0, 0.0);
+        }
+
+        private Builder finish(HeadingMode mode, double start, double end) {
+            if (pendingXs == null) {
+                throw new IllegalStateException("Heading set before addPath()");
+            }
+            segments.add(new Segment(pendingXs, pendingYs, mode, start, end));
+            pendingXs = null;
+            pendingYs = null;
+            return this;
+        }
+
+        // A segment without a heading call keeps Pedro's default, tangent
+        private void flush() {
+            if (pendingXs != null) {
+                setTangentHeading();
+            }
+        }
+
+        Builder addSegment(Segment segment) {
+            flush();
+            segments.add(segment);
+            return this;
+        }
+
+        public PathSpec build() {
+            flush();
+            if (segments.isEmpty()) {
+                throw new IllegalStateException("Path has no segments");
+            }
+            return new PathSpec(segments.toArray(new Segment[0]));
+        }
+    }
+}
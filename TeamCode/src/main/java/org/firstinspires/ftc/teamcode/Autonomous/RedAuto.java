@@ -0,0 +1,24 @@
+package org.firstinspires.ftc.teamcode;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.pedropathing.follower.Follower;
+import com.pedropathing.geometry.Pose;
+
+import org.firstinspires.ftc.teamcode.Autonomous.AllianceAuto;
+import org.firstinspires.ftc.teamcode.Autonomous.AutoStep;
+
+@Autonomous(name = "Red Path Auto", group = "Pedro Pathing")
+public class RedAuto extends AllianceAuto {
+
+    public RedAuto() {
+        // Match first pose in Basket1 (flipped coordinates)
+        super(true, new Pose(56.000, 8.000));
+    }
+
+    @Override
+    protected AutoStep[] buildRoutine(Follower follower) {
+        RedPaths.Paths paths = new RedPaths.Paths(follower);
+        return scoringRoutine(paths.Basket1, paths.Collect1, paths.Gate1, paths.Basket2,
+                paths.Collect2, paths.Basket3, paths.Collect3, paths.Shoot4, paths.Park);
+    }
+}
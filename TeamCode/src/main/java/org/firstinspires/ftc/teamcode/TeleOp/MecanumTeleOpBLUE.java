@@ -1,193 +1,137 @@
 package org.firstinspires.ftc.teamcode.TeleOp;
 
 import com.qualcomm.hardware.rev.RevHubOrientationOnRobot;
+import com.pedropathing.follower.Follower;
+import com.pedropathing.geometry.Pose;
 import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
-import com.qualcomm.robotcore.hardware.DcMotor;
-import com.qualcomm.robotcore.hardware.DcMotorSimple;
 import com.qualcomm.robotcore.hardware.IMU;
 
 import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
-import org.firstinspires.ftc.teamcode.subsystems.Turret;
+import org.firstinspires.ftc.teamcode.pedroPathing.Constants;
+import org.firstinspires.ftc.teamcode.subsystems.DriveSubsystem;
+import org.firstinspires.ftc.teamcode.subsystems.HardwareRegistry;
+import org.firstinspires.ftc.teamcode.subsystems.InitOrchestrator;
+import org.firstinspires.ftc.teamcode.subsystems.LimelightVision;
+import org.firstinspires.ftc.teamcode.subsystems.LoopScheduler;
+import org.firstinspires.ftc.teamcode.subsystems.MechanismInit;
+import org.firstinspires.ftc.teamcode.subsystems.PoseHandoff;
+import org.firstinspires.ftc.teamcode.subsystems.RobotRecorder;
+import org.firstinspires.ftc.teamcode.subsystems.TelemetryPublisher;
 import org.firstinspires.ftc.teamcode.subsystems.TurretTargeting;
 import org.firstinspires.ftc.teamcode.subsystems.SmartShooter;
-import org.firstinspires.ftc.teamcode.subsystems.Intake;
-import org.firstinspires.ftc.teamcode.subsystems.Indexer;
 
 @TeleOp
 public class MecanumTeleOpBLUE extends LinearOpMode {
-    private Turret turret;
     private TurretTargeting targeting;
     private SmartShooter shooter;
-    private Intake intake;
-    private Indexer indexer;
-    
-    private static final double INTAKE_POWER = 0.8;
-    
-    // Power ramping variables to reduce belt skipping
-    private double prevFrontLeftPower = 0;
-    private double prevBackLeftPower = 0;
-    private double prevFrontRightPower = 0;
-    private double prevBackRightPower = 0;
-    
-    // Maximum power change per loop (adjust based on testing)
-    private static final double MAX_POWER_CHANGE = 0.15; // Reduced from instant changes
-    private static final double MAX_DRIVE_POWER = 0.85;  // Limit max power for GoBuilda 312 RPM
+    private LimelightVision vision;
+
+    private HardwareRegistry registry;
+    private LoopScheduler scheduler;
+    private TeleOpLoop teleOp;
+    private final RobotRecorder recorder = new RobotRecorder();
+    private IMU imu;
+
+    // Pedro localizer only (never drives here), for field-relative turret aiming
+    private Follower follower;
+    private boolean poseKnown;
+
+    private DriveSubsystem drive;
+
     @Override
     public void runOpMode() throws InterruptedException {
-        // Declare our motors
-        // Make sure your ID's match your configuration
-        DcMotor frontLeftMotor = hardwareMap.dcMotor.get("lf");
-        DcMotor backLeftMotor = hardwareMap.dcMotor.get("lb");
-        DcMotor frontRightMotor = hardwareMap.dcMotor.get("rf");
-        DcMotor backRightMotor = hardwareMap.dcMotor.get("rb");
-
-        // Reverse the right side motors. This may be wrong for your setup.
-        // If your robot moves backwards when commanded to go forwards,
-        // reverse the left side instead.
-        // See the note about this earlier on this page.
-        backLeftMotor.setDirection(DcMotorSimple.Direction.REVERSE);
-        frontLeftMotor.setDirection(DcMotorSimple.Direction.REVERSE);
-
-        // Retrieve the IMU from the hardware map
-        IMU imu = hardwareMap.get(IMU.class, "imu");
-        // Adjust the orientation parameters to match your robot
-        IMU.Parameters parameters = new IMU.Parameters(new RevHubOrientationOnRobot(
-                RevHubOrientationOnRobot.LogoFacingDirection.UP,
-                RevHubOrientationOnRobot.UsbFacingDirection.FORWARD));
-        // Without this, the REV Hub's orientation is assumed to be logo up / USB forward
-        imu.initialize(parameters);
-
-        // Set motor zero power behavior to reduce stress on belts
-        frontLeftMotor.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
-        backLeftMotor.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
-        frontRightMotor.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
-        backRightMotor.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
-
-        shooter = new SmartShooter(hardwareMap);
-        targeting = new TurretTargeting(hardwareMap);
-        turret = new Turret(hardwareMap);
-        intake = new Intake(hardwareMap);
-        indexer = new Indexer(hardwareMap);
-        
-        // Configure shooter
-        shooter.configureKinematics(0.3, 1.2, 45.0);
-        shooter.configureCamera(0.25, 15.0);
-        shooter.setFlywheelDiameter(0.1);
-
-
-        waitForStart();
-
-        if (isStopRequested()) return;
-
-        while (opModeIsActive()) {
-            double y = -gamepad1.left_stick_y; // Remember, Y stick value is reversed
-            double x = gamepad1.left_stick_x;
-            double rx = gamepad1.right_stick_x;
-
-            // This button choice was made so that it is hard to hit on accident,
-            // it can be freely changed based on preference.
-            // The equivalent button is start on Xbox-style controllers.
-            if (gamepad1.options) {
-                imu.resetYaw();
+        // Drop devices shared by a previous OpMode
+        HardwareRegistry.reset();
+        registry = HardwareRegistry.get(hardwareMap);
+
+        // Independent bring-up runs concurrently; see the durations on the driver station
+        InitOrchestrator orchestrator = new InitOrchestrator();
+
+        // Created before the drive motors are configured below, so TeleOp's settings win.
+        // Without a pose from the Auto that just ran, the field position is unknown and
+        // aiming uses vision only. Taking the pose clears it, so it is never reused.
+        orchestrator.addStep("Follower", () -> {
+            follower = Constants.createFollower(hardwareMap);
+            Pose handoff = PoseHandoff.take();
+            poseKnown = handoff != null;
+            follower.setStartingPose(poseKnown ? handoff : new Pose(72, 72, 0));
+        });
+
+        orchestrator.addStep("Drive", () -> {
+            // Ramps stick input per second and caps wheel power changes at what the belts take.
+            // Motors are wrapped so an unchanged power is not resent to the hub every loop.
+            drive = new DriveSubsystem(hardwareMap, TeleOpLoop.MAX_DRIVE_POWER);
+        }, "Follower");
+
+        orchestrator.addStep("IMU", () -> {
+            // Retrieve the IMU from the hardware map
+            imu = hardwareMap.get(IMU.class, "imu");
+            // Adjust the orientation parameters to match your robot
+            IMU.Parameters parameters = new IMU.Parameters(new RevHubOrientationOnRobot(
+                    RevHubOrientationOnRobot.LogoFacingDirection.UP,
+                    RevHubOrientationOnRobot.UsbFacingDirection.FORWARD));
+            // Without this, the REV Hub's orientation is assumed to be logo up / USB forward
+            imu.initialize(parameters);
+        });
+
+        // Vision, shooter, turret and intake, as in Auto; the turret keeps the zero Auto set
+        MechanismInit mechanisms = MechanismInit.addMechanismSteps(orchestrator, hardwareMap, false);
+
+        orchestrator.run();
+        vision = mechanisms.getVision();
+        shooter = mechanisms.getShooter();
+        targeting = mechanisms.getTargeting();
+
+        // Poll the Limelight on its own thread so the loop never waits on the network
+        vision.startPolling();
+
+        // Stop the poller thread and close the flight log however the OpMode ends
+        try {
+            MechanismInit.reportInit(telemetry, orchestrator, recorder, getClass().getSimpleName());
+
+            scheduler = new LoopScheduler(TeleOpLoop.LOOP_RATE_HZ);
+            // Telemetry lines are sent at 10 Hz, independent of the loop rate
+            teleOp = new TeleOpLoop(false, registry, scheduler, drive, shooter, targeting, recorder,
+                    new TelemetryPublisher(telemetry), poseKnown);
+            // Left bumper aiming has never been enabled on blue
+            teleOp.setBumperAim(false);
+            scheduler.setPhase(LoopScheduler.Phase.READ, this::readSensors);
+            scheduler.setPhase(LoopScheduler.Phase.COMPUTE, teleOp::computeDrive);
+            scheduler.setPhase(LoopScheduler.Phase.WRITE, teleOp::writeActuators);
+            scheduler.setPhase(LoopScheduler.Phase.TELEMETRY, teleOp::updateTelemetry);
+
+            waitForStart();
+
+            if (isStopRequested()) return;
+
+            while (opModeIsActive()) {
+                scheduler.runOnce();
             }
-
-            double botHeading = imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS);
-
-            // Rotate the movement direction counter to the bot's rotation
-            double rotX = x * Math.cos(-botHeading) - y * Math.sin(-botHeading);
-            double rotY = x * Math.sin(-botHeading) + y * Math.cos(-botHeading);
-
-            rotX = rotX * 1.1;  // Counteract imperfect strafing
-
-            // Denominator is the largest motor power (absolute value) or 1
-            // This ensures all the powers maintain the same ratio,
-            // but only if at least one is out of the range [-1, 1]
-            double denominator = Math.max(Math.abs(rotY) + Math.abs(rotX) + Math.abs(rx), 1);
-            double frontLeftPower = (rotY + rotX + rx) / denominator;
-            double backLeftPower = (rotY - rotX + rx) / denominator;
-            double frontRightPower = (rotY - rotX - rx) / denominator;
-            double backRightPower = (rotY + rotX - rx) / denominator;
-
-            // Apply power limiting for GoBuilda 312 RPM motors
-            frontLeftPower = Math.max(-MAX_DRIVE_POWER, Math.min(MAX_DRIVE_POWER, frontLeftPower));
-            backLeftPower = Math.max(-MAX_DRIVE_POWER, Math.min(MAX_DRIVE_POWER, backLeftPower));
-            frontRightPower = Math.max(-MAX_DRIVE_POWER, Math.min(MAX_DRIVE_POWER, frontRightPower));
-            backRightPower = Math.max(-MAX_DRIVE_POWER, Math.min(MAX_DRIVE_POWER, backRightPower));
-
-            // Apply power ramping to reduce belt skipping
-            frontLeftPower = rampPower(prevFrontLeftPower, frontLeftPower);
-            backLeftPower = rampPower(prevBackLeftPower, backLeftPower);
-            frontRightPower = rampPower(prevFrontRightPower, frontRightPower);
-            backRightPower = rampPower(prevBackRightPower, backRightPower);
-
-            // Store current powers for next iteration
-            prevFrontLeftPower = frontLeftPower;
-            prevBackLeftPower = backLeftPower;
-            prevFrontRightPower = frontRightPower;
-            prevBackRightPower = backRightPower;
-
-            frontLeftMotor.setPower(frontLeftPower);
-            backLeftMotor.setPower(backLeftPower);
-            frontRightMotor.setPower(frontRightPower);
-            backRightMotor.setPower(backRightPower);
-
-//            if (gamepad1.left_bumper) {
-//                targeting.aimAtBlueBasket();
-//            }
-//
-//            // Shooting - opens indexer to allow balls through
-//            if (gamepad1.right_trigger > 0.5) {
-//                shooter.shootAtBlueBasket();
-//                indexer.open();
-//                // Feed balls with intake/transfer when shooting
-//                intake.transfer(INTAKE_POWER);
-//            } else {
-//                shooter.stopShooter();
-//                intake.stop();
-//                indexer.close();
-//            }
-//
-            // Intake control with square button
-            if (gamepad1.square) {
-                intake.intake(INTAKE_POWER);
-                indexer.open();
-            } else if (gamepad1.cross) {
-                intake.intake(-INTAKE_POWER);
-                indexer.open();
-            } else {
-                intake.stop();
-            }
-            
-            // Update subsystems
-            shooter.update();
-            targeting.update();
-
-            telemetry.addData("Shooter RPM", shooter.getCurrentRPM());  
-            telemetry.addData("Shooter Power", shooter.getShooterPower());
-            telemetry.addData("Shooter Target RPM", shooter.getRequiredRPM(false));
-            telemetry.addData("Shooter At Target Velocity", shooter.isAtTargetVelocity(shooter.getRequiredRPM(false), 100));
-            telemetry.addData("Shooter On Target", shooter.shootAtBlueBasket());
-            telemetry.addData("Intake Power", intake.getCurrentPower());
-            telemetry.addData("Indexer Open", indexer.isOpen());
-            telemetry.update();
-
+        } finally {
+            vision.stopPolling();
+            recorder.stop();
         }
     }
-    
+
     /**
-     * Smoothly ramp motor power to reduce belt skipping
-     * @param prevPower Previous motor power
-     * @param targetPower Desired motor power
-     * @return Ramped power value
+     * Samples the hubs, IMU and localizer once for this loop, then hands the
+     * gamepad, heading and pose to the shared loop.
      */
-    private double rampPower(double prevPower, double targetPower) {
-        double powerDiff = targetPower - prevPower;
-        
-        if (Math.abs(powerDiff) <= MAX_POWER_CHANGE) {
-            return targetPower;
-        } else {
-            return prevPower + Math.signum(powerDiff) * MAX_POWER_CHANGE;
+    private void readSensors() {
+        // Clears the hub bulk caches; every encoder read below comes from one bulk read per hub
+        registry.beginLoop();
+
+        // This button choice was made so that it is hard to hit on accident,
+        // it can be freely changed based on preference.
+        // The equivalent button is start on Xbox-style controllers.
+        if (gamepad1.options) {
+            imu.resetYaw();
         }
+
+        double botHeading = imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS);
+        follower.update();
+        Pose pose = follower.getPose();
+        teleOp.read(gamepad1, botHeading, pose.getX(), pose.getY(), pose.getHeading());
     }
-}
\ No newline at end of file
+}
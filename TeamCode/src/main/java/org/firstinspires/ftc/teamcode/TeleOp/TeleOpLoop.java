@@ -0,0 +1,328 @@
+package org.firstinspires.ftc.teamcode.TeleOp;
+
+import com.qualcomm.robotcore.hardware.Gamepad;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.teamcode.subsystems.CachedMotor;
+import org.firstinspires.ftc.teamcode.subsystems.CachedServo;
+import org.firstinspires.ftc.teamcode.subsystems.DriveProfile;
+import org.firstinspires.ftc.teamcode.subsystems.DriveSubsystem;
+import org.firstinspires.ftc.teamcode.subsystems.HardwareRegistry;
+import org.firstinspires.ftc.teamcode.subsystems.Indexer;
+import org.firstinspires.ftc.teamcode.subsystems.Intake;
+import org.firstinspires.ftc.teamcode.subsystems.LimelightPoller;
+import org.firstinspires.ftc.teamcode.subsystems.LimelightVision;
+import org.firstinspires.ftc.teamcode.subsystems.LoopScheduler;
+import org.firstinspires.ftc.teamcode.subsystems.RobotRecorder;
+import org.firstinspires.ftc.teamcode.subsystems.SmartShooter;
+import org.firstinspires.ftc.teamcode.subsystems.TelemetryPublisher;
+import org.firstinspires.ftc.teamcode.subsystems.TurretTargeting;
+import org.firstinspires.ftc.teamcode.subsystems.VoltageCompensator;
+
+/**
+ * Driver-controlled loop shared by both alliances' TeleOps, one method per
+ * {@link LoopScheduler} phase.
+ *
+ * The OpMode owns the IMU and the Pedro localizer. Its read phase starts the loop
+ * with {@link HardwareRegistry#beginLoop()}, samples those two and hands the
+ * heading and pose to {@link #read}; everything after that happens here, so tests
+ * run the same code the robot does.
+ */
+public class TeleOpLoop {
+
+    public static final double INTAKE_POWER = 0.8;
+
+    // Fixed loop rate; the drive ramps per second of real time, not per loop
+    public static final double LOOP_RATE_HZ = 50.0;
+
+    public static final double MAX_DRIVE_POWER = 0.85;  // Limit max power for GoBuilda 312 RPM
+
+    private final boolean isRed;
+    private final HardwareRegistry registry;
+    private final LoopScheduler scheduler;
+    private final DriveSubsystem drive;
+    private final SmartShooter shooter;
+    private final TurretTargeting targeting;
+    private final Intake intake;
+    private final Indexer indexer;
+    private final LimelightVision vision;
+    private final RobotRecorder recorder;
+    private final TelemetryPublisher publisher;
+
+    // Without a pose from Auto the field position is unknown and aiming uses vision only
+    private final boolean poseKnown;
+    private boolean bumperAim = true;
+
+    // Inputs sampled in the read phase
+    private Gamepad gamepad;
+    private double y;
+    private double x;
+    private double rx;
+    private double botHeading;
+    private double lastBotHeading = Double.NaN;
+    private double robotX;       // follower pose, read once per loop
+    private double robotY;
+    private double robotHeading;
+    private double chassisRate; // deg/s, counter-clockwise positive
+    private boolean lastDpadUp;
+    private boolean turretFeedforward = true;
+
+    // Shooter command result, kept for telemetry
+    private boolean shooterOnTarget;
+
+    /**
+     * Registers the telemetry lines. The intake, indexer and Limelight come from the
+     * registry.
+     *
+     * @param isRed     true for the red alliance
+     * @param registry  Shared hardware for this OpMode
+     * @param scheduler Scheduler running the phases, for its timing telemetry
+     * @param drive     Field-centric drive
+     * @param shooter   Shooter, commanded only in the write phase
+     * @param targeting Turret aiming
+     * @param recorder  Flight recorder, already started (or off)
+     * @param publisher Telemetry publisher to register the loop lines on
+     * @param poseKnown true if the follower pose came from Auto
+     */
+    public TeleOpLoop(boolean isRed, HardwareRegistry registry, LoopScheduler scheduler, DriveSubsystem drive,
+                      SmartShooter shooter, TurretTargeting targeting, RobotRecorder recorder,
+                      TelemetryPublisher publisher, boolean poseKnown) {
+        this.isRed = isRed;
+        this.registry = registry;
+        this.scheduler = scheduler;
+        this.drive = drive;
+        this.shooter = shooter;
+        this.targeting = targeting;
+        this.intake = registry.getIntake();
+        this.indexer = registry.getIndexer();
+        this.vision = registry.getVision();
+        this.recorder = recorder;
+        this.publisher = publisher;
+        this.poseKnown = poseKnown;
+        registerTelemetry();
+    }
+
+    /**
+     * Enables or disables aiming the turret while the left bumper is held.
+     *
+     * @param enabled true to aim on the left bumper (the default)
+     */
+    public void setBumperAim(boolean enabled) {
+        this.bumperAim = enabled;
+    }
+
+    /**
+     * Samples the gamepad and updates the subsystems. Call from the read phase,
+     * after {@link HardwareRegistry#beginLoop()} and the localizer update.
+     *
+     * @param gamepad      Driver gamepad
+     * @param botHeading   IMU yaw in radians, already reset if options is held
+     * @param robotX       Follower X in inches
+     * @param robotY       Follower Y in inches
+     * @param robotHeading Follower heading in radians
+     */
+    public void read(Gamepad gamepad, double botHeading, double robotX, double robotY, double robotHeading) {
+        this.gamepad = gamepad;
+        y = -gamepad.left_stick_y; // Remember, Y stick value is reversed
+        x = gamepad.left_stick_x;
+        rx = gamepad.right_stick_x;
+
+        this.botHeading = botHeading;
+        this.robotX = robotX;
+        this.robotY = robotY;
+        this.robotHeading = robotHeading;
+
+        // Chassis yaw rate from successive headings, so the turret counter-rotates as the robot spins
+        double dt = scheduler.getDeltaSeconds();
+        if (Double.isNaN(lastBotHeading) || gamepad.options || dt <= 0) {
+            chassisRate = 0.0;
+        } else {
+            chassisRate = Math.toDegrees(AngleUnit.normalizeRadians(botHeading - lastBotHeading)) / dt;
+        }
+        lastBotHeading = botHeading;
+        targeting.setChassisAngularVelocity(chassisRate);
+
+        // Dpad up toggles the counter-rotation feedforward to compare tracking error with and without it
+        if (gamepad.dpad_up && !lastDpadUp) {
+            turretFeedforward = !turretFeedforward;
+            targeting.setChassisFeedforward(turretFeedforward);
+            targeting.resetTrackingStats();
+        }
+        lastDpadUp = gamepad.dpad_up;
+
+        // Update subsystems
+        shooter.update();
+        targeting.update();
+    }
+
+    /**
+     * Turns the sampled inputs into field-centric, ramped drive powers.
+     */
+    public void computeDrive() {
+        // Field-centric wheel powers, limited for GoBuilda 312 RPM motors and ramped to spare the belts
+        drive.calculate(x, y, rx, botHeading);
+    }
+
+    /**
+     * Sends drive powers and mechanism commands to the hubs.
+     */
+    public void writeActuators() {
+        drive.write();
+
+        if (bumperAim && gamepad.left_bumper) {
+            if (poseKnown) {
+                targeting.aimFieldRelative(robotX, robotY, robotHeading, isRed);
+            } else if (isRed) {
+                targeting.aimAtRedBasket();
+            } else {
+                targeting.aimAtBlueBasket();
+            }
+        }
+
+//        // Shooting - opens indexer to allow balls through
+//        if (gamepad1.right_trigger > 0.5) {
+//            shooter.shootAtRedBasket();
+//            indexer.open();
+//            // Feed balls with intake/transfer when shooting
+//            intake.transfer(INTAKE_POWER);
+//        } else {
+//            shooter.stopShooter();
+//            indexer.close();
+//        }
+
+        // Flywheel speed from the basket in view; this is the only place the shooter is commanded
+        shooterOnTarget = isRed ? shooter.shootAtRedBasket() : shooter.shootAtBlueBasket();
+
+        // Intake control with square button
+        if (gamepad.square) {
+            intake.intake(INTAKE_POWER);
+            indexer.open();
+        } else if (gamepad.cross) {
+            intake.intake(-INTAKE_POWER);
+            indexer.open();
+        } else {
+            intake.stop();
+        }
+    }
+
+    // Telemetry line keys
+    private int tShooterRpm;
+    private int tShooterPower;
+    private int tShooterTarget;
+    private int tShooterAtTarget;
+    private int tShooterOnTarget;
+    private int tIntakePower;
+    private int tIndexerOpen;
+    private int tBulkReads;
+    private int tCachedReads;
+    private int tWritesSent;
+    private int tWritesSkipped;
+    private int tLoopPeriod;
+    private int tLoopJitter;
+    private int tLoopOverruns;
+    private int tPhases;
+    private int tDriveBelt;
+    private int tBattery;
+    private int tPoseKnown;
+    private int tFieldAim;
+    private int tChassisRate;
+    private int tRotatingError;
+    private int tVisionAge;
+    private int tVisionFrames;
+
+    /**
+     * Registers the loop telemetry lines. Sent at the publisher's rate, independent of the loop rate.
+     */
+    private void registerTelemetry() {
+        tShooterRpm = publisher.add("Shooter RPM", "%.0f");
+        tShooterPower = publisher.add("Shooter Power", "%.2f");
+        tShooterTarget = publisher.add("Shooter Target RPM", "%.0f");
+        tShooterAtTarget = publisher.add("Shooter At Target Velocity", "%b");
+        tShooterOnTarget = publisher.add("Shooter On Target", "%b");
+        tIntakePower = publisher.add("Intake Power", "%.2f");
+        tIndexerOpen = publisher.add("Indexer Open", "%b");
+        tBulkReads = publisher.add("Bulk Reads/Loop", "%d");
+        tCachedReads = publisher.add("Cached Reads/Loop", "%d, %d missed");
+        tWritesSent = publisher.add("Hub Writes Sent", "%d");
+        tWritesSkipped = publisher.add("Hub Writes Skipped", "%d");
+        tLoopPeriod = publisher.add("Loop Period (ms)", "%.1f / %.1f");
+        tLoopJitter = publisher.add("Loop Jitter (ms)", "avg %.2f max %.2f");
+        tLoopOverruns = publisher.add("Loop Overruns", "%d");
+        tPhases = publisher.add("Phase ms (R/C/W/T)", "%.2f / %.2f / %.2f / %.2f");
+        tDriveBelt = publisher.add("Drive Belt (power/s)", "peak %.1f asked %.1f, capped %.1f s (%d)");
+        tBattery = publisher.add("Battery (V)", "%.2f (x%.2f)");
+        tPoseKnown = publisher.add("Pose Known", "%b");
+        tFieldAim = publisher.add("Field Aim", "%.1f deg (bias %.1f)");
+        tChassisRate = publisher.add("Chassis Rate (deg/s)", "%.0f");
+        tRotatingError = publisher.add("Turret Rotating Error", "%s rms %.2f max %.2f deg (%d)");
+        tVisionAge = publisher.add("Vision Age (ms)", "%.1f");
+        tVisionFrames = publisher.add("Vision Frames", "%d new, %d dup, %d dropped, %d stale");
+    }
+
+    /**
+     * Records the flight sample, then copies this loop's values into the telemetry
+     * slots when a publish is due. Only reads state; the shooter was already
+     * commanded in the write phase.
+     */
+    public void updateTelemetry() {
+        // Black box first, so a slow telemetry publish never delays it
+        recorder.getSample().setDrive(drive.getFrontLeftPower(), drive.getBackLeftPower(),
+                drive.getFrontRightPower(), drive.getBackRightPower());
+        recorder.getSample().setPose(poseKnown, robotX, robotY, robotHeading);
+        recorder.record(shooter, targeting);
+
+        // The slots are only formatted on a publish, so skip filling them in between
+        if (!publisher.isDue()) {
+            return;
+        }
+
+        double targetRpm = shooter.getShooter().getTargetRPM();
+        publisher.set(tShooterRpm, shooter.getCurrentRPM());
+        publisher.set(tShooterPower, shooter.getShooterPower());
+        publisher.set(tShooterTarget, targetRpm);
+        publisher.set(tShooterAtTarget, shooter.isAtTargetVelocity(targetRpm, 100));
+        publisher.set(tShooterOnTarget, shooterOnTarget);
+        publisher.set(tIntakePower, intake.getCurrentPower());
+        publisher.set(tIndexerOpen, indexer.isOpen());
+        publisher.set(tBulkReads, registry.getLoopCache().getBulkReadsLastLoop());
+        publisher.set(tCachedReads, 0, registry.getLoopCache().getCachedReadsLastLoop());
+        publisher.set(tCachedReads, 1, registry.getLoopCache().getMissesLastLoop());
+        publisher.set(tWritesSent, CachedMotor.getTotalWritesSent() + CachedServo.getTotalWritesSent());
+        publisher.set(tWritesSkipped, CachedMotor.getTotalWritesSuppressed() + CachedServo.getTotalWritesSuppressed());
+        publisher.set(tLoopPeriod, 0, scheduler.getLastPeriodMs());
+        publisher.set(tLoopPeriod, 1, scheduler.getTargetPeriodMs());
+        publisher.set(tLoopJitter, 0, scheduler.getAverageJitterMs());
+        publisher.set(tLoopJitter, 1, scheduler.getMaxJitterMs());
+        publisher.set(tLoopOverruns, scheduler.getOverruns());
+        publisher.set(tPhases, 0, scheduler.getAveragePhaseMs(LoopScheduler.Phase.READ));
+        publisher.set(tPhases, 1, scheduler.getAveragePhaseMs(LoopScheduler.Phase.COMPUTE));
+        publisher.set(tPhases, 2, scheduler.getAveragePhaseMs(LoopScheduler.Phase.WRITE));
+        publisher.set(tPhases, 3, scheduler.getAveragePhaseMs(LoopScheduler.Phase.TELEMETRY));
+        DriveProfile profile = drive.getProfile();
+        publisher.set(tDriveBelt, 0, profile.getPeakWheelRate());
+        publisher.set(tDriveBelt, 1, profile.getPeakRequestedWheelRate());
+        publisher.set(tDriveBelt, 2, profile.getBeltLimitedSeconds());
+        publisher.set(tDriveBelt, 3, profile.getBeltLimitedEvents());
+        VoltageCompensator voltage = registry.getVoltageCompensator();
+        publisher.set(tBattery, 0, voltage.getLastVoltage());
+        publisher.set(tBattery, 1, VoltageCompensator.NOMINAL_VOLTAGE / voltage.getLastVoltage());
+        publisher.set(tPoseKnown, poseKnown);
+        publisher.set(tFieldAim, 0, targeting.getFieldAimAngle());
+        publisher.set(tFieldAim, 1, targeting.getVisionBias());
+        publisher.set(tChassisRate, chassisRate);
+        publisher.setText(tRotatingError, turretFeedforward ? "FF" : "no FF");
+        publisher.set(tRotatingError, 1, targeting.getRotatingErrorRms());
+        publisher.set(tRotatingError, 2, targeting.getRotatingErrorMax());
+        publisher.set(tRotatingError, 3, targeting.getRotatingSamples());
+        publisher.set(tVisionAge, vision.getFrameAgeMs());
+        // No poller until vision.startPolling(); the Limelight is then read on the loop thread
+        LimelightPoller poller = vision.getPoller();
+        if (poller != null) {
+            publisher.set(tVisionFrames, 0, poller.getFramesPublished());
+            publisher.set(tVisionFrames, 1, poller.getDuplicateFrames());
+            publisher.set(tVisionFrames, 2, poller.getDroppedFrames());
+            publisher.set(tVisionFrames, 3, poller.getStaleFrames());
+        }
+        publisher.publish();
+    }
+}
@@ -0,0 +1,206 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+
+/**
+ * Write-deduplicating wrapper around a DcMotorEx.
+ *
+ * Every setPower/setVelocity/setMode is a blocking command to the hub, and most
+ * loops resend the same values every cycle. This wrapper remembers the last value
+ * sent and skips writes that would not change anything:
+ * - setPower is skipped if the change is smaller than the power threshold
+ *   (a change to exactly 0 is always sent so the motor really stops)
+ * - setVelocity, setMode, setZeroPowerBehavior and setDirection are skipped if unchanged
+ *
+ * Reads are not cached here; use {@link LoopHardwareCache} for those.
+ */
+public class CachedMotor {
+
+    /** Default smallest power change that is worth sending to the hub. */
+    public static final double DEFAULT_POWER_THRESHOLD = 0.005;
+
+    // Totals across every CachedMotor, for telemetry
+    private static long totalWritesSent = 0;
+    private static long totalWritesSuppressed = 0;
+
+    private final DcMotorEx motor;
+    private double powerThreshold = DEFAULT_POWER_THRESHOLD;
+
+    // Last values sent; NaN / null means unknown, so the next write always goes out
+    private double lastPower = Double.NaN;
+    private double lastVelocity = Double.NaN;
+    private DcMotor.RunMode lastMode;
+    private DcMotor.ZeroPowerBehavior lastZeroPowerBehavior;
+    private DcMotorSimple.Direction lastDirection;
+
+    private long writesSent = 0;
+    private long writesSuppressed = 0;
+
+    /**
+     * Wraps a motor. The first write of each kind is always sent.
+     *
+     * @param motor The motor to command
+     */
+    public CachedMotor(DcMotorEx motor) {
+        this.motor = motor;
+    }
+
+    /**
+     * Sets motor power, skipping the write if it is within the power threshold
+     * of the last power sent.
+     *
+     * @param power Power in range [-1.0, 1.0]
+     */
+    public void setPower(double power) {
+        boolean unchanged = power == lastPower
+                || (power != 0.0 && Math.abs(power - lastPower) < powerThreshold);
+        if (unchanged) {
+            suppressed();
+            return;
+        }
+        motor.setPower(power);
+        lastPower = power;
+        // The hub is no longer holding the last velocity setpoint
+        lastVelocity = Double.NaN;
+        sent();
+    }
+
+    /**
+     * Sets motor velocity, skipping the write if it equals the last velocity sent.
+     *
+     * @param ticksPerSecond Velocity in encoder ticks per second
+     */
+    public void setVelocity(double ticksPerSecond) {
+        if (ticksPerSecond == lastVelocity) {
+            suppressed();
+            return;
+        }
+        motor.setVelocity(ticksPerSecond);
+        lastVelocity = ticksPerSecond;
+        lastPower = Double.NaN;
+        sent();
+    }
+
+    /**
+     * Sets the run mode, skipping the write if it is already set.
+     *
+     * @param mode The run mode
+     */
+    public void setMode(DcMotor.RunMode mode) {
+        if (mode == lastMode) {
+            suppressed();
+            return;
+        }
+        motor.setMode(mode);
+        lastMode = mode;
+        // Changing mode can reset the hub's setpoints
+        lastPower = Double.NaN;
+        lastVelocity = Double.NaN;
+        sent();
+    }
+
+    /**
+     * Sets the zero power behavior, skipping the write if it is already set.
+     *
+     * @param behavior The zero power behavior
+     */
+    public void setZeroPowerBehavior(DcMotor.ZeroPowerBehavior behavior) {
+        if (behavior == lastZeroPowerBehavior) {
+            suppressed();
+            return;
+        }
+        motor.setZeroPowerBehavior(behavior);
+        lastZeroPowerBehavior = behavior;
+        sent();
+    }
+
+    /**
+     * Sets the motor direction, skipping the write if it is already set.
+     *
+     * @param direction The motor direction
+     */
+    public void setDirection(DcMotorSimple.Direction direction) {
+        if (direction == lastDirection) {
+            suppressed();
+            return;
+        }
+        motor.setDirection(direction);
+        lastDirection = direction;
+        sent();
+    }
+
+    /**
+     * Forgets every cached value so the next write of each kind is sent.
+     * Use after something else has commanded the motor directly.
+     */
+    public void invalidate() {
+        lastPower = Double.NaN;
+        lastVelocity = Double.NaN;
+        lastMode = null;
+        lastZeroPowerBehavior = null;
+        lastDirection = null;
+    }
+
+    /**
+     * Sets the smallest power change that will be sent.
+     *
+     * @param threshold Power threshold (default: 0.005)
+     */
+    public void setPowerThreshold(double threshold) {
+        this.powerThreshold = Math.max(0.0, threshold);
+    }
+
+    /**
+     * @return Last power sent to the hub (NaN if unknown)
+     */
+    public double getLastPower() {
+        return lastPower;
+    }
+
+    /**
+     * @return The wrapped motor
+     */
+    public DcMotorEx getMotor() {
+        return motor;
+    }
+
+    /**
+     * @return Writes this wrapper sent to the hub
+     */
+    public long getWritesSent() {
+        return writesSent;
+    }
+
+    /**
+     * @return Writes this wrapper skipped because nothing changed
+     */
+    public long getWritesSuppressed() {
+        return writesSuppressed;
+    }
+
+    /**
+     * @return Writes sent by every CachedMotor
+     */
+    public static long getTotalWritesSent() {
+        return totalWritesSent;
+    }
+
+    /**
+     * @return Writes skipped by every CachedMotor
+     */
+    public static long getTotalWritesSuppressed() {
+        return totalWritesSuppressed;
+    }
+
+    private void sent() {
+        writesSent++;
+        totalWritesSent++;
+    }
+
+    private void suppressed() {
+        writesSuppressed++;
+        totalWritesSuppressed++;
+    }
+}
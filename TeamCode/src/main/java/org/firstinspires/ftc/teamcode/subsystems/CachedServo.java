@@ -0,0 +1,99 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import com.qualcomm.robotcore.hardware.Servo;
+
+/**
+ * Write-deduplicating wrapper around a Servo.
+ *
+ * Skips setPosition when the position has not changed since the last write,
+ * so holding a gate open or closed every loop costs no hub commands.
+ */
+public class CachedServo {
+
+    // Totals across every CachedServo, for telemetry
+    private static long totalWritesSent = 0;
+    private static long totalWritesSuppressed = 0;
+
+    private final Servo servo;
+
+    // NaN means unknown, so the first write is always sent
+    private double lastPosition = Double.NaN;
+
+    private long writesSent = 0;
+    private long writesSuppressed = 0;
+
+    /**
+     * Wraps a servo. The first write is always sent.
+     *
+     * @param servo The servo to command
+     */
+    public CachedServo(Servo servo) {
+        this.servo = servo;
+    }
+
+    /**
+     * Sets the servo position, skipping the write if it is unchanged.
+     *
+     * @param position Position in range [0.0, 1.0]
+     */
+    public void setPosition(double position) {
+        if (position == lastPosition) {
+            writesSuppressed++;
+            totalWritesSuppressed++;
+            return;
+        }
+        servo.setPosition(position);
+        lastPosition = position;
+        writesSent++;
+        totalWritesSent++;
+    }
+
+    /**
+     * Forgets the cached position so the next write is sent.
+     */
+    public void invalidate() {
+        lastPosition = Double.NaN;
+    }
+
+    /**
+     * @return Last position sent (NaN if unknown)
+     */
+    public double getLastPosition() {
+        return lastPosition;
+    }
+
+    /**
+     * @return The wrapped servo
+     */
+    public Servo getServo() {
+        return servo;
+    }
+
+    /**
+     * @return Writes this wrapper sent to the hub
+     */
+    public long getWritesSent() {
+        return writesSent;
+    }
+
+    /**
+     * @return Writes this wrapper skipped because nothing changed
+     */
+    public long getWritesSuppressed() {
+        return writesSuppressed;
+    }
+
+    /**
+     * @return Writes sent by every CachedServo
+     */
+    public static long getTotalWritesSent() {
+        return totalWritesSent;
+    }
+
+    /**
+     * @return Writes skipped by every CachedServo
+     */
+    public static long getTotalWritesSuppressed() {
+        return totalWritesSuppressed;
+    }
+}
@@ -0,0 +1,165 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+/**
+ * Field-centric mecanum drivetrain with belt-safe acceleration limits.
+ *
+ * Replaces the TeleOps' four per-wheel ramps. Stick inputs go through a
+ * {@link DriveProfile}: jerk-limited as a chassis command, then turned into wheel
+ * powers whose change is capped at what the belts tolerate. The time step comes
+ * from a monotonic clock, not the loop count, so the ramp is the same at any loop
+ * rate.
+ *
+ * Powers are tuned at 12 V; {@link #write} scales them for the battery with the
+ * shared {@link VoltageCompensator}.
+ *
+ * Split into {@link #calculate} and {@link #write} to fit the compute and write
+ * phases of {@link LoopScheduler}; {@link #drive} does both. Writes go through
+ * {@link CachedMotor}, so an unchanged power is not resent to the hub.
+ */
+public class DriveSubsystem {
+
+    // Default hardware names, shared with the Pedro constants
+    static final String DEFAULT_FRONT_LEFT_NAME = "lf";
+    static final String DEFAULT_BACK_LEFT_NAME = "lb";
+    static final String DEFAULT_FRONT_RIGHT_NAME = "rf";
+    static final String DEFAULT_BACK_RIGHT_NAME = "rb";
+
+    private final CachedMotor frontLeft;
+    private final CachedMotor backLeft;
+    private final CachedMotor frontRight;
+    private final CachedMotor backRight;
+    private final DriveProfile profile;
+    private final NanoClock clock;
+    private final VoltageCompensator voltage;
+
+    private long lastNanos;
+    private boolean started = false;
+    private double lastDtSeconds = 0.0;
+
+    /**
+     * Constructs the drive with the default motor names on the system clock.
+     *
+     * @param hardwareMap The FTC hardware map
+     * @param maxPower    Largest allowed wheel power (0-1]
+     * @throws IllegalArgumentException if a motor cannot be found
+     */
+    public DriveSubsystem(HardwareMap hardwareMap, double maxPower) {
+        this(hardwareMap, new DriveProfile(maxPower), NanoClock.SYSTEM);
+    }
+
+    /**
+     * Constructs the drive with the default motor names.
+     *
+     * @param hardwareMap The FTC hardware map
+     * @param profile     Drive math and limits
+     * @param clock       Time source
+     * @throws IllegalArgumentException if a motor cannot be found
+     */
+    public DriveSubsystem(HardwareMap hardwareMap, DriveProfile profile, NanoClock clock) {
+        HardwareRegistry registry = HardwareRegistry.get(hardwareMap);
+        this.frontLeft = new CachedMotor(registry.getMotor(DEFAULT_FRONT_LEFT_NAME));
+        this.backLeft = new CachedMotor(registry.getMotor(DEFAULT_BACK_LEFT_NAME));
+        this.frontRight = new CachedMotor(registry.getMotor(DEFAULT_FRONT_RIGHT_NAME));
+        this.backRight = new CachedMotor(registry.getMotor(DEFAULT_BACK_RIGHT_NAME));
+        this.profile = profile;
+        this.clock = clock;
+        this.voltage = registry.getVoltageCompensator();
+
+        // Left side reversed. If the robot drives backwards when commanded forwards,
+        // reverse the right side instead.
+        frontLeft.setDirection(DcMotorSimple.Direction.REVERSE);
+        backLeft.setDirection(DcMotorSimple.Direction.REVERSE);
+        frontRight.setDirection(DcMotorSimple.Direction.FORWARD);
+        backRight.setDirection(DcMotorSimple.Direction.FORWARD);
+
+        // Brake rather than coast to reduce stress on the belts
+        frontLeft.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+        backLeft.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+        frontRight.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+        backRight.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+    }
+
+    /**
+     * Computes this loop's wheel powers. The first call only starts the clock, so
+     * the robot starts from rest.
+     *
+     * @param x       Strafe input, right positive
+     * @param y       Forward input
+     * @param rx      Turn input, clockwise positive
+     * @param heading Robot heading in radians; 0 for robot-centric driving
+     */
+    public void calculate(double x, double y, double rx, double heading) {
+        long now = clock.nanoTime();
+        lastDtSeconds = started ? (now - lastNanos) * 1e-9 : 0.0;
+        lastNanos = now;
+        started = true;
+        profile.calculate(x, y, rx, heading, lastDtSeconds);
+    }
+
+    /**
+     * Sends the powers from the last {@link #calculate} to the motors, scaled for
+     * the battery voltage so the robot accelerates the same on a tired battery.
+     * If that would push a wheel past full power, all four are scaled back
+     * together so the robot still drives in the commanded direction.
+     */
+    public void write() {
+        double scale = voltage.getScale();
+        double largest = Math.max(Math.max(Math.abs(profile.getFrontLeft()), Math.abs(profile.getBackLeft())),
+                Math.max(Math.abs(profile.getFrontRight()), Math.abs(profile.getBackRight())));
+        if (largest * scale > 1.0) {
+            scale = 1.0 / largest;
+        }
+        frontLeft.setPower(profile.getFrontLeft() * scale);
+        backLeft.setPower(profile.getBackLeft() * scale);
+        frontRight.setPower(profile.getFrontRight() * scale);
+        backRight.setPower(profile.getBackRight() * scale);
+    }
+
+    /**
+     * Computes and sends the wheel powers.
+     */
+    public void drive(double x, double y, double rx, double heading) {
+        calculate(x, y, rx, heading);
+        write();
+    }
+
+    /**
+     * Stops the motors at once and restarts the ramp from rest.
+     */
+    public void stop() {
+        profile.reset();
+        started = false;
+        write();
+    }
+
+    public DriveProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * @return Time step used by the last {@link #calculate}, in seconds
+     */
+    public double getLastDtSeconds() {
+        return lastDtSeconds;
+    }
+
+    public double getFrontLeftPower() {
+        return profile.getFrontLeft();
+    }
+
+    public double getBackLeftPower() {
+        return profile.getBackLeft();
+    }
+
+    public double getFrontRightPower() {
+        return profile.getFrontRight();
+    }
+
+    public double getBackRightPower() {
+        return profile.getBackRight();
+    }
+}
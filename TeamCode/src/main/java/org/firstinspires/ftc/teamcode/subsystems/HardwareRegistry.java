@@ -0,0 +1,258 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Process-wide registry that hands out one subsystem instance per hardware name.
+ *
+ * SmartShooter and TurretTargeting each used to build their own LimelightVision,
+ * so the Limelight was started twice and polled twice per loop, and OpModes built
+ * extra Turrets on the same motor. Anything that needs a device should get it from
+ * here so every caller shares the same instance.
+ *
+ * Usage:
+ * - Call {@link #reset()} at the start of init in every OpMode
+ * - Call {@link #beginLoop()} once at the top of every loop iteration; this also
+ *   clears the {@link LoopHardwareCache} so every hub does one bulk read per loop
+ *
+ * The getters are synchronized so {@link InitOrchestrator} steps on different
+ * threads still get one instance per device.
+ */
+public final class HardwareRegistry {
+
+    private static HardwareRegistry instance;
+
+    private final HardwareMap hardwareMap;
+    private final Map<String, Object> instances = new HashMap<>();
+    private final LoopHardwareCache loopCache;
+
+    // Incremented by beginLoop(); 0 means the OpMode never started a loop
+    private long loopCount = 0;
+
+    private HardwareRegistry(HardwareMap hardwareMap) {
+        this.hardwareMap = hardwareMap;
+        this.loopCache = new LoopHardwareCache(hardwareMap);
+    }
+
+    /**
+     * Gets the registry for the given hardware map, creating it if needed.
+     *
+     * @param hardwareMap The FTC hardware map
+     * @return The shared registry
+     */
+    public static synchronized HardwareRegistry get(HardwareMap hardwareMap) {
+        if (instance == null || instance.hardwareMap != hardwareMap) {
+            instance = new HardwareRegistry(hardwareMap);
+        }
+        return instance;
+    }
+
+    /**
+     * Drops every shared instance. Call at the start of each OpMode's init
+     * so nothing configured by a previous OpMode is handed out again.
+     */
+    public static synchronized void reset() {
+        if (instance != null) {
+            // Background pollers would otherwise outlive the OpMode that started them
+            for (Object device : instance.instances.values()) {
+                if (device instanceof LimelightVision) {
+                    ((LimelightVision) device).stopPolling();
+                }
+            }
+        }
+        instance = null;
+    }
+
+    /**
+     * Marks the start of a new loop iteration: clears the hub bulk caches and
+     * lets shared devices know they may be polled again.
+     */
+    public void beginLoop() {
+        loopCache.beginLoop();
+        loopCount++;
+    }
+
+    /**
+     * @return Number of loop iterations started with {@link #beginLoop()}
+     */
+    public long getLoopCount() {
+        return loopCount;
+    }
+
+    /**
+     * @return The bulk-read cache cleared by {@link #beginLoop()}
+     */
+    public LoopHardwareCache getLoopCache() {
+        return loopCache;
+    }
+
+    /**
+     * @return The hardware map this registry was created for
+     */
+    public HardwareMap getHardwareMap() {
+        return hardwareMap;
+    }
+
+    /**
+     * Gets a raw motor by hardware name.
+     *
+     * @param name The hardware name for the motor
+     * @return The shared DcMotorEx instance
+     * @throws IllegalArgumentException if the motor cannot be found
+     */
+    public synchronized DcMotorEx getMotor(String name) {
+        String key = "DcMotorEx:" + name;
+        DcMotorEx motor = (DcMotorEx) instances.get(key);
+        if (motor == null) {
+            try {
+                motor = hardwareMap.get(DcMotorEx.class, name);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Could not find motor: " + name);
+            }
+            instances.put(key, motor);
+        }
+        return motor;
+    }
+
+    /**
+     * Gets the shared battery voltage compensator, creating one on the system
+     * clock if none was installed.
+     *
+     * @return The shared VoltageCompensator
+     */
+    public synchronized VoltageCompensator getVoltageCompensator() {
+        VoltageCompensator compensator = (VoltageCompensator) instances.get("VoltageCompensator");
+        if (compensator == null) {
+            compensator = new VoltageCompensator(hardwareMap);
+            instances.put("VoltageCompensator", compensator);
+        }
+        return compensator;
+    }
+
+    /**
+     * Installs the compensator handed out by {@link #getVoltageCompensator()}, e.g.
+     * one on a simulated clock. Subsystems pick it up when they are created, so call
+     * this before creating them.
+     *
+     * @param compensator The compensator to share
+     */
+    public synchronized void setVoltageCompensator(VoltageCompensator compensator) {
+        instances.put("VoltageCompensator", compensator);
+    }
+
+    /**
+     * @return The shared Turret using the default motor name
+     */
+    public Turret getTurret() {
+        return getTurret(Turret.DEFAULT_TURRET_MOTOR_NAME);
+    }
+
+    /**
+     * @param motorName The hardware name for the turret motor
+     * @return The shared Turret for that motor
+     */
+    public synchronized Turret getTurret(String motorName) {
+        String key = "Turret:" + motorName;
+        Turret turret = (Turret) instances.get(key);
+        if (turret == null) {
+            turret = new Turret(hardwareMap, motorName);
+            instances.put(key, turret);
+        }
+        return turret;
+    }
+
+    /**
+     * @return The shared Shooter using the default motor names
+     */
+    public Shooter getShooter() {
+        return getShooter(Shooter.DEFAULT_LEFT_MOTOR_NAME, Shooter.DEFAULT_RIGHT_MOTOR_NAME);
+    }
+
+    /**
+     * @param leftMotorName  The hardware name for the left shooter motor
+     * @param rightMotorName The hardware name for the right shooter motor
+     * @return The shared Shooter for that motor pair
+     */
+    public synchronized Shooter getShooter(String leftMotorName, String rightMotorName) {
+        String key = "Shooter:" + leftMotorName + "/" + rightMotorName;
+        Shooter shooter = (Shooter) instances.get(key);
+        if (shooter == null) {
+            shooter = new Shooter(hardwareMap, leftMotorName, rightMotorName);
+            instances.put(key, shooter);
+        }
+        return shooter;
+    }
+
+    /**
+     * @return The shared Intake using the default motor name
+     */
+    public Intake getIntake() {
+        return getIntake(Intake.DEFAULT_INTAKE_MOTOR_NAME);
+    }
+
+    /**
+     * @param motorName The hardware name for the intake motor
+     * @return The shared Intake for that motor
+     */
+    public synchronized Intake getIntake(String motorName) {
+        String key = "Intake:" + motorName;
+        Intake intake = (Intake) instances.get(key);
+        if (intake == null) {
+            intake = new Intake(hardwareMap, motorName);
+            instances.put(key, intake);
+        }
+        return intake;
+    }
+
+    /**
+     * @return The shared Indexer using the default servo name
+     */
+    public Indexer getIndexer() {
+        return getIndexer(Indexer.DEFAULT_INDEXER_SERVO_NAME);
+    }
+
+    /**
+     * @param servoName The hardware name for the indexer servo
+     * @return The shared Indexer for that servo
+     */
+    public synchronized Indexer getIndexer(String servoName) {
+        String key = "Indexer:" + servoName;
+        Indexer indexer = (Indexer) instances.get(key);
+        if (indexer == null) {
+            indexer = new Indexer(hardwareMap, servoName);
+            instances.put(key, indexer);
+        }
+        return indexer;
+    }
+
+    /**
+     * @return The shared LimelightVision using the default device name
+     */
+    public LimelightVision getVision() {
+        return getVision(LimelightVision.DEFAULT_LIMELIGHT_NAME);
+    }
+
+    /**
+     * Gets the shared LimelightVision. The Limelight is started once when it is
+     * first requested, and restarted if a previous user stopped it.
+     *
+     * @param limelightName The hardware name for the Limelight
+     * @return The shared LimelightVision for that device
+     */
+    public synchronized LimelightVision getVision(String limelightName) {
+        String key = "LimelightVision:" + limelightName;
+        LimelightVision vision = (LimelightVision) instances.get(key);
+        if (vision == null) {
+            vision = new LimelightVision(hardwareMap, limelightName);
+            vision.attachTo(this);
+            instances.put(key, vision);
+        } else {
+            vision.start();
+        }
+        return vision;
+    }
+}
@@ -12,12 +12,15 @@ public class Indexer {
 
     private final Servo indexerServo;
 
+    // Holding the gate open or closed every loop costs no hub writes
+    private final CachedServo output;
+
     // Servo positions (adjust for your mechanism)
     private double positionClosed = 0.0;  // Blocks balls
     private double positionOpen = 1.0;    // Allows balls through
 
     // Default hardware name
-    private static final String DEFAULT_INDEXER_SERVO_NAME = "indexerServo";
+    static final String DEFAULT_INDEXER_SERVO_NAME = "indexerServo";
 
     private boolean isOpen;
 
@@ -44,6 +47,7 @@ public class Indexer {
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Could not find indexer servo: " + servoName);
         }
+        this.output = new CachedServo(indexerServo);
 
         // Start closed (blocks balls) for safety
         close();
@@ -53,7 +57,7 @@ public class Indexer {
      * Opens the indexer so balls can flow into the intake.
      */
     public void open() {
-        indexerServo.setPosition(positionOpen);
+        output.setPosition(positionOpen);
         isOpen = true;
     }
 
@@ -61,7 +65,7 @@ public class Indexer {
      * Closes the indexer to block balls from entering the intake.
      */
     public void close() {
-        indexerServo.setPosition(positionClosed);
+        output.setPosition(positionClosed);
         isOpen = false;
     }
 
@@ -72,7 +76,7 @@ public class Indexer {
      */
     public void setPosition(double position) {
         double clamped = Math.max(0.0, Math.min(1.0, position));
-        indexerServo.setPosition(clamped);
+        output.setPosition(clamped);
         isOpen = clamped > 0.5;  // Approximate
     }
 
@@ -90,6 +94,13 @@ public class Indexer {
         return indexerServo;
     }
 
+    /**
+     * @return The write cache in front of the indexer servo, for write counters
+     */
+    public CachedServo getOutput() {
+        return output;
+    }
+
     /**
      * Configures custom open/closed positions if your mechanism differs.
      *
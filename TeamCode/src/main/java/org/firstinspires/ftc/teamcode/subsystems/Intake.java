@@ -16,12 +16,15 @@ import com.qualcomm.robotcore.hardware.HardwareMap;
 public class Intake {
 
     private final DcMotorEx intakeMotor;
+    private final LoopHardwareCache cache;
+    private final CachedMotor output;
+    private final VoltageCompensator voltage;
 
     // State tracking
     private double currentPower;
 
     // Default hardware name
-    private static final String DEFAULT_INTAKE_MOTOR_NAME = "intakeMotor";
+    static final String DEFAULT_INTAKE_MOTOR_NAME = "intakeMotor";
     
     /**
      * Encoder counts per output shaft revolution for goBILDA 512 RPM motor.
@@ -55,18 +58,27 @@ public class Intake {
             throw new IllegalArgumentException("Could not find intake motor: " + motorName);
         }
 
-        intakeMotor.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
-        intakeMotor.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+        // Encoder reads come from the hub's bulk data, cleared once per loop
+        this.cache = HardwareRegistry.get(hardwareMap).getLoopCache();
+        cache.register(intakeMotor);
+        this.voltage = HardwareRegistry.get(hardwareMap).getVoltageCompensator();
+
+        // Writes skip values that have not changed since the last loop
+        this.output = new CachedMotor(intakeMotor);
+        output.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+        output.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
     }
 
     /**
      * Sets the intake power. Positive = intake (pull in), negative = outtake (expel).
+     * The power is scaled for the battery voltage, so the rollers run at the same
+     * speed as on a fresh battery.
      *
-     * @param power Power in range [-1.0, 1.0]
+     * @param power Power in range [-1.0, 1.0], as at 12 V
      */
     public void setPower(double power) {
         double clamped = clampPower(power);
-        intakeMotor.setPower(clamped);
+        output.setPower(voltage.compensate(clamped));
         currentPower = clamped;
     }
 
@@ -120,6 +132,16 @@ public class Intake {
         return currentPower;
     }
 
+    /**
+     * Reads the roller speed from the encoder. A roller commanded to run but
+     * reading near zero is jammed.
+     *
+     * @return Current roller speed in RPM
+     */
+    public double getCurrentRPM() {
+        return cache.readVelocity(intakeMotor) * 60.0 / TICKS_PER_REV;
+    }
+
     /**
      * @return The underlying motor for advanced control
      */
@@ -127,6 +149,13 @@ public class Intake {
         return intakeMotor;
     }
 
+    /**
+     * @return The write cache in front of the intake motor, for write counters
+     */
+    public CachedMotor getOutput() {
+        return output;
+    }
+
     private double clampPower(double power) {
         return Math.max(-1.0, Math.min(1.0, power));
     }
@@ -0,0 +1,247 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import com.qualcomm.hardware.limelightvision.LLResult;
+import com.qualcomm.hardware.limelightvision.Limelight3A;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Background thread that polls the Limelight so the loop thread never blocks on it.
+ *
+ * The poller fetches results at the Limelight's frame rate. It skips results it has
+ * already seen (same object or same timestamp) and results older than the staleness
+ * limit. Each new result is published as an immutable {@link VisionFrame} through an
+ * AtomicReference, so readers never take a lock.
+ *
+ * Counters:
+ * - duplicate: the Limelight returned a frame that was already published
+ * - stale: the frame was older than the staleness limit and was not published
+ * - dropped: a published frame was replaced before the loop thread read it
+ */
+public class LimelightPoller implements Runnable {
+
+    public static final int DEFAULT_POLL_HZ = 100;
+    public static final long DEFAULT_MAX_STALENESS_MS = 100;
+
+    private final Limelight3A limelight;
+    private final NanoClock clock;
+    private final long pollPeriodMs;
+    private volatile long maxStalenessMs = DEFAULT_MAX_STALENESS_MS;
+
+    private final AtomicReference<VisionFrame> latestFrame = new AtomicReference<>();
+    // Sequence of the newest frame the loop thread has read
+    private final AtomicLong consumedSequence = new AtomicLong(0);
+
+    private volatile boolean running = false;
+    private Thread thread;
+
+    // Only touched by the polling thread
+    private LLResult lastResult;
+    private double lastTimestamp = Double.NaN;
+    private long sequence = 0;
+
+    // Written only by the polling thread, read from the loop thread
+    private volatile long framesPublished = 0;
+    private volatile long duplicateFrames = 0;
+    private volatile long staleFrames = 0;
+    private volatile long droppedFrames = 0;
+    private volatile long pollErrors = 0;
+    private volatile double lastPollMs = 0;
+    private volatile double maxPollMs = 0;
+
+    /**
+     * @param limelight The Limelight to poll (already started)
+     */
+    public LimelightPoller(Limelight3A limelight) {
+        this(limelight, DEFAULT_POLL_HZ, NanoClock.SYSTEM);
+    }
+
+    /**
+     * @param limelight The Limelight to poll (already started)
+     * @param pollHz    How often to fetch results
+     * @param clock     Time source for frame timestamps
+     */
+    public LimelightPoller(Limelight3A limelight, int pollHz, NanoClock clock) {
+        if (pollHz <= 0) {
+            throw new IllegalArgumentException("Poll rate must be positive: " + pollHz);
+        }
+        this.limelight = limelight;
+        this.clock = clock;
+        this.pollPeriodMs = Math.max(1, 1000 / pollHz);
+    }
+
+    /**
+     * Starts the polling thread. Does nothing if it is already running.
+     */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this, "LimelightPoller");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the polling thread and waits briefly for it to exit.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    /**
+     * @return true while the polling thread is running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            pollOnce();
+            try {
+                Thread.sleep(pollPeriodMs);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Fetches one result and publishes it if it is new and fresh.
+     * Called by the polling thread; tests and simulation may call it directly.
+     */
+    void pollOnce() {
+        long start = clock.nanoTime();
+        LLResult result;
+        try {
+            result = limelight.getLatestResult();
+        } catch (RuntimeException e) {
+            pollErrors++;
+            return;
+        }
+        long end = clock.nanoTime();
+
+        double pollMs = (end - start) / 1e6;
+        lastPollMs = pollMs;
+        if (pollMs > maxPollMs) maxPollMs = pollMs;
+
+        if (result == null) return;
+
+        double timestamp = result.getTimestamp();
+        if (result == lastResult || timestamp == lastTimestamp) {
+            duplicateFrames++;
+            return;
+        }
+        lastResult = result;
+        lastTimestamp = timestamp;
+
+        if (result.getStaleness() > maxStalenessMs) {
+            staleFrames++;
+            return;
+        }
+
+        double pipelineLatencyMs = result.getCaptureLatency() + result.getTargetingLatency();
+        VisionFrame frame = new VisionFrame(result, ++sequence, end, pipelineLatencyMs, pollMs);
+
+        VisionFrame previous = latestFrame.getAndSet(frame);
+        if (previous != null && previous.getSequence() > consumedSequence.get()) {
+            droppedFrames++;
+        }
+        framesPublished++;
+    }
+
+    /**
+     * Gets the newest published frame without blocking and marks it as read.
+     *
+     * @return The newest frame, or null if none has been published yet
+     */
+    public VisionFrame getLatestFrame() {
+        VisionFrame frame = latestFrame.get();
+        if (frame != null && frame.getSequence() > consumedSequence.get()) {
+            consumedSequence.set(frame.getSequence());
+        }
+        return frame;
+    }
+
+    /**
+     * @return true if a frame has been published since the last {@link #getLatestFrame()}
+     */
+    public boolean hasNewFrame() {
+        VisionFrame frame = latestFrame.get();
+        return frame != null && frame.getSequence() > consumedSequence.get();
+    }
+
+    /**
+     * @param maxStalenessMs Results older than this are not published
+     */
+    public void setMaxStalenessMs(long maxStalenessMs) {
+        this.maxStalenessMs = maxStalenessMs;
+    }
+
+    /**
+     * @return Clock used to timestamp frames
+     */
+    public NanoClock getClock() {
+        return clock;
+    }
+
+    /**
+     * @return Frames published to the loop thread
+     */
+    public long getFramesPublished() {
+        return framesPublished;
+    }
+
+    /**
+     * @return Results skipped because they were already published
+     */
+    public long getDuplicateFrames() {
+        return duplicateFrames;
+    }
+
+    /**
+     * @return Results skipped because they were older than the staleness limit
+     */
+    public long getStaleFrames() {
+        return staleFrames;
+    }
+
+    /**
+     * @return Published frames replaced before the loop thread read them
+     */
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * @return getLatestResult() calls that threw
+     */
+    public long getPollErrors() {
+        return pollErrors;
+    }
+
+    /**
+     * @return Duration of the last getLatestResult() call, in milliseconds
+     */
+    public double getLastPollMs() {
+        return lastPollMs;
+    }
+
+    /**
+     * @return Longest getLatestResult() call, in milliseconds
+     */
+    public double getMaxPollMs() {
+        return maxPollMs;
+    }
+}
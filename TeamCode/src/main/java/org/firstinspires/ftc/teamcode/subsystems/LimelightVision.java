@@ -6,6 +6,7 @@ import com.qualcomm.hardware.limelightvision.Limelight3A;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 import org.firstinspires.ftc.robotcore.external.navigation.Pose3D;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -19,13 +20,36 @@ import java.util.List;
 public class LimelightVision {
     private Limelight3A limelight;
     private LLResult latestResult;
+    private boolean running = false;
+    
+    // Set when this instance is shared through HardwareRegistry, so several
+    // callers can call update() in the same loop without polling again
+    private HardwareRegistry registry;
+    private long lastUpdateLoop = -1;
+    
+    // Optional background poller; when running, update() only picks up its latest frame
+    private LimelightPoller poller;
+    private VisionFrame latestFrame;
+    
+    // Frames older than this are treated as no target in async mode
+    private static final double MAX_FRAME_AGE_MS = 250.0;
+    
+    // Tag index for the current result, rebuilt by update() only when the result changes,
+    // so the tag queries below are array reads instead of scans
+    private final FiducialIndex tagIndex = new FiducialIndex();
+    private LLResultTypes.FiducialResult[] tagResults = new LLResultTypes.FiducialResult[16];
+    private double[] tagXDegrees = new double[16];
+    private LLResult indexedResult;
+    private int closestRedSlot = -1;
+    private int closestBlueSlot = -1;
+    private long resultSequence = 0;
     
     // DECODE 2025-26 AprilTag IDs
     public static final int[] RED_BASKET_TAGS = {24};
     public static final int[] BLUE_BASKET_TAGS = {20};
     
     // Default hardware name
-    private static final String DEFAULT_LIMELIGHT_NAME = "limelight";
+    static final String DEFAULT_LIMELIGHT_NAME = "limelight";
     
     // Pipeline indices
     private static final int APRILTAG_PIPELINE = 0;
@@ -54,19 +78,134 @@ public class LimelightVision {
             throw new IllegalArgumentException("Could not find Limelight: " + limelightName);
         }
         
+        start();
+    }
+    
+    /**
+     * Switches to the AprilTag pipeline and starts the Limelight.
+     * Does nothing if it is already running.
+     */
+    public void start() {
+        if (running) return;
+        
         // Set to AprilTag detection pipeline
         limelight.pipelineSwitch(APRILTAG_PIPELINE);
         
         // Start the Limelight
         limelight.start();
+        running = true;
+    }
+    
+    /**
+     * Starts polling the Limelight on a background thread. After this, update()
+     * never blocks: it just picks up the newest frame the poller published.
+     * Does nothing if polling is already running.
+     */
+    public void startPolling() {
+        start();
+        if (poller == null) {
+            poller = new LimelightPoller(limelight);
+        }
+        poller.start();
+    }
+    
+    /**
+     * Stops the background poller; update() goes back to polling the device directly.
+     */
+    public void stopPolling() {
+        if (poller != null) {
+            poller.stop();
+        }
+        latestFrame = null;
+    }
+    
+    /**
+     * @return true if a background poller is supplying results
+     */
+    public boolean isPolling() {
+        return poller != null && poller.isRunning();
     }
     
     /**
      * Updates the latest result from the Limelight.
      * Call this periodically in your OpMode loop.
+     * 
+     * When shared through {@link HardwareRegistry}, only the first call after
+     * each {@link HardwareRegistry#beginLoop()} polls the device.
+     * When {@link #startPolling()} is active, this reads the poller's newest
+     * frame instead of calling the device, and drops frames that are too old.
      */
     public void update() {
-        latestResult = limelight.getLatestResult();
+        if (registry != null) {
+            long loop = registry.getLoopCount();
+            if (loop > 0 && loop == lastUpdateLoop) return;
+            lastUpdateLoop = loop;
+        }
+        if (isPolling()) {
+            VisionFrame frame = poller.getLatestFrame();
+            if (frame != null && frame.getAgeMs(poller.getClock().nanoTime()) > MAX_FRAME_AGE_MS) {
+                frame = null;
+            }
+            latestFrame = frame;
+            latestResult = frame != null ? frame.getResult() : null;
+        } else {
+            latestResult = limelight.getLatestResult();
+        }
+        rebuildIndex();
+    }
+    
+    /**
+     * Indexes the fiducials of the latest result by id and picks the closest
+     * basket tag for each alliance. Skipped when the result has not changed.
+     */
+    private void rebuildIndex() {
+        if (latestResult == indexedResult) return;
+        indexedResult = latestResult;
+        resultSequence++;
+        
+        int previousCount = tagIndex.size();
+        tagIndex.clear();
+        closestRedSlot = -1;
+        closestBlueSlot = -1;
+        
+        int count = 0;
+        if (hasTarget()) {
+            List<LLResultTypes.FiducialResult> tags = latestResult.getFiducialResults();
+            count = tags.size();
+            if (count > tagResults.length) {
+                tagResults = new LLResultTypes.FiducialResult[count];
+                tagXDegrees = new double[count];
+            }
+            for (int i = 0; i < count; i++) {
+                LLResultTypes.FiducialResult tag = tags.get(i);
+                tagIndex.add(tag.getFiducialId(), tag.getTargetArea());
+                tagResults[i] = tag;
+                tagXDegrees[i] = tag.getTargetXDegrees();
+            }
+            closestRedSlot = tagIndex.findClosest(RED_BASKET_TAGS);
+            closestBlueSlot = tagIndex.findClosest(BLUE_BASKET_TAGS);
+        }
+        
+        // Drop references to the previous frame's tags
+        for (int i = count; i < previousCount; i++) {
+            tagResults[i] = null;
+        }
+    }
+    
+    /**
+     * Counts result changes, so callers can act once per new camera frame.
+     *
+     * @return Number of times update() has picked up a different result
+     */
+    public long getResultSequence() {
+        return resultSequence;
+    }
+    
+    /**
+     * Links this instance to the registry that shares it.
+     */
+    void attachTo(HardwareRegistry registry) {
+        this.registry = registry;
     }
     
     /**
@@ -116,10 +255,30 @@ public class LimelightVision {
      * @return List of detected AprilTag fiducials, or empty list if none
      */
     public List<LLResultTypes.FiducialResult> getAprilTags() {
-        if (!hasTarget()) return List.of();
+        if (!hasTarget()) return Collections.emptyList();
         return latestResult.getFiducialResults();
     }
     
+    /**
+     * @return Number of AprilTags in the current result
+     */
+    public int getTagCount() {
+        return tagIndex.size();
+    }
+    
+    /**
+     * Gets a tag id without building the fiducial list.
+     * 
+     * @param index Tag index, 0-based, below {@link #getTagCount()}
+     * @return AprilTag id
+     */
+    public int getTagId(int index) {
+        if (index < 0 || index >= tagIndex.size()) {
+            throw new IllegalArgumentException("Tag index out of range: " + index);
+        }
+        return tagIndex.getId(index);
+    }
+    
     /**
      * Finds a specific AprilTag by ID.
      * 
@@ -127,13 +286,8 @@ public class LimelightVision {
      * @return The fiducial result if found, null otherwise
      */
     public LLResultTypes.FiducialResult getAprilTagById(int tagId) {
-        List<LLResultTypes.FiducialResult> tags = getAprilTags();
-        for (LLResultTypes.FiducialResult tag : tags) {
-            if (tag.getFiducialId() == tagId) {
-                return tag;
-            }
-        }
-        return null;
+        int slot = tagIndex.find(tagId);
+        return slot >= 0 ? tagResults[slot] : null;
     }
     
     /**
@@ -152,7 +306,7 @@ public class LimelightVision {
      * @return The closest red basket tag, or null if none visible
      */
     public LLResultTypes.FiducialResult getClosestRedBasket() {
-        return getClosestTag(RED_BASKET_TAGS);
+        return closestRedSlot >= 0 ? tagResults[closestRedSlot] : null;
     }
     
     /**
@@ -161,7 +315,7 @@ public class LimelightVision {
      * @return true if at least one red basket tag is visible
      */
     public boolean hasRedBasketTarget() {
-        return getClosestRedBasket() != null;
+        return closestRedSlot >= 0;
     }
     
     /**
@@ -170,7 +324,7 @@ public class LimelightVision {
      * @return The closest blue basket tag, or null if none visible
      */
     public LLResultTypes.FiducialResult getClosestBlueBasket() {
-        return getClosestTag(BLUE_BASKET_TAGS);
+        return closestBlueSlot >= 0 ? tagResults[closestBlueSlot] : null;
     }
     
     /**
@@ -179,7 +333,7 @@ public class LimelightVision {
      * @return true if at least one blue basket tag is visible
      */
     public boolean hasBlueBasketTarget() {
-        return getClosestBlueBasket() != null;
+        return closestBlueSlot >= 0;
     }
     
     /**
@@ -188,8 +342,7 @@ public class LimelightVision {
      * @return Horizontal offset in degrees, or 0 if no red basket visible
      */
     public double getRedBasketX() {
-        LLResultTypes.FiducialResult tag = getClosestRedBasket();
-        return tag != null ? tag.getTargetXDegrees() : 0.0;
+        return closestRedSlot >= 0 ? tagXDegrees[closestRedSlot] : 0.0;
     }
     
     /**
@@ -198,8 +351,7 @@ public class LimelightVision {
      * @return Horizontal offset in degrees, or 0 if no blue basket visible
      */
     public double getBlueBasketX() {
-        LLResultTypes.FiducialResult tag = getClosestBlueBasket();
-        return tag != null ? tag.getTargetXDegrees() : 0.0;
+        return closestBlueSlot >= 0 ? tagXDegrees[closestBlueSlot] : 0.0;
     }
 
     /**
@@ -213,29 +365,33 @@ public class LimelightVision {
     }
     
     /**
-     * Finds the closest tag from a list of tag IDs.
+     * Gets the frame used by the last update() in async mode.
      * 
-     * @param tagIds Array of tag IDs to search for
-     * @return The closest tag from the list, or null if none visible
+     * @return The current frame, or null if not polling or no fresh frame
      */
-    private LLResultTypes.FiducialResult getClosestTag(int[] tagIds) {
-        List<LLResultTypes.FiducialResult> allTags = getAprilTags();
-        LLResultTypes.FiducialResult closest = null;
-        double minArea = 0;
-        
-        for (LLResultTypes.FiducialResult tag : allTags) {
-            for (int targetId : tagIds) {
-                if (tag.getFiducialId() == targetId) {
-                    double area = tag.getTargetArea();
-                    if (closest == null || area > minArea) {
-                        closest = tag;
-                        minArea = area;
-                    }
-                }
-            }
-        }
-        
-        return closest;
+    public VisionFrame getVisionFrame() {
+        return latestFrame;
+    }
+    
+    /**
+     * Gets the age of the current frame: Limelight pipeline latency plus the time
+     * since the poller fetched it.
+     * 
+     * @return Frame age in milliseconds, or NaN if not polling or no fresh frame
+     */
+    public double getFrameAgeMs() {
+        VisionFrame frame = latestFrame;
+        if (frame == null) return Double.NaN;
+        return frame.getAgeMs(poller.getClock().nanoTime());
+    }
+    
+    /**
+     * Gets the background poller for latency and frame statistics.
+     * 
+     * @return The poller, or null if {@link #startPolling()} was never called
+     */
+    public LimelightPoller getPoller() {
+        return poller;
     }
     
     /**
@@ -243,9 +399,11 @@ public class LimelightVision {
      * Call this when the OpMode stops.
      */
     public void stop() {
+        stopPolling();
         if (limelight != null) {
             limelight.stop();
         }
+        running = false;
     }
     
     /**
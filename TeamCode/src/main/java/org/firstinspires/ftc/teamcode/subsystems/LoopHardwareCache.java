@@ -0,0 +1,253 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import com.qualcomm.hardware.lynx.LynxModule;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Manual bulk-read cache shared by every subsystem.
+ *
+ * Builds on the pattern in ConceptMotorBulkRead: all hubs are put into
+ * {@link LynxModule.BulkCachingMode#MANUAL} and the cache is cleared exactly once
+ * at the top of each loop. After that, one bulk read per hub serves every encoder
+ * position and velocity read for the rest of the loop.
+ *
+ * Hubs are only switched to MANUAL on the first {@link #beginLoop()}, so an OpMode
+ * that never starts a loop keeps the SDK default and never sees stale data.
+ *
+ * Subsystems {@link #register} the motors they read each loop. Right after the bulk
+ * read, {@link #beginLoop()} takes every registered motor's position and velocity
+ * from the bulk data, and {@link #readVelocity(DcMotorEx)} and
+ * {@link #readPosition(DcMotorEx)} answer from that snapshot without touching the
+ * device. Anything else is a miss and goes to the device: a read of an unregistered
+ * motor, or any read before the first loop. Each loop also checks that the hubs are
+ * still in MANUAL mode (other code, e.g. a localizer, may switch them back to AUTO,
+ * where repeated reads cost extra bulk reads). {@link #isFullyCached()} is true only
+ * if the last loop had no misses and no hub had left MANUAL mode.
+ *
+ * OpMode init may construct subsystems on several threads, so {@link #register} is
+ * synchronized and swaps in a new motor set with its snapshot arrays in one write.
+ * {@link #beginLoop()} picks up the newest set, and reads use that set until the
+ * next loop.
+ */
+public class LoopHardwareCache {
+
+    private final HardwareMap hardwareMap;
+    private List<LynxModule> hubs;
+
+    // Registered motors, replaced as a whole by register()
+    private volatile Snapshot registered = new Snapshot(new DcMotorEx[0]);
+    // The set beginLoop() filled for this loop
+    private Snapshot snapshot = registered;
+
+    private long loopCount = 0;
+
+    // Counters for the loop in progress
+    private int bulkReads = 0;
+    private int deviceReads = 0;
+    private int cachedReads = 0;
+    private int misses = 0;
+    private int modeResets = 0;
+
+    // Counters for the last completed loop
+    private int lastBulkReads = 0;
+    private int lastDeviceReads = 0;
+    private int lastCachedReads = 0;
+    private int lastMisses = 0;
+    private int lastModeResets = 0;
+
+    /**
+     * Constructs a cache for every hub in the hardware map.
+     *
+     * @param hardwareMap The FTC hardware map
+     */
+    public LoopHardwareCache(HardwareMap hardwareMap) {
+        this.hardwareMap = hardwareMap;
+    }
+
+    /**
+     * Adds a motor to the per-loop snapshot. Call from the subsystem's constructor
+     * for every motor it reads each loop; registering twice does nothing.
+     *
+     * @param motor The motor to snapshot
+     */
+    public synchronized void register(DcMotorEx motor) {
+        Snapshot current = registered;
+        if (current.indexOf(motor) >= 0) return;
+        DcMotorEx[] motors = Arrays.copyOf(current.motors, current.motors.length + 1);
+        motors[motors.length - 1] = motor;
+        registered = new Snapshot(motors);
+    }
+
+    /**
+     * Clears every hub's bulk cache, performs one bulk read per hub and snapshots
+     * the registered motors from it. Call once at the top of each loop, before any
+     * subsystem reads hardware.
+     */
+    public void beginLoop() {
+        if (hubs == null) {
+            hubs = hardwareMap.getAll(LynxModule.class);
+            for (int i = 0; i < hubs.size(); i++) {
+                hubs.get(i).setBulkCachingMode(LynxModule.BulkCachingMode.MANUAL);
+            }
+        }
+
+        if (loopCount > 0) {
+            lastBulkReads = bulkReads;
+            lastDeviceReads = deviceReads;
+            lastCachedReads = cachedReads;
+            lastMisses = misses;
+            lastModeResets = modeResets;
+        }
+        bulkReads = 0;
+        deviceReads = 0;
+        cachedReads = 0;
+        misses = 0;
+        modeResets = 0;
+
+        for (int i = 0; i < hubs.size(); i++) {
+            LynxModule hub = hubs.get(i);
+            if (hub.getBulkCachingMode() != LynxModule.BulkCachingMode.MANUAL) {
+                hub.setBulkCachingMode(LynxModule.BulkCachingMode.MANUAL);
+                modeResets++;
+            }
+            hub.clearBulkCache();
+            // Fetch now so the read happens at a predictable point in the loop
+            hub.getBulkData();
+            bulkReads++;
+        }
+
+        // Served by the bulk data just fetched; no further hub traffic
+        Snapshot s = registered;
+        for (int i = 0; i < s.motors.length; i++) {
+            s.positions[i] = s.motors[i].getCurrentPosition();
+            s.velocities[i] = s.motors[i].getVelocity();
+            deviceReads += 2;
+        }
+        snapshot = s;
+
+        loopCount++;
+    }
+
+    /**
+     * Reads a motor's velocity from this loop's snapshot.
+     *
+     * @param motor The motor to read
+     * @return Velocity in encoder ticks per second
+     */
+    public double readVelocity(DcMotorEx motor) {
+        int i = loopCount > 0 ? snapshot.indexOf(motor) : -1;
+        if (i < 0) {
+            misses++;
+            deviceReads++;
+            return motor.getVelocity();
+        }
+        cachedReads++;
+        return snapshot.velocities[i];
+    }
+
+    /**
+     * Reads a motor's encoder position from this loop's snapshot.
+     *
+     * @param motor The motor to read
+     * @return Encoder position in ticks
+     */
+    public int readPosition(DcMotorEx motor) {
+        int i = loopCount > 0 ? snapshot.indexOf(motor) : -1;
+        if (i < 0) {
+            misses++;
+            deviceReads++;
+            return motor.getCurrentPosition();
+        }
+        cachedReads++;
+        return snapshot.positions[i];
+    }
+
+    /**
+     * @return Number of hubs being bulk read (0 before the first loop)
+     */
+    public int getHubCount() {
+        return hubs != null ? hubs.size() : 0;
+    }
+
+    /**
+     * @return Number of registered motors
+     */
+    public int getMotorCount() {
+        return registered.motors.length;
+    }
+
+    /**
+     * @return Number of loops started with {@link #beginLoop()}
+     */
+    public long getLoopCount() {
+        return loopCount;
+    }
+
+    /**
+     * @return Bulk reads issued during the last completed loop
+     */
+    public int getBulkReadsLastLoop() {
+        return lastBulkReads;
+    }
+
+    /**
+     * @return Reads that went to a motor during the last completed loop: the snapshot plus misses
+     */
+    public int getDeviceReadsLastLoop() {
+        return lastDeviceReads;
+    }
+
+    /**
+     * @return Reads answered from the snapshot during the last completed loop
+     */
+    public int getCachedReadsLastLoop() {
+        return lastCachedReads;
+    }
+
+    /**
+     * @return Reads the snapshot could not answer during the last completed loop
+     */
+    public int getMissesLastLoop() {
+        return lastMisses;
+    }
+
+    /**
+     * @return Hubs found out of MANUAL mode at the start of the last completed loop
+     */
+    public int getModeResetsLastLoop() {
+        return lastModeResets;
+    }
+
+    /**
+     * @return true if every read in the last completed loop came from its bulk reads
+     */
+    public boolean isFullyCached() {
+        return loopCount > 1 && lastMisses == 0 && lastModeResets == 0;
+    }
+
+    /**
+     * A set of registered motors with room for one loop's readings of each.
+     */
+    private static final class Snapshot {
+        final DcMotorEx[] motors;
+        final int[] positions;
+        final double[] velocities;
+
+        Snapshot(DcMotorEx[] motors) {
+            this.motors = motors;
+            this.positions = new int[motors.length];
+            this.velocities = new double[motors.length];
+        }
+
+        int indexOf(DcMotorEx motor) {
+            for (int i = 0; i < motors.length; i++) {
+                if (motors[i] == motor) return i;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+/**
+ * Init shared by the TeleOps and Autonomous: the Limelight, shooter, turret and
+ * intake steps, and the flight recorder and init timing report once they have run.
+ *
+ * Add the steps with {@link #addMechanismSteps}, run the orchestrator, then take the
+ * subsystems from the returned object.
+ */
+public final class MechanismInit {
+
+    private final HardwareMap hardwareMap;
+    private final HardwareRegistry registry;
+    private final boolean zeroTurret;
+
+    private LimelightVision vision;
+    private SmartShooter shooter;
+    private TurretTargeting targeting;
+
+    private MechanismInit(HardwareMap hardwareMap, boolean zeroTurret) {
+        this.hardwareMap = hardwareMap;
+        this.registry = HardwareRegistry.get(hardwareMap);
+        this.zeroTurret = zeroTurret;
+    }
+
+    /**
+     * Adds the Vision, Shooter, Turret and Intake steps.
+     *
+     * @param orchestrator Orchestrator to add the steps to
+     * @param hardwareMap  The FTC hardware map
+     * @param zeroTurret   true to zero the turret encoder, with the turret centered
+     *                     (Autonomous); TeleOp keeps the count Auto left
+     * @return The subsystems, filled in once the orchestrator has run
+     */
+    public static MechanismInit addMechanismSteps(InitOrchestrator orchestrator, HardwareMap hardwareMap,
+                                                  boolean zeroTurret) {
+        MechanismInit init = new MechanismInit(hardwareMap, zeroTurret);
+        // SmartShooter and TurretTargeting share one Limelight through the registry
+        orchestrator.addStep("Vision", () -> init.vision = init.registry.getVision());
+        // Same setup in every OpMode and in log replay; builds the drag table
+        orchestrator.addStep("Shooter", () -> init.shooter =
+                SmartShooter.configureForRobot(new SmartShooter(init.hardwareMap), NanoClock.SYSTEM), "Vision");
+        orchestrator.addStep("Turret", init::initTurret, "Vision");
+        // Created now; the loops take them from the registry
+        orchestrator.addStep("Intake", () -> {
+            init.registry.getIntake();
+            init.registry.getIndexer();
+        });
+        return init;
+    }
+
+    private void initTurret() {
+        targeting = new TurretTargeting(hardwareMap);
+        if (zeroTurret) {
+            targeting.getTurret().resetEncoder();
+        }
+    }
+
+    /**
+     * Starts the flight recorder and shows its file and each init step's duration.
+     * Call after the orchestrator has run.
+     *
+     * @param telemetry    OpMode telemetry; updated here
+     * @param orchestrator Orchestrator that ran the init steps
+     * @param recorder     Flight recorder to start
+     * @param name         OpMode name for the log file
+     */
+    public static void reportInit(Telemetry telemetry, InitOrchestrator orchestrator, RobotRecorder recorder,
+                                  String name) {
+        // Map the flight log now; recording itself never blocks the loop
+        if (recorder.start(name)) {
+            telemetry.addData("Flight Recorder", recorder.getRecorder().getFile().getName());
+        } else {
+            telemetry.addData("Flight Recorder", "off: " + recorder.getError());
+        }
+
+        for (int i = 0; i < orchestrator.getStepCount(); i++) {
+            telemetry.addData("Init " + orchestrator.getStepName(i), "%.0f ms", orchestrator.getStepMillis(i));
+        }
+        telemetry.addData("Init Total", "%.0f ms (%.0f ms one at a time)",
+                orchestrator.getTotalMillis(), orchestrator.getSequentialMillis());
+        telemetry.update();
+    }
+
+    /**
+     * @return The shared Limelight
+     */
+    public LimelightVision getVision() {
+        return vision;
+    }
+
+    /**
+     * @return The shooter, set up by {@link SmartShooter#configureForRobot}
+     */
+    public SmartShooter getShooter() {
+        return shooter;
+    }
+
+    /**
+     * @return Turret aiming
+     */
+    public TurretTargeting getTargeting() {
+        return targeting;
+    }
+}
@@ -0,0 +1,50 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import com.pedropathing.geometry.Pose;
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+
+/**
+ * Hands the robot's field pose from Autonomous to TeleOp.
+ *
+ * Stored in the SDK's {@link OpMode#blackboard}, which survives between OpModes
+ * until the robot controller app restarts. Autonomous clears it in init and saves
+ * its last follower pose in stop(); TeleOp takes it as the follower's starting pose
+ * so field-relative aiming works from the first loop. Taking it clears it, so a pose
+ * is used at most once and only right after the Auto that saved it. A stale pose
+ * would aim the turret wrong for the whole match, since the vision bias can only
+ * correct it by a few degrees.
+ */
+public final class PoseHandoff {
+
+    private static final String KEY = "teamcode.robotPose";
+
+    private PoseHandoff() {
+    }
+
+    /**
+     * @param pose Field pose to hand to the next OpMode
+     */
+    public static void save(Pose pose) {
+        if (pose != null) {
+            OpMode.blackboard.put(KEY, pose);
+        }
+    }
+
+    /**
+     * Loads the saved pose and forgets it.
+     *
+     * @return The pose an earlier OpMode saved, or null if there is none
+     */
+    public static Pose take() {
+        Object pose = OpMode.blackboard.remove(KEY);
+        return pose instanceof Pose ? (Pose) pose : null;
+    }
+
+    /**
+     * Forgets the saved pose. Autonomous calls this in init, so a pose left over
+     * from an earlier run (or an Auto stopped during init) is never handed on.
+     */
+    public static void clear() {
+        OpMode.blackboard.remove(KEY);
+    }
+}
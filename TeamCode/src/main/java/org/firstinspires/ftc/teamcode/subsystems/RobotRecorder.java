@@ -0,0 +1,129 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import com.pedropathing.follower.Follower;
+import com.pedropathing.geometry.Pose;
+
+import org.firstinspires.ftc.robotcore.internal.system.AppUtil;
+
+import java.io.File;
+
+/**
+ * OpMode hooks for the {@link FlightRecorder}.
+ *
+ * Start it at the end of init, call {@link #record} once per loop after the
+ * actuators are written, and stop it in the OpMode's stop. Logs go to
+ * /sdcard/FIRST/flightlogs/&lt;OpMode&gt;-&lt;time&gt;.flr; pull them with
+ * {@code adb pull /sdcard/FIRST/flightlogs}. Only the newest
+ * {@link FlightRecorder#DEFAULT_MAX_LOGS} are kept; older ones are deleted when a
+ * new log starts.
+ *
+ * Drive powers, the autonomous step and (optionally) the pose are set on
+ * {@link #getSample()} by the OpMode; everything else is read from the
+ * subsystems here. Reading only uses cached values, so recording never adds
+ * hub traffic.
+ */
+public class RobotRecorder {
+
+    private final FlightRecorder recorder;
+
+    /**
+     * Constructs a recorder with the default ring size.
+     */
+    public RobotRecorder() {
+        this(new FlightRecorder());
+    }
+
+    /**
+     * @param recorder Recorder to drive
+     */
+    public RobotRecorder(FlightRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Deletes the oldest logs, then creates the log file. Call at the end of init.
+     *
+     * @param opModeName Name for the file and header
+     * @return true if recording; otherwise see {@link #getError()}
+     */
+    public boolean start(String opModeName) {
+        File directory = new File(AppUtil.FIRST_FOLDER, "flightlogs");
+        FlightRecorder.pruneLogs(directory, FlightRecorder.DEFAULT_MAX_LOGS - 1);
+        return recorder.start(FlightRecorder.newLogFile(directory, opModeName), opModeName);
+    }
+
+    /**
+     * @return The sample for OpMode-specific fields (drive powers, step)
+     */
+    public FlightSample getSample() {
+        return recorder.getSample();
+    }
+
+    /**
+     * Fills the subsystem fields of the sample and writes one record.
+     *
+     * @param shooter   Shooter
+     * @param targeting Turret and vision
+     * @param follower  Pose source, or null
+     * @param poseValid true if the follower pose is known
+     */
+    public void record(SmartShooter shooter, TurretTargeting targeting, Follower follower, boolean poseValid) {
+        if (!recorder.isRecording()) return;
+        if (follower != null) {
+            Pose pose = follower.getPose();
+            recorder.getSample().setPose(poseValid, pose.getX(), pose.getY(), pose.getHeading());
+        }
+        record(shooter, targeting);
+    }
+
+    /**
+     * Fills the shooter, turret and vision fields and writes one record. Use when
+     * the OpMode already read the pose this loop and set it on {@link #getSample()}.
+     *
+     * @param shooter   Shooter
+     * @param targeting Turret and vision
+     */
+    public void record(SmartShooter shooter, TurretTargeting targeting) {
+        if (!recorder.isRecording()) return;
+        FlightSample sample = recorder.getSample();
+
+        Shooter flywheels = shooter.getShooter();
+        sample.setShooter(flywheels.getLeftRPM(), flywheels.getRightRPM(), flywheels.getTargetRPM());
+        // Raw, so a replay filters it once, the way the robot did
+        sample.setBatteryVoltage(flywheels.getLastBatteryReading());
+
+        Turret turret = targeting.getTurret();
+        sample.setTurret(turret.getCurrentPower(), turret.getCurrentPosition(), turret.getTargetAngle());
+
+        LimelightVision vision = targeting.getVision();
+        sample.setVision(vision.hasTarget(), vision.getTargetX(), vision.getTargetY(), vision.getTargetArea());
+        for (int i = 0; i < vision.getTagCount(); i++) {
+            sample.addTag(vision.getTagId(i));
+        }
+
+        recorder.record();
+    }
+
+    /**
+     * Flushes and closes the log.
+     */
+    public void stop() {
+        recorder.stop();
+    }
+
+    public boolean isRecording() {
+        return recorder.isRecording();
+    }
+
+    public long getRecordCount() {
+        return recorder.getRecordCount();
+    }
+
+    public String getError() {
+        return recorder.getError();
+    }
+
+    public FlightRecorder getRecorder() {
+        return recorder;
+    }
+}
@@ -14,12 +14,17 @@ import com.qualcomm.robotcore.hardware.HardwareMap;
  *
  * The key configuration detail for closed-loop velocity control is the
  * encoder resolution in ticks per output shaft revolution.
+ *
+ * By default setRPM uses the hub's RUN_USING_ENCODER velocity PIDF. After
+ * {@link #useFlywheelController(FlywheelController)}, setRPM only sets the target
+ * and {@link #update()} drives the motors in power mode from a
+ * voltage-compensated {@link FlywheelController}.
  */
 public class Shooter {
 
     // Default hardware names
-    private static final String DEFAULT_LEFT_MOTOR_NAME = "sl";
-    private static final String DEFAULT_RIGHT_MOTOR_NAME = "sr";
+    static final String DEFAULT_LEFT_MOTOR_NAME = "sl";
+    static final String DEFAULT_RIGHT_MOTOR_NAME = "sr";
 
     /**
      * Encoder counts per output shaft revolution for the
@@ -33,10 +38,24 @@ public class Shooter {
 
     private final DcMotorEx sl;
     private final DcMotorEx sr;
+    private final LoopHardwareCache cache;
+
+    // All writes go through these so unchanged commands are not resent
+    private final CachedMotor slOut;
+    private final CachedMotor srOut;
 
     // Tracks the last commanded RPM for convenience / telemetry
     private double targetRPM = 0.0;
 
+    // True while holding a setRPM target (either controller)
+    private boolean velocityActive = false;
+
+    // Optional custom velocity controller; null means the hub's PIDF
+    private FlywheelController controller;
+    private final ShotDetector shotDetector;
+    // Filtered battery voltage for the controller's feedforward, read at a low fixed rate
+    private final VoltageCompensator voltage;
+
     /**
      * Constructs a Shooter using the default hardware names (sl and sr).
      *
@@ -56,6 +75,21 @@ public class Shooter {
      * @throws IllegalArgumentException if the motors cannot be found
      */
     public Shooter(HardwareMap hardwareMap, String leftMotorName, String rightMotorName) {
+        this(hardwareMap, leftMotorName, rightMotorName, NanoClock.SYSTEM);
+    }
+
+    /**
+     * Constructs a Shooter on a custom clock, e.g. a simulated one.
+     *
+     * @param hardwareMap FTC hardware map
+     * @param leftMotorName   configured hardware name of the left shooter motor (sl)
+     * @param rightMotorName  configured hardware name of the right shooter motor (sr)
+     * @param clock           time source for shot detection
+     * @throws IllegalArgumentException if the motors cannot be found
+     */
+    public Shooter(HardwareMap hardwareMap, String leftMotorName, String rightMotorName, NanoClock clock) {
+        this.shotDetector = new ShotDetector(clock);
+
         try {
             this.sl = hardwareMap.get(DcMotorEx.class, leftMotorName);
         } catch (IllegalArgumentException e) {
@@ -68,15 +102,24 @@ public class Shooter {
             throw new IllegalArgumentException("Could not find right shooter motor: " + rightMotorName);
         }
 
+        // Velocity reads come from the hub's bulk data, cleared once per loop
+        this.cache = HardwareRegistry.get(hardwareMap).getLoopCache();
+        cache.register(sl);
+        cache.register(sr);
+        this.voltage = HardwareRegistry.get(hardwareMap).getVoltageCompensator();
+
+        this.slOut = new CachedMotor(sl);
+        this.srOut = new CachedMotor(sr);
+
         // Configure left motor (clockwise)
-        sl.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
-        sl.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.FLOAT);
-        sl.setDirection(DcMotorSimple.Direction.REVERSE);
+        slOut.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
+        slOut.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.FLOAT);
+        slOut.setDirection(DcMotorSimple.Direction.REVERSE);
 
         // Configure right motor (counterclockwise - reversed)
-        sr.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
-        sr.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.FLOAT);
-        sr.setDirection(DcMotorSimple.Direction.REVERSE);
+        srOut.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
+        srOut.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.FLOAT);
+        srOut.setDirection(DcMotorSimple.Direction.REVERSE);
     }
 
     /**
@@ -86,12 +129,23 @@ public class Shooter {
      * @param rpm desired motor RPM
      */
     public void setRPM(double rpm) {
-        sl.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
-        sr.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
+        if (controller != null) {
+            // The controller needs power mode; update() applies its output
+            slOut.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+            srOut.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+            velocityActive = true;
+            targetRPM = rpm;
+            return;
+        }
+        velocityActive = true;
+
+        // Only sent when switching back from power mode
+        slOut.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
+        srOut.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
         
         double ticksPerSecond = rpmToTicksPerSecond(rpm);
-        sl.setVelocity(ticksPerSecond);
-        sr.setVelocity(ticksPerSecond);
+        slOut.setVelocity(ticksPerSecond);
+        srOut.setVelocity(ticksPerSecond);
         
         targetRPM = rpm;
     }
@@ -102,11 +156,12 @@ public class Shooter {
      * @param power motor power in the range [-1.0, 1.0]
      */
     public void setPower(double power) {
-        sl.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
-        sr.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+        velocityActive = false;
+        slOut.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+        srOut.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
         
-        sl.setPower(power);
-        sr.setPower(power);
+        slOut.setPower(power);
+        srOut.setPower(power);
         
         // When in power mode targetRPM is no longer meaningful
         targetRPM = 0.0;
@@ -116,16 +171,94 @@ public class Shooter {
      * Stops both shooter motors.
      */
     public void stop() {
-        sl.setPower(0.0);
-        sr.setPower(0.0);
+        velocityActive = false;
+        if (controller != null) {
+            controller.reset();
+        }
+        slOut.setPower(0.0);
+        srOut.setPower(0.0);
+    }
+
+    /**
+     * Feeds the shot detector and runs the flywheel controller toward the last
+     * setRPM target. Call once per loop, after {@link HardwareRegistry#beginLoop()}.
+     * Does nothing in power mode.
+     */
+    public void update() {
+        if (!velocityActive) {
+            shotDetector.reset();
+            return;
+        }
+        double leftRPM = getLeftRPM();
+        double rightRPM = getRightRPM();
+        shotDetector.update(leftRPM, rightRPM, targetRPM);
+
+        if (controller == null || !controller.isDue()) {
+            return;
+        }
+        double power = controller.calculate(targetRPM, 0.5 * (leftRPM + rightRPM), getBatteryVoltage());
+        slOut.setPower(power);
+        srOut.setPower(power);
+    }
+
+    /**
+     * Gets the ball-fired detector. It is fed by {@link #update()} while a
+     * velocity target is set.
+     *
+     * @return ShotDetector instance
+     */
+    public ShotDetector getShotDetector() {
+        return shotDetector;
+    }
+
+    /**
+     * Switches setRPM to the custom flywheel controller.
+     *
+     * @param controller Controller to use, or null to go back to the hub's PIDF
+     */
+    public void useFlywheelController(FlywheelController controller) {
+        this.controller = controller;
+        this.velocityActive = false;
+        if (controller != null) {
+            controller.reset();
+        }
+    }
+
+    /**
+     * @return The custom flywheel controller, or null when using the hub's PIDF
+     */
+    public FlywheelController getFlywheelController() {
+        return controller;
+    }
+
+    /**
+     * @return Filtered battery voltage (the sensor is read only when due), or the
+     *         nominal 12 V if no sensor is available
+     */
+    public double getBatteryVoltage() {
+        return voltage.getVoltage();
+    }
+
+    /**
+     * @return Filtered battery voltage as of the last read, without a sensor read
+     */
+    public double getLastBatteryVoltage() {
+        return voltage.getLastVoltage();
+    }
+
+    /**
+     * @return Raw battery reading as of the last read, before filtering, without a sensor read
+     */
+    public double getLastBatteryReading() {
+        return voltage.getLastReading();
     }
 
     /**
      * @return current shooter velocity in RPM (average of both motors)
      */
     public double getCurrentRPM() {
-        double leftTicksPerSecond = sl.getVelocity();
-        double rightTicksPerSecond = sr.getVelocity();
+        double leftTicksPerSecond = cache.readVelocity(sl);
+        double rightTicksPerSecond = cache.readVelocity(sr);
         
         double leftRPM = ticksPerSecondToRPM(leftTicksPerSecond);
         double rightRPM = ticksPerSecondToRPM(rightTicksPerSecond);
@@ -138,14 +271,14 @@ public class Shooter {
      * @return current left motor velocity in RPM
      */
     public double getLeftRPM() {
-        return ticksPerSecondToRPM(sl.getVelocity());
+        return ticksPerSecondToRPM(cache.readVelocity(sl));
     }
 
     /**
      * @return current right motor velocity in RPM
      */
     public double getRightRPM() {
-        return ticksPerSecondToRPM(sr.getVelocity());
+        return ticksPerSecondToRPM(cache.readVelocity(sr));
     }
 
     /**
@@ -169,7 +302,8 @@ public class Shooter {
 
     /**
      * Gives direct access to the left motor if needed
-     * for advanced control or tuning.
+     * for advanced control or tuning. Writes made directly to
+     * it bypass the write cache.
      *
      * @return DcMotorEx left shooter motor
      */
@@ -187,6 +321,31 @@ public class Shooter {
         return sr;
     }
 
+    /**
+     * Gets the power last commanded to the shooter motors, from the write cache
+     * rather than a hub read.
+     *
+     * @return Last power sent, or NaN while the hub's velocity control holds the
+     *         speed (or before the first power write after a mode change)
+     */
+    public double getLastPower() {
+        return slOut.getLastPower();
+    }
+
+    /**
+     * @return Hub writes sent by both shooter motors
+     */
+    public long getWritesSent() {
+        return slOut.getWritesSent() + srOut.getWritesSent();
+    }
+
+    /**
+     * @return Hub writes skipped by both shooter motors because nothing changed
+     */
+    public long getWritesSuppressed() {
+        return slOut.getWritesSuppressed() + srOut.getWritesSuppressed();
+    }
+
     /**
      * Gets the left motor for backward compatibility.
      * @deprecated Use getLeftMotor() instead
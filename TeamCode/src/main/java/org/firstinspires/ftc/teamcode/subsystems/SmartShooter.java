@@ -1,5 +1,8 @@
 package org.firstinspires.ftc.teamcode.subsystems;
 
+import com.pedropathing.follower.Follower;
+import com.pedropathing.geometry.Pose;
+import com.pedropathing.math.Vector;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 
 /**
@@ -13,6 +16,9 @@ public class SmartShooter {
 
     private LimelightVision vision;
     private ShooterKinematics kinematics;
+    private ShooterSolutionTable solutionTable;
+    private DragShotSolver dragSolver;
+    private MovingShotSolver movingShotSolver;
     private Shooter shooter;
 
     // Robot-specific configuration (ADJUST FOR YOUR ROBOT)
@@ -20,6 +26,22 @@ public class SmartShooter {
     private double cameraHeight = 0.25;     // Camera height in meters
     private double cameraMountAngle = 15.0; // Camera tilt angle in degrees
 
+    // Limelight 3A vertical field of view is about 42 degrees, so ty stays within +/- 21
+    private static final double MAX_VERTICAL_ANGLE = 21.0;
+    // Shots are never longer than the field diagonal (144 in square)
+    private static final double MAX_SHOT_DISTANCE = 5.2;
+    private static final double MIN_SHOT_DISTANCE = 0.1;
+
+    // Below this speed (in/s) the robot counts as stopped and vision sets the RPM
+    private static final double MOVING_SPEED_THRESHOLD = 2.0;
+
+    /**
+     * Drive the flywheels with {@link FlywheelController} instead of the hub PIDF in
+     * {@link #configureForRobot}. Leave off until kS, kV and kA are characterized on
+     * the robot; the defaults are spec-sheet guesses.
+     */
+    public static final boolean USE_FLYWHEEL_CONTROLLER = false;
+
     // Default hardware names
     private static final String DEFAULT_LEFT_SHOOTER_MOTOR = "sl";
     private static final String DEFAULT_RIGHT_SHOOTER_MOTOR = "sr";
@@ -41,8 +63,19 @@ public class SmartShooter {
      * @param rightShooterMotorName Name of the right shooter motor
      */
     public SmartShooter(HardwareMap hardwareMap, String leftShooterMotorName, String rightShooterMotorName) {
-        // Initialize vision
-        this.vision = new LimelightVision(hardwareMap);
+        // Vision and shooter are shared with anything else using the same hardware
+        this(HardwareRegistry.get(hardwareMap).getVision(),
+                HardwareRegistry.get(hardwareMap).getShooter(leftShooterMotorName, rightShooterMotorName));
+    }
+
+    /**
+     * Constructs a SmartShooter around existing subsystems.
+     *
+     * @param vision  The LimelightVision to read targets from
+     * @param shooter The Shooter to command
+     */
+    public SmartShooter(LimelightVision vision, Shooter shooter) {
+        this.vision = vision;
 
         // Initialize kinematics with default values
         // ADJUST THESE VALUES FOR YOUR ROBOT
@@ -51,16 +84,42 @@ public class SmartShooter {
                 1.2,   // Basket height (meters) - ADJUST FOR DECODE
                 45.0   // Launch angle (degrees)
         );
+        this.solutionTable = new ShooterSolutionTable(kinematics, MIN_SHOT_DISTANCE, MAX_SHOT_DISTANCE);
+        updateTableRange();
 
-        // Initialize shooter subsystem with two motors
-        this.shooter = new Shooter(hardwareMap, leftShooterMotorName, rightShooterMotorName);
+        this.shooter = shooter;
     }
 
     /**
-     * Updates the vision system. Call this in your OpMode loop.
+     * Applies the competition robot's shooter setup: mounting geometry, flywheel,
+     * drag model and, if {@link #USE_FLYWHEEL_CONTROLLER} is set, the flywheel
+     * controller. The TeleOps, Auto and log replay all call this, so a replay
+     * computes the same RPM the robot did. Tabulates the drag model, so call it
+     * during init.
+     *
+     * @param shooter Shooter to configure
+     * @param clock   Time source for the flywheel controller
+     * @return The same shooter
+     */
+    public static SmartShooter configureForRobot(SmartShooter shooter, NanoClock clock) {
+        shooter.configureKinematics(0.3, 1.2, 45.0);
+        shooter.configureCamera(0.25, 15.0);
+        shooter.setFlywheelDiameter(0.1);
+        // Tabulate RPM from the drag model now so the loop only does lookups
+        shooter.configureDrag(DragShotSolver.DEFAULT_BALL_MASS, DragShotSolver.DEFAULT_BALL_DIAMETER,
+                DragShotSolver.DEFAULT_DRAG_COEFFICIENT, 0.0);
+        if (USE_FLYWHEEL_CONTROLLER) {
+            shooter.useFlywheelController(new FlywheelController(FlywheelController.DEFAULT_RATE_HZ, clock));
+        }
+        return shooter;
+    }
+
+    /**
+     * Updates the vision system and the flywheel controller. Call this in your OpMode loop.
      */
     public void update() {
         vision.update();
+        shooter.update();
     }
 
     /**
@@ -91,6 +150,67 @@ public class SmartShooter {
         return setVelocityForTarget(verticalAngle);
     }
 
+    /**
+     * Sets shooter velocity for the alliance basket, compensating for robot motion.
+     *
+     * While the robot moves, the RPM comes from the follower pose and velocity through
+     * {@link MovingShotSolver}, and the solver's lead angle should be passed to
+     * {@link TurretTargeting#setLeadAngle}. While stopped this is the same as
+     * {@link #shootAtRedBasket()} / {@link #shootAtBlueBasket()}.
+     *
+     * @param follower      Pedro follower providing pose and velocity
+     * @param isRedAlliance true for red alliance, false for blue
+     * @return true if velocity was set, false if no target or unreachable
+     */
+    public boolean shootWhileMoving(Follower follower, boolean isRedAlliance) {
+        Vector velocity = follower.getVelocity();
+        Pose pose = follower.getPose();
+        return shootWhileMoving(pose.getX(), pose.getY(), pose.getHeading(),
+                velocity.getXComponent(), velocity.getYComponent(), isRedAlliance);
+    }
+
+    /**
+     * Same as {@link #shootWhileMoving(Follower, boolean)} from a pose and velocity
+     * the caller already read this loop.
+     *
+     * @param robotX        Robot x in inches (Pedro coordinates)
+     * @param robotY        Robot y in inches
+     * @param robotHeading  Robot heading in radians
+     * @param vx            Field velocity x in inches per second
+     * @param vy            Field velocity y in inches per second
+     * @param isRedAlliance true for red alliance, false for blue
+     * @return true if velocity was set, false if no target or unreachable
+     */
+    public boolean shootWhileMoving(double robotX, double robotY, double robotHeading,
+                                    double vx, double vy, boolean isRedAlliance) {
+        MovingShotSolver solver = getMovingShotSolver();
+        if (vx * vx + vy * vy < MOVING_SPEED_THRESHOLD * MOVING_SPEED_THRESHOLD) {
+            solver.clear();
+            return isRedAlliance ? shootAtRedBasket() : shootAtBlueBasket();
+        }
+
+        if (!solver.solve(robotX, robotY, robotHeading, vx, vy,
+                FieldGoals.basketX(isRedAlliance), FieldGoals.basketY(isRedAlliance))) {
+            stopShooter();
+            return false;
+        }
+
+        shooter.setRPM(solver.getRequiredRPM());
+        return true;
+    }
+
+    /**
+     * Gets the shoot-on-the-move solver, sharing this shooter's solution table.
+     *
+     * @return MovingShotSolver instance
+     */
+    public MovingShotSolver getMovingShotSolver() {
+        if (movingShotSolver == null) {
+            movingShotSolver = new MovingShotSolver(solutionTable, kinematics, flywheelDiameter);
+        }
+        return movingShotSolver;
+    }
+
     /**
      * Sets shooter velocity based on vertical angle to target.
      *
@@ -99,11 +219,7 @@ public class SmartShooter {
      */
     private boolean setVelocityForTarget(double verticalAngle) {
         // Calculate required launch velocity
-        double velocity = kinematics.calculateVelocityFromAngle(
-                verticalAngle,
-                cameraHeight,
-                cameraMountAngle
-        );
+        double velocity = getVelocityFromAngle(verticalAngle);
 
         if (velocity < 0) {
             // Target unreachable
@@ -148,13 +264,14 @@ public class SmartShooter {
     }
 
     /**
-     * Gets the current shooter motor power (0-1).
-     * Note: Only meaningful when using setShooterPower; when using setShooterRPM this may be 0.
+     * Gets the shooter motor power last commanded (0-1). Comes from the write
+     * cache, so it costs no hub read.
+     * Note: NaN when setShooterRPM runs on the hub's velocity control.
      *
-     * @return Current motor power
+     * @return Last commanded motor power
      */
     public double getShooterPower() {
-        return shooter.getMotor().getPower();
+        return shooter.getLastPower();
     }
 
     /**
@@ -175,17 +292,54 @@ public class SmartShooter {
         // Use vertical angle (ty) for distance calculation
         double verticalAngle = vision.getTargetY();
 
-        double velocity = kinematics.calculateVelocityFromAngle(
+        double velocity = getVelocityFromAngle(verticalAngle);
+
+        if (velocity < 0) {
+            return -1;
+        }
+
+        return kinematics.velocityToRpm(velocity, flywheelDiameter);
+    }
+
+    /**
+     * Looks up the launch velocity for a vertical angle in the solution table.
+     * Same result as {@link ShooterKinematics#calculateVelocityFromAngle}, within
+     * the table's interpolation error.
+     *
+     * @param verticalAngle Vertical angle from Limelight (ty)
+     * @return Required launch velocity in m/s, or -1 if unreachable
+     */
+    private double getVelocityFromAngle(double verticalAngle) {
+        double distance = kinematics.calculateDistanceFromAngle(
                 verticalAngle,
                 cameraHeight,
                 cameraMountAngle
         );
 
-        if (velocity < 0) {
+        if (distance < 0) {
             return -1;
         }
 
-        return kinematics.velocityToRpm(velocity, flywheelDiameter);
+        return solutionTable.getLaunchVelocity(distance);
+    }
+
+    /**
+     * Sets the table range to the distances the camera can actually report,
+     * then rebuilds it so the work happens during init.
+     */
+    private void updateTableRange() {
+        double nearest = kinematics.calculateDistanceFromAngle(MAX_VERTICAL_ANGLE, cameraHeight, cameraMountAngle);
+        double farthest = kinematics.calculateDistanceFromAngle(-MAX_VERTICAL_ANGLE, cameraHeight, cameraMountAngle);
+
+        double min = nearest > 0 ? Math.max(MIN_SHOT_DISTANCE, nearest) : MIN_SHOT_DISTANCE;
+        double max = farthest > 0 ? Math.min(MAX_SHOT_DISTANCE, farthest) : MAX_SHOT_DISTANCE;
+        if (max <= min) {
+            min = MIN_SHOT_DISTANCE;
+            max = MAX_SHOT_DISTANCE;
+        }
+
+        solutionTable.setRange(min, max);
+        solutionTable.rebuild();
     }
 
     /**
@@ -217,6 +371,7 @@ public class SmartShooter {
         kinematics.setShooterHeight(shooterHeight);
         kinematics.setBasketHeight(basketHeight);
         kinematics.setLaunchAngle(launchAngle);
+        updateTableRange();
     }
 
     /**
@@ -228,6 +383,34 @@ public class SmartShooter {
     public void configureCamera(double cameraHeight, double cameraMountAngle) {
         this.cameraHeight = cameraHeight;
         this.cameraMountAngle = cameraMountAngle;
+        updateTableRange();
+    }
+
+    /**
+     * Switches RPM lookups to the drag-aware trajectory model and rebuilds the
+     * solution table. This integrates hundreds of trajectories, so call it during init.
+     *
+     * @param ballMass        Ball mass in kg
+     * @param ballDiameter    Ball diameter in meters
+     * @param dragCoefficient Drag coefficient (about 0.47 for a sphere)
+     * @param liftCoefficient Magnus lift coefficient from flywheel backspin (0 = no spin)
+     */
+    public void configureDrag(double ballMass, double ballDiameter,
+                              double dragCoefficient, double liftCoefficient) {
+        if (dragSolver == null) {
+            dragSolver = new DragShotSolver(kinematics);
+        }
+        dragSolver.configureBall(ballMass, ballDiameter, dragCoefficient, liftCoefficient);
+        solutionTable.setModel(dragSolver);
+        solutionTable.rebuild();
+    }
+
+    /**
+     * Switches RPM lookups back to the vacuum projectile model.
+     */
+    public void useVacuumModel() {
+        solutionTable.setModel(kinematics);
+        solutionTable.rebuild();
     }
 
     /**
@@ -237,6 +420,9 @@ public class SmartShooter {
      */
     public void setFlywheelDiameter(double diameter) {
         this.flywheelDiameter = diameter;
+        if (movingShotSolver != null) {
+            movingShotSolver.setFlywheelDiameter(diameter);
+        }
     }
 
     /**
@@ -257,6 +443,52 @@ public class SmartShooter {
         return kinematics;
     }
 
+    /**
+     * Gets the precomputed launch velocity table used for every RPM query.
+     *
+     * @return ShooterSolutionTable instance
+     */
+    public ShooterSolutionTable getSolutionTable() {
+        return solutionTable;
+    }
+
+    /**
+     * Drives the flywheel with a custom velocity controller instead of the hub's PIDF.
+     * {@link #update()} must run every loop while this is enabled.
+     *
+     * @param controller Controller to use, or null to go back to the hub's PIDF
+     */
+    public void useFlywheelController(FlywheelController controller) {
+        shooter.useFlywheelController(controller);
+    }
+
+    /**
+     * Gets the drag-aware solver, if {@link #configureDrag} has been called.
+     *
+     * @return DragShotSolver instance, or null when using the vacuum model
+     */
+    public DragShotSolver getDragSolver() {
+        return dragSolver;
+    }
+
+    /**
+     * Gets the worst RPM error the solution table adds over the analytic solver.
+     *
+     * @return Worst-case RPM error of the interpolated table
+     */
+    public double getTableMaxRpmError() {
+        return kinematics.velocityToRpm(solutionTable.getMaxAbsoluteError(), flywheelDiameter);
+    }
+
+    /**
+     * Gets the ball-fired detector fed by {@link #update()}.
+     *
+     * @return ShotDetector instance
+     */
+    public ShotDetector getShotDetector() {
+        return shooter.getShotDetector();
+    }
+
     /**
      * Gets the shooter subsystem for direct access.
      *
@@ -31,7 +31,9 @@ public class SmartShooterOpMode extends LinearOpMode {
     
     @Override
     public void runOpMode() {
-        // Initialize systems
+        // Initialize systems (both share one Limelight through the registry)
+        HardwareRegistry.reset();
+        HardwareRegistry registry = HardwareRegistry.get(hardwareMap);
         targeting = new TurretTargeting(hardwareMap);
         shooter = new SmartShooter(hardwareMap);
         
@@ -52,6 +54,8 @@ public class SmartShooterOpMode extends LinearOpMode {
         waitForStart();
         
         while (opModeIsActive()) {
+            registry.beginLoop();
+            
             // Update systems
             targeting.update();
             shooter.update();
@@ -0,0 +1,337 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.util.Arrays;
+
+/**
+ * Rate-limited telemetry with preregistered lines and primitive value slots.
+ *
+ * Calling telemetry.addData with boxed numbers and format strings every loop
+ * allocates, parses the format each time, and sends far more updates than the
+ * driver station can show. Instead, lines are registered once at init with a
+ * format, the loop stores numbers into their slots, and {@link #publish()} only
+ * formats and sends them when the publish period has passed (10 Hz by default).
+ *
+ * Formats are parsed once at registration. Supported specifiers:
+ * - %.Nf: number with N decimals (%f means 6)
+ * - %d: number rounded to an integer
+ * - %b: flag, set with {@link #set(int, boolean)}
+ * - %s: text, set with {@link #setText(int, String)}; pass constants so nothing is allocated
+ * - %%: a literal percent sign
+ *
+ * Setting values never allocates, and neither does formatting: each line is
+ * built into its own StringBuilder held by a retained telemetry item. The
+ * publisher only reads its slots, so publishing can never command hardware.
+ */
+public class TelemetryPublisher {
+
+    public static final double DEFAULT_RATE_HZ = 10.0;
+
+    private static final char NUMBER = 'f';
+    private static final char FLAG = 'b';
+    private static final char TEXT = 's';
+
+    // Above this magnitude fixed-point formatting would overflow a long
+    private static final double MAX_FIXED = 1e15;
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L
+    };
+
+    private final Telemetry telemetry;
+    private final NanoClock clock;
+    private final long periodNanos;
+
+    // Registered lines
+    private int lineCount = 0;
+    private String[] captions = new String[16];
+    private String[][] literals = new String[16][];  // text around each value, one more than values
+    private char[][] kinds = new char[16][];
+    private int[][] decimals = new int[16][];
+    private int[] firstSlot = new int[16];
+    private StringBuilder[] builders = new StringBuilder[16];
+    private Telemetry.Item[] items = new Telemetry.Item[16];
+
+    // Value slots, shared by all lines
+    private int slotCount = 0;
+    private double[] values = new double[32];
+    private String[] texts = new String[32];
+
+    private boolean published = false;
+    private long lastPublishNanos;
+    private long publishCount = 0;
+
+    /**
+     * Constructs a publisher at {@link #DEFAULT_RATE_HZ} on the system clock.
+     *
+     * @param telemetry OpMode telemetry
+     */
+    public TelemetryPublisher(Telemetry telemetry) {
+        this(telemetry, DEFAULT_RATE_HZ, NanoClock.SYSTEM);
+    }
+
+    /**
+     * @param telemetry OpMode telemetry
+     * @param rateHz    Publishes per second
+     * @param clock     Time source for the publish period
+     */
+    public TelemetryPublisher(Telemetry telemetry, double rateHz, NanoClock clock) {
+        if (!(rateHz > 0)) {
+            throw new IllegalArgumentException("Telemetry rate must be positive: " + rateHz);
+        }
+        this.telemetry = telemetry;
+        this.clock = clock;
+        this.periodNanos = Math.round(1e9 / rateHz);
+        // The SDK throttles transmissions on its own (250 ms by default); match our period
+        telemetry.setMsTransmissionInterval((int) Math.max(1, periodNanos / 1_000_000L));
+    }
+
+    /**
+     * Registers a line. Call during init; lines are shown in registration order.
+     *
+     * @param caption Line caption
+     * @param format  Value format, see the class comment
+     * @return Key for the set methods
+     */
+    public int add(String caption, String format) {
+        int count = 0;
+        for (int i = 0; i < format.length(); i++) {
+            if (format.charAt(i) == '%') {
+                if (i + 1 < format.length() && format.charAt(i + 1) == '%') {
+                    i++;
+                } else {
+                    count++;
+                }
+            }
+        }
+
+        String[] lineLiterals = new String[count + 1];
+        char[] lineKinds = new char[count];
+        int[] lineDecimals = new int[count];
+        StringBuilder literal = new StringBuilder();
+        int value = 0;
+        int i = 0;
+        while (i < format.length()) {
+            char c = format.charAt(i++);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (i < format.length() && format.charAt(i) == '%') {
+                literal.append('%');
+                i++;
+                continue;
+            }
+            int places = 6;
+            if (i < format.length() && format.charAt(i) == '.') {
+                int start = ++i;
+                while (i < format.length() && Character.isDigit(format.charAt(i))) i++;
+                if (i == start) {
+                    throw new IllegalArgumentException("Bad telemetry format: " + format);
+                }
+                places = Integer.parseInt(format.substring(start, i));
+            }
+            if (i >= format.length()) {
+                throw new IllegalArgumentException("Bad telemetry format: " + format);
+            }
+            char conversion = format.charAt(i++);
+            if (conversion == 'f') {
+                lineKinds[value] = NUMBER;
+                lineDecimals[value] = Math.min(places, POWERS_OF_TEN.length - 1);
+            } else if (conversion == 'd') {
+                lineKinds[value] = NUMBER;
+                lineDecimals[value] = 0;
+            } else if (conversion == 'b') {
+                lineKinds[value] = FLAG;
+            } else if (conversion == 's') {
+                lineKinds[value] = TEXT;
+            } else {
+                throw new IllegalArgumentException("Bad telemetry format: " + format);
+            }
+            lineLiterals[value++] = literal.toString();
+            literal.setLength(0);
+        }
+        lineLiterals[value] = literal.toString();
+
+        if (lineCount == captions.length) {
+            int size = lineCount * 2;
+            captions = Arrays.copyOf(captions, size);
+            literals = Arrays.copyOf(literals, size);
+            kinds = Arrays.copyOf(kinds, size);
+            decimals = Arrays.copyOf(decimals, size);
+            firstSlot = Arrays.copyOf(firstSlot, size);
+            builders = Arrays.copyOf(builders, size);
+            items = Arrays.copyOf(items, size);
+        }
+        while (slotCount + count > values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+            texts = Arrays.copyOf(texts, texts.length * 2);
+        }
+
+        int key = lineCount++;
+        captions[key] = caption;
+        literals[key] = lineLiterals;
+        kinds[key] = lineKinds;
+        decimals[key] = lineDecimals;
+        firstSlot[key] = slotCount;
+        builders[key] = new StringBuilder(32);
+        for (int s = 0; s < count; s++) {
+            texts[slotCount + s] = "";
+        }
+        slotCount += count;
+        return key;
+    }
+
+    /**
+     * @param key   Line key
+     * @param value Value for the line's first specifier
+     */
+    public void set(int key, double value) {
+        set(key, 0, value);
+    }
+
+    /**
+     * @param key   Line key
+     * @param index Specifier index within the line, 0-based
+     * @param value New value
+     */
+    public void set(int key, int index, double value) {
+        values[slot(key, index)] = value;
+    }
+
+    /**
+     * @param key   Line key
+     * @param value Value for the line's first specifier
+     */
+    public void set(int key, boolean value) {
+        set(key, 0, value);
+    }
+
+    /**
+     * @param key   Line key
+     * @param index Specifier index within the line, 0-based
+     * @param value New value
+     */
+    public void set(int key, int index, boolean value) {
+        values[slot(key, index)] = value ? 1.0 : 0.0;
+    }
+
+    /**
+     * @param key  Line key
+     * @param text Text for the line's first %s; should be a constant
+     */
+    public void setText(int key, String text) {
+        setText(key, 0, text);
+    }
+
+    /**
+     * @param key   Line key
+     * @param index Specifier index within the line, 0-based
+     * @param text  New text; should be a constant
+     */
+    public void setText(int key, int index, String text) {
+        texts[slot(key, index)] = text;
+    }
+
+    private int slot(int key, int index) {
+        if (key < 0 || key >= lineCount || index < 0 || index >= kinds[key].length) {
+            throw new IllegalArgumentException("No telemetry value " + index + " on line " + key);
+        }
+        return firstSlot[key] + index;
+    }
+
+    /**
+     * @return true if a publish is due
+     */
+    public boolean isDue() {
+        return !published || clock.nanoTime() - lastPublishNanos >= periodNanos;
+    }
+
+    /**
+     * Formats and sends every line if the publish period has passed; otherwise
+     * returns without touching telemetry. Call once per loop.
+     *
+     * @return true if telemetry was sent
+     */
+    public boolean publish() {
+        long now = clock.nanoTime();
+        if (published && now - lastPublishNanos < periodNanos) {
+            return false;
+        }
+        published = true;
+        lastPublishNanos = now;
+
+        for (int key = 0; key < lineCount; key++) {
+            format(key);
+            if (items[key] == null) {
+                items[key] = telemetry.addData(captions[key], builders[key]);
+                items[key].setRetained(true);
+            } else {
+                items[key].setValue(builders[key]);
+            }
+        }
+        telemetry.update();
+        publishCount++;
+        return true;
+    }
+
+    /**
+     * Builds a line's text from its literals and slots.
+     */
+    private void format(int key) {
+        StringBuilder sb = builders[key];
+        sb.setLength(0);
+        String[] lineLiterals = literals[key];
+        char[] lineKinds = kinds[key];
+        int slot = firstSlot[key];
+        for (int i = 0; i < lineKinds.length; i++) {
+            sb.append(lineLiterals[i]);
+            if (lineKinds[i] == NUMBER) {
+                appendFixed(sb, values[slot + i], decimals[key][i]);
+            } else if (lineKinds[i] == FLAG) {
+                sb.append(values[slot + i] != 0.0);
+            } else {
+                sb.append(texts[slot + i]);
+            }
+        }
+        sb.append(lineLiterals[lineKinds.length]);
+    }
+
+    /**
+     * Appends a number with a fixed count of decimals, rounding half up like %f.
+     */
+    static void appendFixed(StringBuilder sb, double value, int places) {
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= MAX_FIXED) {
+            sb.append(value);
+            return;
+        }
+        long scale = POWERS_OF_TEN[places];
+        long scaled = Math.round(Math.abs(value) * scale);
+        if (value < 0 && scaled != 0) {
+            sb.append('-');
+        }
+        sb.append(scaled / scale);
+        if (places > 0) {
+            sb.append('.');
+            long fraction = scaled % scale;
+            for (long p = scale / 10; p > fraction && p > 1; p /= 10) {
+                sb.append('0');
+            }
+            sb.append(fraction);
+        }
+    }
+
+    /**
+     * @return Lines registered so far
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * @return Times telemetry has been sent
+     */
+    public long getPublishCount() {
+        return publishCount;
+    }
+}
@@ -11,16 +11,71 @@ import com.qualcomm.robotcore.hardware.HardwareMap;
  * Motor encoder: 28 PPR × 4 (quadrature) × 13.7 (gear ratio) = ~1536 counts per revolution.
  * 
  * The API reflects turret direction (positive = left/CCW, negative = right/CW).
+ *
+ * Two modes:
+ * - open loop: {@link #setPower(double)}, as before
+ * - position: {@link #setTargetAngle(double)} plans a trapezoidal profile to the
+ *   target, and {@link #update()} follows it with feedforward (kS, kV, kA) plus PID
+ *   on the encoder. Call update() once per loop.
+ *
+ * In position mode the turret can also counter-rotate against the chassis: pass the
+ * chassis yaw rate to {@link #setChassisAngularVelocity(double)} every loop and the
+ * reference moves at minus that rate on top of the profile, with matching
+ * feedforward. The turret holds its field bearing while the robot spins instead of
+ * waiting for the error to build up.
+ *
+ * Both modes enforce the soft limits of +/- MAX_ROTATION_DEGREES: targets are
+ * clamped, and power that would drive further past a limit is cut to zero.
+ *
+ * Angles are measured from the encoder's zero, and the hub keeps the count from
+ * power-on across OpModes. Autonomous zeroes it in init with {@link #resetEncoder()},
+ * so center the turret (pointing straight ahead) before initializing Auto. TeleOp
+ * keeps that count. To run TeleOp without Auto, center the turret before powering
+ * on the robot.
+ *
+ * Powers are tuned at 12 V and scaled for the battery by the shared
+ * {@link VoltageCompensator}.
  */
 public class Turret {
 
     private final DcMotorEx turretMotor;
+    private final LoopHardwareCache cache;
+    private final CachedMotor output;
+    private final VoltageCompensator voltage;
+
+    private final NanoClock clock;
 
     // State tracking
     private double currentPower;
 
+    // Position mode
+    private boolean positionMode = false;
+    private final TrapezoidProfile profile = new TrapezoidProfile(DEFAULT_MAX_VELOCITY, DEFAULT_MAX_ACCELERATION);
+    private long profileStartNanos;
+    private long moveStartNanos;
+    private double targetAngle = 0.0;
+    private double integral = 0.0;
+    private long lastUpdateNanos;
+    private boolean settled = true;
+    private double lastSettleTimeMs = 0.0;
+    private double lastError = 0.0;
+
+    // Chassis counter-rotation: the reference is profile + offset, and the offset moves at -chassis rate
+    private double chassisAngularVelocity = 0.0; // deg/s, CCW positive
+    private double counterRotationOffset = 0.0;  // deg
+    private long lastOffsetNanos;
+    private boolean chassisFeedforward = true;
+
+    // Position mode gains, in power units (TUNE ON THE ROBOT)
+    private double kS = 0.05;      // power to break static friction
+    private double kV = 1.0 / 3000.0; // power per deg/s (512 RPM = 3072 deg/s at full power)
+    private double kA = 0.00005;   // power per deg/s^2
+    private double kP = 0.02;      // power per degree of error
+    private double kI = 0.0;       // power per degree-second
+    private double kD = 0.0005;    // power per deg/s of velocity error
+
     // Default hardware name
-    private static final String DEFAULT_TURRET_MOTOR_NAME = "turretMotor";
+    static final String DEFAULT_TURRET_MOTOR_NAME = "turretMotor";
     
     /**
      * Encoder counts per output shaft revolution for goBILDA 512 RPM motor.
@@ -29,7 +84,17 @@ public class Turret {
     public static final double TICKS_PER_REV = 1536.0;
 
     // Maximum rotation limits in degrees
-    private static final double MAX_ROTATION_DEGREES = 135.0;
+    public static final double MAX_ROTATION_DEGREES = 135.0;
+
+    // Position mode profile limits
+    public static final double DEFAULT_MAX_VELOCITY = 360.0;      // deg/s
+    public static final double DEFAULT_MAX_ACCELERATION = 1440.0; // deg/s^2
+
+    // Settled once the profile is done and the turret is this close and this slow
+    private static final double SETTLE_TOLERANCE_DEGREES = 1.0;
+    private static final double SETTLE_VELOCITY = 5.0; // deg/s
+    // Integral is limited to this much power so it cannot wind up against a limit
+    private static final double MAX_INTEGRAL_POWER = 0.2;
 
     // Conversion factor: degrees to encoder ticks
     private static final double TICKS_PER_DEGREE = TICKS_PER_REV / 360.0;
@@ -52,7 +117,20 @@ public class Turret {
      * @throws IllegalArgumentException if the motor cannot be found in the hardware map
      */
     public Turret(HardwareMap hardwareMap, String motorName) {
+        this(hardwareMap, motorName, NanoClock.SYSTEM);
+    }
+
+    /**
+     * Constructs a Turret with a custom motor name and time source.
+     *
+     * @param hardwareMap The FTC hardware map for retrieving configured devices
+     * @param motorName   The hardware name for the turret motor
+     * @param clock       Time source for position mode
+     * @throws IllegalArgumentException if the motor cannot be found in the hardware map
+     */
+    public Turret(HardwareMap hardwareMap, String motorName, NanoClock clock) {
         this.currentPower = 0.0;
+        this.clock = clock;
 
         try {
             this.turretMotor = hardwareMap.get(DcMotorEx.class, motorName);
@@ -60,9 +138,16 @@ public class Turret {
             throw new IllegalArgumentException("Could not find motor: " + motorName);
         }
 
+        // Encoder reads come from the hub's bulk data, cleared once per loop
+        this.cache = HardwareRegistry.get(hardwareMap).getLoopCache();
+        cache.register(turretMotor);
+        this.voltage = HardwareRegistry.get(hardwareMap).getVoltageCompensator();
+
         // Configure motor for open-loop power control
-        turretMotor.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
-        turretMotor.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+        // Writes skip values that have not changed since the last loop
+        this.output = new CachedMotor(turretMotor);
+        output.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+        output.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
     }
 
     /**
@@ -74,6 +159,233 @@ public class Turret {
         return currentPower;
     }
 
+    /**
+     * Gets the turret encoder position.
+     *
+     * @return Encoder position in ticks
+     */
+    public int getCurrentPosition() {
+        return cache.readPosition(turretMotor);
+    }
+
+    /**
+     * Gets the turret angle from the encoder, relative to where it was at hub power-on
+     * or the last {@link #resetEncoder()}.
+     *
+     * @return Turret angle in degrees (positive = left/CCW)
+     */
+    public double getCurrentAngle() {
+        // Motor runs opposite to the turret (see setPower)
+        return -getCurrentPosition() / TICKS_PER_DEGREE;
+    }
+
+    /**
+     * Stops the turret and makes its current position the zero angle. Call only
+     * with the turret centered; the soft limits are measured from here.
+     */
+    public void resetEncoder() {
+        stop();
+        output.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+        output.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+    }
+
+    /**
+     * Gets the turret angular velocity from the encoder.
+     *
+     * @return Turret velocity in degrees per second (positive = left/CCW)
+     */
+    public double getCurrentVelocity() {
+        return -cache.readVelocity(turretMotor) / TICKS_PER_DEGREE;
+    }
+
+    /**
+     * Moves the turret to an angle using the motion profile. Targets beyond the
+     * soft limits are clamped. Repeated calls with a new target replan from the
+     * current profile state, so tracking a moving target stays smooth.
+     *
+     * @param degrees Target angle (positive = left/CCW)
+     */
+    public void setTargetAngle(double degrees) {
+        double target = Math.max(-MAX_ROTATION_DEGREES, Math.min(MAX_ROTATION_DEGREES, degrees));
+        long now = clock.nanoTime();
+
+        if (positionMode) {
+            // The profile runs in the counter-rotating frame
+            advanceCounterRotation(now);
+            double profileGoal = target - counterRotationOffset;
+            if (Math.abs(profileGoal - profile.getGoal()) < 1e-6) {
+                // Only the counter-rotation moved the target; the plan is still right
+                targetAngle = target;
+                return;
+            }
+            // Replan from where the reference is now
+            profile.calculate((now - profileStartNanos) * 1e-9);
+            profile.plan(profile.getPosition(), profile.getVelocity(), profileGoal);
+        } else {
+            profile.plan(getCurrentAngle(), getCurrentVelocity(), target);
+            positionMode = true;
+            integral = 0.0;
+            counterRotationOffset = 0.0;
+            lastOffsetNanos = now;
+            lastUpdateNanos = now;
+        }
+
+        if (settled) {
+            moveStartNanos = now;
+        }
+        settled = false;
+        targetAngle = target;
+        profileStartNanos = now;
+    }
+
+    /**
+     * Follows the position profile. Call once per loop; does nothing in open-loop mode.
+     */
+    public void update() {
+        if (!positionMode) {
+            return;
+        }
+        long now = clock.nanoTime();
+        double dt = (now - lastUpdateNanos) * 1e-9;
+        lastUpdateNanos = now;
+
+        advanceCounterRotation(now);
+        double counterRate = chassisFeedforward ? -chassisAngularVelocity : 0.0;
+
+        double t = (now - profileStartNanos) * 1e-9;
+        profile.calculate(t);
+        double referenceAngle = profile.getPosition() + counterRotationOffset;
+        double referenceVelocity = profile.getVelocity() + counterRate;
+
+        double angle = getCurrentAngle();
+        double velocity = getCurrentVelocity();
+        double error = referenceAngle - angle;
+        lastError = targetAngle - angle;
+
+        if (kI != 0.0 && dt > 0) {
+            integral += error * dt;
+            double limit = Math.abs(MAX_INTEGRAL_POWER / kI);
+            integral = Math.max(-limit, Math.min(limit, integral));
+        }
+
+        double feedforward = kS * Math.signum(referenceVelocity)
+                + kV * referenceVelocity
+                + kA * profile.getAcceleration();
+        double feedback = kP * error + kI * integral + kD * (referenceVelocity - velocity);
+
+        boolean done = profile.isFinished(t)
+                && Math.abs(lastError) <= SETTLE_TOLERANCE_DEGREES
+                && Math.abs(velocity) <= SETTLE_VELOCITY;
+        if (done && !settled) {
+            settled = true;
+            lastSettleTimeMs = (now - moveStartNanos) / 1e6;
+        }
+
+        applyPower(feedforward + feedback, angle);
+    }
+
+    /**
+     * Moves the counter-rotation offset at minus the chassis rate up to now.
+     * Called from both setTargetAngle and update, so their order does not matter.
+     */
+    private void advanceCounterRotation(long now) {
+        double dt = (now - lastOffsetNanos) * 1e-9;
+        lastOffsetNanos = now;
+        if (!chassisFeedforward || dt <= 0) {
+            return;
+        }
+        counterRotationOffset -= chassisAngularVelocity * dt;
+        // Never let the offset carry the reference far past the end of travel
+        counterRotationOffset = Math.max(-2 * MAX_ROTATION_DEGREES,
+                Math.min(2 * MAX_ROTATION_DEGREES, counterRotationOffset));
+    }
+
+    /**
+     * Sets the measured chassis yaw rate for counter-rotation feedforward.
+     * Call every loop before {@link #update()}; 0 when unknown.
+     *
+     * @param degreesPerSecond Chassis angular velocity, counter-clockwise positive
+     */
+    public void setChassisAngularVelocity(double degreesPerSecond) {
+        this.chassisAngularVelocity = degreesPerSecond;
+    }
+
+    /**
+     * @param enabled true to counter-rotate against the chassis (default), false to ignore it
+     */
+    public void setChassisFeedforward(boolean enabled) {
+        this.chassisFeedforward = enabled;
+    }
+
+    /**
+     * @return true if chassis counter-rotation feedforward is applied
+     */
+    public boolean isChassisFeedforward() {
+        return chassisFeedforward;
+    }
+
+    /**
+     * Sets the position mode gains. All are in motor power units.
+     *
+     * @param kS Power to overcome static friction
+     * @param kV Power per degree/s of profile velocity
+     * @param kA Power per degree/s^2 of profile acceleration
+     * @param kP Power per degree of error
+     * @param kI Power per degree-second of error
+     * @param kD Power per degree/s of velocity error
+     */
+    public void setPositionGains(double kS, double kV, double kA, double kP, double kI, double kD) {
+        this.kS = kS;
+        this.kV = kV;
+        this.kA = kA;
+        this.kP = kP;
+        this.kI = kI;
+        this.kD = kD;
+    }
+
+    /**
+     * @param maxVelocity     Profile cruise speed in degrees/s
+     * @param maxAcceleration Profile acceleration in degrees/s^2
+     */
+    public void setProfileConstraints(double maxVelocity, double maxAcceleration) {
+        profile.setConstraints(maxVelocity, maxAcceleration);
+    }
+
+    /**
+     * @return true while following setTargetAngle
+     */
+    public boolean isPositionMode() {
+        return positionMode;
+    }
+
+    /**
+     * @return Current (clamped) position target in degrees
+     */
+    public double getTargetAngle() {
+        return targetAngle;
+    }
+
+    /**
+     * @return Target minus measured angle at the last update, in degrees
+     */
+    public double getPositionError() {
+        return lastError;
+    }
+
+    /**
+     * @return true once the last move finished within tolerance
+     */
+    public boolean isSettled() {
+        return settled;
+    }
+
+    /**
+     * @return Time from the start of the last completed move until it settled, in ms
+     */
+    public double getLastSettleTimeMs() {
+        return lastSettleTimeMs;
+    }
+
     /**
      * Gets the current rotation direction of the turret.
      *
@@ -96,15 +408,29 @@ public class Turret {
      *
      * Positive power rotates the turret counterclockwise (left).
      * Negative power rotates clockwise (right).
-     * Power values outside [-1.0, 1.0] are clamped to the valid range.
+     * Power values outside [-1.0, 1.0] are clamped to the valid range, then
+     * scaled for the battery voltage.
      *
-     * @param power The desired power value in the range [-1.0, 1.0]
+     * @param power The desired power value in the range [-1.0, 1.0], as at 12 V
      */
     public void setPower(double power) {
+        positionMode = false;
+        settled = true;
+        applyPower(power, getCurrentAngle());
+    }
+
+    private void applyPower(double power, double angle) {
         double clampedPower = clampPower(power);
+
+        // Soft limits: never drive further past the end of travel
+        if ((angle >= MAX_ROTATION_DEGREES && clampedPower > 0)
+                || (angle <= -MAX_ROTATION_DEGREES && clampedPower < 0)) {
+            clampedPower = 0.0;
+        }
         
-        // Invert power due to gear ratio (motor CW -> turret CCW)
-        turretMotor.setPower(-clampedPower);
+        // Invert power due to gear ratio (motor CW -> turret CCW); gains and
+        // feedforward are tuned at 12 V, so position mode is compensated too
+        output.setPower(-voltage.compensate(clampedPower));
 
         currentPower = clampedPower;
     }
@@ -143,6 +469,13 @@ public class Turret {
         return turretMotor;
     }
 
+    /**
+     * @return The write cache in front of the turret motor, for write counters
+     */
+    public CachedMotor getOutput() {
+        return output;
+    }
+
     private double clampPower(double power) {
         return Math.max(-1.0, Math.min(1.0, power));
     }
@@ -1,10 +1,29 @@
 package org.firstinspires.ftc.teamcode.subsystems;
 
+import com.pedropathing.follower.Follower;
+import com.pedropathing.geometry.Pose;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 
 /**
  * Integrated turret targeting system using Limelight vision.
  * Combines the Turret subsystem with LimelightVision for automatic targeting.
+ *
+ * By default each new camera frame becomes a turret angle setpoint
+ * (current angle - tx), which the turret follows in position mode. The tx in a
+ * frame is relative to where the turret was when it was taken, so the setpoint
+ * is only moved when a new frame arrives. The original proportional power
+ * control is still available with {@link #setPositionControl(boolean)}.
+ *
+ * Field-relative aiming ({@link #aimFieldRelative}) does not need the tag at all:
+ * it points the turret at the basket bearing from the robot pose every loop. Each
+ * new frame that shows the basket nudges a small bias toward what the camera sees,
+ * which soaks up odometry drift and goal position errors without making the aim
+ * jump with every noisy frame.
+ *
+ * Give it the chassis yaw rate every loop ({@link #setChassisAngularVelocity}) and the
+ * turret counter-rotates as the robot spins instead of waiting for the aim error to
+ * grow. Aim error is tracked separately for loops where the chassis is rotating, so
+ * the effect can be measured with the feedforward on and off.
  */
 public class TurretTargeting {
     private Turret turret;
@@ -14,6 +33,24 @@ public class TurretTargeting {
     private double kP = 0.02;  // Proportional gain
     private double minPower = 0.1;  // Minimum power to overcome friction
     private double targetTolerance = 2.0;  // Degrees of acceptable error
+    private double leadAngle = 0.0;  // Degrees counter-clockwise to aim off the basket
+    private boolean positionControl = true;
+    private long aimedResultSequence = -1;
+    
+    // Field-relative aiming
+    private static final double BIAS_GAIN = 0.1;         // Fraction of each frame's disagreement folded in
+    private static final double MAX_VISION_BIAS = 15.0;  // Degrees
+    private double visionBias = 0.0;
+    private long biasResultSequence = -1;
+    private double fieldAimAngle = 0.0;
+    
+    // Aim error statistics while the chassis rotates faster than this
+    private static final double ROTATING_THRESHOLD = 30.0; // deg/s
+    private double chassisAngularVelocity = 0.0;
+    private long rotatingSamples = 0;
+    private double rotatingErrorSquaredSum = 0.0;
+    private double rotatingErrorMax = 0.0;
+    private double lastAimError = 0.0;
     
     /**
      * Constructs a TurretTargeting system with default hardware names.
@@ -21,8 +58,8 @@ public class TurretTargeting {
      * @param hardwareMap The FTC hardware map
      */
     public TurretTargeting(HardwareMap hardwareMap) {
-        this.turret = new Turret(hardwareMap);
-        this.vision = new LimelightVision(hardwareMap);
+        this(HardwareRegistry.get(hardwareMap).getTurret(),
+                HardwareRegistry.get(hardwareMap).getVision());
     }
     
     /**
@@ -33,15 +70,27 @@ public class TurretTargeting {
      * @param limelightName  Limelight device name
      */
     public TurretTargeting(HardwareMap hardwareMap, String turretMotorName, String limelightName) {
-        this.turret = new Turret(hardwareMap, turretMotorName);
-        this.vision = new LimelightVision(hardwareMap, limelightName);
+        this(HardwareRegistry.get(hardwareMap).getTurret(turretMotorName),
+                HardwareRegistry.get(hardwareMap).getVision(limelightName));
+    }
+    
+    /**
+     * Constructs a TurretTargeting system around existing subsystems.
+     *
+     * @param turret The Turret to drive
+     * @param vision The LimelightVision to read targets from
+     */
+    public TurretTargeting(Turret turret, LimelightVision vision) {
+        this.turret = turret;
+        this.vision = vision;
     }
     
     /**
-     * Updates the vision system. Call this in your OpMode loop.
+     * Updates the vision system and the turret position loop. Call this in your OpMode loop.
      */
     public void update() {
         vision.update();
+        turret.update();
     }
     
     /**
@@ -51,12 +100,12 @@ public class TurretTargeting {
      */
     public boolean aimAtRedBasket() {
         if (!vision.hasRedBasketTarget()) {
-            turret.stop();
+            loseTarget();
             return false;
         }
         
         double targetX = vision.getRedBasketX();
-        return aimAtOffset(targetX);
+        return aimAtOffset(targetX - leadAngle);
     }
     
     /**
@@ -66,12 +115,175 @@ public class TurretTargeting {
      */
     public boolean aimAtBlueBasket() {
         if (!vision.hasBlueBasketTarget()) {
-            turret.stop();
+            loseTarget();
             return false;
         }
         
         double targetX = vision.getBlueBasketX();
-        return aimAtOffset(targetX);
+        return aimAtOffset(targetX - leadAngle);
+    }
+    
+    /**
+     * Aims at the alliance basket from the follower's pose.
+     *
+     * @param follower      Pedro follower providing the pose
+     * @param isRedAlliance true for red alliance, false for blue
+     * @return true if the turret is within tolerance of the aim angle
+     */
+    public boolean aimFieldRelative(Follower follower, boolean isRedAlliance) {
+        Pose pose = follower.getPose();
+        return aimFieldRelative(pose.getX(), pose.getY(), pose.getHeading(), isRedAlliance);
+    }
+    
+    /**
+     * Aims at the alliance basket from a field pose, corrected by the vision bias.
+     * Works without the tag in view. Assumes turret angle 0 faces the robot's front.
+     *
+     * @param robotX        Robot x in inches (Pedro coordinates)
+     * @param robotY        Robot y in inches
+     * @param robotHeading  Robot heading in radians
+     * @param isRedAlliance true for red alliance, false for blue
+     * @return true if the turret is within tolerance of the aim angle
+     */
+    public boolean aimFieldRelative(double robotX, double robotY, double robotHeading,
+                                    boolean isRedAlliance) {
+        double bearing = Math.toDegrees(wrap(Math.atan2(
+                FieldGoals.basketY(isRedAlliance) - robotY,
+                FieldGoals.basketX(isRedAlliance) - robotX) - robotHeading));
+        
+        updateVisionBias(bearing, isRedAlliance);
+        
+        fieldAimAngle = bearing + visionBias + leadAngle;
+        turret.setTargetAngle(fieldAimAngle);
+        double error = fieldAimAngle - turret.getCurrentAngle();
+        recordAimError(error);
+        return Math.abs(error) < targetTolerance;
+    }
+    
+    /**
+     * Moves the bias a little toward the vision bearing, once per new frame with the basket.
+     */
+    private void updateVisionBias(double poseBearing, boolean isRedAlliance) {
+        long sequence = vision.getResultSequence();
+        if (sequence == biasResultSequence) return;
+        biasResultSequence = sequence;
+        
+        boolean visible = isRedAlliance ? vision.hasRedBasketTarget() : vision.hasBlueBasketTarget();
+        if (!visible) return;
+        
+        double tx = isRedAlliance ? vision.getRedBasketX() : vision.getBlueBasketX();
+        double visionBearing = turret.getCurrentAngle() - tx;
+        double disagreement = Math.toDegrees(wrap(Math.toRadians(visionBearing - poseBearing)));
+        
+        visionBias += BIAS_GAIN * (disagreement - visionBias);
+        visionBias = Math.max(-MAX_VISION_BIAS, Math.min(MAX_VISION_BIAS, visionBias));
+    }
+    
+    /**
+     * Passes the chassis yaw rate to the turret for counter-rotation feedforward.
+     * Call every loop, before {@link #update()}.
+     *
+     * @param degreesPerSecond Chassis angular velocity, counter-clockwise positive
+     */
+    public void setChassisAngularVelocity(double degreesPerSecond) {
+        chassisAngularVelocity = degreesPerSecond;
+        turret.setChassisAngularVelocity(degreesPerSecond);
+    }
+    
+    /**
+     * @param enabled true to counter-rotate the turret against the chassis (default)
+     */
+    public void setChassisFeedforward(boolean enabled) {
+        turret.setChassisFeedforward(enabled);
+    }
+    
+    private void recordAimError(double error) {
+        lastAimError = error;
+        if (Math.abs(chassisAngularVelocity) < ROTATING_THRESHOLD) return;
+        rotatingSamples++;
+        rotatingErrorSquaredSum += error * error;
+        if (Math.abs(error) > rotatingErrorMax) rotatingErrorMax = Math.abs(error);
+    }
+    
+    /**
+     * @return Aim error from the last aim call, in degrees
+     */
+    public double getLastAimError() {
+        return lastAimError;
+    }
+    
+    /**
+     * @return RMS aim error over aim calls made while the chassis was rotating, in degrees
+     */
+    public double getRotatingErrorRms() {
+        return rotatingSamples > 0 ? Math.sqrt(rotatingErrorSquaredSum / rotatingSamples) : 0.0;
+    }
+    
+    /**
+     * @return Largest aim error while the chassis was rotating, in degrees
+     */
+    public double getRotatingErrorMax() {
+        return rotatingErrorMax;
+    }
+    
+    /**
+     * @return Number of aim calls made while the chassis was rotating
+     */
+    public long getRotatingSamples() {
+        return rotatingSamples;
+    }
+    
+    /**
+     * Clears the rotating aim error statistics.
+     */
+    public void resetTrackingStats() {
+        rotatingSamples = 0;
+        rotatingErrorSquaredSum = 0.0;
+        rotatingErrorMax = 0.0;
+    }
+    
+    private static double wrap(double radians) {
+        while (radians > Math.PI) radians -= 2 * Math.PI;
+        while (radians < -Math.PI) radians += 2 * Math.PI;
+        return radians;
+    }
+    
+    /**
+     * @return Correction learned from vision, in degrees added to the pose bearing
+     */
+    public double getVisionBias() {
+        return visionBias;
+    }
+    
+    /**
+     * Clears the vision bias, e.g. after relocalizing.
+     */
+    public void resetVisionBias() {
+        visionBias = 0.0;
+    }
+    
+    /**
+     * @return Turret angle requested by the last field-relative aim, in degrees
+     */
+    public double getFieldAimAngle() {
+        return fieldAimAngle;
+    }
+    
+    /**
+     * Sets how far to aim off the basket for shooting on the move.
+     * Pass {@link MovingShotSolver#getLeadAngleDegrees()}; 0 aims straight at the basket.
+     *
+     * @param degrees Lead angle in degrees, counter-clockwise positive
+     */
+    public void setLeadAngle(double degrees) {
+        this.leadAngle = degrees;
+    }
+    
+    /**
+     * @return Current lead angle in degrees, counter-clockwise positive
+     */
+    public double getLeadAngle() {
+        return leadAngle;
     }
     
     /**
@@ -81,6 +293,33 @@ public class TurretTargeting {
      * @return true if on target within tolerance
      */
     private boolean aimAtOffset(double targetX) {
+        recordAimError(targetX);
+        if (!positionControl) {
+            return aimOpenLoop(targetX);
+        }
+        
+        long sequence = vision.getResultSequence();
+        if (sequence != aimedResultSequence || !turret.isPositionMode()) {
+            aimedResultSequence = sequence;
+            // Positive tx is to the right, and positive turret angle is to the left
+            turret.setTargetAngle(turret.getCurrentAngle() - targetX);
+        }
+        return Math.abs(targetX) < targetTolerance;
+    }
+    
+    /**
+     * With no target, position control holds the last setpoint; open loop stops.
+     */
+    private void loseTarget() {
+        if (!positionControl) {
+            turret.stop();
+        }
+    }
+    
+    /**
+     * Proportional power control on tx, with a minimum power to overcome friction.
+     */
+    private boolean aimOpenLoop(double targetX) {
         // Check if we're within tolerance
         if (Math.abs(targetX) < targetTolerance) {
             turret.stop();
@@ -102,7 +341,19 @@ public class TurretTargeting {
     }
     
     /**
-     * Sets the proportional gain for targeting.
+     * Chooses between turret position control and proportional power on tx.
+     *
+     * @param enabled true for position control (default), false for open-loop power
+     */
+    public void setPositionControl(boolean enabled) {
+        if (this.positionControl && !enabled) {
+            turret.stop();
+        }
+        this.positionControl = enabled;
+    }
+    
+    /**
+     * Sets the proportional gain for open-loop targeting.
      * Higher values = faster response but more oscillation.
      * 
      * @param kP Proportional gain (default: 0.02)
@@ -0,0 +1,80 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import com.qualcomm.hardware.limelightvision.LLResult;
+
+/**
+ * Immutable snapshot of one Limelight result, published by {@link LimelightPoller}.
+ *
+ * The loop thread only ever sees whole frames, so it never reads a result that is
+ * half way through being replaced.
+ */
+public final class VisionFrame {
+
+    private final LLResult result;
+    private final long sequence;
+    private final long receivedNanos;
+    private final double pipelineLatencyMs;
+    private final double pollMs;
+
+    /**
+     * @param result            The Limelight result
+     * @param sequence          Frame number assigned by the poller, starting at 1
+     * @param receivedNanos     Poller clock time when the frame was fetched
+     * @param pipelineLatencyMs Capture plus targeting latency reported by the Limelight
+     * @param pollMs            How long the getLatestResult() call took
+     */
+    public VisionFrame(LLResult result, long sequence, long receivedNanos,
+                       double pipelineLatencyMs, double pollMs) {
+        this.result = result;
+        this.sequence = sequence;
+        this.receivedNanos = receivedNanos;
+        this.pipelineLatencyMs = pipelineLatencyMs;
+        this.pollMs = pollMs;
+    }
+
+    /**
+     * @return The Limelight result (never null)
+     */
+    public LLResult getResult() {
+        return result;
+    }
+
+    /**
+     * @return Frame number; higher is newer
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return Poller clock time when the frame was fetched, in nanoseconds
+     */
+    public long getReceivedNanos() {
+        return receivedNanos;
+    }
+
+    /**
+     * @return Capture plus targeting latency reported by the Limelight, in milliseconds
+     */
+    public double getPipelineLatencyMs() {
+        return pipelineLatencyMs;
+    }
+
+    /**
+     * @return Time the poller spent in getLatestResult(), in milliseconds
+     */
+    public double getPollMs() {
+        return pollMs;
+    }
+
+    /**
+     * Age of the image this frame came from: pipeline latency plus the time since
+     * the poller fetched it.
+     *
+     * @param nowNanos Current time from the same clock the poller uses
+     * @return Frame age in milliseconds
+     */
+    public double getAgeMs(long nowNanos) {
+        return pipelineLatencyMs + (nowNanos - receivedNanos) / 1e6;
+    }
+}
@@ -0,0 +1,189 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.hardware.VoltageSensor;
+
+import java.util.List;
+
+/**
+ * Scales open-loop motor powers so they do the same at any battery voltage.
+ *
+ * A power is a fraction of the battery voltage, so the same command gives a slower
+ * turret, a weaker intake and a lazier drive as the battery drains through a match.
+ * {@link #compensate(double)} multiplies a power tuned at the nominal 12 V by
+ * 12 / battery voltage.
+ *
+ * The battery is read at a low fixed rate from the clock (each read is a hub
+ * command) and low-pass filtered. The filter follows the slow drain over a match
+ * but not the sag while motors accelerate; compensating that sag would push the
+ * battery further down the moment it is loaded.
+ *
+ * One instance is shared through {@link HardwareRegistry#getVoltageCompensator()},
+ * so every subsystem sees the same voltage and the sensor is read once per period.
+ * Without a voltage sensor (some test maps) the voltage is the nominal 12 V.
+ */
+public class VoltageCompensator {
+
+    public static final double NOMINAL_VOLTAGE = 12.0;
+    public static final double DEFAULT_RATE_HZ = 10.0;
+    public static final double DEFAULT_TIME_CONSTANT = 0.5; // seconds
+
+    // Below this the reading is a brownout or a missing sensor, not a battery
+    private static final double MIN_VOLTAGE = 6.0;
+
+    private final VoltageSensor sensor;
+    private final NanoClock clock;
+    private final long periodNanos;
+    private final double timeConstant;
+
+    private boolean enabled = true;
+    private boolean started = false;
+    private boolean seeded = false;
+    private long lastReadNanos;
+    private long lastFilterNanos;
+    private double voltage = NOMINAL_VOLTAGE;
+    private double lastReading = NOMINAL_VOLTAGE;
+    private long reads = 0;
+
+    /**
+     * Uses the first voltage sensor in the map, read at {@link #DEFAULT_RATE_HZ} on the system clock.
+     *
+     * @param hardwareMap The FTC hardware map
+     */
+    public VoltageCompensator(HardwareMap hardwareMap) {
+        this(hardwareMap, NanoClock.SYSTEM);
+    }
+
+    /**
+     * Uses the first voltage sensor in the map, read at {@link #DEFAULT_RATE_HZ}.
+     *
+     * @param hardwareMap The FTC hardware map
+     * @param clock       Time source
+     */
+    public VoltageCompensator(HardwareMap hardwareMap, NanoClock clock) {
+        this(findSensor(hardwareMap), DEFAULT_RATE_HZ, DEFAULT_TIME_CONSTANT, clock);
+    }
+
+    /**
+     * @param sensor       Battery voltage sensor, or null to always use the nominal voltage
+     * @param rateHz       How often the sensor is read
+     * @param timeConstant Filter time constant in seconds
+     * @param clock        Time source
+     */
+    public VoltageCompensator(VoltageSensor sensor, double rateHz, double timeConstant, NanoClock clock) {
+        if (!(rateHz > 0)) {
+            throw new IllegalArgumentException("Voltage read rate must be positive: " + rateHz);
+        }
+        if (!(timeConstant >= 0)) {
+            throw new IllegalArgumentException("Voltage filter time constant must not be negative: " + timeConstant);
+        }
+        this.sensor = sensor;
+        this.clock = clock;
+        this.periodNanos = Math.round(1e9 / rateHz);
+        this.timeConstant = timeConstant;
+    }
+
+    private static VoltageSensor findSensor(HardwareMap hardwareMap) {
+        // Any hub's battery reading will do; missing in some test/sim maps
+        List<VoltageSensor> sensors = hardwareMap.getAll(VoltageSensor.class);
+        return sensors != null && !sensors.isEmpty() ? sensors.get(0) : null;
+    }
+
+    /**
+     * Reads and filters the battery voltage if a full period has passed since the
+     * last read. Safe to call any number of times per loop.
+     */
+    public void update() {
+        if (sensor == null) {
+            return;
+        }
+        long now = clock.nanoTime();
+        if (started && now - lastReadNanos < periodNanos) {
+            return;
+        }
+        started = true;
+        lastReadNanos = now;
+
+        double reading = sensor.getVoltage();
+        reads++;
+        if (!(reading >= MIN_VOLTAGE)) {
+            // Keep the last good value rather than tripling every power
+            return;
+        }
+        lastReading = reading;
+        if (!seeded || timeConstant == 0) {
+            voltage = reading;
+            seeded = true;
+        } else {
+            double dt = (now - lastFilterNanos) * 1e-9;
+            voltage += (1.0 - Math.exp(-dt / timeConstant)) * (reading - voltage);
+        }
+        lastFilterNanos = now;
+    }
+
+    /**
+     * @return Filtered battery voltage, reading the sensor first if due
+     */
+    public double getVoltage() {
+        update();
+        return voltage;
+    }
+
+    /**
+     * @return Filtered battery voltage as of the last read, without a sensor read (for logging)
+     */
+    public double getLastVoltage() {
+        return voltage;
+    }
+
+    /**
+     * @return Last raw reading that passed the brownout check
+     */
+    public double getLastReading() {
+        return lastReading;
+    }
+
+    /**
+     * @return Factor applied by {@link #compensate(double)}: nominal / filtered voltage, or 1 when disabled
+     */
+    public double getScale() {
+        double volts = getVoltage();
+        return enabled ? NOMINAL_VOLTAGE / volts : 1.0;
+    }
+
+    /**
+     * Converts a power tuned at the nominal voltage into the power that gives the
+     * same voltage at the motor now.
+     *
+     * @param power Power at 12 V
+     * @return Compensated power, clamped to [-1, 1]
+     */
+    public double compensate(double power) {
+        return Math.max(-1.0, Math.min(1.0, power * getScale()));
+    }
+
+    /**
+     * @param enabled false to pass powers through unchanged; the voltage is still read for logging
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return true if a voltage sensor was found
+     */
+    public boolean hasSensor() {
+        return sensor != null;
+    }
+
+    /**
+     * @return Sensor reads so far
+     */
+    public long getReads() {
+        return reads;
+    }
+}
@@ -0,0 +1,205 @@
+package org.firstinspires.ftc.teamcode.Autonomous;
+
+import com.pedropathing.paths.PathChain;
+
+import org.firstinspires.ftc.teamcode.subsystems.ShotDetector;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AutoEngine against a fake robot and clock.
+ */
+class AutoEngineTest {
+
+    private static final long LOOP_NANOS = 20_000_000L;
+
+    /** Records what the engine asked for; paths finish when told to. */
+    private static class FakeRobot implements AutoRobot {
+        final long[] now = {0L};
+        final ShotDetector detector = new ShotDetector(() -> now[0]);
+        PathChain path;
+        int pathsStarted = 0;
+        boolean pathDone = false;
+        boolean intake = false;
+        boolean indexerOpen = false;
+        int spinUpCalls = 0;
+        int stopShooterCalls = 0;
+        int finishCalls = 0;
+
+        @Override
+        public void followPath(PathChain path) {
+            this.path = path;
+            pathsStarted++;
+            pathDone = false;
+        }
+
+        @Override
+        public boolean isPathDone() {
+            return pathDone;
+        }
+
+        @Override
+        public void setIntake(boolean running) {
+            intake = running;
+        }
+
+        @Override
+        public void setIndexerOpen(boolean open) {
+            indexerOpen = open;
+        }
+
+        @Override
+        public void spinUp() {
+            spinUpCalls++;
+        }
+
+        @Override
+        public void stopShooter() {
+            stopShooterCalls++;
+        }
+
+        @Override
+        public ShotDetector getShotDetector() {
+            return detector;
+        }
+
+        @Override
+        public void finish() {
+            finishCalls++;
+        }
+    }
+
+    private static void loop(AutoEngine engine, FakeRobot robot, int loops) {
+        for (int i = 0; i < loops; i++) {
+            robot.now[0] += LOOP_NANOS;
+            engine.update();
+        }
+    }
+
+    @Test
+    void testRunsStepsInOrder() {
+        PathChain first = new PathChain();
+        PathChain second = new PathChain();
+        FakeRobot robot = new FakeRobot();
+        AutoEngine engine = new AutoEngine(new AutoRoutine()
+                .follow("First", first)
+                .follow("Second", second)
+                .build(), robot, () -> robot.now[0]);
+
+        engine.start();
+        assertSame(first, robot.path);
+        assertEquals("First", engine.getStepName());
+
+        loop(engine, robot, 5);
+        assertSame(first, robot.path);
+
+        robot.pathDone = true;
+        loop(engine, robot, 1);
+        assertSame(second, robot.path);
+        assertEquals(1, engine.getStepIndex());
+
+        robot.pathDone = true;
+        loop(engine, robot, 1);
+        assertTrue(engine.isFinished());
+        assertEquals(1, robot.finishCalls);
+        assertEquals("Done", engine.getStepName());
+
+        loop(engine, robot, 5);
+        assertEquals(1, robot.finishCalls);
+        assertEquals(2, robot.pathsStarted);
+    }
+
+    @Test
+    void testParallelActionsRunWhileDriving() {
+        FakeRobot robot = new FakeRobot();
+        AutoEngine engine = new AutoEngine(new AutoRoutine()
+                .follow("Collect", new PathChain()).with(AutoAction.INTAKE)
+                .follow("Basket", new PathChain()).with(AutoAction.SPIN_UP)
+                .follow("Park", new PathChain())
+                .build(), robot, () -> robot.now[0]);
+
+        engine.start();
+        loop(engine, robot, 3);
+        assertTrue(robot.intake);
+        assertTrue(robot.indexerOpen);
+        assertEquals(0, robot.spinUpCalls);
+
+        robot.pathDone = true;
+        loop(engine, robot, 1);
+        loop(engine, robot, 3);
+        assertFalse(robot.intake);
+        assertFalse(robot.indexerOpen);
+        assertEquals(3, robot.spinUpCalls);
+
+        robot.pathDone = true;
+        loop(engine, robot, 1);
+        loop(engine, robot, 3);
+        assertEquals(1, robot.stopShooterCalls);
+    }
+
+    @Test
+    void testShootFeedsOneBallPerDetectedShot() {
+        FakeRobot robot = new FakeRobot();
+        AutoEngine engine = new AutoEngine(new AutoRoutine()
+                .shoot(2)
+                .follow("Park", new PathChain())
+                .build(), robot, () -> robot.now[0]);
+        engine.start();
+
+        // Flywheels at speed: detector arms, engine starts feeding
+        for (int i = 0; i < 4; i++) {
+            robot.detector.update(3000, 3000, 3000);
+            loop(engine, robot, 1);
+        }
+        assertTrue(engine.isFeeding());
+        assertTrue(robot.intake);
+        assertTrue(robot.indexerOpen);
+
+        // Ball leaves: dip and recover
+        robot.detector.update(2700, 2700, 3000);
+        loop(engine, robot, 1);
+        robot.detector.update(2900, 2900, 3000);
+        loop(engine, robot, 1);
+        assertEquals(1, engine.getBallsShot());
+        assertFalse(robot.intake);
+
+        // Nothing detected for the second ball: timeouts move the routine on
+        loop(engine, robot, 100);
+        assertEquals(1, engine.getStepIndex());
+        assertEquals(1, robot.stopShooterCalls);
+    }
+
+    @Test
+    void testWaitUntilHonorsConditionAndTimeout() {
+        boolean[] ready = {false};
+        FakeRobot robot = new FakeRobot();
+        AutoEngine engine = new AutoEngine(new AutoRoutine()
+                .waitUntil("Ready", () -> ready[0], 0)
+                .waitUntil("Never", () -> false, 100)
+                .waitMs(60)
+                .build(), robot, () -> robot.now[0]);
+        engine.start();
+
+        loop(engine, robot, 50);
+        assertEquals(0, engine.getStepIndex());
+
+        ready[0] = true;
+        loop(engine, robot, 1);
+        assertEquals(1, engine.getStepIndex());
+
+        loop(engine, robot, 5);
+        assertEquals(2, engine.getStepIndex());
+
+        loop(engine, robot, 3);
+        assertTrue(engine.isFinished());
+    }
+
+    @Test
+    void testInvalidRoutinesThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new AutoRoutine().shoot(0));
+        assertThrows(IllegalArgumentException.class, () -> new AutoRoutine().follow("Missing", null));
+        assertThrows(IllegalStateException.class, () -> new AutoRoutine().with(AutoAction.INTAKE));
+        assertThrows(IllegalArgumentException.class, () -> new AutoEngine(new AutoStep[0], new FakeRobot()));
+    }
+}
@@ -0,0 +1,104 @@
+package org.firstinspires.ftc.teamcode.Autonomous;
+
+import org.firstinspires.ftc.teamcode.BluePaths;
+import org.firstinspires.ftc.teamcode.RedPaths;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PathMirror, checked against the red paths as they were flipped by hand.
+ */
+class PathMirrorTest {
+
+    private static final double EPSILON = 1e-9;
+
+    /** Control points of the hand-flipped RedPaths, x0, y0, x1, y1, ... */
+    private static final double[][] HAND_FLIPPED_RED = {
+            {56.000, 8.000, 47.498, 47.666},                                   // Basket1
+            {47.498, 47.666, 39.263, 60.315, 20.672, 60.275},                  // Collect1
+            {20.672, 60.275, 28.432, 72.415, 16.892, 73.087},                  // Gate1
+            {16.892, 73.087, 61.547, 71.749},                                  // Basket2
+            {61.547, 71.749, 58.298, 84.240, 20.770, 84.195},                  // Collect2
+            {20.770, 84.195, 58.246, 84.230, 61.240, 71.554},                  // Basket3
+            {61.240, 71.554, 50.307, 111.389, 19.638, 108.094},                // Collect3
+            {19.638, 108.094, 50.416, 111.584, 61.111, 71.589},                // Shoot4
+            {61.111, 71.589, 16.725, 73.087},                                  // Park
+    };
+
+    private static final PathSpec[] RED = {
+            RedPaths.BASKET1, RedPaths.COLLECT1, RedPaths.GATE1, RedPaths.BASKET2, RedPaths.COLLECT2,
+            RedPaths.BASKET3, RedPaths.COLLECT3, RedPaths.SHOOT4, RedPaths.PARK
+    };
+
+    @Test
+    void testMirroredPathsMatchHandFlippedRedPaths() {
+        for (int p = 0; p < RED.length; p++) {
+            PathSpec spec = RED[p];
+            double[] expected = HAND_FLIPPED_RED[p];
+            assertEquals(1, spec.getSegmentCount());
+            PathSpec.Segment segment = spec.getSegment(0);
+            assertEquals(expected.length / 2, segment.getPointCount(), "path " + p);
+            for (int i = 0; i < segment.getPointCount(); i++) {
+                assertEquals(expected[2 * i], segment.getX(i), EPSILON, "path " + p + " point " + i);
+                assertEquals(expected[2 * i + 1], segment.getY(i), EPSILON, "path " + p + " point " + i);
+            }
+        }
+    }
+
+    @Test
+    void testMirroredHeadingsMatchHandFlippedRedPaths() {
+        for (int p = 0; p < RED.length - 1; p++) {
+            PathSpec.Segment segment = RED[p].getSegment(0);
+            assertEquals(PathSpec.HeadingMode.CONSTANT, segment.getHeadingMode());
+            assertEquals(180.0, segment.getStartHeadingDegrees(), EPSILON);
+        }
+        assertEquals(PathSpec.HeadingMode.TANGENT, RedPaths.PARK.getSegment(0).getHeadingMode());
+    }
+
+    @Test
+    void testMirrorTwiceIsIdentity() {
+        PathSpec spec = new PathSpec.Builder()
+                .addPath(10, 20, 30, 40, 50, 60)
+                .setLinearHeading(90, 45)
+                .addPath(50, 60, 70, 80)
+                .setConstantHeading(-30)
+                .build();
+        PathSpec twice = PathMirror.mirror(PathMirror.mirror(spec));
+
+        assertEquals(spec.getSegmentCount(), twice.getSegmentCount());
+        for (int s = 0; s < spec.getSegmentCount(); s++) {
+            PathSpec.Segment a = spec.getSegment(s);
+            PathSpec.Segment b = twice.getSegment(s);
+            assertEquals(a.getHeadingMode(), b.getHeadingMode());
+            assertEquals(a.getStartHeadingDegrees(), b.getStartHeadingDegrees(), EPSILON);
+            assertEquals(a.getEndHeadingDegrees(), b.getEndHeadingDegrees(), EPSILON);
+            for (int i = 0; i < a.getPointCount(); i++) {
+                assertEquals(a.getX(i), b.getX(i), EPSILON);
+                assertEquals(a.getY(i), b.getY(i), EPSILON);
+            }
+        }
+    }
+
+    @Test
+    void testMirrorHeading() {
+        assertEquals(180.0, PathMirror.mirrorHeading(180.0), EPSILON);
+        assertEquals(-90.0, PathMirror.mirrorHeading(90.0), EPSILON);
+        assertEquals(45.0, PathMirror.mirrorHeading(-45.0), EPSILON);
+        assertEquals(-90.0, PathMirror.mirrorHeading(450.0), EPSILON);
+    }
+
+    @Test
+    void testBlueAndRedStartOnOppositeSides() {
+        assertEquals(136.0, BluePaths.BASKET1.getSegment(0).getY(0), EPSILON);
+        assertEquals(8.0, RedPaths.BASKET1.getSegment(0).getY(0), EPSILON);
+    }
+
+    @Test
+    void testInvalidSpecsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new PathSpec.Builder().addPath(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new PathSpec.Builder().addPath(1, 2, 3));
+        assertThrows(IllegalStateException.class, () -> new PathSpec.Builder().setConstantHeading(0));
+        assertThrows(IllegalStateException.class, () -> new PathSpec.Builder().build());
+    }
+}
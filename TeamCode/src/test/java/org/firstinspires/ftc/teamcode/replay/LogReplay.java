@@ -0,0 +1,135 @@
+package org.firstinspires.ftc.teamcode.replay;
+
+import org.firstinspires.ftc.teamcode.subsystems.FlightLogReader;
+import org.firstinspires.ftc.teamcode.subsystems.FlightSample;
+
+import java.util.function.Consumer;
+
+/**
+ * Plays a flight log back through the real subsystems on a desktop JVM, as fast
+ * as the CPU allows, and captures what they command.
+ *
+ * Run the same log twice with different configuration, or before and after a
+ * code change, and diff the {@link ReplayResult}s to see where a controller or
+ * solver change would have commanded something else in a real match:
+ * <pre>
+ * LogReplay replay = new LogReplay(new FlightLogReader(new File("RedTeleOp-20260301-143012.flr")));
+ * ReplayResult a = replay.run(rig -> { }, LogReplay.teleOp(true));
+ * ReplayResult b = replay.run(rig -> rig.getSmartShooter().configureKinematics(0.3, 1.2, 50.0),
+ *         LogReplay.teleOp(true));
+ * System.out.println(a.summarize(b, 1e-6));
+ * </pre>
+ *
+ * Replay is open loop: the readings come from the log, so commanding something
+ * different does not change what the subsystems see next. Outputs that only feed
+ * back through the mechanism (turret power, for one) are therefore exact for the
+ * first loop that differs and indicative after that.
+ *
+ * Limits of the version 1 log: each tag's tx, ty and area are the primary
+ * target's; gamepad input is not recorded, so the loop body decides when to aim
+ * and shoot.
+ */
+public class LogReplay {
+
+    /** One replayed OpMode loop, run after {@link ReplayRig#beginLoop()}. */
+    public interface Loop {
+        void run(ReplayRig rig, FlightSample recorded);
+    }
+
+    private final FlightLogReader reader;
+
+    /**
+     * @param reader Log to replay
+     */
+    public LogReplay(FlightLogReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * The TeleOp loop with the aim button held: field-relative aim when the pose
+     * is known, vision aim otherwise, and the flywheel from the basket in view.
+     *
+     * @param isRedAlliance true for red alliance, false for blue
+     */
+    public static Loop teleOp(boolean isRedAlliance) {
+        return (rig, recorded) -> {
+            if (rig.isPoseValid()) {
+                rig.getTargeting().aimFieldRelative(rig.getFollower(), isRedAlliance);
+            } else if (isRedAlliance) {
+                rig.getTargeting().aimAtRedBasket();
+            } else {
+                rig.getTargeting().aimAtBlueBasket();
+            }
+            if (isRedAlliance) {
+                rig.getSmartShooter().shootAtRedBasket();
+            } else {
+                rig.getSmartShooter().shootAtBlueBasket();
+            }
+        };
+    }
+
+    /**
+     * The autonomous shooting step: shoot on the move and aim from the pose.
+     *
+     * @param isRedAlliance true for red alliance, false for blue
+     */
+    public static Loop auto(boolean isRedAlliance) {
+        return (rig, recorded) -> {
+            rig.getSmartShooter().shootWhileMoving(rig.getFollower(), isRedAlliance);
+            rig.getTargeting().aimFieldRelative(rig.getFollower(), isRedAlliance);
+        };
+    }
+
+    /**
+     * Replays every record still in the log. Torn or overwritten records are skipped.
+     *
+     * @param configure Applied to a fresh rig before the first record, e.g. gains or solver settings
+     * @param loop      Loop body
+     * @return Commanded outputs after each loop
+     */
+    public ReplayResult run(Consumer<ReplayRig> configure, Loop loop) {
+        long start = System.nanoTime();
+        ReplayRig rig = new ReplayRig();
+        configure.accept(rig);
+
+        ReplayResult result = new ReplayResult();
+        FlightSample sample = new FlightSample();
+        for (long sequence = reader.getFirstSequence(); sequence < reader.getRecordCount(); sequence++) {
+            if (!reader.read(sequence, sample)) {
+                continue;
+            }
+            rig.load(sample);
+            rig.beginLoop();
+            loop.run(rig, sample);
+
+            int index = result.add(sequence, sample.getTimeNanos());
+            result.set(index, ReplayResult.Channel.TURRET_POWER, rig.getTurret().getCurrentPower());
+            result.set(index, ReplayResult.Channel.TURRET_TARGET, rig.getTurret().getTargetAngle());
+            result.set(index, ReplayResult.Channel.TARGET_RPM, rig.getShooter().getTargetRPM());
+            result.set(index, ReplayResult.Channel.SHOOTER_POWER, rig.getShooterPower());
+        }
+        result.setWallNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * The outputs as the robot recorded them, to check a replay against the match.
+     * Shooter power is not in the log and reads NaN.
+     *
+     * @return Recorded outputs for every record still in the log
+     */
+    public ReplayResult recorded() {
+        ReplayResult result = new ReplayResult();
+        FlightSample sample = new FlightSample();
+        for (long sequence = reader.getFirstSequence(); sequence < reader.getRecordCount(); sequence++) {
+            if (!reader.read(sequence, sample)) {
+                continue;
+            }
+            int index = result.add(sequence, sample.getTimeNanos());
+            result.set(index, ReplayResult.Channel.TURRET_POWER, sample.getTurretPower());
+            result.set(index, ReplayResult.Channel.TURRET_TARGET, sample.getTurretTargetDegrees());
+            result.set(index, ReplayResult.Channel.TARGET_RPM, sample.getTargetRPM());
+        }
+        return result;
+    }
+}
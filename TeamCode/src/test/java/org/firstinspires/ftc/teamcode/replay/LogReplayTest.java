@@ -0,0 +1,163 @@
+package org.firstinspires.ftc.teamcode.replay;
+
+import org.firstinspires.ftc.teamcode.subsystems.FlightLogReader;
+import org.firstinspires.ftc.teamcode.subsystems.FlightRecorder;
+import org.firstinspires.ftc.teamcode.subsystems.FlightSample;
+import org.firstinspires.ftc.teamcode.subsystems.HardwareRegistry;
+import org.firstinspires.ftc.teamcode.subsystems.Shooter;
+import org.firstinspires.ftc.teamcode.subsystems.ShooterKinematics;
+import org.firstinspires.ftc.teamcode.subsystems.Turret;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replays a synthetic match log through the real subsystems.
+ */
+class LogReplayTest {
+
+    private static final int LOOPS = 1000;            // 20 s at 50 Hz
+    private static final long LOOP_NANOS = 20_000_000L;
+
+    @TempDir
+    File dir;
+
+    private LogReplay replay;
+    private FlightLogReader reader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        reader = new FlightLogReader(writeMatch(new File(dir, "RedTeleOp.flr")));
+        replay = new LogReplay(reader);
+    }
+
+    @AfterEach
+    void tearDown() {
+        HardwareRegistry.reset();
+    }
+
+    /**
+     * A red TeleOp drive: the robot crosses the field while spinning slowly, the
+     * red basket tag is in view for the middle half, and the flywheels spin up.
+     */
+    private File writeMatch(File file) {
+        long[] now = {0L};
+        FlightRecorder recorder = new FlightRecorder(2 * LOOPS, () -> now[0]);
+        assertTrue(recorder.start(file, "RedTeleOp"));
+        for (int i = 0; i < LOOPS; i++) {
+            double t = i * LOOP_NANOS / 1e9;
+            FlightSample sample = recorder.getSample();
+            sample.setShooter(Math.min(3000, 600 * t), Math.min(3000, 600 * t) - 5, 3000);
+            sample.setTurret(0.1, (int) (200 * Math.sin(t)), 0.0);
+            boolean visible = i >= LOOPS / 4 && i < 3 * LOOPS / 4;
+            sample.setVision(visible, 3.0 * Math.sin(2 * t), 8.0 + 0.2 * t, 0.4);
+            if (visible) {
+                sample.addTag(24);
+            }
+            sample.setPose(i >= 50, 40 + 2 * t, 30 + t, Math.toRadians(45 + 5 * t));
+            sample.setBatteryVoltage(12.8 - 0.02 * t);
+            sample.setStep(-1);
+            recorder.record();
+            now[0] += LOOP_NANOS;
+        }
+        recorder.stop();
+        return file;
+    }
+
+    @Test
+    void testReplayCoversEveryRecordAndIsDeterministic() {
+        ReplayResult first = replay.run(rig -> { }, LogReplay.teleOp(true));
+        ReplayResult second = replay.run(rig -> { }, LogReplay.teleOp(true));
+
+        assertEquals(LOOPS, first.size());
+        assertEquals(0, first.getSequence(0));
+        assertEquals((LOOPS - 1) * LOOP_NANOS / 1e9, first.getRecordedSeconds(), 1e-9);
+        for (ReplayResult.Channel channel : ReplayResult.Channel.values()) {
+            assertEquals(0, first.countDifferences(second, channel, 0.0), channel.getLabel());
+        }
+    }
+
+    @Test
+    void testSubsystemsSeeRecordedReadings() {
+        FlightSample[] seen = {null};
+        replay.run(rig -> { }, (rig, recorded) -> {
+            assertEquals(recorded.getLeftRPM(), rig.getShooter().getLeftRPM(), 60.0 / Shooter.TICKS_PER_REV);
+            assertEquals(recorded.getRightRPM(), rig.getShooter().getRightRPM(), 60.0 / Shooter.TICKS_PER_REV);
+            assertEquals(recorded.getTurretTicks(), rig.getTurret().getCurrentPosition());
+            assertEquals(-recorded.getTurretTicks() / (Turret.TICKS_PER_REV / 360.0),
+                    rig.getTurret().getCurrentAngle(), 1e-9);
+            assertEquals(recorded.hasVisionTarget(), rig.getVision().hasRedBasketTarget());
+            if (recorded.hasVisionTarget()) {
+                assertEquals(recorded.getTx(), rig.getVision().getRedBasketX(), 1e-6);
+            }
+            assertEquals(recorded.getPoseX(), rig.getFollower().getPose().getX(), 0.0);
+            assertEquals(recorded.isPoseValid(), rig.isPoseValid());
+            seen[0] = recorded;
+        });
+        assertNotNull(seen[0]);
+    }
+
+    @Test
+    void testSolverChangeShowsUpOnlyInShooterOutputs() {
+        ReplayResult baseline = replay.run(rig -> { }, LogReplay.teleOp(true));
+        ReplayResult steeper = replay.run(rig -> {
+            ShooterKinematics kinematics = rig.getSmartShooter().getKinematics();
+            rig.getSmartShooter().configureKinematics(kinematics.getShooterHeight(),
+                    kinematics.getBasketHeight(), kinematics.getLaunchAngle() + 10.0);
+        }, LogReplay.teleOp(true));
+
+        // The flywheel target changes from the first frame with the basket in view,
+        // and the last target is held after the tag is lost
+        int changed = baseline.countDifferences(steeper, ReplayResult.Channel.TARGET_RPM, 1.0);
+        assertTrue(changed > LOOPS / 2, "changed " + changed);
+        assertTrue(changed <= 3 * LOOPS / 4, "changed " + changed);
+        assertEquals(LOOPS / 4, baseline.firstDifference(steeper, ReplayResult.Channel.TARGET_RPM, 1.0));
+
+        // Aiming does not depend on the launch angle
+        assertEquals(0, baseline.countDifferences(steeper, ReplayResult.Channel.TURRET_TARGET, 0.0));
+        assertEquals(0, baseline.countDifferences(steeper, ReplayResult.Channel.TURRET_POWER, 0.0));
+
+        String summary = baseline.summarize(steeper, 1.0);
+        assertTrue(summary.contains("target RPM"), summary);
+    }
+
+    @Test
+    void testRunsFasterThanRealTime() {
+        ReplayResult result = replay.run(rig -> { }, LogReplay.teleOp(true));
+        assertTrue(result.getWallSeconds() < result.getRecordedSeconds(),
+                result.getWallSeconds() + " s to replay " + result.getRecordedSeconds() + " s");
+    }
+
+    @Test
+    void testRecordedOutputsComeFromTheLog() {
+        ReplayResult recorded = replay.recorded();
+        assertEquals(LOOPS, recorded.size());
+        assertEquals(3000, recorded.get(ReplayResult.Channel.TARGET_RPM, 10), 1e-3);
+        assertTrue(Double.isNaN(recorded.get(ReplayResult.Channel.SHOOTER_POWER, 10)));
+
+        // NaN on one side is not a difference
+        ReplayResult replayed = replay.run(rig -> { }, LogReplay.teleOp(true));
+        assertEquals(0, recorded.countDifferences(replayed, ReplayResult.Channel.SHOOTER_POWER, 0.0));
+    }
+
+    @Test
+    void testDiffRejectsDifferentLogs() throws IOException {
+        File shorter = new File(dir, "short.flr");
+        FlightRecorder recorder = new FlightRecorder(16, () -> 0L);
+        assertTrue(recorder.start(shorter, "RedTeleOp"));
+        recorder.record();
+        recorder.stop();
+
+        ReplayResult other = new LogReplay(new FlightLogReader(shorter)).recorded();
+        ReplayResult full = replay.recorded();
+        assertThrows(IllegalArgumentException.class,
+                () -> full.countDifferences(other, ReplayResult.Channel.TARGET_RPM, 0.0));
+    }
+}
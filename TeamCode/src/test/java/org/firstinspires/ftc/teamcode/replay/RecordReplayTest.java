@@ -0,0 +1,173 @@
+package org.firstinspires.ftc.teamcode.replay;
+
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+import com.qualcomm.robotcore.hardware.Gamepad;
+
+import org.firstinspires.ftc.teamcode.TeleOp.TeleOpLoop;
+import org.firstinspires.ftc.teamcode.sim.SimDcMotorEx;
+import org.firstinspires.ftc.teamcode.sim.SimHardwareMap;
+import org.firstinspires.ftc.teamcode.sim.SimLimelight;
+import org.firstinspires.ftc.teamcode.sim.SimMecanumDrive;
+import org.firstinspires.ftc.teamcode.sim.SimServo;
+import org.firstinspires.ftc.teamcode.sim.SimTelemetry;
+import org.firstinspires.ftc.teamcode.sim.SimVoltageSensor;
+import org.firstinspires.ftc.teamcode.subsystems.DriveProfile;
+import org.firstinspires.ftc.teamcode.subsystems.DriveSubsystem;
+import org.firstinspires.ftc.teamcode.subsystems.FlightLogReader;
+import org.firstinspires.ftc.teamcode.subsystems.FlightRecorder;
+import org.firstinspires.ftc.teamcode.subsystems.HardwareRegistry;
+import org.firstinspires.ftc.teamcode.subsystems.LoopScheduler;
+import org.firstinspires.ftc.teamcode.subsystems.RobotRecorder;
+import org.firstinspires.ftc.teamcode.subsystems.SmartShooter;
+import org.firstinspires.ftc.teamcode.subsystems.TelemetryPublisher;
+import org.firstinspires.ftc.teamcode.subsystems.Turret;
+import org.firstinspires.ftc.teamcode.subsystems.TurretTargeting;
+import org.firstinspires.ftc.teamcode.subsystems.VoltageCompensator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Records the red TeleOp on the simulator, then replays its log: the replayed
+ * shooter must command the RPM the robot did.
+ */
+class RecordReplayTest {
+
+    private static final double LOOP_PERIOD = 1.0 / TeleOpLoop.LOOP_RATE_HZ;
+    private static final double SECONDS = 10.0;
+    // Vision readings and the target are logged as floats
+    private static final double RPM_TOLERANCE = 0.01;
+
+    @TempDir
+    File dir;
+
+    // The robot's filtered battery voltage after each recorded loop
+    private final double[] robotVoltage = new double[(int) Math.round(SECONDS / LOOP_PERIOD) + 1];
+    private int loops = 0;
+
+    @AfterEach
+    void tearDown() {
+        HardwareRegistry.reset();
+    }
+
+    /**
+     * Drives a slow circle with the aim button held, recording every loop. The
+     * battery sags by most of a volt partway through.
+     */
+    private File recordTeleOp() {
+        HardwareRegistry.reset();
+        SimHardwareMap hardwareMap = new SimHardwareMap();
+        hardwareMap.setPhysicsStep(0.005);
+        HardwareRegistry registry = HardwareRegistry.get(hardwareMap);
+
+        SimVoltageSensor battery = hardwareMap.add("battery", new SimVoltageSensor("battery", 12.5));
+        registry.setVoltageCompensator(new VoltageCompensator(hardwareMap, hardwareMap.getClock()));
+        SimDcMotorEx lf = hardwareMap.add("lf", new SimDcMotorEx("lf", 537.7, 312, 0.1));
+        SimDcMotorEx lb = hardwareMap.add("lb", new SimDcMotorEx("lb", 537.7, 312, 0.1));
+        SimDcMotorEx rf = hardwareMap.add("rf", new SimDcMotorEx("rf", 537.7, 312, 0.1));
+        SimDcMotorEx rb = hardwareMap.add("rb", new SimDcMotorEx("rb", 537.7, 312, 0.1));
+        lf.setDirection(DcMotorSimple.Direction.REVERSE);
+        lb.setDirection(DcMotorSimple.Direction.REVERSE);
+        SimMecanumDrive drive = hardwareMap.addModel(new SimMecanumDrive(lf, lb, rf, rb, 60.0, Math.toRadians(360.0)));
+        drive.setPose(72, 48, Math.toRadians(150));
+
+        hardwareMap.add("sl", new SimDcMotorEx("sl", 112, 6000, 0.3).setBatteryVoltage(battery));
+        hardwareMap.add("sr", new SimDcMotorEx("sr", 112, 6000, 0.3).setBatteryVoltage(battery));
+        hardwareMap.add("turretMotor", new SimDcMotorEx("turretMotor", Turret.TICKS_PER_REV, 500, 0.05)
+                .setStaticFriction(0.05));
+        hardwareMap.add("intakeMotor", new SimDcMotorEx("intakeMotor", 537.7, 312, 0.05));
+        hardwareMap.add("indexerServo", new SimServo("indexerServo"));
+
+        Turret turret = registry.getTurret();
+        hardwareMap.add("limelight", new SimLimelight(0.25, 15.0)
+                .setCameraPose(drive::getX, drive::getY,
+                        () -> Math.toDegrees(drive.getHeading()) + turret.getCurrentAngle())
+                .addDecodeGoalTags(1.2)
+                .setNoise(0.1));
+
+        SmartShooter shooter = SmartShooter.configureForRobot(new SmartShooter(hardwareMap), hardwareMap.getClock());
+        TurretTargeting targeting = new TurretTargeting(turret, registry.getVision());
+
+        File log = new File(dir, "MecanumTeleOpRED.flr");
+        RobotRecorder recorder = new RobotRecorder(new FlightRecorder(1024, hardwareMap.getClock()));
+        assertTrue(recorder.getRecorder().start(log, "MecanumTeleOpRED"));
+
+        LoopScheduler scheduler = new LoopScheduler(TeleOpLoop.LOOP_RATE_HZ, hardwareMap.getClock());
+        scheduler.setWaitForPeriod(false);
+        DriveSubsystem driveSubsystem = new DriveSubsystem(hardwareMap,
+                new DriveProfile(TeleOpLoop.MAX_DRIVE_POWER), hardwareMap.getClock());
+        TeleOpLoop teleOp = new TeleOpLoop(true, registry, scheduler, driveSubsystem, shooter, targeting, recorder,
+                new TelemetryPublisher(new SimTelemetry(), TelemetryPublisher.DEFAULT_RATE_HZ, hardwareMap.getClock()),
+                true);
+        Gamepad gamepad = new Gamepad();
+        gamepad.left_bumper = true;
+
+        scheduler.setPhase(LoopScheduler.Phase.READ, () -> {
+            registry.beginLoop();
+            teleOp.read(gamepad, drive.getHeading(), drive.getX(), drive.getY(), drive.getHeading());
+        });
+        scheduler.setPhase(LoopScheduler.Phase.COMPUTE, teleOp::computeDrive);
+        scheduler.setPhase(LoopScheduler.Phase.WRITE, teleOp::writeActuators);
+        scheduler.setPhase(LoopScheduler.Phase.TELEMETRY, teleOp::updateTelemetry);
+
+        hardwareMap.run(SECONDS, LOOP_PERIOD, () -> {
+            double time = hardwareMap.getClock().getSeconds();
+            battery.setVoltage(time < 4.0 ? 12.5 : 11.8);
+            gamepad.left_stick_x = (float) (0.3 * Math.sin(time));
+            gamepad.left_stick_y = (float) (-0.3 * Math.cos(time));
+            try {
+                scheduler.runOnce();
+                robotVoltage[loops++] = registry.getVoltageCompensator().getLastVoltage();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        recorder.stop();
+        HardwareRegistry.reset();
+        return log;
+    }
+
+    @Test
+    void testReplayCommandsTheRecordedRpm() throws IOException {
+        LogReplay replay = new LogReplay(new FlightLogReader(recordTeleOp()));
+        ReplayResult recorded = replay.recorded();
+        ReplayResult replayed = replay.run(rig -> { }, LogReplay.teleOp(true));
+
+        int aimed = 0;
+        for (int i = 0; i < recorded.size(); i++) {
+            if (recorded.get(ReplayResult.Channel.TARGET_RPM, i) > 0) {
+                aimed++;
+            }
+        }
+        assertTrue(aimed > recorded.size() / 2, "loops with a target RPM: " + aimed + " of " + recorded.size());
+        assertEquals(0, recorded.countDifferences(replayed, ReplayResult.Channel.TARGET_RPM, RPM_TOLERANCE),
+                recorded.summarize(replayed, RPM_TOLERANCE));
+
+        // A setup the robot did not run shows up
+        ReplayResult vacuum = replay.run(rig -> rig.getSmartShooter().useVacuumModel(), LogReplay.teleOp(true));
+        assertTrue(recorded.countDifferences(vacuum, ReplayResult.Channel.TARGET_RPM, RPM_TOLERANCE) > 0);
+    }
+
+    @Test
+    void testReplayFiltersTheBatteryLikeTheRobot() throws IOException {
+        LogReplay replay = new LogReplay(new FlightLogReader(recordTeleOp()));
+        double[] replayed = new double[loops];
+        int[] index = {0};
+        replay.run(rig -> { }, (rig, recorded) ->
+                replayed[index[0]++] = rig.getShooter().getLastBatteryVoltage());
+
+        assertEquals(loops, index[0]);
+        assertEquals(12.5, robotVoltage[0], 1e-9);
+        assertTrue(robotVoltage[loops - 1] < 12.0, "robot " + robotVoltage[loops - 1]);
+        for (int i = 0; i < loops; i++) {
+            // Raw readings are logged as floats
+            assertEquals(robotVoltage[i], replayed[i], 1e-5, "loop " + i);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package org.firstinspires.ftc.teamcode.replay;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Commanded outputs of one replay, one entry per replayed loop, and the tools to
+ * diff two replays of the same log.
+ */
+public class ReplayResult {
+
+    /** An output captured after each loop. */
+    public enum Channel {
+        TURRET_POWER("turret power"),
+        TURRET_TARGET("turret target deg"),
+        TARGET_RPM("target RPM"),
+        SHOOTER_POWER("shooter power");
+
+        private final String label;
+
+        Channel(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final int CHANNELS = Channel.values().length;
+
+    private long[] sequences = new long[256];
+    private long[] timeNanos = new long[256];
+    private double[][] values = new double[CHANNELS][256];
+    private int size = 0;
+    private long wallNanos = 0L;
+
+    /**
+     * Appends one loop. Channels not set afterwards stay NaN (not captured).
+     *
+     * @return Index of the new loop
+     */
+    int add(long sequence, long time) {
+        if (size == sequences.length) {
+            int capacity = size * 2;
+            sequences = Arrays.copyOf(sequences, capacity);
+            timeNanos = Arrays.copyOf(timeNanos, capacity);
+            for (int c = 0; c < CHANNELS; c++) {
+                values[c] = Arrays.copyOf(values[c], capacity);
+            }
+        }
+        sequences[size] = sequence;
+        timeNanos[size] = time;
+        for (int c = 0; c < CHANNELS; c++) {
+            values[c][size] = Double.NaN;
+        }
+        return size++;
+    }
+
+    void set(int index, Channel channel, double value) {
+        values[channel.ordinal()][index] = value;
+    }
+
+    void setWallNanos(long nanos) {
+        this.wallNanos = nanos;
+    }
+
+    /**
+     * @return Number of loops
+     */
+    public int size() {
+        return size;
+    }
+
+    public long getSequence(int index) {
+        return sequences[index];
+    }
+
+    /**
+     * @return Recorded time of the loop, nanoseconds since the recorder started
+     */
+    public long getTimeNanos(int index) {
+        return timeNanos[index];
+    }
+
+    /**
+     * @return The output, or NaN if it was not captured
+     */
+    public double get(Channel channel, int index) {
+        return values[channel.ordinal()][index];
+    }
+
+    /**
+     * @return Robot time covered, from the first loop to the last, in seconds
+     */
+    public double getRecordedSeconds() {
+        return size > 1 ? (timeNanos[size - 1] - timeNanos[0]) / 1e9 : 0.0;
+    }
+
+    /**
+     * @return Wall-clock time the replay took in seconds, or 0 for a result read straight from the log
+     */
+    public double getWallSeconds() {
+        return wallNanos / 1e9;
+    }
+
+    private void checkSameLoops(ReplayResult other) {
+        if (other.size != size) {
+            throw new IllegalArgumentException("Replays cover different loops: " + size + " vs " + other.size);
+        }
+        for (int i = 0; i < size; i++) {
+            if (sequences[i] != other.sequences[i]) {
+                throw new IllegalArgumentException("Replays cover different loops at sequence: " + sequences[i]);
+            }
+        }
+    }
+
+    private static boolean differs(double a, double b, double tolerance) {
+        if (Double.isNaN(a) || Double.isNaN(b)) {
+            return false;
+        }
+        return Math.abs(a - b) > tolerance;
+    }
+
+    /**
+     * @return Largest difference on a channel, ignoring loops where either side is NaN
+     * @throws IllegalArgumentException if the results are not from the same log
+     */
+    public double maxDifference(ReplayResult other, Channel channel) {
+        checkSameLoops(other);
+        double[] a = values[channel.ordinal()];
+        double[] b = other.values[channel.ordinal()];
+        double max = 0.0;
+        for (int i = 0; i < size; i++) {
+            if (differs(a[i], b[i], max)) {
+                max = Math.abs(a[i] - b[i]);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return Loops where the channel differs by more than the tolerance
+     * @throws IllegalArgumentException if the results are not from the same log
+     */
+    public int countDifferences(ReplayResult other, Channel channel, double tolerance) {
+        checkSameLoops(other);
+        double[] a = values[channel.ordinal()];
+        double[] b = other.values[channel.ordinal()];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (differs(a[i], b[i], tolerance)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Sequence of the first loop where the channel differs by more than
+     *         the tolerance, or -1 if none does
+     * @throws IllegalArgumentException if the results are not from the same log
+     */
+    public long firstDifference(ReplayResult other, Channel channel, double tolerance) {
+        checkSameLoops(other);
+        double[] a = values[channel.ordinal()];
+        double[] b = other.values[channel.ordinal()];
+        for (int i = 0; i < size; i++) {
+            if (differs(a[i], b[i], tolerance)) {
+                return sequences[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * One line per channel: loops that differ, the largest difference and where it starts.
+     *
+     * @param other     Replay of the same log
+     * @param tolerance Differences at or below this are ignored
+     * @return Human-readable summary
+     */
+    public String summarize(ReplayResult other, double tolerance) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "%d loops, %.1f s of robot time%n", size, getRecordedSeconds()));
+        for (Channel channel : Channel.values()) {
+            sb.append(String.format(Locale.US, "%-18s %6d differ, max %.4f, first at %d%n",
+                    channel.getLabel(),
+                    countDifferences(other, channel, tolerance),
+                    maxDifference(other, channel),
+                    firstDifference(other, channel, tolerance)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,195 @@
+package org.firstinspires.ftc.teamcode.replay;
+
+import com.pedropathing.follower.Follower;
+import com.pedropathing.geometry.Pose;
+import com.pedropathing.math.Vector;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.teamcode.sim.SimDcMotorEx;
+import org.firstinspires.ftc.teamcode.sim.SimHardwareMap;
+import org.firstinspires.ftc.teamcode.sim.SimLimelight;
+import org.firstinspires.ftc.teamcode.sim.SimVoltageSensor;
+import org.firstinspires.ftc.teamcode.subsystems.FlightSample;
+import org.firstinspires.ftc.teamcode.subsystems.HardwareRegistry;
+import org.firstinspires.ftc.teamcode.subsystems.LimelightVision;
+import org.firstinspires.ftc.teamcode.subsystems.Shooter;
+import org.firstinspires.ftc.teamcode.subsystems.SmartShooter;
+import org.firstinspires.ftc.teamcode.subsystems.Turret;
+import org.firstinspires.ftc.teamcode.subsystems.TurretTargeting;
+import org.firstinspires.ftc.teamcode.subsystems.VoltageCompensator;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * The real shooter, turret and vision subsystems wired to simulated devices
+ * whose readings come from a flight log instead of physics.
+ *
+ * {@link #load} puts one recorded loop's sensor readings into the devices:
+ * flywheel and turret encoders, the Limelight frame, the battery and the
+ * follower pose. Nothing is stepped, so the subsystems see exactly what the
+ * robot saw, whatever they command. Speeds the log does not hold (turret
+ * encoder velocity, chassis velocity and yaw rate) are differenced from
+ * consecutive records.
+ *
+ * Builds a fresh {@link HardwareRegistry}, so only one rig can be live at a time.
+ */
+public class ReplayRig {
+
+    // Motor models only matter for their encoder resolution; nothing is stepped
+    private static final double FLYWHEEL_FREE_RPM = 6000.0;
+    private static final double TURRET_FREE_RPM = 500.0;
+    private static final double TIME_CONSTANT = 0.1;
+    private static final double TURRET_TICKS_PER_DEGREE = Turret.TICKS_PER_REV / 360.0;
+
+    private final SimHardwareMap hardwareMap = new SimHardwareMap();
+    private final HardwareRegistry registry;
+    private final SimVoltageSensor battery;
+    private final SimDcMotorEx leftFlywheel;
+    private final SimDcMotorEx rightFlywheel;
+    private final SimDcMotorEx turretMotor;
+    private final SimLimelight limelight;
+
+    private final Shooter shooter;
+    private final Turret turret;
+    private final LimelightVision vision;
+    private final TurretTargeting targeting;
+    private final SmartShooter smartShooter;
+    private final Follower follower = mock(Follower.class);
+    private final Vector velocity = mock(Vector.class);
+
+    private final int[] tagIds = new int[FlightSample.MAX_TAGS];
+    private Pose pose = new Pose(0, 0, 0);
+    private boolean poseValid = false;
+    private double velocityX = 0.0;    // in/s
+    private double velocityY = 0.0;
+    private double chassisRate = 0.0;  // deg/s
+    private boolean loaded = false;
+    private long lastTimeNanos;
+    private int lastTurretTicks;
+
+    public ReplayRig() {
+        HardwareRegistry.reset();
+        registry = HardwareRegistry.get(hardwareMap);
+
+        battery = hardwareMap.add("battery", new SimVoltageSensor("battery", SimDcMotorEx.NOMINAL_VOLTAGE));
+        // The log holds raw readings; filter them as the robot did, on recorded time
+        registry.setVoltageCompensator(new VoltageCompensator(hardwareMap, hardwareMap.getClock()));
+        leftFlywheel = hardwareMap.add("sl", new SimDcMotorEx("sl", Shooter.TICKS_PER_REV, FLYWHEEL_FREE_RPM, TIME_CONSTANT));
+        rightFlywheel = hardwareMap.add("sr", new SimDcMotorEx("sr", Shooter.TICKS_PER_REV, FLYWHEEL_FREE_RPM, TIME_CONSTANT));
+        turretMotor = hardwareMap.add("turretMotor",
+                new SimDcMotorEx("turretMotor", Turret.TICKS_PER_REV, TURRET_FREE_RPM, TIME_CONSTANT));
+        limelight = hardwareMap.add("limelight", new SimLimelight(0.25, 15.0));
+
+        shooter = new Shooter(hardwareMap, "sl", "sr", hardwareMap.getClock());
+        turret = new Turret(hardwareMap, "turretMotor", hardwareMap.getClock());
+        vision = registry.getVision();
+        targeting = new TurretTargeting(turret, vision);
+        // The OpModes' setup, so replay computes what the robot did
+        smartShooter = SmartShooter.configureForRobot(new SmartShooter(vision, shooter), hardwareMap.getClock());
+
+        when(follower.getPose()).thenAnswer(invocation -> pose);
+        when(follower.getVelocity()).thenReturn(velocity);
+        when(velocity.getXComponent()).thenAnswer(invocation -> velocityX);
+        when(velocity.getYComponent()).thenAnswer(invocation -> velocityY);
+        when(velocity.getMagnitude()).thenAnswer(invocation -> Math.hypot(velocityX, velocityY));
+        when(velocity.getTheta()).thenAnswer(invocation -> Math.atan2(velocityY, velocityX));
+    }
+
+    /**
+     * Loads one recorded loop's readings and advances the clock to its timestamp.
+     * Follow with {@link #beginLoop()}.
+     *
+     * @param sample Recorded loop
+     */
+    public void load(FlightSample sample) {
+        double dt = loaded ? (sample.getTimeNanos() - lastTimeNanos) / 1e9 : 0.0;
+        if (dt > 0) {
+            hardwareMap.getClock().advance(dt);
+        }
+
+        double rpmToTicks = Shooter.TICKS_PER_REV / 60.0;
+        leftFlywheel.setMeasured(0, sample.getLeftRPM() * rpmToTicks);
+        rightFlywheel.setMeasured(0, sample.getRightRPM() * rpmToTicks);
+
+        int ticks = sample.getTurretTicks();
+        turretMotor.setMeasured(ticks, dt > 0 ? (ticks - lastTurretTicks) / dt : 0.0);
+
+        battery.setVoltage(sample.getBatteryVoltage());
+
+        for (int i = 0; i < sample.getTagCount(); i++) {
+            tagIds[i] = sample.getTagId(i);
+        }
+        limelight.publish(sample.hasVisionTarget(), sample.getTx(), sample.getTy(), sample.getTa(),
+                tagIds, sample.getTagCount());
+
+        if (loaded && dt > 0 && poseValid && sample.isPoseValid()) {
+            velocityX = (sample.getPoseX() - pose.getX()) / dt;
+            velocityY = (sample.getPoseY() - pose.getY()) / dt;
+            chassisRate = Math.toDegrees(AngleUnit.normalizeRadians(sample.getPoseHeading() - pose.getHeading())) / dt;
+        } else {
+            velocityX = 0.0;
+            velocityY = 0.0;
+            chassisRate = 0.0;
+        }
+        pose = new Pose(sample.getPoseX(), sample.getPoseY(), sample.getPoseHeading());
+        poseValid = sample.isPoseValid();
+
+        lastTimeNanos = sample.getTimeNanos();
+        lastTurretTicks = ticks;
+        loaded = true;
+    }
+
+    /**
+     * Starts a loop the way the TeleOps do: clears the hub caches, passes on the
+     * chassis yaw rate, and updates the shooter, vision and turret.
+     */
+    public void beginLoop() {
+        registry.beginLoop();
+        // On the robot the drive, intake and turret ask for the battery every loop (read when due)
+        registry.getVoltageCompensator().update();
+        targeting.setChassisAngularVelocity(chassisRate);
+        shooter.update();
+        targeting.update();
+    }
+
+    public SmartShooter getSmartShooter() {
+        return smartShooter;
+    }
+
+    public Shooter getShooter() {
+        return shooter;
+    }
+
+    public TurretTargeting getTargeting() {
+        return targeting;
+    }
+
+    public Turret getTurret() {
+        return turret;
+    }
+
+    public LimelightVision getVision() {
+        return vision;
+    }
+
+    /**
+     * @return A follower reporting the recorded pose and the velocity between records
+     */
+    public Follower getFollower() {
+        return follower;
+    }
+
+    /**
+     * @return true if the pose of the loaded record was known on the robot
+     */
+    public boolean isPoseValid() {
+        return poseValid;
+    }
+
+    /**
+     * @return Flywheel power last written to the left motor
+     */
+    public double getShooterPower() {
+        return leftFlywheel.getPower();
+    }
+}
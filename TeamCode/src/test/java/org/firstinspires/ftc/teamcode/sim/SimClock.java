@@ -0,0 +1,34 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import org.firstinspires.ftc.teamcode.subsystems.NanoClock;
+
+/**
+ * Simulated time. Only moves when the simulation steps it, so a test can run
+ * many seconds of robot time in a fraction of a second.
+ */
+public class SimClock implements NanoClock {
+
+    private long nanos = 0L;
+
+    @Override
+    public long nanoTime() {
+        return nanos;
+    }
+
+    /**
+     * @param seconds Time to move forward
+     */
+    public void advance(double seconds) {
+        if (seconds < 0) {
+            throw new IllegalArgumentException("Time cannot go backwards: " + seconds);
+        }
+        nanos += Math.round(seconds * 1e9);
+    }
+
+    /**
+     * @return Simulated time in seconds
+     */
+    public double getSeconds() {
+        return nanos / 1e9;
+    }
+}
@@ -0,0 +1,428 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorController;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.PIDCoefficients;
+import com.qualcomm.robotcore.hardware.PIDFCoefficients;
+import com.qualcomm.robotcore.hardware.configuration.typecontainers.MotorConfigurationType;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.CurrentUnit;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Simulated DcMotorEx with first-order dynamics and a quantized encoder.
+ *
+ * The motor and its load are one inertia: the speed moves toward
+ * power * free speed * (battery / 12 V) with a time constant, so a flywheel is a
+ * slow motor and a turret a fast one. Below the static friction power a stopped
+ * motor does not move, and a moving one loses that much of its command. Like the hub:
+ * - positions are whole ticks, velocities whole ticks per second
+ * - REVERSE flips both the command and the readings
+ * - RUN_USING_ENCODER with setVelocity holds the speed (an ideal velocity PIDF)
+ * - RUN_TO_POSITION drives toward the target at up to the set power
+ *
+ * {@link #applyVelocityChange} models a sudden load, e.g. a ball through the flywheel.
+ * {@link #getEncoderReads} counts position and velocity reads, to check what goes
+ * through the bulk-read cache.
+ */
+public class SimDcMotorEx extends SimHardwareDevice implements DcMotorEx, SimDevice {
+
+    public static final double NOMINAL_VOLTAGE = 12.0;
+
+    // Slows a braked motor this much faster than a driven one; a floating one this much slower
+    private static final double BRAKE_FACTOR = 0.5;
+    private static final double FLOAT_FACTOR = 4.0;
+    private static final double STALL_CURRENT_AMPS = 9.2;
+
+    private final double ticksPerRev;
+    private final double freeSpeed;    // ticks/s at 12 V
+    private final double timeConstant; // s
+    private double staticFriction = 0.0;
+    private DoubleSupplier batteryVoltage = () -> NOMINAL_VOLTAGE;
+
+    // Command
+    private RunMode mode = RunMode.RUN_WITHOUT_ENCODER;
+    private Direction direction = Direction.FORWARD;
+    private ZeroPowerBehavior zeroPowerBehavior = ZeroPowerBehavior.BRAKE;
+    private double power = 0.0;
+    private double targetVelocity = 0.0; // ticks/s, caller's frame
+    private boolean velocityCommanded = false;
+    private int targetPosition = 0;
+    private int targetPositionTolerance = 10;
+    private boolean enabled = true;
+    private double currentAlert = 0.0;
+    private PIDFCoefficients velocityPidf = new PIDFCoefficients(10, 3, 0, 0);
+    private PIDFCoefficients positionPidf = new PIDFCoefficients(10, 0, 0, 0);
+
+    // State, in the motor's own frame (FORWARD)
+    private double velocity = 0.0;   // ticks/s
+    private long encoderReads = 0;
+    private double position = 0.0;  // ticks
+    private double drive = 0.0;      // applied duty cycle after friction
+    private long positionOffset = 0; // STOP_AND_RESET_ENCODER
+
+    /**
+     * @param name         Device name
+     * @param ticksPerRev  Encoder ticks per output revolution
+     * @param freeSpeedRpm Output speed at full power and 12 V
+     * @param timeConstant Seconds to reach 63% of a speed step
+     */
+    public SimDcMotorEx(String name, double ticksPerRev, double freeSpeedRpm, double timeConstant) {
+        super(name);
+        if (!(ticksPerRev > 0) || !(freeSpeedRpm > 0) || !(timeConstant > 0)) {
+            throw new IllegalArgumentException(
+                    "Motor model must be positive: " + ticksPerRev + ", " + freeSpeedRpm + ", " + timeConstant);
+        }
+        this.ticksPerRev = ticksPerRev;
+        this.freeSpeed = freeSpeedRpm * ticksPerRev / 60.0;
+        this.timeConstant = timeConstant;
+    }
+
+    /**
+     * @param power Duty cycle a stopped motor needs before it moves, [0, 1)
+     */
+    public SimDcMotorEx setStaticFriction(double power) {
+        this.staticFriction = Math.max(0.0, Math.min(0.99, power));
+        return this;
+    }
+
+    /**
+     * @param voltage Battery voltage source, e.g. a {@link SimVoltageSensor}
+     */
+    public SimDcMotorEx setBatteryVoltage(DoubleSupplier voltage) {
+        this.batteryVoltage = voltage;
+        return this;
+    }
+
+    @Override
+    public void step(double dt) {
+        if (dt <= 0) {
+            return;
+        }
+        double voltageScale = batteryVoltage.getAsDouble() / NOMINAL_VOLTAGE;
+        double maxSpeed = freeSpeed * voltageScale;
+        double sign = direction == Direction.REVERSE ? -1.0 : 1.0;
+
+        double command;
+        if (!enabled || mode == RunMode.STOP_AND_RESET_ENCODER) {
+            command = 0.0;
+        } else if (mode == RunMode.RUN_USING_ENCODER && velocityCommanded) {
+            // Ideal velocity loop: just enough duty cycle to hold the target
+            double target = sign * targetVelocity;
+            command = maxSpeed > 0 && target != 0.0
+                    ? target / maxSpeed + Math.signum(target) * staticFriction : 0.0;
+        } else if (mode == RunMode.RUN_TO_POSITION) {
+            double error = targetPosition - position();
+            double slowdown = Math.min(1.0, Math.abs(error) / (0.05 * ticksPerRev));
+            command = sign * Math.signum(error) * Math.abs(power) * slowdown;
+        } else {
+            command = sign * power;
+        }
+        command = Math.max(-1.0, Math.min(1.0, command));
+
+        // Static friction eats the first part of the command until the motor moves
+        if (Math.abs(velocity) < 1.0 && Math.abs(command) <= staticFriction) {
+            drive = 0.0;
+            velocity = 0.0;
+            return;
+        }
+        drive = command;
+
+        double tau = timeConstant;
+        if (command == 0.0) {
+            tau *= zeroPowerBehavior == ZeroPowerBehavior.BRAKE ? BRAKE_FACTOR : FLOAT_FACTOR;
+        }
+        // Friction keeps costing the same duty cycle while moving
+        double effective = Math.signum(command) * Math.max(0.0, Math.abs(command) - staticFriction);
+        double steady = effective * maxSpeed;
+        double previous = velocity;
+        velocity += (steady - velocity) * (1.0 - Math.exp(-dt / tau));
+        position += 0.5 * (previous + velocity) * dt;
+    }
+
+    /**
+     * Changes the speed instantly, e.g. -300 RPM worth of ticks when a ball passes.
+     *
+     * @param ticksPerSecond Change in the caller's frame (respects direction)
+     */
+    public void applyVelocityChange(double ticksPerSecond) {
+        velocity += (direction == Direction.REVERSE ? -1.0 : 1.0) * ticksPerSecond;
+    }
+
+    /**
+     * Overrides the encoder state, e.g. to play back recorded readings. Only useful
+     * when nothing calls {@link #step}, which would move the motor on from here.
+     *
+     * @param ticks          Position as {@link #getCurrentPosition()} should report it
+     * @param ticksPerSecond Speed in the caller's frame
+     */
+    public void setMeasured(int ticks, double ticksPerSecond) {
+        double sign = direction == Direction.REVERSE ? -1.0 : 1.0;
+        position = positionOffset + sign * ticks;
+        velocity = sign * ticksPerSecond;
+    }
+
+    /**
+     * @return Exact speed in the caller's frame, before quantization (ticks/s)
+     */
+    public double getTrueVelocity() {
+        return (direction == Direction.REVERSE ? -1.0 : 1.0) * velocity;
+    }
+
+    /**
+     * @return Speed as a fraction of the 12 V free speed, in the caller's frame
+     */
+    public double getSpeedFraction() {
+        return getTrueVelocity() / freeSpeed;
+    }
+
+    public double getTicksPerRev() {
+        return ticksPerRev;
+    }
+
+    /**
+     * @return Free speed at 12 V in ticks/s
+     */
+    public double getFreeSpeed() {
+        return freeSpeed;
+    }
+
+    // DcMotorSimple
+
+    @Override
+    public void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+
+    @Override
+    public Direction getDirection() {
+        return direction;
+    }
+
+    @Override
+    public void setPower(double power) {
+        this.power = Math.max(-1.0, Math.min(1.0, power));
+        if (mode == RunMode.RUN_USING_ENCODER) {
+            // Power in velocity mode is a fraction of the maximum speed
+            targetVelocity = this.power * freeSpeed;
+            velocityCommanded = true;
+        }
+    }
+
+    @Override
+    public double getPower() {
+        return power;
+    }
+
+    // DcMotor
+
+    @Override
+    public MotorConfigurationType getMotorType() {
+        return null;
+    }
+
+    @Override
+    public void setMotorType(MotorConfigurationType motorType) {
+    }
+
+    @Override
+    public DcMotorController getController() {
+        return null;
+    }
+
+    @Override
+    public int getPortNumber() {
+        return 0;
+    }
+
+    @Override
+    public void setZeroPowerBehavior(ZeroPowerBehavior zeroPowerBehavior) {
+        this.zeroPowerBehavior = zeroPowerBehavior;
+    }
+
+    @Override
+    public ZeroPowerBehavior getZeroPowerBehavior() {
+        return zeroPowerBehavior;
+    }
+
+    @Override
+    @Deprecated
+    public void setPowerFloat() {
+        setZeroPowerBehavior(ZeroPowerBehavior.FLOAT);
+        setPower(0.0);
+    }
+
+    @Override
+    public boolean getPowerFloat() {
+        return zeroPowerBehavior == ZeroPowerBehavior.FLOAT && power == 0.0;
+    }
+
+    @Override
+    public void setTargetPosition(int position) {
+        this.targetPosition = position;
+    }
+
+    @Override
+    public int getTargetPosition() {
+        return targetPosition;
+    }
+
+    @Override
+    public boolean isBusy() {
+        return mode == RunMode.RUN_TO_POSITION
+                && Math.abs(targetPosition - position()) > targetPositionTolerance;
+    }
+
+    @Override
+    public int getCurrentPosition() {
+        encoderReads++;
+        return position();
+    }
+
+    private int position() {
+        long ticks = (long) Math.floor(position) - positionOffset;
+        return (int) (direction == Direction.REVERSE ? -ticks : ticks);
+    }
+
+    /**
+     * @return Calls to getCurrentPosition and getVelocity so far
+     */
+    public long getEncoderReads() {
+        return encoderReads;
+    }
+
+    @Override
+    public void setMode(RunMode mode) {
+        if (mode == RunMode.STOP_AND_RESET_ENCODER) {
+            positionOffset = (long) Math.floor(position);
+        }
+        if (mode != RunMode.RUN_USING_ENCODER) {
+            velocityCommanded = false;
+        }
+        this.mode = mode;
+    }
+
+    @Override
+    public RunMode getMode() {
+        return mode;
+    }
+
+    // DcMotorEx
+
+    @Override
+    public void setMotorEnable() {
+        enabled = true;
+    }
+
+    @Override
+    public void setMotorDisable() {
+        enabled = false;
+    }
+
+    @Override
+    public boolean isMotorEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setVelocity(double angularRate) {
+        targetVelocity = angularRate;
+        velocityCommanded = true;
+    }
+
+    @Override
+    public void setVelocity(double angularRate, AngleUnit unit) {
+        setVelocity(unit.toRadians(angularRate) / (2.0 * Math.PI) * ticksPerRev);
+    }
+
+    /**
+     * @return Speed in whole ticks per second, as the hub reports it
+     */
+    @Override
+    public double getVelocity() {
+        encoderReads++;
+        return Math.round(getTrueVelocity());
+    }
+
+    @Override
+    public double getVelocity(AngleUnit unit) {
+        double radians = getVelocity() / ticksPerRev * 2.0 * Math.PI;
+        return unit == AngleUnit.DEGREES ? Math.toDegrees(radians) : radians;
+    }
+
+    @Override
+    @Deprecated
+    public void setPIDCoefficients(RunMode mode, PIDCoefficients pidCoefficients) {
+        setPIDFCoefficients(mode, new PIDFCoefficients(pidCoefficients));
+    }
+
+    @Override
+    public void setPIDFCoefficients(RunMode mode, PIDFCoefficients pidfCoefficients) {
+        if (mode == RunMode.RUN_TO_POSITION) {
+            positionPidf = new PIDFCoefficients(pidfCoefficients);
+        } else {
+            velocityPidf = new PIDFCoefficients(pidfCoefficients);
+        }
+    }
+
+    @Override
+    public void setVelocityPIDFCoefficients(double p, double i, double d, double f) {
+        velocityPidf = new PIDFCoefficients(p, i, d, f);
+    }
+
+    @Override
+    public void setPositionPIDFCoefficients(double p) {
+        positionPidf = new PIDFCoefficients(p, 0, 0, 0);
+    }
+
+    @Override
+    @Deprecated
+    public PIDCoefficients getPIDCoefficients(RunMode mode) {
+        PIDFCoefficients pidf = getPIDFCoefficients(mode);
+        return new PIDCoefficients(pidf.p, pidf.i, pidf.d);
+    }
+
+    @Override
+    public PIDFCoefficients getPIDFCoefficients(RunMode mode) {
+        return new PIDFCoefficients(mode == RunMode.RUN_TO_POSITION ? positionPidf : velocityPidf);
+    }
+
+    @Override
+    public void setTargetPositionTolerance(int tolerance) {
+        this.targetPositionTolerance = tolerance;
+    }
+
+    @Override
+    public int getTargetPositionTolerance() {
+        return targetPositionTolerance;
+    }
+
+    /**
+     * @return Current from the torque the motor is producing: stall current times
+     *         how far the applied duty cycle is from the back-EMF
+     */
+    @Override
+    public double getCurrent(CurrentUnit unit) {
+        double voltageScale = batteryVoltage.getAsDouble() / NOMINAL_VOLTAGE;
+        double amps = STALL_CURRENT_AMPS * Math.abs(drive * voltageScale - velocity / freeSpeed);
+        return unit == CurrentUnit.MILLIAMPS ? amps * 1000.0 : amps;
+    }
+
+    @Override
+    public double getCurrentAlert(CurrentUnit unit) {
+        return unit == CurrentUnit.MILLIAMPS ? currentAlert * 1000.0 : currentAlert;
+    }
+
+    @Override
+    public void setCurrentAlert(double current, CurrentUnit unit) {
+        currentAlert = unit == CurrentUnit.MILLIAMPS ? current / 1000.0 : current;
+    }
+
+    @Override
+    public boolean isOverCurrent() {
+        return currentAlert > 0 && getCurrent(CurrentUnit.AMPS) > currentAlert;
+    }
+}
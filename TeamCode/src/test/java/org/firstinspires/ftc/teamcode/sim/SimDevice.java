@@ -0,0 +1,14 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+/**
+ * Something with state that moves forward in simulated time.
+ */
+public interface SimDevice {
+
+    /**
+     * Advances the model.
+     *
+     * @param dt Seconds since the previous step
+     */
+    void step(double dt);
+}
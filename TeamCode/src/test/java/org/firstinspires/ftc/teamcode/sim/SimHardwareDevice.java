@@ -0,0 +1,43 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import com.qualcomm.robotcore.hardware.HardwareDevice;
+
+/**
+ * HardwareDevice boilerplate shared by the simulated devices.
+ */
+abstract class SimHardwareDevice implements HardwareDevice {
+
+    private final String deviceName;
+
+    SimHardwareDevice(String deviceName) {
+        this.deviceName = deviceName;
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return deviceName;
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "simulated";
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void resetDeviceConfigurationForOpMode() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,164 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import com.qualcomm.robotcore.hardware.HardwareDevice;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HardwareMap backed by simulated devices, for running subsystems closed-loop on a
+ * plain JVM.
+ *
+ * Lookups never touch the SDK's device bookkeeping (it needs Android); devices are
+ * kept in a plain map. Every added {@link SimDevice} is stepped by {@link #step}
+ * in the order it was added, so add the things that move (motors, drivetrain)
+ * before the things that observe them (Limelight).
+ *
+ * Usage:
+ * <pre>
+ * SimHardwareMap hardwareMap = new SimHardwareMap();
+ * hardwareMap.add("turretMotor", new SimDcMotorEx("turretMotor", 1536, 100, 0.04));
+ * Turret turret = new Turret(hardwareMap, "turretMotor", hardwareMap.getClock());
+ * hardwareMap.run(2.0, 0.02, () -> { turret.setTargetAngle(45); turret.update(); });
+ * </pre>
+ */
+public class SimHardwareMap extends HardwareMap {
+
+    /** Physics step; control loops run at a multiple of this. */
+    public static final double DEFAULT_PHYSICS_STEP = 0.001;
+
+    private final SimClock clock;
+    private final Map<String, HardwareDevice> devices = new LinkedHashMap<>();
+    private final List<SimDevice> models = new ArrayList<>();
+    private double physicsStep = DEFAULT_PHYSICS_STEP;
+
+    public SimHardwareMap() {
+        this(new SimClock());
+    }
+
+    /**
+     * @param clock Simulated time, advanced by {@link #step}
+     */
+    public SimHardwareMap(SimClock clock) {
+        super(null, null);
+        this.clock = clock;
+    }
+
+    /**
+     * Adds a device under a configuration name. Simulated devices are stepped too.
+     *
+     * @return The device, for chaining into a field
+     */
+    public <D extends HardwareDevice> D add(String name, D device) {
+        devices.put(name, device);
+        if (device instanceof SimDevice) {
+            models.add((SimDevice) device);
+        }
+        return device;
+    }
+
+    /**
+     * Adds the Limelight device and steps its field model.
+     */
+    public SimLimelight add(String name, SimLimelight limelight) {
+        devices.put(name, limelight.getDevice());
+        models.add(limelight);
+        return limelight;
+    }
+
+    /**
+     * Steps a model that is not a hardware device, e.g. the drivetrain.
+     */
+    public <M extends SimDevice> M addModel(M model) {
+        models.add(model);
+        return model;
+    }
+
+    public SimClock getClock() {
+        return clock;
+    }
+
+    /**
+     * @param seconds Physics step used by {@link #run}
+     */
+    public void setPhysicsStep(double seconds) {
+        if (!(seconds > 0)) {
+            throw new IllegalArgumentException("Physics step must be positive: " + seconds);
+        }
+        this.physicsStep = seconds;
+    }
+
+    /**
+     * Advances time and every model by one step.
+     *
+     * @param dt Seconds
+     */
+    public void step(double dt) {
+        clock.advance(dt);
+        for (int i = 0; i < models.size(); i++) {
+            models.get(i).step(dt);
+        }
+    }
+
+    /**
+     * Runs a control loop against the physics, as fast as the CPU allows.
+     *
+     * @param seconds    Simulated time to run
+     * @param loopPeriod Seconds between loop calls
+     * @param loop       One OpMode loop iteration: read sensors, compute, write outputs
+     */
+    public void run(double seconds, double loopPeriod, Runnable loop) {
+        if (!(loopPeriod > 0)) {
+            throw new IllegalArgumentException("Loop period must be positive: " + loopPeriod);
+        }
+        int substeps = Math.max(1, (int) Math.round(loopPeriod / physicsStep));
+        double dt = loopPeriod / substeps;
+        long loops = Math.round(seconds / loopPeriod);
+        for (long i = 0; i < loops; i++) {
+            loop.run();
+            for (int k = 0; k < substeps; k++) {
+                step(dt);
+            }
+        }
+    }
+
+    @Override
+    public <T> T get(Class<? extends T> classOrInterface, String deviceName) {
+        HardwareDevice device = devices.get(deviceName);
+        if (!classOrInterface.isInstance(device)) {
+            throw new IllegalArgumentException(String.format(
+                    "Unable to find a hardware device with name \"%s\" and type %s",
+                    deviceName, classOrInterface.getSimpleName()));
+        }
+        return classOrInterface.cast(device);
+    }
+
+    @Override
+    public HardwareDevice get(String deviceName) {
+        HardwareDevice device = devices.get(deviceName);
+        if (device == null) {
+            throw new IllegalArgumentException(
+                    String.format("Unable to find a hardware device with the name \"%s\"", deviceName));
+        }
+        return device;
+    }
+
+    @Override
+    public <T> List<T> getAll(Class<? extends T> classOrInterface) {
+        List<T> result = new ArrayList<>();
+        for (HardwareDevice device : devices.values()) {
+            if (classOrInterface.isInstance(device)) {
+                result.add(classOrInterface.cast(device));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void put(String deviceName, HardwareDevice device) {
+        add(deviceName, device);
+    }
+}
@@ -0,0 +1,71 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import com.qualcomm.robotcore.hardware.IMU;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.AngularVelocity;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesOrder;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesReference;
+import org.firstinspires.ftc.robotcore.external.navigation.Orientation;
+import org.firstinspires.ftc.robotcore.external.navigation.Quaternion;
+import org.firstinspires.ftc.robotcore.external.navigation.YawPitchRollAngles;
+
+/**
+ * Simulated IMU reporting the drivetrain's heading. Yaw only; the robot stays flat.
+ */
+public class SimImu extends SimHardwareDevice implements IMU {
+
+    private final SimMecanumDrive drive;
+    private final SimClock clock;
+    private double yawOffset = 0.0;
+
+    /**
+     * @param name  Device name
+     * @param drive Drivetrain whose heading this reads
+     * @param clock Time stamp source
+     */
+    public SimImu(String name, SimMecanumDrive drive, SimClock clock) {
+        super(name);
+        this.drive = drive;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean initialize(Parameters parameters) {
+        return true;
+    }
+
+    @Override
+    public void resetYaw() {
+        yawOffset = drive.getHeading();
+    }
+
+    private double yaw() {
+        double yaw = drive.getHeading() - yawOffset;
+        return Math.atan2(Math.sin(yaw), Math.cos(yaw));
+    }
+
+    @Override
+    public YawPitchRollAngles getRobotYawPitchRollAngles() {
+        return new YawPitchRollAngles(AngleUnit.RADIANS, yaw(), 0.0, 0.0, clock.nanoTime());
+    }
+
+    @Override
+    public Orientation getRobotOrientation(AxesReference reference, AxesOrder order, AngleUnit angleUnit) {
+        float yaw = (float) angleUnit.fromRadians(yaw());
+        return new Orientation(AxesReference.INTRINSIC, AxesOrder.ZYX, angleUnit, yaw, 0f, 0f, clock.nanoTime())
+                .toAxesReference(reference).toAxesOrder(order);
+    }
+
+    @Override
+    public Quaternion getRobotOrientationAsQuaternion() {
+        double half = yaw() / 2.0;
+        return new Quaternion((float) Math.cos(half), 0f, 0f, (float) Math.sin(half), clock.nanoTime());
+    }
+
+    @Override
+    public AngularVelocity getRobotAngularVelocity(AngleUnit angleUnit) {
+        float rate = (float) angleUnit.fromRadians(drive.getAngularVelocity());
+        return new AngularVelocity(angleUnit, 0f, 0f, rate, clock.nanoTime());
+    }
+}
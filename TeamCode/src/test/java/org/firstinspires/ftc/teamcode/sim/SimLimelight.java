@@ -0,0 +1,434 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import com.qualcomm.hardware.limelightvision.LLResult;
+import com.qualcomm.hardware.limelightvision.LLResultTypes;
+import com.qualcomm.hardware.limelightvision.Limelight3A;
+
+import org.firstinspires.ftc.robotcore.internal.usb.EthernetOverUsbSerialNumber;
+import org.firstinspires.ftc.teamcode.subsystems.FieldGoals;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Simulated Limelight 3A looking at AprilTags on a field model.
+ *
+ * At the camera frame rate it works out where each tag appears from the camera's
+ * field pose: tx (degrees, positive to the right), ty (degrees above the
+ * crosshair, after the mount angle), and area (percent of the image). Tags outside
+ * the field of view are dropped; the result's primary target is the largest tag.
+ *
+ * LLResult and FiducialResult can only be built from Limelight JSON, so each is
+ * built once from an empty JSON object and subclassed to answer from the simulated
+ * frame. Each new frame reuses a slot that the caller is not holding, so every
+ * frame is a new object (LimelightVision detects frames by identity) and nothing
+ * allocates per frame, on either side. No mocks, so allocation tests can run
+ * against it.
+ *
+ * Usage:
+ * <pre>
+ * SimLimelight limelight = new SimLimelight(0.25, 15.0)
+ *         .setCameraPose(drive::getX, drive::getY, () -> Math.toDegrees(drive.getHeading()) + turret.getCurrentAngle())
+ *         .addDecodeGoalTags(1.2);
+ * hardwareMap.add("limelight", limelight);
+ * </pre>
+ */
+public class SimLimelight implements SimDevice {
+
+    public static final double HORIZONTAL_FOV = 54.5; // degrees
+    public static final double VERTICAL_FOV = 42.0;
+    public static final double DEFAULT_FRAME_RATE = 50.0;
+    public static final double TAG_SIZE = 0.1651;     // m, 6.5 in
+
+    private static final double METERS_PER_INCH = 0.0254;
+    private static final int SLOTS = 3;
+    private static final String SIM_ADDRESS = "172.29.0.1";
+
+    /** A fiducial in a frame; answers from the frame's arrays. */
+    private static final class SimFiducial extends LLResultTypes.FiducialResult {
+        private final Frame frame;
+        private final int index;
+
+        SimFiducial(Frame frame, int index) {
+            super(new JSONObject());
+            this.frame = frame;
+            this.index = index;
+        }
+
+        @Override
+        public int getFiducialId() {
+            return frame.ids[index];
+        }
+
+        @Override
+        public double getTargetXDegrees() {
+            return frame.tagTx[index];
+        }
+
+        @Override
+        public double getTargetYDegrees() {
+            return frame.tagTy[index];
+        }
+
+        @Override
+        public double getTargetArea() {
+            return frame.tagArea[index];
+        }
+    }
+
+    /** One published frame. The result answers from the fields below. */
+    private static final class Frame extends LLResult {
+        final List<LLResultTypes.FiducialResult> tagList = new ArrayList<>();
+        final List<LLResultTypes.FiducialResult> tagResults = new ArrayList<>();
+        boolean valid;
+        double tx;
+        double ty;
+        double ta;
+        double timestampMs; // frame number
+        int[] ids = new int[0];
+        double[] tagTx = new double[0];
+        double[] tagTy = new double[0];
+        double[] tagArea = new double[0];
+
+        Frame() throws JSONException {
+            super(new JSONObject());
+        }
+
+        void ensureCapacity(int tags) {
+            if (ids.length < tags) {
+                ids = Arrays.copyOf(ids, tags);
+                tagTx = Arrays.copyOf(tagTx, tags);
+                tagTy = Arrays.copyOf(tagTy, tags);
+                tagArea = Arrays.copyOf(tagArea, tags);
+            }
+            while (tagResults.size() < tags) {
+                tagResults.add(new SimFiducial(this, tagResults.size()));
+            }
+        }
+
+        @Override
+        public boolean isValid() {
+            return valid;
+        }
+
+        @Override
+        public double getTx() {
+            return tx;
+        }
+
+        @Override
+        public double getTy() {
+            return ty;
+        }
+
+        @Override
+        public double getTa() {
+            return ta;
+        }
+
+        @Override
+        public List<LLResultTypes.FiducialResult> getFiducialResults() {
+            return tagList;
+        }
+
+        @Override
+        public double getTimestamp() {
+            return timestampMs;
+        }
+
+        @Override
+        public long getStaleness() {
+            return 0L;
+        }
+
+        @Override
+        public double getCaptureLatency() {
+            return 0.0;
+        }
+
+        @Override
+        public double getTargetingLatency() {
+            return 0.0;
+        }
+    }
+
+    /** The device in the hardware map. Never touches the network. */
+    private final class Device extends Limelight3A {
+
+        Device() {
+            super(EthernetOverUsbSerialNumber.fromIpAddress(SIM_ADDRESS, "sim"), "limelight",
+                    InetAddress.getLoopbackAddress());
+        }
+
+        @Override
+        public synchronized void start() {
+            running = true;
+        }
+
+        @Override
+        public synchronized void pause() {
+            running = false;
+        }
+
+        @Override
+        public synchronized void stop() {
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public boolean pipelineSwitch(int index) {
+            return true;
+        }
+
+        @Override
+        public LLResult getLatestResult() {
+            return SimLimelight.this.getLatestResult();
+        }
+    }
+
+    private final Limelight3A device = new Device();
+    private final double cameraHeight;     // m
+    private final double cameraMountAngle; // degrees
+
+    // Field model
+    private final List<double[]> tags = new ArrayList<>(); // {id, x in, y in, height m}
+    private DoubleSupplier cameraX = () -> 72.0;
+    private DoubleSupplier cameraY = () -> 72.0;
+    private DoubleSupplier cameraHeading = () -> 0.0;
+
+    private double framePeriod = 1.0 / DEFAULT_FRAME_RATE;
+    private double sinceFrame = Double.MAX_VALUE;
+    private double noiseDegrees = 0.0;
+    private final Random random = new Random(0);
+
+    private final Frame[] frames = new Frame[SLOTS];
+    private int latestSlot = -1;
+    private int handedOutSlot = -1;
+    private long frameCount = 0;
+    private boolean running = false;
+
+    /**
+     * @param cameraHeight     Lens height above the floor in meters
+     * @param cameraMountAngle Upward tilt in degrees
+     */
+    public SimLimelight(double cameraHeight, double cameraMountAngle) {
+        this.cameraHeight = cameraHeight;
+        this.cameraMountAngle = cameraMountAngle;
+        try {
+            for (int i = 0; i < SLOTS; i++) {
+                frames[i] = new Frame();
+            }
+        } catch (JSONException e) {
+            throw new IllegalStateException("Cannot build a Limelight result", e);
+        }
+    }
+
+    /**
+     * Where the camera is. It turns with the turret, so its heading is usually the
+     * robot heading plus the turret angle.
+     *
+     * @param x              Field x in inches
+     * @param y              Field y in inches
+     * @param headingDegrees Direction the camera faces, counter-clockwise from +x
+     */
+    public SimLimelight setCameraPose(DoubleSupplier x, DoubleSupplier y, DoubleSupplier headingDegrees) {
+        this.cameraX = x;
+        this.cameraY = y;
+        this.cameraHeading = headingDegrees;
+        return this;
+    }
+
+    /**
+     * @param id     Fiducial id
+     * @param x      Field x in inches
+     * @param y      Field y in inches
+     * @param height Tag center height in meters
+     */
+    public SimLimelight addTag(int id, double x, double y, double height) {
+        tags.add(new double[] {id, x, y, height});
+        for (Frame frame : frames) {
+            frame.ensureCapacity(tags.size());
+        }
+        return this;
+    }
+
+    /**
+     * Adds the blue (20) and red (24) goal tags at the basket positions.
+     *
+     * @param height Tag height in meters; match the basket height the shooter is configured with
+     */
+    public SimLimelight addDecodeGoalTags(double height) {
+        addTag(20, FieldGoals.BLUE_BASKET_X, FieldGoals.BLUE_BASKET_Y, height);
+        return addTag(24, FieldGoals.RED_BASKET_X, FieldGoals.RED_BASKET_Y, height);
+    }
+
+    /**
+     * @param hz Frames per second
+     */
+    public SimLimelight setFrameRate(double hz) {
+        if (!(hz > 0)) {
+            throw new IllegalArgumentException("Frame rate must be positive: " + hz);
+        }
+        this.framePeriod = 1.0 / hz;
+        return this;
+    }
+
+    /**
+     * @param degrees Standard deviation of the noise added to tx and ty
+     */
+    public SimLimelight setNoise(double degrees) {
+        this.noiseDegrees = Math.abs(degrees);
+        return this;
+    }
+
+    /**
+     * @return The device to put in the hardware map
+     */
+    public Limelight3A getDevice() {
+        return device;
+    }
+
+    /**
+     * @return Frames captured so far
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    @Override
+    public void step(double dt) {
+        sinceFrame += dt;
+        if (!running || sinceFrame < framePeriod) {
+            return;
+        }
+        sinceFrame = 0.0;
+        capture();
+    }
+
+    /**
+     * Publishes a frame with explicit values instead of the field model, e.g. to
+     * play back a recorded match. Every tag reports the primary target's tx, ty and area.
+     *
+     * @param valid Whether the result has a target
+     * @param tx    Primary target x in degrees
+     * @param ty    Primary target y in degrees
+     * @param ta    Primary target area, percent of the image
+     * @param ids   Visible fiducial ids
+     * @param count Number of ids to use
+     */
+    public void publish(boolean valid, double tx, double ty, double ta, int[] ids, int count) {
+        int slot = freeSlot();
+        Frame frame = frames[slot];
+        frame.ensureCapacity(count);
+        frame.tagList.clear();
+        for (int i = 0; i < count; i++) {
+            frame.ids[i] = ids[i];
+            frame.tagTx[i] = tx;
+            frame.tagTy[i] = ty;
+            frame.tagArea[i] = ta;
+            frame.tagList.add(frame.tagResults.get(i));
+        }
+        frame.valid = valid;
+        frame.tx = tx;
+        frame.ty = ty;
+        frame.ta = ta;
+
+        latestSlot = slot;
+        frameCount++;
+        // Unique per frame, so a LimelightPoller sees each one as new
+        frame.timestampMs = frameCount;
+    }
+
+    /**
+     * @return A slot that is neither the newest frame nor the one the caller may still hold
+     */
+    private int freeSlot() {
+        int slot = 0;
+        while (slot == latestSlot || slot == handedOutSlot) {
+            slot++;
+        }
+        return slot;
+    }
+
+    private void capture() {
+        int slot = freeSlot();
+        Frame frame = frames[slot];
+
+        double camX = cameraX.getAsDouble();
+        double camY = cameraY.getAsDouble();
+        double camHeading = cameraHeading.getAsDouble();
+
+        frame.tagList.clear();
+        int best = -1;
+        for (int i = 0; i < tags.size(); i++) {
+            double[] tag = tags.get(i);
+            double dx = tag[1] - camX;
+            double dy = tag[2] - camY;
+            double distance = Math.hypot(dx, dy) * METERS_PER_INCH;
+            if (distance <= 0) {
+                continue;
+            }
+            double bearing = Math.toDegrees(Math.atan2(dy, dx)) - camHeading;
+            bearing = Math.toDegrees(Math.atan2(Math.sin(Math.toRadians(bearing)), Math.cos(Math.toRadians(bearing))));
+            double tx = -bearing + noise();
+            double ty = Math.toDegrees(Math.atan2(tag[3] - cameraHeight, distance)) - cameraMountAngle + noise();
+            if (Math.abs(tx) > HORIZONTAL_FOV / 2.0 || Math.abs(ty) > VERTICAL_FOV / 2.0) {
+                continue;
+            }
+            double imageWidth = 2.0 * distance * Math.tan(Math.toRadians(HORIZONTAL_FOV / 2.0));
+            double imageHeight = 2.0 * distance * Math.tan(Math.toRadians(VERTICAL_FOV / 2.0));
+            double area = 100.0 * TAG_SIZE * TAG_SIZE / (imageWidth * imageHeight);
+
+            int index = frame.tagList.size();
+            frame.ids[index] = (int) tag[0];
+            frame.tagTx[index] = tx;
+            frame.tagTy[index] = ty;
+            frame.tagArea[index] = area;
+            frame.tagList.add(frame.tagResults.get(index));
+            if (best < 0 || area > frame.tagArea[best]) {
+                best = index;
+            }
+        }
+
+        frame.valid = best >= 0;
+        frame.tx = best >= 0 ? frame.tagTx[best] : 0.0;
+        frame.ty = best >= 0 ? frame.tagTy[best] : 0.0;
+        frame.ta = best >= 0 ? frame.tagArea[best] : 0.0;
+
+        latestSlot = slot;
+        frameCount++;
+        // Unique per frame, so a LimelightPoller sees each one as new
+        frame.timestampMs = frameCount;
+    }
+
+    private double noise() {
+        return noiseDegrees > 0 ? random.nextGaussian() * noiseDegrees : 0.0;
+    }
+
+    /**
+     * @return The newest frame, or null before the first one; what Limelight3A.getLatestResult() returns
+     */
+    public LLResult getLatestResult() {
+        if (latestSlot < 0) {
+            return null;
+        }
+        handedOutSlot = latestSlot;
+        return frames[latestSlot];
+    }
+}
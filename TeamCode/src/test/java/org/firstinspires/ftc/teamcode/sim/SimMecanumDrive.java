@@ -0,0 +1,107 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+/**
+ * Field model of a mecanum drivetrain. Integrates the robot pose from the four
+ * simulated wheel motors, with no wheel slip.
+ *
+ * Wheel speeds are read in each motor's caller frame, so set the motor directions
+ * the way the OpMode does: with the usual power mix (lf = y + x + rx,
+ * lb = y - x + rx, rf = y - x - rx, rb = y + x - rx) positive y drives forward,
+ * positive x strafes right and positive rx turns clockwise.
+ *
+ * Pose is in Pedro coordinates: inches, heading in radians counter-clockwise.
+ */
+public class SimMecanumDrive implements SimDevice {
+
+    private final SimDcMotorEx frontLeft;
+    private final SimDcMotorEx backLeft;
+    private final SimDcMotorEx frontRight;
+    private final SimDcMotorEx backRight;
+    private final double maxSpeed;     // in/s at full wheel speed
+    private final double maxTurnRate;  // rad/s at full wheel speed
+
+    private double x;
+    private double y;
+    private double heading;
+    private double angularVelocity;
+    private double velocityX;
+    private double velocityY;
+
+    /**
+     * @param maxSpeed    Robot speed in in/s with every wheel at free speed
+     * @param maxTurnRate Robot turn rate in rad/s with every wheel at free speed
+     */
+    public SimMecanumDrive(SimDcMotorEx frontLeft, SimDcMotorEx backLeft,
+                           SimDcMotorEx frontRight, SimDcMotorEx backRight,
+                           double maxSpeed, double maxTurnRate) {
+        this.frontLeft = frontLeft;
+        this.backLeft = backLeft;
+        this.frontRight = frontRight;
+        this.backRight = backRight;
+        this.maxSpeed = maxSpeed;
+        this.maxTurnRate = maxTurnRate;
+    }
+
+    /**
+     * @param x       Inches
+     * @param y       Inches
+     * @param heading Radians
+     */
+    public void setPose(double x, double y, double heading) {
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+    }
+
+    @Override
+    public void step(double dt) {
+        double lf = frontLeft.getSpeedFraction();
+        double lb = backLeft.getSpeedFraction();
+        double rf = frontRight.getSpeedFraction();
+        double rb = backRight.getSpeedFraction();
+
+        double forward = (lf + lb + rf + rb) / 4.0 * maxSpeed;
+        double right = (lf - lb - rf + rb) / 4.0 * maxSpeed;
+        double clockwise = (lf + lb - rf - rb) / 4.0 * maxTurnRate;
+
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        velocityX = forward * cos + right * sin;
+        velocityY = forward * sin - right * cos;
+        angularVelocity = -clockwise;
+
+        x += velocityX * dt;
+        y += velocityY * dt;
+        heading = Math.atan2(Math.sin(heading + angularVelocity * dt), Math.cos(heading + angularVelocity * dt));
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * @return Heading in radians, (-pi, pi]
+     */
+    public double getHeading() {
+        return heading;
+    }
+
+    /**
+     * @return Turn rate in rad/s, counter-clockwise positive
+     */
+    public double getAngularVelocity() {
+        return angularVelocity;
+    }
+
+    public double getVelocityX() {
+        return velocityX;
+    }
+
+    public double getVelocityY() {
+        return velocityY;
+    }
+}
@@ -0,0 +1,66 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import com.qualcomm.robotcore.hardware.Servo;
+import com.qualcomm.robotcore.hardware.ServoController;
+
+/**
+ * Simulated servo. Moves to its commanded position instantly.
+ */
+public class SimServo extends SimHardwareDevice implements Servo {
+
+    private Direction direction = Direction.FORWARD;
+    private double position = 0.0;
+    private double rangeMin = MIN_POSITION;
+    private double rangeMax = MAX_POSITION;
+
+    public SimServo(String name) {
+        super(name);
+    }
+
+    @Override
+    public ServoController getController() {
+        return null;
+    }
+
+    @Override
+    public int getPortNumber() {
+        return 0;
+    }
+
+    @Override
+    public void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+
+    @Override
+    public Direction getDirection() {
+        return direction;
+    }
+
+    @Override
+    public void setPosition(double position) {
+        this.position = Math.max(MIN_POSITION, Math.min(MAX_POSITION, position));
+    }
+
+    @Override
+    public double getPosition() {
+        return position;
+    }
+
+    @Override
+    public void scaleRange(double min, double max) {
+        if (min < MIN_POSITION || max > MAX_POSITION || min >= max) {
+            throw new IllegalArgumentException("Invalid servo range: " + min + ", " + max);
+        }
+        this.rangeMin = min;
+        this.rangeMax = max;
+    }
+
+    /**
+     * @return Where the horn actually is in the full [0, 1] range, after direction and scaling
+     */
+    public double getPhysicalPosition() {
+        double scaled = rangeMin + position * (rangeMax - rangeMin);
+        return direction == Direction.REVERSE ? MAX_POSITION - scaled : scaled;
+    }
+}
@@ -0,0 +1,278 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import org.firstinspires.ftc.robotcore.external.Func;
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Driver Station telemetry that keeps the lines in memory.
+ *
+ * Unlike a mock it records nothing per call, so setting a value or calling
+ * {@link #update()} allocates nothing, and allocation tests can run through it.
+ * Values are held as given; {@link #getValue} formats them on demand.
+ */
+public class SimTelemetry implements Telemetry {
+
+    /** One caption and its latest value. */
+    public final class SimItem implements Item {
+        private String caption;
+        private Object value;
+        private String format;
+        private Object[] args;
+        private boolean retained;
+
+        SimItem(String caption) {
+            this.caption = caption;
+        }
+
+        @Override
+        public String getCaption() {
+            return caption;
+        }
+
+        @Override
+        public Item setCaption(String caption) {
+            this.caption = caption;
+            return this;
+        }
+
+        @Override
+        public Item setValue(String format, Object... args) {
+            this.format = format;
+            this.args = args;
+            this.value = null;
+            return this;
+        }
+
+        @Override
+        public Item setValue(Object value) {
+            this.value = value;
+            this.format = null;
+            this.args = null;
+            return this;
+        }
+
+        @Override
+        public <T> Item setValue(Func<T> valueProducer) {
+            return setValue(valueProducer.value());
+        }
+
+        @Override
+        public <T> Item setValue(String format, Func<T> valueProducer) {
+            return setValue(format, valueProducer.value());
+        }
+
+        @Override
+        public Item setRetained(Boolean retained) {
+            this.retained = retained != null && retained;
+            return this;
+        }
+
+        @Override
+        public boolean isRetained() {
+            return retained;
+        }
+
+        @Override
+        public Item addData(String caption, String format, Object... args) {
+            return SimTelemetry.this.addData(caption, format, args);
+        }
+
+        @Override
+        public Item addData(String caption, Object value) {
+            return SimTelemetry.this.addData(caption, value);
+        }
+
+        @Override
+        public <T> Item addData(String caption, Func<T> valueProducer) {
+            return SimTelemetry.this.addData(caption, valueProducer);
+        }
+
+        @Override
+        public <T> Item addData(String caption, String format, Func<T> valueProducer) {
+            return SimTelemetry.this.addData(caption, format, valueProducer);
+        }
+
+        /**
+         * @return The value as the Driver Station would show it
+         */
+        public String getText() {
+            return format != null ? String.format(format, args) : String.valueOf(value);
+        }
+    }
+
+    private final List<SimItem> items = new ArrayList<>();
+    private int msTransmissionInterval = 250;
+    private boolean autoClear = true;
+    private long updateCount = 0;
+    private String itemSeparator = " | ";
+    private String captionValueSeparator = " : ";
+
+    /**
+     * @return Lines currently shown, in order
+     */
+    public int getItemCount() {
+        return items.size();
+    }
+
+    /**
+     * @return The text of the first line with this caption, or null
+     */
+    public String getValue(String caption) {
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getCaption().equals(caption)) {
+                return items.get(i).getText();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Calls to {@link #update()}
+     */
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+    private SimItem newItem(String caption) {
+        SimItem item = new SimItem(caption);
+        items.add(item);
+        return item;
+    }
+
+    @Override
+    public Item addData(String caption, String format, Object... args) {
+        return newItem(caption).setValue(format, args);
+    }
+
+    @Override
+    public Item addData(String caption, Object value) {
+        return newItem(caption).setValue(value);
+    }
+
+    @Override
+    public <T> Item addData(String caption, Func<T> valueProducer) {
+        return newItem(caption).setValue(valueProducer);
+    }
+
+    @Override
+    public <T> Item addData(String caption, String format, Func<T> valueProducer) {
+        return newItem(caption).setValue(format, valueProducer);
+    }
+
+    @Override
+    public boolean removeItem(Item item) {
+        return items.remove(item);
+    }
+
+    @Override
+    public void clear() {
+        for (int i = items.size() - 1; i >= 0; i--) {
+            if (!items.get(i).isRetained()) {
+                items.remove(i);
+            }
+        }
+    }
+
+    @Override
+    public void clearAll() {
+        items.clear();
+    }
+
+    @Override
+    public Object addAction(Runnable action) {
+        return action;
+    }
+
+    @Override
+    public boolean removeAction(Object token) {
+        return true;
+    }
+
+    @Override
+    public void speak(String text) {
+    }
+
+    @Override
+    public void speak(String text, String languageCode, String countryCode) {
+    }
+
+    /**
+     * "Transmits" the lines, then clears the ones that are not retained when
+     * auto-clear is on, like the SDK.
+     */
+    @Override
+    public boolean update() {
+        updateCount++;
+        if (autoClear) {
+            clear();
+        }
+        return true;
+    }
+
+    @Override
+    public Line addLine() {
+        return addLine("");
+    }
+
+    @Override
+    public Line addLine(String lineCaption) {
+        throw new UnsupportedOperationException("Lines are not simulated");
+    }
+
+    @Override
+    public boolean removeLine(Line line) {
+        return false;
+    }
+
+    @Override
+    public boolean isAutoClear() {
+        return autoClear;
+    }
+
+    @Override
+    public void setAutoClear(boolean autoClear) {
+        this.autoClear = autoClear;
+    }
+
+    @Override
+    public int getMsTransmissionInterval() {
+        return msTransmissionInterval;
+    }
+
+    @Override
+    public void setMsTransmissionInterval(int msTransmissionInterval) {
+        this.msTransmissionInterval = msTransmissionInterval;
+    }
+
+    @Override
+    public String getItemSeparator() {
+        return itemSeparator;
+    }
+
+    @Override
+    public void setItemSeparator(String itemSeparator) {
+        this.itemSeparator = itemSeparator;
+    }
+
+    @Override
+    public String getCaptionValueSeparator() {
+        return captionValueSeparator;
+    }
+
+    @Override
+    public void setCaptionValueSeparator(String captionValueSeparator) {
+        this.captionValueSeparator = captionValueSeparator;
+    }
+
+    @Override
+    public void setDisplayFormat(DisplayFormat displayFormat) {
+    }
+
+    @Override
+    public Log log() {
+        throw new UnsupportedOperationException("The telemetry log is not simulated");
+    }
+}
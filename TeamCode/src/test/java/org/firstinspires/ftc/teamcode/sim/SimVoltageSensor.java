@@ -0,0 +1,36 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import com.qualcomm.robotcore.hardware.VoltageSensor;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Simulated battery. Motors read it through {@link SimDcMotorEx#setBatteryVoltage}.
+ */
+public class SimVoltageSensor extends SimHardwareDevice implements VoltageSensor, DoubleSupplier {
+
+    private double voltage;
+
+    /**
+     * @param name    Device name
+     * @param voltage Starting battery voltage
+     */
+    public SimVoltageSensor(String name, double voltage) {
+        super(name);
+        this.voltage = voltage;
+    }
+
+    public void setVoltage(double voltage) {
+        this.voltage = voltage;
+    }
+
+    @Override
+    public double getVoltage() {
+        return voltage;
+    }
+
+    @Override
+    public double getAsDouble() {
+        return voltage;
+    }
+}
@@ -0,0 +1,236 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+import com.qualcomm.robotcore.hardware.IMU;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.teamcode.subsystems.FlywheelController;
+import org.firstinspires.ftc.teamcode.subsystems.HardwareRegistry;
+import org.firstinspires.ftc.teamcode.subsystems.LimelightVision;
+import org.firstinspires.ftc.teamcode.subsystems.Shooter;
+import org.firstinspires.ftc.teamcode.subsystems.Turret;
+import org.firstinspires.ftc.teamcode.subsystems.TurretTargeting;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the real subsystems closed-loop against the simulated hardware.
+ */
+class SimulationTest {
+
+    private static final double LOOP_PERIOD = 0.005; // 200 Hz OpMode loop
+
+    // Flywheel: 6000 RPM free speed at 12 V, 0.3 s spin-up time constant
+    private static final double FLYWHEEL_FREE_RPM = 6000.0;
+    private static final double FLYWHEEL_TIME_CONSTANT = 0.3;
+    // Turret: about 3000 deg/s at full power with a 50 ms time constant
+    private static final double TURRET_FREE_RPM = 500.0;
+    private static final double TURRET_TIME_CONSTANT = 0.05;
+
+    private SimHardwareMap hardwareMap;
+    private HardwareRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        HardwareRegistry.reset();
+        hardwareMap = new SimHardwareMap();
+        registry = HardwareRegistry.get(hardwareMap);
+    }
+
+    @AfterEach
+    void tearDown() {
+        HardwareRegistry.reset();
+    }
+
+    private Shooter addShooter(SimVoltageSensor battery) {
+        hardwareMap.add("battery", battery);
+        hardwareMap.add("sl", new SimDcMotorEx("sl", Shooter.TICKS_PER_REV, FLYWHEEL_FREE_RPM, FLYWHEEL_TIME_CONSTANT)
+                .setStaticFriction(0.02).setBatteryVoltage(battery));
+        hardwareMap.add("sr", new SimDcMotorEx("sr", Shooter.TICKS_PER_REV, FLYWHEEL_FREE_RPM, FLYWHEEL_TIME_CONSTANT)
+                .setStaticFriction(0.02).setBatteryVoltage(battery));
+        return new Shooter(hardwareMap, "sl", "sr", hardwareMap.getClock());
+    }
+
+    private SimMecanumDrive addDrive() {
+        SimDcMotorEx lf = hardwareMap.add("lf", new SimDcMotorEx("lf", 537.7, 312, 0.1));
+        SimDcMotorEx lb = hardwareMap.add("lb", new SimDcMotorEx("lb", 537.7, 312, 0.1));
+        SimDcMotorEx rf = hardwareMap.add("rf", new SimDcMotorEx("rf", 537.7, 312, 0.1));
+        SimDcMotorEx rb = hardwareMap.add("rb", new SimDcMotorEx("rb", 537.7, 312, 0.1));
+        // Left side reversed, as in the TeleOps
+        lf.setDirection(DcMotorSimple.Direction.REVERSE);
+        lb.setDirection(DcMotorSimple.Direction.REVERSE);
+        return hardwareMap.addModel(new SimMecanumDrive(lf, lb, rf, rb, 60.0, Math.toRadians(360.0)));
+    }
+
+    @Test
+    void testFlywheelControllerHoldsTargetAndDetectsBall() {
+        Shooter shooter = addShooter(new SimVoltageSensor("battery", 12.5));
+        shooter.useFlywheelController(new FlywheelController(FlywheelController.DEFAULT_RATE_HZ, hardwareMap.getClock()));
+        shooter.setRPM(3000);
+
+        hardwareMap.run(1.5, LOOP_PERIOD, () -> {
+            registry.beginLoop();
+            shooter.update();
+        });
+        assertEquals(3000, shooter.getCurrentRPM(), 50);
+        assertEquals(0, shooter.getShotDetector().getShotCount());
+
+        // A ball takes 400 RPM out of both wheels
+        double dip = 400 * Shooter.TICKS_PER_REV / 60.0;
+        ((SimDcMotorEx) shooter.getLeftMotor()).applyVelocityChange(-dip);
+        ((SimDcMotorEx) shooter.getRightMotor()).applyVelocityChange(-dip);
+        hardwareMap.run(0.5, LOOP_PERIOD, () -> {
+            registry.beginLoop();
+            shooter.update();
+        });
+
+        assertEquals(1, shooter.getShotDetector().getShotCount());
+        assertEquals(3000, shooter.getCurrentRPM(), 50);
+    }
+
+    @Test
+    void testTurretCentersOnTagFromVision() {
+        SimMecanumDrive drive = addDrive();
+        // 25 degrees left of the blue basket, so the tag starts inside the field of view
+        drive.setPose(72, 72, Math.toRadians(110));
+
+        SimDcMotorEx turretMotor = hardwareMap.add("turretMotor",
+                new SimDcMotorEx("turretMotor", Turret.TICKS_PER_REV, TURRET_FREE_RPM, TURRET_TIME_CONSTANT)
+                        .setStaticFriction(0.05));
+        Turret turret = new Turret(hardwareMap, "turretMotor", hardwareMap.getClock());
+        SimLimelight limelight = hardwareMap.add("limelight", new SimLimelight(0.25, 15.0)
+                .setCameraPose(drive::getX, drive::getY,
+                        () -> Math.toDegrees(drive.getHeading()) + turret.getCurrentAngle())
+                .addDecodeGoalTags(1.2));
+        LimelightVision vision = registry.getVision();
+        TurretTargeting targeting = new TurretTargeting(turret, vision);
+
+        hardwareMap.run(2.0, LOOP_PERIOD, () -> {
+            registry.beginLoop();
+            targeting.update();
+            targeting.aimAtBlueBasket();
+        });
+
+        assertTrue(limelight.getFrameCount() > 90, "frames " + limelight.getFrameCount());
+        assertTrue(vision.hasBlueBasketTarget());
+        assertEquals(0.0, vision.getBlueBasketX(), 1.0);
+        assertEquals(25.0, turret.getCurrentAngle(), 1.0);
+    }
+
+    @Test
+    void testFieldRelativeAimTracksWhileDriving() {
+        SimMecanumDrive drive = addDrive();
+        drive.setPose(72, 72, Math.toRadians(90));
+        SimDcMotorEx turretMotor = hardwareMap.add("turretMotor",
+                new SimDcMotorEx("turretMotor", Turret.TICKS_PER_REV, TURRET_FREE_RPM, TURRET_TIME_CONSTANT)
+                        .setStaticFriction(0.05));
+        Turret turret = new Turret(hardwareMap, "turretMotor", hardwareMap.getClock());
+        hardwareMap.add("limelight", new SimLimelight(0.25, 15.0)
+                .setCameraPose(drive::getX, drive::getY,
+                        () -> Math.toDegrees(drive.getHeading()) + turret.getCurrentAngle())
+                .addDecodeGoalTags(1.2));
+        TurretTargeting targeting = new TurretTargeting(turret, registry.getVision());
+        DcMotor[] wheels = {
+                hardwareMap.get(DcMotor.class, "lf"), hardwareMap.get(DcMotor.class, "lb"),
+                hardwareMap.get(DcMotor.class, "rf"), hardwareMap.get(DcMotor.class, "rb")};
+
+        // Settle on the basket, then drive forward while turning slowly left
+        hardwareMap.run(1.0, LOOP_PERIOD, () -> {
+            registry.beginLoop();
+            targeting.update();
+            targeting.aimFieldRelative(drive.getX(), drive.getY(), drive.getHeading(), false);
+        });
+        double[] worst = {0.0};
+        hardwareMap.run(1.0, LOOP_PERIOD, () -> {
+            registry.beginLoop();
+            targeting.setChassisAngularVelocity(Math.toDegrees(drive.getAngularVelocity()));
+            targeting.update();
+            targeting.aimFieldRelative(drive.getX(), drive.getY(), drive.getHeading(), false);
+            worst[0] = Math.max(worst[0], Math.abs(targeting.getLastAimError()));
+            double forward = 0.4;
+            double turn = -0.2; // counter-clockwise
+            wheels[0].setPower(forward + turn);
+            wheels[1].setPower(forward + turn);
+            wheels[2].setPower(forward - turn);
+            wheels[3].setPower(forward - turn);
+        });
+
+        assertTrue(drive.getY() > 80, "y " + drive.getY());
+        assertTrue(drive.getHeading() > Math.toRadians(100), "heading " + Math.toDegrees(drive.getHeading()));
+        assertTrue(worst[0] < 5.0, "worst aim error " + worst[0]);
+
+        // Stop and let it settle
+        for (DcMotor wheel : wheels) {
+            wheel.setPower(0);
+        }
+        hardwareMap.run(0.5, LOOP_PERIOD, () -> {
+            registry.beginLoop();
+            targeting.setChassisAngularVelocity(Math.toDegrees(drive.getAngularVelocity()));
+            targeting.update();
+            targeting.aimFieldRelative(drive.getX(), drive.getY(), drive.getHeading(), false);
+        });
+        // Without integral the turret can stop anywhere inside friction / kP = 2.5 degrees
+        assertEquals(targeting.getFieldAimAngle(), turret.getCurrentAngle(), 2.5);
+    }
+
+    @Test
+    void testImuFollowsDrivetrain() {
+        SimMecanumDrive drive = addDrive();
+        IMU imu = hardwareMap.add("imu", new SimImu("imu", drive, hardwareMap.getClock()));
+        drive.setPose(0, 0, Math.toRadians(30));
+        imu.resetYaw();
+
+        DcMotor lf = hardwareMap.get(DcMotor.class, "lf");
+        DcMotor lb = hardwareMap.get(DcMotor.class, "lb");
+        hardwareMap.run(0.5, LOOP_PERIOD, () -> {
+            // Left side only: turns clockwise
+            lf.setPower(0.5);
+            lb.setPower(0.5);
+        });
+
+        double yaw = imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS);
+        assertTrue(yaw < -0.1, "yaw " + yaw);
+        assertEquals(drive.getHeading() - Math.toRadians(30), yaw, 1e-9);
+    }
+
+    @Test
+    void testEncoderIsQuantizedAndFollowsDirection() {
+        SimDcMotorEx motor = hardwareMap.add("m", new SimDcMotorEx("m", 28, 6000, 0.1));
+        motor.setDirection(DcMotorSimple.Direction.REVERSE);
+        motor.setPower(0.5);
+        hardwareMap.run(1.0, LOOP_PERIOD, () -> { });
+
+        assertTrue(motor.getCurrentPosition() > 0);
+        assertEquals(Math.rint(motor.getVelocity()), motor.getVelocity(), 0.0);
+        assertEquals(0.5 * 6000 * 28 / 60.0, motor.getVelocity(), 15);
+        assertTrue(motor.getSpeedFraction() > 0);
+    }
+
+    @Test
+    void testRunsFasterThanRealTime() {
+        Shooter shooter = addShooter(new SimVoltageSensor("battery", 12.0));
+        shooter.useFlywheelController(new FlywheelController(FlywheelController.DEFAULT_RATE_HZ, hardwareMap.getClock()));
+        shooter.setRPM(3500);
+
+        long start = System.nanoTime();
+        hardwareMap.run(20.0, LOOP_PERIOD, () -> {
+            registry.beginLoop();
+            shooter.update();
+        });
+        double wallSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(20.0, hardwareMap.getClock().getSeconds(), 1e-6);
+        assertTrue(wallSeconds < 10.0, "took " + wallSeconds + " s for 20 s of robot time");
+    }
+
+    @Test
+    void testMissingDeviceThrows() {
+        assertThrows(IllegalArgumentException.class, () -> hardwareMap.get(DcMotor.class, "nope"));
+        assertThrows(IllegalArgumentException.class, () -> new Turret(hardwareMap, "nope"));
+    }
+}
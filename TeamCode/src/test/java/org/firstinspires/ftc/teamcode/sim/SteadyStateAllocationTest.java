@@ -0,0 +1,246 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import com.pedropathing.paths.PathChain;
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+import com.qualcomm.robotcore.hardware.Gamepad;
+
+import org.firstinspires.ftc.teamcode.Autonomous.AutoAction;
+import org.firstinspires.ftc.teamcode.Autonomous.AutoEngine;
+import org.firstinspires.ftc.teamcode.Autonomous.AutoLoop;
+import org.firstinspires.ftc.teamcode.Autonomous.AutoRoutine;
+import org.firstinspires.ftc.teamcode.TeleOp.TeleOpLoop;
+import org.firstinspires.ftc.teamcode.subsystems.DriveProfile;
+import org.firstinspires.ftc.teamcode.subsystems.DriveSubsystem;
+import org.firstinspires.ftc.teamcode.subsystems.FlightRecorder;
+import org.firstinspires.ftc.teamcode.subsystems.HardwareRegistry;
+import org.firstinspires.ftc.teamcode.subsystems.LimelightVision;
+import org.firstinspires.ftc.teamcode.subsystems.LoopScheduler;
+import org.firstinspires.ftc.teamcode.subsystems.RobotRecorder;
+import org.firstinspires.ftc.teamcode.subsystems.SmartShooter;
+import org.firstinspires.ftc.teamcode.subsystems.TelemetryPublisher;
+import org.firstinspires.ftc.teamcode.subsystems.Turret;
+import org.firstinspires.ftc.teamcode.subsystems.TurretTargeting;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Fails if the TeleOp or autonomous loop allocates once warmed up.
+ *
+ * The OpModes themselves need a Pedro follower and a Driver Station, so each
+ * test drives the loop code they delegate to, {@link TeleOpLoop} and
+ * {@link AutoLoop}, directly against the simulator: pose and velocity come from
+ * the simulated drivetrain where the OpModes read the follower. Everything here (motors, Limelight,
+ * telemetry) is hand-written rather than mocked, so the only allocations
+ * counted are the robot code's.
+ *
+ * Not covered: allocations inside the SDK and Pedro (follower.update(), IMU
+ * angle reads, Limelight result parsing, telemetry transmission).
+ */
+class SteadyStateAllocationTest {
+
+    private static final double LOOP_PERIOD = 0.02;
+    private static final double WARM_UP_SECONDS = 20.0; // long enough for the JIT to settle
+    private static final double WINDOW_SECONDS = 5.0;
+    private static final int WINDOWS = 5;
+
+    @TempDir
+    File dir;
+
+    private SimHardwareMap hardwareMap;
+    private HardwareRegistry registry;
+    private SimMecanumDrive drive;
+    private SimDcMotorEx[] wheels;
+    private SimTelemetry telemetry;
+    private SmartShooter shooter;
+    private TurretTargeting targeting;
+    private LimelightVision vision;
+    private RobotRecorder recorder;
+    private TelemetryPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        HardwareRegistry.reset();
+        hardwareMap = new SimHardwareMap();
+        hardwareMap.setPhysicsStep(0.005);
+        registry = HardwareRegistry.get(hardwareMap);
+
+        SimVoltageSensor battery = hardwareMap.add("battery", new SimVoltageSensor("battery", 12.5));
+        wheels = new SimDcMotorEx[] {
+                hardwareMap.add("lf", new SimDcMotorEx("lf", 537.7, 312, 0.1)),
+                hardwareMap.add("lb", new SimDcMotorEx("lb", 537.7, 312, 0.1)),
+                hardwareMap.add("rf", new SimDcMotorEx("rf", 537.7, 312, 0.1)),
+                hardwareMap.add("rb", new SimDcMotorEx("rb", 537.7, 312, 0.1))};
+        wheels[0].setDirection(DcMotorSimple.Direction.REVERSE);
+        wheels[1].setDirection(DcMotorSimple.Direction.REVERSE);
+        drive = hardwareMap.addModel(new SimMecanumDrive(wheels[0], wheels[1], wheels[2], wheels[3],
+                60.0, Math.toRadians(360.0)));
+        drive.setPose(72, 48, Math.toRadians(60));
+
+        hardwareMap.add("sl", new SimDcMotorEx("sl", 112, 6000, 0.3).setBatteryVoltage(battery));
+        hardwareMap.add("sr", new SimDcMotorEx("sr", 112, 6000, 0.3).setBatteryVoltage(battery));
+        hardwareMap.add("turretMotor", new SimDcMotorEx("turretMotor", Turret.TICKS_PER_REV, 500, 0.05)
+                .setStaticFriction(0.05));
+        hardwareMap.add("intakeMotor", new SimDcMotorEx("intakeMotor", 537.7, 312, 0.05));
+        hardwareMap.add("indexerServo", new SimServo("indexerServo"));
+
+        Turret turret = registry.getTurret();
+        hardwareMap.add("limelight", new SimLimelight(0.25, 15.0)
+                .setCameraPose(drive::getX, drive::getY,
+                        () -> Math.toDegrees(drive.getHeading()) + turret.getCurrentAngle())
+                .addDecodeGoalTags(1.2)
+                .setNoise(0.1));
+
+        vision = registry.getVision();
+        shooter = SmartShooter.configureForRobot(new SmartShooter(hardwareMap), hardwareMap.getClock());
+        targeting = new TurretTargeting(turret, vision);
+
+        recorder = new RobotRecorder(new FlightRecorder(1024, hardwareMap.getClock()));
+        assertTrue(recorder.getRecorder().start(new File(dir, "loop.flr"), "AllocationTest"));
+
+        telemetry = new SimTelemetry();
+        publisher = new TelemetryPublisher(telemetry, TelemetryPublisher.DEFAULT_RATE_HZ, hardwareMap.getClock());
+    }
+
+    @AfterEach
+    void tearDown() {
+        recorder.stop();
+        HardwareRegistry.reset();
+    }
+
+    /**
+     * Bytes the current thread allocates while running the simulation.
+     */
+    private long measure(double seconds, Runnable loop) {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean, "per-thread allocation counter unavailable");
+        com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled(),
+                "per-thread allocation counter disabled");
+
+        long id = Thread.currentThread().getId();
+        // The counter itself can allocate on first use; measure it empty and subtract
+        long start = counter.getThreadAllocatedBytes(id);
+        long overhead = counter.getThreadAllocatedBytes(id) - start;
+        start = counter.getThreadAllocatedBytes(id);
+        hardwareMap.run(seconds, LOOP_PERIOD, loop);
+        return counter.getThreadAllocatedBytes(id) - start - overhead;
+    }
+
+    /**
+     * Median bytes allocated per window, over several windows after warm-up. The
+     * JIT occasionally allocates a few hundred bytes on the running thread when it
+     * recompiles, which can land in any one window; a real per-loop or periodic
+     * allocation shows up in every window (each one covers many telemetry and
+     * recorder periods) and so in the median.
+     */
+    private long measureSteadyState(Runnable loop, long[] windows) {
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = measure(WINDOW_SECONDS, loop);
+        }
+        long[] sorted = windows.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    @Test
+    void testHarnessDetectsAllocation() {
+        Object[] sink = new Object[1];
+        long bytes = measure(0.2, () -> sink[0] = new double[16]);
+        assertTrue(bytes > 0, "allocation not detected");
+    }
+
+    @Test
+    void testTeleOpLoopDoesNotAllocate() {
+        LoopScheduler scheduler = new LoopScheduler(TeleOpLoop.LOOP_RATE_HZ, hardwareMap.getClock());
+        scheduler.setWaitForPeriod(false);
+        DriveSubsystem driveSubsystem = new DriveSubsystem(hardwareMap,
+                new DriveProfile(TeleOpLoop.MAX_DRIVE_POWER), hardwareMap.getClock());
+        TeleOpLoop teleOp = new TeleOpLoop(true, registry, scheduler, driveSubsystem, shooter, targeting,
+                recorder, publisher, true);
+        Gamepad gamepad = new Gamepad();
+
+        // MecanumTeleOpRED's phases, with the simulated drivetrain standing in for the IMU and follower
+        scheduler.setPhase(LoopScheduler.Phase.READ, () -> {
+            registry.beginLoop();
+            teleOp.read(gamepad, drive.getHeading(), drive.getX(), drive.getY(), drive.getHeading());
+        });
+        scheduler.setPhase(LoopScheduler.Phase.COMPUTE, teleOp::computeDrive);
+        scheduler.setPhase(LoopScheduler.Phase.WRITE, teleOp::writeActuators);
+        scheduler.setPhase(LoopScheduler.Phase.TELEMETRY, teleOp::updateTelemetry);
+
+        Runnable loop = () -> {
+            // Drive in a slow circle while aiming and intaking
+            double time = hardwareMap.getClock().getSeconds();
+            gamepad.left_stick_x = (float) (0.3 * Math.sin(time));
+            gamepad.left_stick_y = (float) (-0.3 * Math.cos(time));
+            gamepad.right_stick_x = 0.2f;
+            gamepad.left_bumper = true;
+            gamepad.square = true;
+            try {
+                scheduler.runOnce();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        hardwareMap.run(WARM_UP_SECONDS, LOOP_PERIOD, loop);
+        assertTrue(vision.getResultSequence() > 100, "vision frames " + vision.getResultSequence());
+        assertTrue(telemetry.getUpdateCount() > 100, "telemetry updates " + telemetry.getUpdateCount());
+
+        long[] windows = new long[WINDOWS];
+        long bytes = measureSteadyState(loop, windows);
+        assertEquals(0, bytes, "TeleOp loop allocated " + Arrays.toString(windows) + " bytes per "
+                + Math.round(WINDOW_SECONDS / LOOP_PERIOD) + " loops");
+    }
+
+    @Test
+    void testAutoLoopDoesNotAllocate() {
+        AutoLoop.PathDriver driver = new AutoLoop.PathDriver() {
+            @Override
+            public void followPath(PathChain path) {
+            }
+
+            @Override
+            public boolean isPathDone() {
+                return true;
+            }
+
+            @Override
+            public void hold() {
+            }
+        };
+        // Drive on while shooting, so the moving-shot solver runs
+        AutoLoop auto = new AutoLoop(true, new AutoRoutine()
+                .waitMs(2000).with(AutoAction.SPIN_UP, AutoAction.INTAKE)
+                .shoot(1_000_000)
+                .build(), driver, registry, shooter, targeting, recorder, publisher, hardwareMap.getClock());
+        AutoEngine engine = auto.getEngine();
+
+        // AllianceAuto.loop(), with the simulated drivetrain standing in for the follower
+        Runnable loop = () -> {
+            registry.beginLoop();
+            auto.update(drive.getX(), drive.getY(), drive.getHeading(), drive.getVelocityX(), drive.getVelocityY());
+            for (int i = 0; i < 4; i++) {
+                wheels[i].setPower(i < 2 ? 0.25 : 0.35);
+            }
+        };
+        auto.start();
+        hardwareMap.run(WARM_UP_SECONDS, LOOP_PERIOD, loop);
+        assertEquals(1, engine.getStepIndex());
+        assertTrue(engine.getBallsShot() > 0, "balls " + engine.getBallsShot());
+
+        long[] windows = new long[WINDOWS];
+        long bytes = measureSteadyState(loop, windows);
+        assertEquals(0, bytes, "Auto loop allocated " + Arrays.toString(windows) + " bytes per "
+                + Math.round(WINDOW_SECONDS / LOOP_PERIOD) + " loops");
+    }
+}
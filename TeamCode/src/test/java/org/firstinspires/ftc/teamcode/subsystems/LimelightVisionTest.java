@@ -0,0 +1,185 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import com.qualcomm.hardware.limelightvision.LLResult;
+import com.qualcomm.hardware.limelightvision.LLResultTypes;
+import com.qualcomm.hardware.limelightvision.Limelight3A;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.DoubleRange;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.Size;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests that the per-frame fiducial index in LimelightVision answers every tag
+ * query exactly like the original linear scans did.
+ */
+class LimelightVisionTest {
+
+    private static LimelightVision createVision(Limelight3A limelight) {
+        HardwareMap hardwareMap = mock(HardwareMap.class);
+        when(hardwareMap.get(Limelight3A.class, "limelight")).thenReturn(limelight);
+        return new LimelightVision(hardwareMap);
+    }
+
+    private static LLResultTypes.FiducialResult tag(int id, double area, double x) {
+        LLResultTypes.FiducialResult tag = mock(LLResultTypes.FiducialResult.class);
+        when(tag.getFiducialId()).thenReturn(id);
+        when(tag.getTargetArea()).thenReturn(area);
+        when(tag.getTargetXDegrees()).thenReturn(x);
+        return tag;
+    }
+
+    private static LLResult result(boolean valid, List<LLResultTypes.FiducialResult> tags) {
+        LLResult result = mock(LLResult.class);
+        when(result.isValid()).thenReturn(valid);
+        when(result.getFiducialResults()).thenReturn(tags);
+        return result;
+    }
+
+    // Reference implementations: the scans LimelightVision used before the index
+
+    private static LLResultTypes.FiducialResult scanById(List<LLResultTypes.FiducialResult> tags, int tagId) {
+        for (LLResultTypes.FiducialResult tag : tags) {
+            if (tag.getFiducialId() == tagId) {
+                return tag;
+            }
+        }
+        return null;
+    }
+
+    private static LLResultTypes.FiducialResult scanClosest(List<LLResultTypes.FiducialResult> tags, int[] tagIds) {
+        LLResultTypes.FiducialResult closest = null;
+        double minArea = 0;
+
+        for (LLResultTypes.FiducialResult tag : tags) {
+            for (int targetId : tagIds) {
+                if (tag.getFiducialId() == targetId) {
+                    double area = tag.getTargetArea();
+                    if (closest == null || area > minArea) {
+                        closest = tag;
+                        minArea = area;
+                    }
+                }
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Property: For any frame, every indexed query matches the original linear scan,
+     * including ties in area and repeated ids.
+     */
+    @Property
+    void testIndexMatchesLinearScan(
+            @ForAll @Size(max = 12) List<@IntRange(min = 18, max = 26) Integer> ids,
+            @ForAll @IntRange(min = 0, max = 4) int areaSteps,
+            @ForAll @DoubleRange(min = -30, max = 30) double baseX) {
+
+        List<LLResultTypes.FiducialResult> tags = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            // Coarse areas so ties actually happen
+            double area = ((ids.get(i) * 7 + i * areaSteps) % 5) * 2.5;
+            tags.add(tag(ids.get(i), area, baseX + i));
+        }
+
+        LLResult frame = result(true, tags);
+        Limelight3A limelight = mock(Limelight3A.class);
+        when(limelight.getLatestResult()).thenReturn(frame);
+        LimelightVision vision = createVision(limelight);
+        vision.update();
+
+        LLResultTypes.FiducialResult red = scanClosest(tags, LimelightVision.RED_BASKET_TAGS);
+        LLResultTypes.FiducialResult blue = scanClosest(tags, LimelightVision.BLUE_BASKET_TAGS);
+
+        assertSame(red, vision.getClosestRedBasket());
+        assertSame(blue, vision.getClosestBlueBasket());
+        assertEquals(red != null, vision.hasRedBasketTarget());
+        assertEquals(blue != null, vision.hasBlueBasketTarget());
+        assertEquals(red != null ? red.getTargetXDegrees() : 0.0, vision.getRedBasketX(), 0.0);
+        assertEquals(blue != null ? blue.getTargetXDegrees() : 0.0, vision.getBlueBasketX(), 0.0);
+
+        for (int id = 16; id <= 28; id++) {
+            assertSame(scanById(tags, id), vision.getAprilTagById(id));
+            assertEquals(scanById(tags, id) != null, vision.isTagVisible(id));
+        }
+    }
+
+    @Test
+    void testIdsOutsideDirectTableStillFound() {
+        LLResultTypes.FiducialResult high = tag(400, 1.0, 2.0);
+        LLResultTypes.FiducialResult negative = tag(-1, 1.0, 2.0);
+        List<LLResultTypes.FiducialResult> tags = new ArrayList<>();
+        tags.add(high);
+        tags.add(negative);
+
+        LLResult frame = result(true, tags);
+        Limelight3A limelight = mock(Limelight3A.class);
+        when(limelight.getLatestResult()).thenReturn(frame);
+        LimelightVision vision = createVision(limelight);
+        vision.update();
+
+        assertSame(high, vision.getAprilTagById(400));
+        assertSame(negative, vision.getAprilTagById(-1));
+        assertNull(vision.getAprilTagById(401));
+    }
+
+    @Test
+    void testInvalidResultHasNoTags() {
+        List<LLResultTypes.FiducialResult> tags = new ArrayList<>();
+        tags.add(tag(LimelightVision.RED_BASKET_TAGS[0], 5.0, 1.0));
+
+        LLResult frame = result(false, tags);
+        Limelight3A limelight = mock(Limelight3A.class);
+        when(limelight.getLatestResult()).thenReturn(frame);
+        LimelightVision vision = createVision(limelight);
+        vision.update();
+
+        assertFalse(vision.hasRedBasketTarget());
+        assertNull(vision.getAprilTagById(LimelightVision.RED_BASKET_TAGS[0]));
+        assertTrue(vision.getAprilTags().isEmpty());
+        assertEquals(0.0, vision.getRedBasketX(), 0.0);
+    }
+
+    @Test
+    void testIndexClearedWhenTagDisappears() {
+        List<LLResultTypes.FiducialResult> seen = new ArrayList<>();
+        seen.add(tag(LimelightVision.BLUE_BASKET_TAGS[0], 3.0, -4.0));
+
+        LLResult first = result(true, seen);
+        LLResult second = result(true, new ArrayList<>());
+        Limelight3A limelight = mock(Limelight3A.class);
+        when(limelight.getLatestResult()).thenReturn(first, second);
+        LimelightVision vision = createVision(limelight);
+
+        vision.update();
+        assertTrue(vision.hasBlueBasketTarget());
+        assertEquals(-4.0, vision.getBlueBasketX(), 0.0);
+
+        vision.update();
+        assertFalse(vision.hasBlueBasketTarget());
+        assertNull(vision.getAprilTagById(LimelightVision.BLUE_BASKET_TAGS[0]));
+    }
+
+    @Test
+    void testSameResultIsNotReindexed() {
+        LLResult frame = result(true, new ArrayList<>());
+        Limelight3A limelight = mock(Limelight3A.class);
+        when(limelight.getLatestResult()).thenReturn(frame);
+        LimelightVision vision = createVision(limelight);
+
+        vision.update();
+        vision.update();
+        vision.update();
+
+        verify(frame, times(1)).getFiducialResults();
+    }
+}
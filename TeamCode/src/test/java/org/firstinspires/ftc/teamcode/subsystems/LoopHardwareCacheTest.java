@@ -0,0 +1,203 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import com.qualcomm.hardware.lynx.LynxModule;
+
+import org.firstinspires.ftc.teamcode.sim.SimDcMotorEx;
+import org.firstinspires.ftc.teamcode.sim.SimHardwareMap;
+import org.firstinspires.ftc.teamcode.sim.SimVoltageSensor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests that the subsystems' encoder reads all come from the loop's bulk read,
+ * counted at the simulated motors.
+ */
+class LoopHardwareCacheTest {
+
+    private static final double LOOP_PERIOD = 0.02;
+
+    private SimHardwareMap hardwareMap;
+    private HardwareRegistry registry;
+    private LoopHardwareCache cache;
+    private LynxModule hub;
+    private final LynxModule.BulkCachingMode[] hubMode = {LynxModule.BulkCachingMode.OFF};
+
+    private SimDcMotorEx sl;
+    private SimDcMotorEx sr;
+    private SimDcMotorEx turretMotor;
+    private SimDcMotorEx intakeMotor;
+    private Shooter shooter;
+    private Turret turret;
+    private Intake intake;
+
+    // Encoder reads counted at the motors when the last loop started
+    private long readsAtLoopStart;
+    private long readsInLastLoop;
+
+    @BeforeEach
+    void setUp() {
+        HardwareRegistry.reset();
+        hardwareMap = new SimHardwareMap();
+
+        hub = mock(LynxModule.class);
+        doAnswer(call -> hubMode[0] = call.getArgument(0)).when(hub).setBulkCachingMode(any());
+        when(hub.getBulkCachingMode()).thenAnswer(call -> hubMode[0]);
+        hardwareMap.add("Control Hub", hub);
+
+        hardwareMap.add("battery", new SimVoltageSensor("battery", 12.0));
+        sl = hardwareMap.add("sl", new SimDcMotorEx("sl", Shooter.TICKS_PER_REV, 6000, 0.3));
+        sr = hardwareMap.add("sr", new SimDcMotorEx("sr", Shooter.TICKS_PER_REV, 6000, 0.3));
+        turretMotor = hardwareMap.add("turretMotor", new SimDcMotorEx("turretMotor", Turret.TICKS_PER_REV, 500, 0.05));
+        intakeMotor = hardwareMap.add("intakeMotor", new SimDcMotorEx("intakeMotor", Intake.TICKS_PER_REV, 512, 0.05));
+
+        registry = HardwareRegistry.get(hardwareMap);
+        cache = registry.getLoopCache();
+        shooter = new Shooter(hardwareMap, "sl", "sr", hardwareMap.getClock());
+        turret = new Turret(hardwareMap, "turretMotor", hardwareMap.getClock());
+        intake = registry.getIntake();
+
+        shooter.setRPM(3000);
+        turret.setTargetAngle(30);
+        intake.setPower(0.8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        HardwareRegistry.reset();
+    }
+
+    private long encoderReads() {
+        return sl.getEncoderReads() + sr.getEncoderReads() + turretMotor.getEncoderReads() + intakeMotor.getEncoderReads();
+    }
+
+    /** One loop as the OpModes run it; extra runs at the end of the loop. */
+    private void loop(Runnable extra) {
+        long now = encoderReads();
+        readsInLastLoop = now - readsAtLoopStart;
+        readsAtLoopStart = now;
+
+        registry.beginLoop();
+        shooter.update();
+        turret.update();
+        shooter.getCurrentRPM();
+        turret.getCurrentAngle();
+        intake.getCurrentRPM();
+        extra.run();
+        for (int i = 0; i < 20; i++) {
+            hardwareMap.step(LOOP_PERIOD / 20);
+        }
+    }
+
+    private void run(int loops, Runnable extra) {
+        for (int i = 0; i < loops; i++) {
+            loop(extra);
+        }
+    }
+
+    /** The check: every read went through the cache, and the motors saw only the snapshot. */
+    private void assertOnlyCachedReads() {
+        assertTrue(cache.isFullyCached(), "misses " + cache.getMissesLastLoop()
+                + ", mode resets " + cache.getModeResetsLastLoop());
+        assertEquals(1, cache.getBulkReadsLastLoop());
+        assertEquals(2 * cache.getMotorCount(), cache.getDeviceReadsLastLoop());
+        assertEquals(cache.getDeviceReadsLastLoop(), readsInLastLoop, "reads at the motors");
+    }
+
+    @Test
+    void testSubsystemReadsComeFromOneBulkReadPerHub() {
+        run(10, () -> { });
+
+        assertEquals(4, cache.getMotorCount());
+        assertOnlyCachedReads();
+        assertTrue(cache.getCachedReadsLastLoop() >= 6, "cached " + cache.getCachedReadsLastLoop());
+        assertEquals(LynxModule.BulkCachingMode.MANUAL, hubMode[0]);
+        verify(hub, times(10)).clearBulkCache();
+        verify(hub, times(10)).getBulkData();
+    }
+
+    @Test
+    void testStrayMotorReadFailsTheCheck() {
+        run(5, () -> { });
+        assertOnlyCachedReads();
+
+        // Reading the motor directly bypasses the cache
+        run(2, turretMotor::getCurrentPosition);
+        assertThrows(AssertionFailedError.class, this::assertOnlyCachedReads);
+
+        run(2, () -> { });
+        assertOnlyCachedReads();
+    }
+
+    @Test
+    void testUnregisteredReadIsAMiss() {
+        SimDcMotorEx other = hardwareMap.add("other", new SimDcMotorEx("other", 537.7, 312, 0.1));
+        run(3, () -> cache.readPosition(other));
+
+        assertEquals(1, cache.getMissesLastLoop());
+        assertThrows(AssertionFailedError.class, this::assertOnlyCachedReads);
+    }
+
+    @Test
+    void testHubLeavingManualModeFailsTheCheck() {
+        run(3, () -> { });
+        assertOnlyCachedReads();
+
+        // Something else (e.g. a localizer) puts the hub back in AUTO
+        hubMode[0] = LynxModule.BulkCachingMode.AUTO;
+        run(2, () -> { });
+        assertEquals(1, cache.getModeResetsLastLoop());
+        assertFalse(cache.isFullyCached());
+
+        run(1, () -> { });
+        assertOnlyCachedReads();
+        assertEquals(LynxModule.BulkCachingMode.MANUAL, hubMode[0]);
+    }
+
+    @Test
+    void testConcurrentRegistrationKeepsEveryMotor() throws InterruptedException {
+        // Init steps construct subsystems on several threads at once
+        int threads = 8;
+        int perThread = 50;
+        SimDcMotorEx[] extra = new SimDcMotorEx[threads * perThread];
+        for (int i = 0; i < extra.length; i++) {
+            extra[i] = new SimDcMotorEx("extra" + i, 537.7, 312, 0.05);
+        }
+        int before = cache.getMotorCount();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int first = t * perThread;
+            workers[t] = new Thread(() -> {
+                for (int i = first; i < first + perThread; i++) {
+                    cache.register(extra[i]);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(before + extra.length, cache.getMotorCount());
+        run(2, () -> {
+            for (SimDcMotorEx motor : extra) {
+                cache.readPosition(motor);
+            }
+        });
+        assertEquals(0, cache.getMissesLastLoop());
+    }
+
+    @Test
+    void testReadsBeforeTheFirstLoopGoToTheMotor() {
+        long before = turretMotor.getEncoderReads();
+        turret.getCurrentPosition();
+        assertEquals(before + 1, turretMotor.getEncoderReads());
+        assertFalse(cache.isFullyCached());
+    }
+}
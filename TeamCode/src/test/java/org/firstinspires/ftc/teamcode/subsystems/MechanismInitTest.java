@@ -0,0 +1,76 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import org.firstinspires.ftc.teamcode.sim.SimDcMotorEx;
+import org.firstinspires.ftc.teamcode.sim.SimHardwareMap;
+import org.firstinspires.ftc.teamcode.sim.SimLimelight;
+import org.firstinspires.ftc.teamcode.sim.SimServo;
+import org.firstinspires.ftc.teamcode.sim.SimVoltageSensor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the init steps the OpModes share, on the simulator.
+ */
+class MechanismInitTest {
+
+    private SimHardwareMap hardwareMap;
+    private SimDcMotorEx turretMotor;
+
+    @BeforeEach
+    void setUp() {
+        HardwareRegistry.reset();
+        hardwareMap = new SimHardwareMap();
+        hardwareMap.add("battery", new SimVoltageSensor("battery", 12.0));
+        hardwareMap.add("sl", new SimDcMotorEx("sl", Shooter.TICKS_PER_REV, 6000, 0.3));
+        hardwareMap.add("sr", new SimDcMotorEx("sr", Shooter.TICKS_PER_REV, 6000, 0.3));
+        turretMotor = hardwareMap.add("turretMotor", new SimDcMotorEx("turretMotor", Turret.TICKS_PER_REV, 500, 0.05));
+        hardwareMap.add("intakeMotor", new SimDcMotorEx("intakeMotor", Intake.TICKS_PER_REV, 512, 0.05));
+        hardwareMap.add("indexerServo", new SimServo("indexerServo"));
+        hardwareMap.add("limelight", new SimLimelight(0.25, 15.0));
+
+        // The turret was left off center
+        turretMotor.setPower(0.5);
+        hardwareMap.step(0.1);
+        turretMotor.setPower(0);
+        hardwareMap.step(0.1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        HardwareRegistry.reset();
+    }
+
+    private MechanismInit run(boolean zeroTurret) {
+        InitOrchestrator orchestrator = new InitOrchestrator();
+        MechanismInit init = MechanismInit.addMechanismSteps(orchestrator, hardwareMap, zeroTurret);
+        orchestrator.run();
+        assertEquals(4, orchestrator.getStepCount());
+        return init;
+    }
+
+    @Test
+    void testStepsBuildTheSharedSubsystems() {
+        MechanismInit init = run(false);
+        HardwareRegistry registry = HardwareRegistry.get(hardwareMap);
+
+        assertSame(registry.getVision(), init.getVision());
+        assertSame(registry.getTurret(), init.getTargeting().getTurret());
+        assertNotNull(init.getShooter().getDragSolver());
+    }
+
+    @Test
+    void testOnlyAutoZeroesTheTurret() {
+        int offCenter = turretMotor.getCurrentPosition();
+        assertNotEquals(0, offCenter);
+
+        // TeleOp keeps the count
+        assertEquals(offCenter, run(false).getTargeting().getTurret().getCurrentPosition());
+
+        HardwareRegistry.reset();
+        assertEquals(0, run(true).getTargeting().getTurret().getCurrentPosition());
+    }
+}
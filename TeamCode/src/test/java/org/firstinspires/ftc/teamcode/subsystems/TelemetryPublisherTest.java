@@ -0,0 +1,140 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.DoubleRange;
+import net.jqwik.api.constraints.IntRange;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for TelemetryPublisher against a mocked SDK Telemetry.
+ */
+class TelemetryPublisherTest {
+
+    private final long[] now = {0L};
+    private Telemetry telemetry;
+    private Telemetry.Item item;
+
+    @BeforeEach
+    void setUp() {
+        telemetry = mock(Telemetry.class);
+        item = mock(Telemetry.Item.class);
+        when(telemetry.addData(anyString(), any(Object.class))).thenReturn(item);
+    }
+
+    private TelemetryPublisher publisher() {
+        return new TelemetryPublisher(telemetry, 10.0, () -> now[0]);
+    }
+
+    @Test
+    void testPublishesAtConfiguredRate() {
+        TelemetryPublisher publisher = publisher();
+        publisher.add("RPM", "%.0f");
+        verify(telemetry).setMsTransmissionInterval(100);
+
+        assertTrue(publisher.publish());
+        now[0] += 50_000_000L;
+        assertFalse(publisher.isDue());
+        assertFalse(publisher.publish());
+        now[0] += 50_000_000L;
+        assertTrue(publisher.publish());
+
+        assertEquals(2, publisher.getPublishCount());
+        verify(telemetry, times(2)).update();
+    }
+
+    @Test
+    void testLinesAreAddedOnceAndRetained() {
+        TelemetryPublisher publisher = publisher();
+        int rpm = publisher.add("RPM", "%.0f");
+
+        publisher.set(rpm, 3000);
+        publisher.publish();
+        now[0] += 100_000_000L;
+        publisher.set(rpm, 3100);
+        publisher.publish();
+
+        verify(telemetry, times(1)).addData(eq("RPM"), any(Object.class));
+        verify(item).setRetained(true);
+        verify(item).setValue(argThat((Object value) -> "3100".equals(value.toString())));
+    }
+
+    @Test
+    void testFormatsMixedSpecifiers() {
+        TelemetryPublisher publisher = publisher();
+        int line = publisher.add("Turret", "%s rms %.2f (%d) %b 100%%");
+        publisher.setText(line, "FF");
+        publisher.set(line, 1, 0.125);
+        publisher.set(line, 2, 42);
+        publisher.set(line, 3, true);
+        publisher.publish();
+
+        verify(telemetry).addData(eq("Turret"),
+                argThat((Object value) -> "FF rms 0.13 (42) true 100%".equals(value.toString())));
+    }
+
+    @Test
+    void testSkippedPublishDoesNotTouchTelemetry() {
+        TelemetryPublisher publisher = publisher();
+        publisher.add("RPM", "%.0f");
+        publisher.publish();
+        clearInvocations(telemetry, item);
+
+        now[0] += 10_000_000L;
+        publisher.set(0, 1234);
+        publisher.publish();
+
+        verifyNoInteractions(telemetry, item);
+    }
+
+    /**
+     * Property: fixed-point formatting matches String.format for ordinary values.
+     */
+    @Property(tries = 500)
+    void testAppendFixedMatchesFormat(@ForAll @DoubleRange(min = -1e6, max = 1e6) double value,
+                                      @ForAll @IntRange(min = 0, max = 4) int places) {
+        // Skip values sitting on a rounding boundary, where binary representation decides
+        double scaled = Math.abs(value) * Math.pow(10, places);
+        Assume.that(Math.abs(scaled - Math.floor(scaled) - 0.5) > 1e-6);
+
+        StringBuilder sb = new StringBuilder();
+        TelemetryPublisher.appendFixed(sb, value, places);
+        String expected = String.format(Locale.US, "%." + places + "f", value);
+        if (expected.matches("-0(\\.0*)?")) {
+            expected = expected.substring(1);
+        }
+        assertEquals(expected, sb.toString());
+    }
+
+    @Test
+    void testBadFormatThrows() {
+        TelemetryPublisher publisher = publisher();
+        assertThrows(IllegalArgumentException.class, () -> publisher.add("Bad", "%x"));
+        assertThrows(IllegalArgumentException.class, () -> publisher.add("Bad", "value %."));
+    }
+
+    @Test
+    void testUnknownSlotThrows() {
+        TelemetryPublisher publisher = publisher();
+        int line = publisher.add("RPM", "%.0f");
+        assertThrows(IllegalArgumentException.class, () -> publisher.set(line, 1, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> publisher.set(line + 1, 0.0));
+    }
+
+    @Test
+    void testInvalidRateThrows() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TelemetryPublisher(telemetry, 0, NanoClock.SYSTEM));
+    }
+}
@@ -1,5 +1,6 @@
 package org.firstinspires.ftc.teamcode.subsystems;
 
+import com.qualcomm.robotcore.hardware.DcMotor;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 
@@ -9,6 +10,7 @@ import net.jqwik.api.constraints.DoubleRange;
 import net.jqwik.api.constraints.StringLength;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.eq;
@@ -152,6 +154,23 @@ class TurretTest {
         assertEquals(0.0, turret.getCurrentPower(), 0.001);
     }
 
+    @Test
+    void testResetEncoderStopsAndZeroes() {
+        HardwareMap hardwareMap = mock(HardwareMap.class);
+        DcMotorEx mockMotor = mock(DcMotorEx.class);
+        when(hardwareMap.get(DcMotorEx.class, DEFAULT_MOTOR_NAME)).thenReturn(mockMotor);
+
+        Turret turret = new Turret(hardwareMap);
+        turret.setTargetAngle(90);
+        turret.resetEncoder();
+
+        assertFalse(turret.isPositionMode());
+        assertEquals(0.0, turret.getCurrentPower(), 0.001);
+        InOrder inOrder = inOrder(mockMotor);
+        inOrder.verify(mockMotor).setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+        inOrder.verify(mockMotor).setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+    }
+
     @Property
     void testPowerClamping(@ForAll double power) {
         Assume.that(power < -1.0 || power > 1.0);
@@ -335,6 +354,159 @@ class TurretTest {
         assertEquals("STOPPED", turret.getDirection());
     }
 
+    @Test
+    void testSetTargetAngleClampsToSoftLimits() {
+        HardwareMap hardwareMap = mock(HardwareMap.class);
+        DcMotorEx mockMotor = mock(DcMotorEx.class);
+        when(hardwareMap.get(DcMotorEx.class, DEFAULT_MOTOR_NAME)).thenReturn(mockMotor);
+
+        Turret turret = new Turret(hardwareMap);
+
+        turret.setTargetAngle(500);
+        assertTrue(turret.isPositionMode());
+        assertEquals(Turret.MAX_ROTATION_DEGREES, turret.getTargetAngle(), 0.001);
+
+        turret.setTargetAngle(-500);
+        assertEquals(-Turret.MAX_ROTATION_DEGREES, turret.getTargetAngle(), 0.001);
+    }
+
+    @Test
+    void testSetPowerStopsAtSoftLimit() {
+        HardwareMap hardwareMap = mock(HardwareMap.class);
+        DcMotorEx mockMotor = mock(DcMotorEx.class);
+        when(hardwareMap.get(DcMotorEx.class, DEFAULT_MOTOR_NAME)).thenReturn(mockMotor);
+        // Encoder runs opposite to the turret: 140 degrees left
+        int ticks = (int) Math.round(-140 * Turret.TICKS_PER_REV / 360.0);
+        when(mockMotor.getCurrentPosition()).thenReturn(ticks);
+
+        Turret turret = new Turret(hardwareMap);
+
+        turret.setPower(0.5);
+        verify(mockMotor).setPower(-0.0);
+        assertEquals(0.0, turret.getCurrentPower(), 0.001);
+
+        // Driving back toward the middle is allowed
+        turret.setPower(-0.5);
+        verify(mockMotor).setPower(0.5);
+        assertEquals(-0.5, turret.getCurrentPower(), 0.001);
+    }
+
+    /**
+     * Property: a profile ends at rest on the goal and never exceeds its limits.
+     */
+    @Property
+    void testProfileRespectsConstraints(
+            @ForAll @DoubleRange(min = -135, max = 135) double start,
+            @ForAll @DoubleRange(min = -300, max = 300) double startVelocity,
+            @ForAll @DoubleRange(min = -135, max = 135) double goal) {
+
+        TrapezoidProfile profile = new TrapezoidProfile(360, 1440);
+        profile.plan(start, startVelocity, goal);
+
+        double dt = 0.001;
+        double previousVelocity = profile.getVelocity();
+        for (double t = dt; t < profile.getTotalTime() + 0.1; t += dt) {
+            profile.calculate(t);
+            assertTrue(Math.abs(profile.getVelocity()) <= 360 + 1e-6);
+            assertTrue(Math.abs(profile.getVelocity() - previousVelocity) <= 1440 * dt + 1e-6);
+            previousVelocity = profile.getVelocity();
+        }
+        assertTrue(profile.isFinished(profile.getTotalTime() + 0.1));
+        assertEquals(goal, profile.getPosition(), 1e-9);
+        assertEquals(0.0, profile.getVelocity(), 1e-9);
+    }
+
+    @Test
+    void testPositionModeSettlesOnTarget() {
+        long[] now = {0L};
+        double[] angle = {0.0};
+        double[] velocity = {0.0};
+        double ticksPerDegree = Turret.TICKS_PER_REV / 360.0;
+
+        HardwareMap hardwareMap = mock(HardwareMap.class);
+        DcMotorEx mockMotor = mock(DcMotorEx.class);
+        when(hardwareMap.get(DcMotorEx.class, DEFAULT_MOTOR_NAME)).thenReturn(mockMotor);
+        when(mockMotor.getCurrentPosition()).thenAnswer(inv -> (int) Math.round(-angle[0] * ticksPerDegree));
+        when(mockMotor.getVelocity()).thenAnswer(inv -> -velocity[0] * ticksPerDegree);
+
+        Turret turret = new Turret(hardwareMap, DEFAULT_MOTOR_NAME, () -> now[0]);
+        turret.setTargetAngle(90);
+
+        // Turret plant: full power is about 3000 deg/s with a 50 ms time constant
+        double dt = 0.001;
+        for (int i = 0; i < 1500; i++) {
+            if (i % 10 == 0) {
+                turret.update();
+            }
+            double power = turret.getCurrentPower();
+            double acceleration = (power * 3000.0 - velocity[0]) / 0.05;
+            velocity[0] += acceleration * dt;
+            angle[0] += velocity[0] * dt;
+            now[0] += 1_000_000L;
+        }
+
+        assertTrue(turret.isSettled());
+        assertEquals(90.0, angle[0], 1.0);
+        assertTrue(turret.getLastSettleTimeMs() > 0 && turret.getLastSettleTimeMs() < 1000,
+                "settle time " + turret.getLastSettleTimeMs());
+    }
+
+    @Test
+    void testChassisFeedforwardReducesTrackingError() {
+        double withoutFeedforward = maxTrackingErrorWhileSpinning(false);
+        double withFeedforward = maxTrackingErrorWhileSpinning(true);
+
+        assertTrue(withFeedforward < 0.5 * withoutFeedforward,
+                "with " + withFeedforward + " without " + withoutFeedforward);
+    }
+
+    /**
+     * Holds a fixed field bearing while the chassis spins at 120 deg/s, retargeting
+     * every 20 ms loop like field-relative aiming does. Returns the worst error after
+     * the first half second.
+     */
+    private double maxTrackingErrorWhileSpinning(boolean feedforward) {
+        long[] now = {0L};
+        double[] angle = {0.0};
+        double[] velocity = {0.0};
+        double ticksPerDegree = Turret.TICKS_PER_REV / 360.0;
+
+        HardwareMap hardwareMap = mock(HardwareMap.class);
+        DcMotorEx mockMotor = mock(DcMotorEx.class);
+        when(hardwareMap.get(DcMotorEx.class, DEFAULT_MOTOR_NAME)).thenReturn(mockMotor);
+        when(mockMotor.getCurrentPosition()).thenAnswer(inv -> (int) Math.round(-angle[0] * ticksPerDegree));
+        when(mockMotor.getVelocity()).thenAnswer(inv -> -velocity[0] * ticksPerDegree);
+
+        Turret turret = new Turret(hardwareMap, DEFAULT_MOTOR_NAME, () -> now[0]);
+        turret.setChassisFeedforward(feedforward);
+
+        double chassisRate = 120.0;
+        double heading = -60.0;
+        double worst = 0.0;
+        double dt = 0.001;
+        for (int i = 0; i < 1000; i++) {
+            if (i % 20 == 0) {
+                // Same order as the TeleOp: update in the read phase, aim in the write phase
+                turret.setChassisAngularVelocity(chassisRate);
+                turret.update();
+                turret.setTargetAngle(-heading);
+            }
+            // Same plant as above plus static friction worth 0.05 power
+            double power = turret.getCurrentPower();
+            power -= velocity[0] != 0 ? 0.05 * Math.signum(velocity[0]) : Math.max(-0.05, Math.min(0.05, power));
+            double acceleration = (power * 3000.0 - velocity[0]) / 0.05;
+            velocity[0] += acceleration * dt;
+            angle[0] += velocity[0] * dt;
+            heading += chassisRate * dt;
+            now[0] += 1_000_000L;
+
+            if (i >= 500) {
+                worst = Math.max(worst, Math.abs(-heading - angle[0]));
+            }
+        }
+        return worst;
+    }
+
     private void assertDirectionMatchesPower(String direction, double power) {
         if (power > 0) {
             assertEquals("LEFT", direction);
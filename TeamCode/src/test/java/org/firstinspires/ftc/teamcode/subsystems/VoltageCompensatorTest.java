@@ -0,0 +1,121 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import org.firstinspires.ftc.teamcode.sim.SimClock;
+import org.firstinspires.ftc.teamcode.sim.SimDcMotorEx;
+import org.firstinspires.ftc.teamcode.sim.SimHardwareMap;
+import org.firstinspires.ftc.teamcode.sim.SimVoltageSensor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for VoltageCompensator and the subsystems that use it.
+ */
+class VoltageCompensatorTest {
+
+    private final SimClock clock = new SimClock();
+    private final SimVoltageSensor battery = new SimVoltageSensor("battery", 12.0);
+
+    @AfterEach
+    void tearDown() {
+        HardwareRegistry.reset();
+    }
+
+    @Test
+    void testReadsAtTheFixedRateHoweverOftenItIsAsked() {
+        VoltageCompensator compensator = new VoltageCompensator(battery, 10.0, 0.5, clock);
+        for (int i = 0; i < 500; i++) {
+            compensator.getVoltage();
+            compensator.compensate(0.5);
+            clock.advance(0.002);
+        }
+        // 1 s at 10 Hz, plus the first read
+        assertEquals(11, compensator.getReads(), 1);
+    }
+
+    @Test
+    void testFilterFollowsDrainButNotSag() {
+        VoltageCompensator compensator = new VoltageCompensator(battery, 10.0, 0.5, clock);
+        assertEquals(12.0, compensator.getVoltage(), 1e-12);
+
+        // A 100 ms sag while the drive accelerates barely moves the filtered voltage
+        battery.setVoltage(9.0);
+        clock.advance(0.1);
+        compensator.update();
+        battery.setVoltage(12.0);
+        assertTrue(compensator.getLastVoltage() > 11.4, "sagged to " + compensator.getLastVoltage());
+
+        // A lasting drop is followed within a few time constants
+        battery.setVoltage(11.0);
+        for (int i = 0; i < 30; i++) {
+            clock.advance(0.1);
+            compensator.update();
+        }
+        assertEquals(11.0, compensator.getLastVoltage(), 0.01);
+        assertEquals(11.0, compensator.getLastReading(), 0.0);
+    }
+
+    @Test
+    void testCompensatesToNominalAndClamps() {
+        battery.setVoltage(10.0);
+        VoltageCompensator compensator = new VoltageCompensator(battery, 10.0, 0.5, clock);
+
+        assertEquals(0.6, compensator.compensate(0.5), 1e-12);
+        assertEquals(-0.6, compensator.compensate(-0.5), 1e-12);
+        assertEquals(1.0, compensator.compensate(0.9), 0.0);
+
+        compensator.setEnabled(false);
+        assertEquals(0.5, compensator.compensate(0.5), 0.0);
+        assertEquals(10.0, compensator.getVoltage(), 1e-12);
+    }
+
+    @Test
+    void testIgnoresBrownoutsAndMissingSensor() {
+        VoltageCompensator compensator = new VoltageCompensator(battery, 10.0, 0.5, clock);
+        compensator.update();
+        battery.setVoltage(0.0);
+        clock.advance(0.2);
+        assertEquals(12.0, compensator.getVoltage(), 1e-12);
+
+        VoltageCompensator none = new VoltageCompensator(null, 10.0, 0.5, clock);
+        assertFalse(none.hasSensor());
+        assertEquals(VoltageCompensator.NOMINAL_VOLTAGE, none.getVoltage(), 0.0);
+        assertEquals(0.3, none.compensate(0.3), 0.0);
+    }
+
+    @Test
+    void testRejectsBadSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new VoltageCompensator(battery, 0.0, 0.5, clock));
+        assertThrows(IllegalArgumentException.class, () -> new VoltageCompensator(battery, 10.0, -1.0, clock));
+    }
+
+    @Test
+    void testSubsystemsShareOneCompensatedVoltage() {
+        SimHardwareMap hardwareMap = new SimHardwareMap(clock);
+        hardwareMap.add("battery", battery);
+        SimDcMotorEx turretMotor = hardwareMap.add("turretMotor",
+                new SimDcMotorEx("turretMotor", Turret.TICKS_PER_REV, 500, 0.05));
+        SimDcMotorEx intakeMotor = hardwareMap.add("intakeMotor",
+                new SimDcMotorEx("intakeMotor", Intake.TICKS_PER_REV, 512, 0.05));
+        battery.setVoltage(10.0);
+
+        HardwareRegistry.reset();
+        HardwareRegistry registry = HardwareRegistry.get(hardwareMap);
+        registry.setVoltageCompensator(new VoltageCompensator(hardwareMap, clock));
+        Turret turret = new Turret(hardwareMap, "turretMotor", clock);
+        Intake intake = registry.getIntake();
+
+        turret.setPower(0.5);
+        intake.setPower(0.5);
+
+        // The API still reports the power as commanded at 12 V
+        assertEquals(0.5, turret.getCurrentPower(), 0.0);
+        assertEquals(0.5, intake.getCurrentPower(), 0.0);
+        assertEquals(-0.6, turretMotor.getPower(), 1e-12);
+        assertEquals(0.6, intakeMotor.getPower(), 1e-12);
+        assertEquals(10.0, registry.getVoltageCompensator().getLastVoltage(), 1e-12);
+        assertEquals(1, registry.getVoltageCompensator().getReads());
+    }
+}
@@ -0,0 +1,80 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The drive path per loop: field-centric mecanum powers, ramped by four per-wheel
+ * slew rate limiters (the old TeleOp code) or by the DriveProfile the TeleOps use now.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DriveKinematicsBenchmark {
+
+    private static final int INPUTS = 1024;
+    private static final double LOOP_SECONDS = 0.02;
+
+    private final double[] sticks = new double[INPUTS];
+    private final double[] headings = new double[INPUTS];
+    private int next;
+
+    private final MecanumKinematics kinematics = new MecanumKinematics(0.85);
+    private final SlewRateLimiter frontLeft = new SlewRateLimiter(7.5);
+    private final SlewRateLimiter backLeft = new SlewRateLimiter(7.5);
+    private final SlewRateLimiter frontRight = new SlewRateLimiter(7.5);
+    private final SlewRateLimiter backRight = new SlewRateLimiter(7.5);
+    private final DriveProfile profile = new DriveProfile(0.85);
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < INPUTS; i++) {
+            sticks[i] = Math.sin(i * 0.37);
+            headings[i] = Math.PI * Math.cos(i * 0.11);
+        }
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (INPUTS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public void mecanumPowers(Blackhole bh) {
+        int i = nextIndex();
+        kinematics.calculate(sticks[i], sticks[(i + 7) & (INPUTS - 1)], sticks[(i + 13) & (INPUTS - 1)], headings[i]);
+        bh.consume(kinematics.getFrontLeft());
+        bh.consume(kinematics.getBackLeft());
+        bh.consume(kinematics.getFrontRight());
+        bh.consume(kinematics.getBackRight());
+    }
+
+    @Benchmark
+    public void mecanumPowersRamped(Blackhole bh) {
+        int i = nextIndex();
+        kinematics.calculate(sticks[i], sticks[(i + 7) & (INPUTS - 1)], sticks[(i + 13) & (INPUTS - 1)], headings[i]);
+        bh.consume(frontLeft.calculate(kinematics.getFrontLeft(), LOOP_SECONDS));
+        bh.consume(backLeft.calculate(kinematics.getBackLeft(), LOOP_SECONDS));
+        bh.consume(frontRight.calculate(kinematics.getFrontRight(), LOOP_SECONDS));
+        bh.consume(backRight.calculate(kinematics.getBackRight(), LOOP_SECONDS));
+    }
+
+    @Benchmark
+    public void driveProfile(Blackhole bh) {
+        int i = nextIndex();
+        profile.calculate(sticks[i], sticks[(i + 7) & (INPUTS - 1)], sticks[(i + 13) & (INPUTS - 1)], headings[i],
+                LOOP_SECONDS);
+        bh.consume(profile.getFrontLeft());
+        bh.consume(profile.getBackLeft());
+        bh.consume(profile.getFrontRight());
+        bh.consume(profile.getBackRight());
+    }
+}
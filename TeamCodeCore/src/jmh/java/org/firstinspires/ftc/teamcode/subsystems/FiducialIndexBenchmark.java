@@ -0,0 +1,79 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-frame tag indexing as LimelightVision does it: rebuild the index for a frame,
+ * then answer the by-id and closest-of queries one loop makes.
+ *
+ * The scan benchmark is the linear search over the detections the index replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FiducialIndexBenchmark {
+
+    private static final int[] GOAL_TAGS = {20, 24};
+
+    @Param({"2", "8"})
+    public int tagsPerFrame;
+
+    private int[] ids;
+    private double[] areas;
+    private final FiducialIndex index = new FiducialIndex();
+
+    @Setup
+    public void setup() {
+        ids = new int[tagsPerFrame];
+        areas = new double[tagsPerFrame];
+        for (int i = 0; i < tagsPerFrame; i++) {
+            // Goal tags last, so the scan has to walk the whole frame
+            ids[i] = i < tagsPerFrame - 2 ? 1 + i : GOAL_TAGS[i - (tagsPerFrame - 2)];
+            areas[i] = 0.2 + 0.1 * i;
+        }
+    }
+
+    @Benchmark
+    public int indexFrame() {
+        index.clear();
+        for (int i = 0; i < ids.length; i++) {
+            index.add(ids[i], areas[i]);
+        }
+        return index.find(20) + index.find(24) + index.findClosest(GOAL_TAGS);
+    }
+
+    @Benchmark
+    public int scanFrame() {
+        return scan(20) + scan(24) + scanClosest(GOAL_TAGS);
+    }
+
+    private int scan(int id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) return i;
+        }
+        return -1;
+    }
+
+    private int scanClosest(int[] tagIds) {
+        int closest = -1;
+        double maxArea = 0;
+        for (int i = 0; i < ids.length; i++) {
+            for (int targetId : tagIds) {
+                if (ids[i] == targetId && (closest == -1 || areas[i] > maxArea)) {
+                    closest = i;
+                    maxArea = areas[i];
+                }
+            }
+        }
+        return closest;
+    }
+}
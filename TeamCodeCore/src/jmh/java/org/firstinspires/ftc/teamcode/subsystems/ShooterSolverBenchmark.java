@@ -0,0 +1,75 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launch solvers, per call: analytic vacuum, drag integration, and the
+ * shoot-on-the-move iteration over the solution table.
+ *
+ * Distances cycle through a precomputed spread so the JIT cannot fold the math.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ShooterSolverBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    private final double[] distances = new double[INPUTS];
+    private final double[] robotX = new double[INPUTS];
+    private final double[] robotY = new double[INPUTS];
+    private int next;
+
+    private ShooterKinematics kinematics;
+    private DragShotSolver drag;
+    private MovingShotSolver moving;
+
+    @Setup
+    public void setup() {
+        kinematics = new ShooterKinematics();
+        drag = new DragShotSolver(kinematics);
+        ShooterSolutionTable table = new ShooterSolutionTable(kinematics, 0.1, 5.2);
+        moving = new MovingShotSolver(table, kinematics, 0.1);
+
+        for (int i = 0; i < INPUTS; i++) {
+            distances[i] = 0.5 + 4.0 * i / INPUTS;
+            robotX[i] = 24.0 + 96.0 * ((i * 37) % INPUTS) / INPUTS;
+            robotY[i] = 24.0 + 96.0 * ((i * 91) % INPUTS) / INPUTS;
+        }
+        // Warm the table so the first measured call does not include the build
+        table.getLaunchVelocity(1.0);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (INPUTS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public double vacuumLaunchVelocity() {
+        return kinematics.calculateLaunchVelocity(distances[nextIndex()]);
+    }
+
+    @Benchmark
+    public double dragLaunchVelocity() {
+        return drag.calculateLaunchVelocity(distances[nextIndex()]);
+    }
+
+    @Benchmark
+    public void movingShotSolve(Blackhole bh) {
+        int i = nextIndex();
+        bh.consume(moving.solve(robotX[i], robotY[i], 0.3, 20.0, -15.0,
+                FieldGoals.BLUE_BASKET_X, FieldGoals.BLUE_BASKET_Y));
+        bh.consume(moving.getRequiredRPM());
+        bh.consume(moving.getLeadAngleDegrees());
+    }
+}
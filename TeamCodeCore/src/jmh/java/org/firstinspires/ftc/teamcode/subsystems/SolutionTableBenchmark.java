@@ -0,0 +1,67 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interpolated lookups in ShooterSolutionTable against the analytic solver they replace.
+ *
+ * The out-of-range case measures the fallback path (solver call plus counter).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SolutionTableBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    private final double[] inRange = new double[INPUTS];
+    private final double[] outOfRange = new double[INPUTS];
+    private int next;
+
+    private ShooterKinematics kinematics;
+    private ShooterSolutionTable table;
+
+    @Setup
+    public void setup() {
+        kinematics = new ShooterKinematics();
+        table = new ShooterSolutionTable(kinematics, 0.5, 4.5);
+        for (int i = 0; i < INPUTS; i++) {
+            inRange[i] = 0.6 + 3.8 * i / INPUTS;
+            outOfRange[i] = 4.6 + 0.5 * i / INPUTS;
+        }
+        table.rebuild();
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (INPUTS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public double tableLaunchVelocity() {
+        return table.getLaunchVelocity(inRange[nextIndex()]);
+    }
+
+    @Benchmark
+    public double tableTimeOfFlight() {
+        return table.getTimeOfFlight(inRange[nextIndex()]);
+    }
+
+    @Benchmark
+    public double tableFallback() {
+        return table.getLaunchVelocity(outOfRange[nextIndex()]);
+    }
+
+    @Benchmark
+    public double analyticLaunchVelocity() {
+        return kinematics.calculateLaunchVelocity(inRange[nextIndex()]);
+    }
+}
@@ -0,0 +1,276 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * Numerical projectile solver with quadratic air drag and optional Magnus lift.
+ *
+ * ShooterKinematics assumes a vacuum. That makes the foam ball land short at long
+ * range, and fitting field data to it is guesswork. This solver integrates the
+ * trajectory with RK4 and searches on exit velocity (Illinois false position)
+ * until the ball crosses the basket height at the target distance.
+ *
+ * Integrating takes milliseconds, so never call this from the loop. Hand it to
+ * {@link ShooterSolutionTable} at init; the table answers the loop, and only
+ * shots outside its range (or next to the unreachable edge) are solved here.
+ *
+ * Forces (per unit mass):
+ * - drag: -kD * |v| * v, with kD = 0.5 * rho * Cd * A / m
+ * - lift: kL * |v| * (v rotated 90 degrees up), with kL = 0.5 * rho * Cl * A / m.
+ *   Backspin from the bottom flywheel turning faster than the top gives Cl > 0.
+ *
+ * Launch height, basket height and launch angle come from the ShooterKinematics
+ * passed in, so both models always describe the same robot.
+ */
+public class DragShotSolver implements LaunchSolver {
+
+    private static final double GRAVITY = 9.81; // m/s^2
+
+    // DECODE artifact defaults (MEASURE FOR YOUR BALLS)
+    public static final double DEFAULT_BALL_MASS = 0.075;      // kg
+    public static final double DEFAULT_BALL_DIAMETER = 0.127;  // m (5 in)
+    public static final double DEFAULT_DRAG_COEFFICIENT = 0.47; // smooth sphere
+    public static final double DEFAULT_AIR_DENSITY = 1.2;      // kg/m^3
+
+    // Integration settings
+    private static final double TIME_STEP = 0.004;   // s
+    private static final double MAX_FLIGHT_TIME = 5.0; // s
+    private static final int MAX_SOLVER_STEPS = 60;
+    private static final int MAX_BRACKET_WIDENINGS = 8;
+    private static final double VELOCITY_TOLERANCE = 1e-5; // m/s
+    private static final double HEIGHT_TOLERANCE = 1e-6;   // m
+
+    private final ShooterKinematics geometry;
+
+    private double ballMass = DEFAULT_BALL_MASS;
+    private double ballDiameter = DEFAULT_BALL_DIAMETER;
+    private double dragCoefficient = DEFAULT_DRAG_COEFFICIENT;
+    private double liftCoefficient = 0.0;
+    private double airDensity = DEFAULT_AIR_DENSITY;
+
+    // Derived per-mass coefficients
+    private double kDrag;
+    private double kLift;
+
+    // Results of the last simulate() call
+    private double crossingHeight;
+    private double crossingTime;
+
+    // RK4 scratch state, so simulating allocates nothing
+    private final double[] state = new double[4];
+    private final double[] k1 = new double[4];
+    private final double[] k2 = new double[4];
+    private final double[] k3 = new double[4];
+    private final double[] k4 = new double[4];
+    private final double[] tmp = new double[4];
+
+    /**
+     * @param geometry Kinematics providing launch height, basket height and launch angle
+     */
+    public DragShotSolver(ShooterKinematics geometry) {
+        this.geometry = geometry;
+        updateCoefficients();
+    }
+
+    /**
+     * Configures the ball and air.
+     *
+     * @param ballMass        Ball mass in kg
+     * @param ballDiameter    Ball diameter in meters
+     * @param dragCoefficient Drag coefficient (about 0.47 for a sphere)
+     * @param liftCoefficient Magnus lift coefficient from backspin (0 = no spin)
+     */
+    public void configureBall(double ballMass, double ballDiameter,
+                              double dragCoefficient, double liftCoefficient) {
+        if (ballMass <= 0 || ballDiameter <= 0) {
+            throw new IllegalArgumentException(
+                    "Ball mass and diameter must be positive: " + ballMass + ", " + ballDiameter);
+        }
+        this.ballMass = ballMass;
+        this.ballDiameter = ballDiameter;
+        this.dragCoefficient = dragCoefficient;
+        this.liftCoefficient = liftCoefficient;
+        updateCoefficients();
+    }
+
+    /**
+     * @param airDensity Air density in kg/m^3 (1.2 at sea level, about 1.0 at altitude)
+     */
+    public void setAirDensity(double airDensity) {
+        this.airDensity = airDensity;
+        updateCoefficients();
+    }
+
+    private void updateCoefficients() {
+        double area = Math.PI * ballDiameter * ballDiameter / 4.0;
+        kDrag = 0.5 * airDensity * dragCoefficient * area / ballMass;
+        kLift = 0.5 * airDensity * liftCoefficient * area / ballMass;
+    }
+
+    /**
+     * Solves for the exit velocity that puts the ball at basket height at the
+     * given distance.
+     *
+     * @param horizontalDistance Distance to target in meters
+     * @return Required launch velocity in m/s, or -1 if unreachable
+     */
+    @Override
+    public double calculateLaunchVelocity(double horizontalDistance) {
+        if (!(horizontalDistance > 0)) return -1;
+
+        double targetHeight = geometry.getBasketHeight();
+
+        // Drag needs more speed than vacuum and lift needs less; bracket around the vacuum answer
+        double vacuum = geometry.calculateLaunchVelocity(horizontalDistance);
+        if (vacuum <= 0) return -1;
+        double low = 0.5 * vacuum;
+        double high = 4.0 * vacuum;
+
+        double highError = heightError(high, horizontalDistance, targetHeight);
+        if (highError < 0) {
+            return -1; // Even a very fast shot falls short
+        }
+        double lowError = heightError(low, horizontalDistance, targetHeight);
+        for (int i = 0; i < MAX_BRACKET_WIDENINGS && lowError >= 0; i++) {
+            // Strong lift can need less than half the vacuum speed; move the low end down
+            high = low;
+            highError = lowError;
+            low *= 0.5;
+            lowError = heightError(low, horizontalDistance, targetHeight);
+        }
+        if (lowError >= 0) {
+            return -1; // Even a very slow shot clears the target height; no crossing to solve for
+        }
+
+        // Height at the target grows with exit velocity, so [low, high] brackets the answer.
+        // False position converges in a few steps; halving the stale end (Illinois)
+        // keeps it from stalling, and it bisects while the low end never reaches the target.
+        int staleSide = 0;
+        double v = high;
+        for (int i = 0; i < MAX_SOLVER_STEPS && high - low > VELOCITY_TOLERANCE; i++) {
+            if (Double.isInfinite(lowError)) {
+                v = 0.5 * (low + high);
+            } else {
+                v = (low * highError - high * lowError) / (highError - lowError);
+            }
+            double error = heightError(v, horizontalDistance, targetHeight);
+            if (Math.abs(error) < HEIGHT_TOLERANCE) {
+                return v;
+            }
+            if (error < 0) {
+                low = v;
+                lowError = error;
+                if (staleSide == 1) highError *= 0.5;
+                staleSide = 1;
+            } else {
+                high = v;
+                highError = error;
+                if (staleSide == -1 && !Double.isInfinite(lowError)) lowError *= 0.5;
+                staleSide = -1;
+            }
+        }
+        return v;
+    }
+
+    /**
+     * @param horizontalDistance Distance to target in meters
+     * @param launchVelocity     Launch velocity in m/s
+     * @return Time for the ball to travel the horizontal distance, or -1 if it never gets there
+     */
+    @Override
+    public double calculateTimeOfFlight(double horizontalDistance, double launchVelocity) {
+        if (!simulate(launchVelocity, horizontalDistance)) return -1;
+        return crossingTime;
+    }
+
+    /**
+     * Height of the ball when it reaches the given distance.
+     *
+     * @param launchVelocity     Launch velocity in m/s
+     * @param horizontalDistance Distance in meters
+     * @return Height in meters, or NaN if the ball never gets that far
+     */
+    public double calculateHeightAtDistance(double launchVelocity, double horizontalDistance) {
+        return simulate(launchVelocity, horizontalDistance) ? crossingHeight : Double.NaN;
+    }
+
+    private double heightError(double launchVelocity, double horizontalDistance, double targetHeight) {
+        if (!simulate(launchVelocity, horizontalDistance)) return Double.NEGATIVE_INFINITY;
+        return crossingHeight - targetHeight;
+    }
+
+    /**
+     * Integrates until the ball reaches the distance, hits the ground or times out.
+     * Sets crossingHeight and crossingTime on success.
+     */
+    private boolean simulate(double launchVelocity, double horizontalDistance) {
+        double angle = Math.toRadians(geometry.getLaunchAngle());
+        state[0] = 0;
+        state[1] = geometry.getShooterHeight();
+        state[2] = launchVelocity * Math.cos(angle);
+        state[3] = launchVelocity * Math.sin(angle);
+
+        double t = 0;
+        while (t < MAX_FLIGHT_TIME) {
+            double prevX = state[0];
+            double prevY = state[1];
+
+            step(TIME_STEP);
+            t += TIME_STEP;
+
+            if (state[0] >= horizontalDistance) {
+                // Interpolate within the step to the exact distance
+                double f = (horizontalDistance - prevX) / (state[0] - prevX);
+                crossingHeight = prevY + f * (state[1] - prevY);
+                crossingTime = t - TIME_STEP + f * TIME_STEP;
+                return true;
+            }
+            if (state[1] < 0 || state[2] <= 0) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void step(double dt) {
+        derivative(state, k1);
+        for (int i = 0; i < 4; i++) tmp[i] = state[i] + 0.5 * dt * k1[i];
+        derivative(tmp, k2);
+        for (int i = 0; i < 4; i++) tmp[i] = state[i] + 0.5 * dt * k2[i];
+        derivative(tmp, k3);
+        for (int i = 0; i < 4; i++) tmp[i] = state[i] + dt * k3[i];
+        derivative(tmp, k4);
+        for (int i = 0; i < 4; i++) {
+            state[i] += dt / 6.0 * (k1[i] + 2 * k2[i] + 2 * k3[i] + k4[i]);
+        }
+    }
+
+    private void derivative(double[] s, double[] out) {
+        double vx = s[2];
+        double vy = s[3];
+        double speed = Math.sqrt(vx * vx + vy * vy);
+
+        out[0] = vx;
+        out[1] = vy;
+        out[2] = -kDrag * speed * vx - kLift * speed * vy;
+        out[3] = -GRAVITY - kDrag * speed * vy + kLift * speed * vx;
+    }
+
+    public double getBallMass() {
+        return ballMass;
+    }
+
+    public double getBallDiameter() {
+        return ballDiameter;
+    }
+
+    public double getDragCoefficient() {
+        return dragCoefficient;
+    }
+
+    public double getLiftCoefficient() {
+        return liftCoefficient;
+    }
+
+    public double getAirDensity() {
+        return airDensity;
+    }
+}
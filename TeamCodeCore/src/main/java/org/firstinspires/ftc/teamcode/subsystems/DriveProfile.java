@@ -0,0 +1,255 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * Field-centric mecanum drive powers with time-based acceleration limits, sized to
+ * what the drive belts tolerate.
+ *
+ * Each loop:
+ * - the stick inputs (strafe, forward, turn) are jerk-limited as a chassis command,
+ *   before the mecanum math, so the robot accelerates along the direction the driver
+ *   asked for instead of each wheel ramping on its own
+ * - {@link MecanumKinematics} turns the limited command into wheel powers
+ * - the change of each wheel power is capped at the belt limit. If any wheel would
+ *   change faster, all four changes are scaled down together, so the wheels keep
+ *   their ratio and the worst wheel changes exactly as fast as the belts allow
+ *
+ * Rates are per second of measured loop time, so the ramp does not change with the
+ * loop rate. A loop longer than the max step (a stall) is counted as the max step,
+ * so the first write after it is not one big jump.
+ *
+ * Skipped-belt risk is reported as the fastest wheel power change commanded and the
+ * fastest one requested before the belt cap, plus how often and how long the cap
+ * had to hold the wheels back. A requested rate well above the cap means the limits
+ * upstream (or the driver) ask for more than the belts take.
+ *
+ * {@link #calculate} writes the powers into fields, so it allocates nothing.
+ */
+public class DriveProfile {
+
+    // Stick units (full stick = 1) per second; 7.5/s is the old 0.15 per loop at 50 Hz
+    public static final double DEFAULT_MAX_ACCELERATION = 7.5;
+    public static final double DEFAULT_MAX_JERK = 75.0;        // full acceleration in 0.1 s
+    public static final double DEFAULT_MAX_WHEEL_RATE = 7.5;   // wheel power per second (TUNE ON THE ROBOT)
+    public static final double DEFAULT_MAX_STEP_SECONDS = 0.05;
+
+    private static final int WHEELS = 4;
+    private static final int FRONT_LEFT = 0;
+    private static final int BACK_LEFT = 1;
+    private static final int FRONT_RIGHT = 2;
+    private static final int BACK_RIGHT = 3;
+
+    private final MecanumKinematics kinematics;
+    private final JerkLimiter strafe;
+    private final JerkLimiter forward;
+    private final JerkLimiter turn;
+    private double maxWheelRate = DEFAULT_MAX_WHEEL_RATE;
+    private double maxStepSeconds = DEFAULT_MAX_STEP_SECONDS;
+
+    private final double[] requested = new double[WHEELS];
+    private final double[] powers = new double[WHEELS];
+
+    // Belt risk statistics
+    private double lastWheelRate;
+    private double peakWheelRate;
+    private double peakRequestedWheelRate;
+    private double beltLimitedSeconds;
+    private long beltLimitedEvents;
+    private boolean beltLimited;
+    private long stalls;
+
+    /**
+     * Uses the default limits.
+     *
+     * @param maxPower Largest allowed wheel power (0-1]
+     */
+    public DriveProfile(double maxPower) {
+        this(new MecanumKinematics(maxPower), DEFAULT_MAX_ACCELERATION, DEFAULT_MAX_JERK);
+    }
+
+    /**
+     * @param kinematics      Mecanum math, with its power limit
+     * @param maxAcceleration Largest change of each chassis input per second
+     * @param maxJerk         Largest change of that acceleration per second, or
+     *                        {@link Double#POSITIVE_INFINITY} for plain slew limiting
+     */
+    public DriveProfile(MecanumKinematics kinematics, double maxAcceleration, double maxJerk) {
+        this.kinematics = kinematics;
+        this.strafe = new JerkLimiter(maxAcceleration, maxJerk);
+        this.forward = new JerkLimiter(maxAcceleration, maxJerk);
+        this.turn = new JerkLimiter(maxAcceleration, maxJerk);
+    }
+
+    /**
+     * @param maxAcceleration Largest change of each chassis input per second
+     * @param maxJerk         Largest change of that acceleration per second
+     */
+    public void setChassisLimits(double maxAcceleration, double maxJerk) {
+        strafe.setLimits(maxAcceleration, maxJerk);
+        forward.setLimits(maxAcceleration, maxJerk);
+        turn.setLimits(maxAcceleration, maxJerk);
+    }
+
+    /**
+     * @param powerPerSecond Fastest change of any wheel power the belts tolerate
+     */
+    public void setMaxWheelRate(double powerPerSecond) {
+        if (!(powerPerSecond > 0)) {
+            throw new IllegalArgumentException("Max wheel rate must be positive: " + powerPerSecond);
+        }
+        this.maxWheelRate = powerPerSecond;
+    }
+
+    /**
+     * @param seconds Longest loop time the limits are applied over
+     */
+    public void setMaxStepSeconds(double seconds) {
+        if (!(seconds > 0)) {
+            throw new IllegalArgumentException("Max step must be positive: " + seconds);
+        }
+        this.maxStepSeconds = seconds;
+    }
+
+    /**
+     * Computes wheel powers. Results are read with the getters.
+     *
+     * @param x         Strafe input, right positive
+     * @param y         Forward input
+     * @param rx        Turn input, clockwise positive
+     * @param heading   Robot heading in radians; 0 for robot-centric driving
+     * @param dtSeconds Time since the previous call; 0 or less holds the current powers
+     */
+    public void calculate(double x, double y, double rx, double heading, double dtSeconds) {
+        if (!(dtSeconds > 0)) {
+            return;
+        }
+        double step = dtSeconds;
+        if (step > maxStepSeconds) {
+            step = maxStepSeconds;
+            stalls++;
+        }
+
+        kinematics.calculate(strafe.calculate(x, step), forward.calculate(y, step), turn.calculate(rx, step), heading);
+        requested[FRONT_LEFT] = kinematics.getFrontLeft();
+        requested[BACK_LEFT] = kinematics.getBackLeft();
+        requested[FRONT_RIGHT] = kinematics.getFrontRight();
+        requested[BACK_RIGHT] = kinematics.getBackRight();
+
+        double largestChange = 0.0;
+        for (int i = 0; i < WHEELS; i++) {
+            largestChange = Math.max(largestChange, Math.abs(requested[i] - powers[i]));
+        }
+        double requestedRate = largestChange / step;
+        double scale = 1.0;
+        boolean limited = requestedRate > maxWheelRate;
+        if (limited) {
+            scale = maxWheelRate / requestedRate;
+        }
+        for (int i = 0; i < WHEELS; i++) {
+            powers[i] += scale * (requested[i] - powers[i]);
+        }
+
+        lastWheelRate = requestedRate * scale;
+        peakWheelRate = Math.max(peakWheelRate, lastWheelRate);
+        peakRequestedWheelRate = Math.max(peakRequestedWheelRate, requestedRate);
+        if (limited) {
+            beltLimitedSeconds += step;
+            if (!beltLimited) beltLimitedEvents++;
+        }
+        beltLimited = limited;
+    }
+
+    /**
+     * Stops at once: every input and wheel power goes to 0. Use when the drive is
+     * disabled, not for normal driving.
+     */
+    public void reset() {
+        strafe.reset(0.0);
+        forward.reset(0.0);
+        turn.reset(0.0);
+        for (int i = 0; i < WHEELS; i++) {
+            powers[i] = 0.0;
+        }
+        lastWheelRate = 0.0;
+        beltLimited = false;
+    }
+
+    /**
+     * Clears the belt risk statistics (e.g. after init).
+     */
+    public void resetStats() {
+        peakWheelRate = 0.0;
+        peakRequestedWheelRate = 0.0;
+        beltLimitedSeconds = 0.0;
+        beltLimitedEvents = 0;
+        stalls = 0;
+    }
+
+    public MecanumKinematics getKinematics() {
+        return kinematics;
+    }
+
+    public double getFrontLeft() {
+        return powers[FRONT_LEFT];
+    }
+
+    public double getBackLeft() {
+        return powers[BACK_LEFT];
+    }
+
+    public double getFrontRight() {
+        return powers[FRONT_RIGHT];
+    }
+
+    public double getBackRight() {
+        return powers[BACK_RIGHT];
+    }
+
+    /**
+     * @return Fastest wheel power change in the last loop, per second
+     */
+    public double getWheelRate() {
+        return lastWheelRate;
+    }
+
+    /**
+     * @return Fastest wheel power change sent, per second; at most the belt limit
+     */
+    public double getPeakWheelRate() {
+        return peakWheelRate;
+    }
+
+    /**
+     * @return Fastest wheel power change asked for before the belt cap, per second
+     */
+    public double getPeakRequestedWheelRate() {
+        return peakRequestedWheelRate;
+    }
+
+    /**
+     * @return true if the belt cap held the wheels back in the last loop
+     */
+    public boolean isBeltLimited() {
+        return beltLimited;
+    }
+
+    /**
+     * @return Total time the belt cap held the wheels back, in seconds
+     */
+    public double getBeltLimitedSeconds() {
+        return beltLimitedSeconds;
+    }
+
+    /**
+     * @return Number of separate stretches in which the belt cap held the wheels back
+     */
+    public long getBeltLimitedEvents() {
+        return beltLimitedEvents;
+    }
+
+    /**
+     * @return Loops longer than the max step
+     */
+    public long getStalls() {
+        return stalls;
+    }
+}
@@ -0,0 +1,119 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import java.util.Arrays;
+
+/**
+ * Per-frame lookup table from AprilTag id to detection slot.
+ *
+ * Built once per Limelight frame so that tag queries are O(1) array reads instead of
+ * a scan over every fiducial. Slots are the positions of the detections in the
+ * frame's fiducial list. Nothing is allocated after construction unless a frame has
+ * more tags than ever seen before.
+ *
+ * Lookups keep the original scan semantics:
+ * - by id: the first detection with that id wins
+ * - closest: the first detection with the strictly largest area wins
+ */
+final class FiducialIndex {
+
+    // Ids at or below this go in the direct table; larger ids fall back to a scan
+    static final int MAX_DIRECT_ID = 127;
+
+    private final int[] slotById = new int[MAX_DIRECT_ID + 1];
+    // slotById[id] is only valid when stampById[id] == stamp, so clearing is O(1)
+    private final int[] stampById = new int[MAX_DIRECT_ID + 1];
+    private int stamp = 0;
+
+    private int[] ids = new int[16];
+    private double[] areas = new double[16];
+    private int count = 0;
+
+    /**
+     * Starts a new frame; all previous entries are forgotten.
+     */
+    void clear() {
+        count = 0;
+        stamp++;
+        if (stamp == 0) {
+            // Wrapped around; reset so stale stamps cannot match
+            Arrays.fill(stampById, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Adds the next detection of the frame.
+     *
+     * @param id   AprilTag id
+     * @param area Target area (0-100)
+     * @return Slot of the detection
+     */
+    int add(int id, double area) {
+        if (count == ids.length) {
+            ids = Arrays.copyOf(ids, count * 2);
+            areas = Arrays.copyOf(areas, count * 2);
+        }
+        int slot = count++;
+        ids[slot] = id;
+        areas[slot] = area;
+
+        // Keep the first detection for each id
+        if (id >= 0 && id <= MAX_DIRECT_ID && stampById[id] != stamp) {
+            stampById[id] = stamp;
+            slotById[id] = slot;
+        }
+        return slot;
+    }
+
+    /**
+     * @param id AprilTag id
+     * @return Slot of the first detection with that id, or -1 if not in the frame
+     */
+    int find(int id) {
+        if (id >= 0 && id <= MAX_DIRECT_ID) {
+            return stampById[id] == stamp ? slotById[id] : -1;
+        }
+        for (int i = 0; i < count; i++) {
+            if (ids[i] == id) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the detection with the largest area among the given ids.
+     *
+     * @param tagIds Ids to consider
+     * @return Slot of the closest detection, or -1 if none of the ids are in the frame
+     */
+    int findClosest(int[] tagIds) {
+        int closest = -1;
+        double maxArea = 0;
+
+        for (int i = 0; i < count; i++) {
+            for (int targetId : tagIds) {
+                if (ids[i] == targetId) {
+                    if (closest == -1 || areas[i] > maxArea) {
+                        closest = i;
+                        maxArea = areas[i];
+                    }
+                }
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * @param slot Detection slot, below {@link #size()}
+     * @return AprilTag id of the detection
+     */
+    int getId(int slot) {
+        return ids[slot];
+    }
+
+    /**
+     * @return Number of detections in the current frame
+     */
+    int size() {
+        return count;
+    }
+}
@@ -0,0 +1,50 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * Basket positions in Pedro Pathing field coordinates (inches, 144 x 144 field).
+ *
+ * Red positions are mirrored from blue the same way RedPaths mirrors BluePaths:
+ * y' = 144 - y, x unchanged.
+ *
+ * MEASURE THESE: the values below are the center of the basket opening as
+ * estimated from the field drawing.
+ */
+public final class FieldGoals {
+
+    public static final double FIELD_SIZE = 144.0;
+
+    public static final double BLUE_BASKET_X = 12.0;
+    public static final double BLUE_BASKET_Y = 132.0;
+
+    public static final double RED_BASKET_X = BLUE_BASKET_X;
+    public static final double RED_BASKET_Y = mirrorY(BLUE_BASKET_Y);
+
+    private FieldGoals() {
+    }
+
+    /**
+     * Mirrors a y coordinate between the blue and red sides of the field.
+     *
+     * @param y Field y in inches
+     * @return Mirrored field y in inches
+     */
+    public static double mirrorY(double y) {
+        return FIELD_SIZE - y;
+    }
+
+    /**
+     * @param isRedAlliance true for red alliance, false for blue
+     * @return Basket x in inches
+     */
+    public static double basketX(boolean isRedAlliance) {
+        return isRedAlliance ? RED_BASKET_X : BLUE_BASKET_X;
+    }
+
+    /**
+     * @param isRedAlliance true for red alliance, false for blue
+     * @return Basket y in inches
+     */
+    public static double basketY(boolean isRedAlliance) {
+        return isRedAlliance ? RED_BASKET_Y : BLUE_BASKET_Y;
+    }
+}
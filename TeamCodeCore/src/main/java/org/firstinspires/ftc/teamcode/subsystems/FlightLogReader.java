@@ -0,0 +1,151 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a log written by {@link FlightRecorder}.
+ *
+ * Records are addressed by sequence number. Only the last {@code capacity}
+ * sequences survive the ring; {@link #getFirstSequence()} is the oldest one still
+ * in the file. A record whose stored sequence does not match (overwritten, or cut
+ * off by a crash mid-write) is reported as missing rather than returned garbled.
+ */
+public class FlightLogReader {
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final int recordSize;
+    private final int headerSize;
+    private final long recordCount;
+    private final long startEpochMillis;
+    private final String opModeName;
+
+    /**
+     * @param logFile Log written by FlightRecorder
+     * @throws IOException if the file cannot be read or is not a flight log
+     */
+    public FlightLogReader(File logFile) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(logFile, "r")) {
+            FileChannel channel = file.getChannel();
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.capacity() < FlightRecorder.HEADER_SIZE
+                || buffer.getInt(FlightRecorder.H_MAGIC) != FlightRecorder.MAGIC) {
+            throw new IOException("Not a flight log: " + logFile);
+        }
+        int version = buffer.getInt(FlightRecorder.H_VERSION);
+        if (version != FlightRecorder.VERSION) {
+            throw new IOException("Unsupported flight log version: " + version);
+        }
+        headerSize = buffer.getInt(FlightRecorder.H_HEADER_SIZE);
+        recordSize = buffer.getInt(FlightRecorder.H_RECORD_SIZE);
+        capacity = buffer.getInt(FlightRecorder.H_CAPACITY);
+        if (recordSize < FlightRecorder.RECORD_SIZE || capacity < 1
+                || buffer.capacity() < headerSize + (long) capacity * recordSize) {
+            throw new IOException("Truncated flight log: " + logFile);
+        }
+        startEpochMillis = buffer.getLong(FlightRecorder.H_START_MILLIS);
+
+        // The header count can lag the last record if the robot lost power; trust the records
+        long count = buffer.getLong(FlightRecorder.H_RECORD_COUNT);
+        while (hasRecord(count)) {
+            count++;
+        }
+        recordCount = count;
+
+        byte[] name = new byte[FlightRecorder.NAME_LENGTH];
+        int length = 0;
+        while (length < name.length && buffer.get(FlightRecorder.H_NAME + length) != 0) {
+            name[length] = buffer.get(FlightRecorder.H_NAME + length);
+            length++;
+        }
+        opModeName = new String(name, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private int offset(long sequence) {
+        return headerSize + (int) (sequence % capacity) * recordSize;
+    }
+
+    private boolean hasRecord(long sequence) {
+        return sequence >= 0 && buffer.getLong(offset(sequence) + FlightRecorder.R_SEQUENCE) == sequence;
+    }
+
+    /**
+     * Reads one record into a sample.
+     *
+     * @param sequence Record sequence number
+     * @param into     Sample to fill
+     * @return true if the record is in the file; false if overwritten, never written, or torn
+     */
+    public boolean read(long sequence, FlightSample into) {
+        if (sequence < getFirstSequence() || sequence >= recordCount || !hasRecord(sequence)) {
+            return false;
+        }
+        int base = offset(sequence);
+        into.sequence = sequence;
+        into.timeNanos = buffer.getLong(base + FlightRecorder.R_TIME);
+        into.frontLeftPower = buffer.getFloat(base + FlightRecorder.R_DRIVE);
+        into.backLeftPower = buffer.getFloat(base + FlightRecorder.R_DRIVE + 4);
+        into.frontRightPower = buffer.getFloat(base + FlightRecorder.R_DRIVE + 8);
+        into.backRightPower = buffer.getFloat(base + FlightRecorder.R_DRIVE + 12);
+        into.leftRPM = buffer.getFloat(base + FlightRecorder.R_SHOOTER);
+        into.rightRPM = buffer.getFloat(base + FlightRecorder.R_SHOOTER + 4);
+        into.targetRPM = buffer.getFloat(base + FlightRecorder.R_SHOOTER + 8);
+        into.turretPower = buffer.getFloat(base + FlightRecorder.R_TURRET_POWER);
+        into.turretTicks = buffer.getInt(base + FlightRecorder.R_TURRET_TICKS);
+        into.tx = buffer.getFloat(base + FlightRecorder.R_VISION);
+        into.ty = buffer.getFloat(base + FlightRecorder.R_VISION + 4);
+        into.ta = buffer.getFloat(base + FlightRecorder.R_VISION + 8);
+        int flags = buffer.getInt(base + FlightRecorder.R_FLAGS);
+        into.visionTarget = (flags & FlightRecorder.FLAG_VISION_TARGET) != 0;
+        into.poseValid = (flags & FlightRecorder.FLAG_POSE_VALID) != 0;
+        into.tagCount = Math.max(0, Math.min(FlightSample.MAX_TAGS, buffer.getInt(base + FlightRecorder.R_TAG_COUNT)));
+        for (int i = 0; i < into.tagCount; i++) {
+            into.tagIds[i] = buffer.getShort(base + FlightRecorder.R_TAG_IDS + 2 * i);
+        }
+        into.poseX = buffer.getDouble(base + FlightRecorder.R_POSE);
+        into.poseY = buffer.getDouble(base + FlightRecorder.R_POSE + 8);
+        into.poseHeading = buffer.getDouble(base + FlightRecorder.R_POSE + 16);
+        into.batteryVoltage = buffer.getFloat(base + FlightRecorder.R_BATTERY);
+        into.turretTargetDegrees = buffer.getFloat(base + FlightRecorder.R_TURRET_TARGET);
+        into.step = buffer.getInt(base + FlightRecorder.R_STEP);
+        return true;
+    }
+
+    /**
+     * @return Oldest sequence still in the ring
+     */
+    public long getFirstSequence() {
+        return Math.max(0, recordCount - capacity);
+    }
+
+    /**
+     * @return One past the newest sequence (records written by the recorder)
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return Wall-clock time the recording started, in epoch milliseconds
+     */
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    public String getOpModeName() {
+        return opModeName;
+    }
+}
@@ -0,0 +1,326 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Black-box recorder: one fixed-width binary record per control loop.
+ *
+ * The log file is sized and memory-mapped once in {@link #start}, and every page
+ * is touched up front. After that, {@link #record()} only stores primitives into
+ * the mapping at the next ring slot. It allocates nothing, makes no system calls,
+ * and never waits on storage; the kernel writes dirty pages back on its own.
+ * When the ring is full the oldest records are overwritten, so the log always
+ * holds the last {@code capacity} loops. {@link #stop()} flushes the file.
+ *
+ * A recorder that was never started, or failed to start, ignores record(), so
+ * OpModes can call it unconditionally. The file layout is in FLIGHT_RECORDER.md
+ * and {@link FlightLogReader} reads it back.
+ *
+ * Record layout (little-endian, byte offsets):
+ * <pre>
+ *   0 long   sequence        written last; marks the record complete
+ *   8 long   timeNanos       since start()
+ *  16 float  drive fl, bl, fr, br
+ *  32 float  leftRPM, rightRPM, targetRPM
+ *  44 float  turretPower
+ *  48 int    turretTicks
+ *  52 float  tx, ty, ta
+ *  64 int    flags           bit 0 vision target, bit 1 pose valid
+ *  68 int    tagCount
+ *  72 short  tagIds[8]
+ *  88 double poseX, poseY, poseHeading
+ * 112 float  batteryVoltage
+ * 116 float  turretTargetDegrees
+ * 120 int    step
+ * 124 int    reserved
+ * </pre>
+ */
+public class FlightRecorder {
+
+    public static final int MAGIC = 0x464C5452; // "FLTR"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 128;
+    public static final int RECORD_SIZE = 128;
+    public static final int NAME_LENGTH = 64;
+
+    /** About five minutes at 50 Hz, 2 MB on disk. */
+    public static final int DEFAULT_CAPACITY = 16384;
+
+    /** Logs kept per directory by {@link #pruneLogs}; 40 MB at the default capacity. */
+    public static final int DEFAULT_MAX_LOGS = 20;
+
+    public static final String LOG_EXTENSION = ".flr";
+
+    // Header offsets
+    static final int H_MAGIC = 0;
+    static final int H_VERSION = 4;
+    static final int H_HEADER_SIZE = 8;
+    static final int H_RECORD_SIZE = 12;
+    static final int H_CAPACITY = 16;
+    static final int H_START_MILLIS = 24;
+    static final int H_RECORD_COUNT = 32;
+    static final int H_NAME = 40;
+
+    // Record offsets
+    static final int R_SEQUENCE = 0;
+    static final int R_TIME = 8;
+    static final int R_DRIVE = 16;
+    static final int R_SHOOTER = 32;
+    static final int R_TURRET_POWER = 44;
+    static final int R_TURRET_TICKS = 48;
+    static final int R_VISION = 52;
+    static final int R_FLAGS = 64;
+    static final int R_TAG_COUNT = 68;
+    static final int R_TAG_IDS = 72;
+    static final int R_POSE = 88;
+    static final int R_BATTERY = 112;
+    static final int R_TURRET_TARGET = 116;
+    static final int R_STEP = 120;
+
+    static final int FLAG_VISION_TARGET = 1;
+    static final int FLAG_POSE_VALID = 1 << 1;
+
+    private static final int PAGE_SIZE = 4096;
+
+    private final int capacity;
+    private final NanoClock clock;
+    private final FlightSample sample = new FlightSample();
+
+    private RandomAccessFile file;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private File path;
+    private long startNanos;
+    private long recordCount;
+    private String error;
+
+    /**
+     * Constructs a recorder with {@link #DEFAULT_CAPACITY} on the system clock.
+     */
+    public FlightRecorder() {
+        this(DEFAULT_CAPACITY, NanoClock.SYSTEM);
+    }
+
+    /**
+     * @param capacity Records kept in the ring
+     * @param clock    Time source for record timestamps
+     */
+    public FlightRecorder(int capacity, NanoClock clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Flight recorder capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.clock = clock;
+    }
+
+    /**
+     * Builds a timestamped log file name, e.g. flightlogs/RedAuto-20260301-143012.flr.
+     *
+     * @param directory  Log directory
+     * @param opModeName Name of the recording OpMode
+     * @return Log file path
+     */
+    public static File newLogFile(File directory, String opModeName) {
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date());
+        return new File(directory, opModeName + "-" + stamp + LOG_EXTENSION);
+    }
+
+    /**
+     * Deletes the oldest logs in a directory until at most {@code keep} remain.
+     * Every OpMode init creates a new log, so call this before {@link #start}
+     * with one less than the number to keep.
+     *
+     * @param directory Log directory; a missing directory is left alone
+     * @param keep      Newest logs to keep
+     * @return Number of logs deleted
+     */
+    public static int pruneLogs(File directory, int keep) {
+        File[] logs = directory.listFiles((dir, name) -> name.endsWith(LOG_EXTENSION));
+        if (logs == null || logs.length <= keep) return 0;
+
+        // Newest first; names carry the start time, so they break ties within a second
+        Arrays.sort(logs, (a, b) -> {
+            int byTime = Long.compare(b.lastModified(), a.lastModified());
+            return byTime != 0 ? byTime : b.getName().compareTo(a.getName());
+        });
+        int deleted = 0;
+        for (int i = Math.max(0, keep); i < logs.length; i++) {
+            if (logs[i].delete()) deleted++;
+        }
+        return deleted;
+    }
+
+    /**
+     * Creates and maps the log file. Call during init; this is the only blocking step.
+     * A recorder that is already recording is stopped first.
+     *
+     * @param logFile    File to create (parent directories are created)
+     * @param opModeName Name stored in the header (truncated to 64 bytes)
+     * @return true if recording; false if the file could not be mapped (see {@link #getError()})
+     */
+    public boolean start(File logFile, String opModeName) {
+        stop();
+        error = null;
+        try {
+            File parent = logFile.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("Cannot create " + parent);
+            }
+            long size = HEADER_SIZE + (long) capacity * RECORD_SIZE;
+            file = new RandomAccessFile(logFile, "rw");
+            file.setLength(size);
+            channel = file.getChannel();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException | RuntimeException e) {
+            error = e.getMessage() != null ? e.getMessage() : e.toString();
+            closeQuietly();
+            return false;
+        }
+
+        // Fault every page in now so the first lap of the ring does not stall the loop
+        for (int i = 0; i < buffer.capacity(); i += PAGE_SIZE) {
+            buffer.put(i, (byte) 0);
+        }
+        // Mark every slot empty so a partly filled ring reads back cleanly
+        for (int slot = 0; slot < capacity; slot++) {
+            buffer.putLong(HEADER_SIZE + slot * RECORD_SIZE + R_SEQUENCE, -1L);
+        }
+
+        buffer.putInt(H_MAGIC, MAGIC);
+        buffer.putInt(H_VERSION, VERSION);
+        buffer.putInt(H_HEADER_SIZE, HEADER_SIZE);
+        buffer.putInt(H_RECORD_SIZE, RECORD_SIZE);
+        buffer.putInt(H_CAPACITY, capacity);
+        buffer.putLong(H_START_MILLIS, System.currentTimeMillis());
+        buffer.putLong(H_RECORD_COUNT, 0L);
+        byte[] name = opModeName.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < NAME_LENGTH; i++) {
+            buffer.put(H_NAME + i, i < name.length && i < NAME_LENGTH - 1 ? name[i] : 0);
+        }
+
+        path = logFile;
+        recordCount = 0;
+        startNanos = clock.nanoTime();
+        return true;
+    }
+
+    /**
+     * @return The sample to fill before each {@link #record()}
+     */
+    public FlightSample getSample() {
+        return sample;
+    }
+
+    /**
+     * Writes the sample as the next record. Does nothing unless recording.
+     */
+    public void record() {
+        if (buffer == null) return;
+
+        long sequence = recordCount;
+        int base = HEADER_SIZE + (int) (sequence % capacity) * RECORD_SIZE;
+        FlightSample s = sample;
+        s.sequence = sequence;
+        s.timeNanos = clock.nanoTime() - startNanos;
+
+        // Invalidate the slot first so a reader never sees half of two records
+        buffer.putLong(base + R_SEQUENCE, -1L);
+        buffer.putLong(base + R_TIME, s.timeNanos);
+        buffer.putFloat(base + R_DRIVE, s.frontLeftPower);
+        buffer.putFloat(base + R_DRIVE + 4, s.backLeftPower);
+        buffer.putFloat(base + R_DRIVE + 8, s.frontRightPower);
+        buffer.putFloat(base + R_DRIVE + 12, s.backRightPower);
+        buffer.putFloat(base + R_SHOOTER, s.leftRPM);
+        buffer.putFloat(base + R_SHOOTER + 4, s.rightRPM);
+        buffer.putFloat(base + R_SHOOTER + 8, s.targetRPM);
+        buffer.putFloat(base + R_TURRET_POWER, s.turretPower);
+        buffer.putInt(base + R_TURRET_TICKS, s.turretTicks);
+        buffer.putFloat(base + R_VISION, s.tx);
+        buffer.putFloat(base + R_VISION + 4, s.ty);
+        buffer.putFloat(base + R_VISION + 8, s.ta);
+        int flags = (s.visionTarget ? FLAG_VISION_TARGET : 0) | (s.poseValid ? FLAG_POSE_VALID : 0);
+        buffer.putInt(base + R_FLAGS, flags);
+        buffer.putInt(base + R_TAG_COUNT, s.tagCount);
+        for (int i = 0; i < FlightSample.MAX_TAGS; i++) {
+            buffer.putShort(base + R_TAG_IDS + 2 * i, i < s.tagCount ? (short) s.tagIds[i] : 0);
+        }
+        buffer.putDouble(base + R_POSE, s.poseX);
+        buffer.putDouble(base + R_POSE + 8, s.poseY);
+        buffer.putDouble(base + R_POSE + 16, s.poseHeading);
+        buffer.putFloat(base + R_BATTERY, s.batteryVoltage);
+        buffer.putFloat(base + R_TURRET_TARGET, s.turretTargetDegrees);
+        buffer.putInt(base + R_STEP, s.step);
+        buffer.putLong(base + R_SEQUENCE, sequence);
+
+        recordCount = sequence + 1;
+        buffer.putLong(H_RECORD_COUNT, recordCount);
+    }
+
+    /**
+     * Flushes and closes the log. Safe to call more than once.
+     */
+    public void stop() {
+        if (buffer != null) {
+            buffer.putLong(H_RECORD_COUNT, recordCount);
+            buffer.force();
+        }
+        closeQuietly();
+    }
+
+    private void closeQuietly() {
+        buffer = null;
+        channel = null;
+        if (file != null) {
+            try {
+                // The mapping stays valid after the channel closes
+                file.close();
+            } catch (IOException ignored) {
+                // Nothing useful to do while shutting down
+            }
+            file = null;
+        }
+    }
+
+    /**
+     * @return true between a successful {@link #start} and {@link #stop()}
+     */
+    public boolean isRecording() {
+        return buffer != null;
+    }
+
+    /**
+     * @return Records written since start, including any overwritten by the ring
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The current or last log file, or null if never started
+     */
+    public File getFile() {
+        return path;
+    }
+
+    /**
+     * @return Why the last {@link #start} failed, or null
+     */
+    public String getError() {
+        return error;
+    }
+}
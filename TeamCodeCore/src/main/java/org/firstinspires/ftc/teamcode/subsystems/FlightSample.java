@@ -0,0 +1,241 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * One control loop's worth of flight recorder data.
+ *
+ * OpModes fill the recorder's sample with the setters and call
+ * {@link FlightRecorder#record()}; {@link FlightLogReader} fills one back in when
+ * reading a log. The object is reused every loop, so filling it allocates nothing.
+ * Fields that an OpMode does not set keep their previous value.
+ *
+ * Units: powers -1..1, RPM, degrees, encoder ticks, Pedro inches and radians, volts.
+ */
+public final class FlightSample {
+
+    /** Most AprilTag ids kept per sample; further tags are dropped. */
+    public static final int MAX_TAGS = 8;
+
+    // Stamped by the recorder
+    long sequence;
+    long timeNanos;
+
+    float frontLeftPower;
+    float backLeftPower;
+    float frontRightPower;
+    float backRightPower;
+
+    float leftRPM;
+    float rightRPM;
+    float targetRPM;
+
+    float turretPower;
+    int turretTicks;
+    float turretTargetDegrees;
+
+    boolean visionTarget;
+    float tx;
+    float ty;
+    float ta;
+    int tagCount;
+    final int[] tagIds = new int[MAX_TAGS];
+
+    boolean poseValid;
+    double poseX;
+    double poseY;
+    double poseHeading;
+
+    float batteryVoltage;
+    int step = -1;
+
+    /**
+     * @param frontLeft  Front left drive power
+     * @param backLeft   Back left drive power
+     * @param frontRight Front right drive power
+     * @param backRight  Back right drive power
+     */
+    public void setDrive(double frontLeft, double backLeft, double frontRight, double backRight) {
+        frontLeftPower = (float) frontLeft;
+        backLeftPower = (float) backLeft;
+        frontRightPower = (float) frontRight;
+        backRightPower = (float) backRight;
+    }
+
+    /**
+     * @param left   Left flywheel RPM
+     * @param right  Right flywheel RPM
+     * @param target Commanded RPM
+     */
+    public void setShooter(double left, double right, double target) {
+        leftRPM = (float) left;
+        rightRPM = (float) right;
+        targetRPM = (float) target;
+    }
+
+    /**
+     * @param power         Turret motor power
+     * @param ticks         Turret encoder position
+     * @param targetDegrees Turret target angle
+     */
+    public void setTurret(double power, int ticks, double targetDegrees) {
+        turretPower = (float) power;
+        turretTicks = ticks;
+        turretTargetDegrees = (float) targetDegrees;
+    }
+
+    /**
+     * Sets the Limelight target and clears the tag list.
+     *
+     * @param hasTarget true if the frame has a valid target
+     * @param tx        Horizontal offset in degrees
+     * @param ty        Vertical offset in degrees
+     * @param ta        Target area (0-100)
+     */
+    public void setVision(boolean hasTarget, double tx, double ty, double ta) {
+        visionTarget = hasTarget;
+        this.tx = (float) tx;
+        this.ty = (float) ty;
+        this.ta = (float) ta;
+        tagCount = 0;
+    }
+
+    /**
+     * Adds a visible AprilTag id; ignored once {@link #MAX_TAGS} are stored.
+     *
+     * @param id AprilTag id
+     */
+    public void addTag(int id) {
+        if (tagCount < MAX_TAGS) {
+            tagIds[tagCount++] = id;
+        }
+    }
+
+    /**
+     * @param valid   true if the pose is known (otherwise x, y, heading are kept but flagged)
+     * @param x       Field x in inches
+     * @param y       Field y in inches
+     * @param heading Heading in radians
+     */
+    public void setPose(boolean valid, double x, double y, double heading) {
+        poseValid = valid;
+        poseX = x;
+        poseY = y;
+        poseHeading = heading;
+    }
+
+    /**
+     * @param volts Battery voltage as read, before filtering
+     */
+    public void setBatteryVoltage(double volts) {
+        batteryVoltage = (float) volts;
+    }
+
+    /**
+     * @param step Autonomous step index, or -1 outside a routine
+     */
+    public void setStep(int step) {
+        this.step = step;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    public double getFrontLeftPower() {
+        return frontLeftPower;
+    }
+
+    public double getBackLeftPower() {
+        return backLeftPower;
+    }
+
+    public double getFrontRightPower() {
+        return frontRightPower;
+    }
+
+    public double getBackRightPower() {
+        return backRightPower;
+    }
+
+    public double getLeftRPM() {
+        return leftRPM;
+    }
+
+    public double getRightRPM() {
+        return rightRPM;
+    }
+
+    public double getTargetRPM() {
+        return targetRPM;
+    }
+
+    public double getTurretPower() {
+        return turretPower;
+    }
+
+    public int getTurretTicks() {
+        return turretTicks;
+    }
+
+    public double getTurretTargetDegrees() {
+        return turretTargetDegrees;
+    }
+
+    public boolean hasVisionTarget() {
+        return visionTarget;
+    }
+
+    public double getTx() {
+        return tx;
+    }
+
+    public double getTy() {
+        return ty;
+    }
+
+    public double getTa() {
+        return ta;
+    }
+
+    public int getTagCount() {
+        return tagCount;
+    }
+
+    /**
+     * @param index Tag index, 0-based, below {@link #getTagCount()}
+     * @return AprilTag id
+     */
+    public int getTagId(int index) {
+        if (index < 0 || index >= tagCount) {
+            throw new IllegalArgumentException("Tag index out of range: " + index);
+        }
+        return tagIds[index];
+    }
+
+    public boolean isPoseValid() {
+        return poseValid;
+    }
+
+    public double getPoseX() {
+        return poseX;
+    }
+
+    public double getPoseY() {
+        return poseY;
+    }
+
+    public double getPoseHeading() {
+        return poseHeading;
+    }
+
+    public double getBatteryVoltage() {
+        return batteryVoltage;
+    }
+
+    public int getStep() {
+        return step;
+    }
+}
@@ -0,0 +1,229 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * Flywheel velocity controller: motor-model feedforward, P feedback and a bang-bang boost.
+ *
+ * The hub's RUN_USING_ENCODER PIDF runs with default coefficients, spins up slowly,
+ * and its output changes with battery voltage. This controller works in volts and
+ * divides by the measured battery voltage, so a tired battery gets the same response
+ * as a fresh one.
+ *
+ * The motor model is V = kS * sign(w) + kV * w + kA * dw/dt (w in RPM). Characterize
+ * kS, kV and kA on the robot; the defaults come from the goBILDA 6000 RPM motor's
+ * spec sheet (12 V free speed) and a rough flywheel inertia.
+ *
+ * Modes, by the error between the target and the measured speed:
+ * - more than the bang-bang threshold below target: full power (spin-up, recovery after a ball)
+ * - more than the threshold above target: coast (never brake a flywheel with reverse power)
+ * - otherwise: feedforward on a reference that ramps to the target at the max
+ *   acceleration, plus P feedback on the reference error. The ramp restarts from the
+ *   measured speed when leaving bang-bang, so the handover does not jump.
+ *
+ * The controller recalculates at a fixed period from its clock. Calls in between
+ * return the previous output, so the gains do not depend on how fast the loop runs.
+ * It only runs when the caller updates it, so the period can be no shorter than the
+ * loop's; the default matches the 50 Hz TeleOp loop.
+ */
+public class FlywheelController {
+
+    public static final double NOMINAL_VOLTAGE = 12.0;
+    public static final double DEFAULT_RATE_HZ = 50.0;
+
+    // Motor model (CHARACTERIZE ON THE ROBOT)
+    public static final double DEFAULT_KS = 0.25;             // volts
+    public static final double DEFAULT_KV = 12.0 / 6000.0;   // volts per RPM
+    public static final double DEFAULT_KA = 0.0006;           // volts per RPM/s
+    public static final double DEFAULT_KP = 0.01;             // volts per RPM of error
+
+    public static final double DEFAULT_BANG_BANG_THRESHOLD = 300.0; // RPM
+    public static final double DEFAULT_MAX_ACCELERATION = 6000.0;   // RPM/s
+
+    // Below this the reading is a brownout or a missing sensor, not a battery
+    private static final double MIN_VOLTAGE = 6.0;
+
+    private final NanoClock clock;
+    private final long periodNanos;
+    private final SlewRateLimiter reference;
+
+    private double kS = DEFAULT_KS;
+    private double kV = DEFAULT_KV;
+    private double kA = DEFAULT_KA;
+    private double kP = DEFAULT_KP;
+    private double bangBangThreshold = DEFAULT_BANG_BANG_THRESHOLD;
+
+    private long lastUpdateNanos;
+    private boolean started = false;
+    private boolean bangBang = false;
+    private double output = 0.0;
+    private double lastVolts = 0.0;
+    private long updates = 0;
+
+    /**
+     * Constructs a controller running at {@link #DEFAULT_RATE_HZ} on the system clock.
+     */
+    public FlywheelController() {
+        this(DEFAULT_RATE_HZ, NanoClock.SYSTEM);
+    }
+
+    /**
+     * @param rateHz How often the output is recalculated
+     * @param clock  Time source
+     */
+    public FlywheelController(double rateHz, NanoClock clock) {
+        if (!(rateHz > 0)) {
+            throw new IllegalArgumentException("Flywheel controller rate must be positive: " + rateHz);
+        }
+        this.clock = clock;
+        this.periodNanos = Math.round(1e9 / rateHz);
+        this.reference = new SlewRateLimiter(DEFAULT_MAX_ACCELERATION);
+    }
+
+    /**
+     * Sets the motor model.
+     *
+     * @param kS Static friction voltage
+     * @param kV Volts per RPM
+     * @param kA Volts per RPM/s
+     */
+    public void setFeedforward(double kS, double kV, double kA) {
+        this.kS = kS;
+        this.kV = kV;
+        this.kA = kA;
+    }
+
+    /**
+     * @param kP Volts per RPM of error
+     */
+    public void setProportionalGain(double kP) {
+        this.kP = kP;
+    }
+
+    /**
+     * @param rpm Error beyond which the controller goes to full power or coasts
+     */
+    public void setBangBangThreshold(double rpm) {
+        this.bangBangThreshold = Math.abs(rpm);
+    }
+
+    /**
+     * @param rpmPerSecond Ramp rate of the feedforward reference
+     */
+    public void setMaxAcceleration(double rpmPerSecond) {
+        reference.setMaxRate(rpmPerSecond);
+    }
+
+    /**
+     * @return true if a full period has passed since the last recalculation
+     */
+    public boolean isDue() {
+        return !started || clock.nanoTime() - lastUpdateNanos >= periodNanos;
+    }
+
+    /**
+     * Calculates the motor power, or returns the previous one if the period has not elapsed.
+     *
+     * @param targetRPM      Desired speed
+     * @param measuredRPM    Measured speed
+     * @param batteryVoltage Battery voltage in volts
+     * @return Motor power in [-1, 1]
+     */
+    public double calculate(double targetRPM, double measuredRPM, double batteryVoltage) {
+        long now = clock.nanoTime();
+        if (started && now - lastUpdateNanos < periodNanos) {
+            return output;
+        }
+        double dt = started ? (now - lastUpdateNanos) * 1e-9 : 0.0;
+        lastUpdateNanos = now;
+        updates++;
+
+        if (targetRPM == 0.0) {
+            started = false;
+            bangBang = false;
+            lastVolts = 0.0;
+            output = 0.0;
+            return output;
+        }
+
+        double error = targetRPM - measuredRPM;
+        double volts;
+        if (Math.abs(error) > bangBangThreshold && Math.signum(error) == Math.signum(targetRPM)) {
+            // Far below target: everything the battery has
+            bangBang = true;
+            volts = Math.signum(targetRPM) * batteryVoltage;
+            reference.reset(measuredRPM);
+        } else if (Math.abs(error) > bangBangThreshold) {
+            // Far above target: coast down
+            bangBang = true;
+            volts = 0.0;
+            reference.reset(measuredRPM);
+        } else {
+            if (!started || bangBang) {
+                reference.reset(measuredRPM);
+            }
+            bangBang = false;
+
+            double previous = reference.getValue();
+            double r = reference.calculate(targetRPM, dt);
+            double acceleration = dt > 0 ? (r - previous) / dt : 0.0;
+
+            volts = kS * Math.signum(r) + kV * r + kA * acceleration + kP * (r - measuredRPM);
+        }
+        started = true;
+
+        lastVolts = volts;
+        output = Math.max(-1.0, Math.min(1.0, volts / Math.max(MIN_VOLTAGE, batteryVoltage)));
+        return output;
+    }
+
+    /**
+     * Clears the ramp and holds output at zero; the next call recalculates immediately.
+     */
+    public void reset() {
+        started = false;
+        bangBang = false;
+        output = 0.0;
+        lastVolts = 0.0;
+    }
+
+    /**
+     * @return Last power returned
+     */
+    public double getOutput() {
+        return output;
+    }
+
+    /**
+     * @return Voltage requested by the last calculation, before dividing by the battery
+     */
+    public double getLastVolts() {
+        return lastVolts;
+    }
+
+    /**
+     * @return Feedforward reference speed in RPM
+     */
+    public double getReferenceRPM() {
+        return reference.getValue();
+    }
+
+    /**
+     * @return true if the last calculation was in full power or coast mode
+     */
+    public boolean isBangBang() {
+        return bangBang;
+    }
+
+    /**
+     * @return Number of recalculations so far
+     */
+    public long getUpdateCount() {
+        return updates;
+    }
+
+    /**
+     * @return Recalculation period in seconds
+     */
+    public double getPeriodSeconds() {
+        return periodNanos * 1e-9;
+    }
+}
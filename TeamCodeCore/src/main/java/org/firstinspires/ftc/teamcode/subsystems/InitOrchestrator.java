@@ -0,0 +1,231 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs OpMode init steps concurrently, in dependency order, and times each one.
+ *
+ * Bring-up is mostly waiting: the follower resets its odometry computer, the
+ * Limelight switches pipeline and starts over the network, the IMU initializes,
+ * path and drag tables are computed. Independent steps run at the same time on a
+ * small thread pool; a step starts only after every step it depends on finished.
+ *
+ * Dependencies must be added before the steps that need them, so the graph cannot
+ * have a cycle. Steps share devices through {@link HardwareRegistry}, which is
+ * safe to call from several threads.
+ *
+ * Usage:
+ * <pre>
+ * InitOrchestrator init = new InitOrchestrator();
+ * init.addStep("Follower", () -> follower = Constants.createFollower(hardwareMap));
+ * init.addStep("Paths", () -> paths = new BluePaths.Paths(follower), "Follower");
+ * init.addStep("Vision", () -> registry.getVision());
+ * init.run();
+ * </pre>
+ */
+public class InitOrchestrator {
+
+    public static final int DEFAULT_THREADS = 3;
+
+    private static final class Step {
+        final String name;
+        final Runnable action;
+        final int[] dependencies;
+        final List<Integer> dependents = new ArrayList<>();
+        volatile long durationNanos = -1;
+
+        Step(String name, Runnable action, int[] dependencies) {
+            this.name = name;
+            this.action = action;
+            this.dependencies = dependencies;
+        }
+    }
+
+    private final int threads;
+    private final NanoClock clock;
+    private final List<Step> steps = new ArrayList<>();
+    private final Map<String, Integer> indexByName = new HashMap<>();
+
+    private boolean parallel = true;
+    private long totalNanos = -1;
+
+    /**
+     * Constructs an orchestrator with {@link #DEFAULT_THREADS} threads on the system clock.
+     */
+    public InitOrchestrator() {
+        this(DEFAULT_THREADS, NanoClock.SYSTEM);
+    }
+
+    /**
+     * @param threads Most steps to run at once
+     * @param clock   Time source for step durations
+     */
+    public InitOrchestrator(int threads, NanoClock clock) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        this.threads = threads;
+        this.clock = clock;
+    }
+
+    /**
+     * Adds a step.
+     *
+     * @param name      Unique name, shown on telemetry
+     * @param action    Work to do
+     * @param dependsOn Names of steps that must finish first; they must already be added
+     * @return this, for chaining
+     */
+    public InitOrchestrator addStep(String name, Runnable action, String... dependsOn) {
+        if (indexByName.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate init step: " + name);
+        }
+        int[] dependencies = new int[dependsOn.length];
+        for (int i = 0; i < dependsOn.length; i++) {
+            Integer dependency = indexByName.get(dependsOn[i]);
+            if (dependency == null) {
+                throw new IllegalArgumentException("Unknown init dependency (add it first): " + dependsOn[i]);
+            }
+            dependencies[i] = dependency;
+        }
+        int index = steps.size();
+        Step step = new Step(name, action, dependencies);
+        for (int dependency : dependencies) {
+            steps.get(dependency).dependents.add(index);
+        }
+        steps.add(step);
+        indexByName.put(name, index);
+        return this;
+    }
+
+    /**
+     * @param parallel false runs every step in order on the calling thread,
+     *                 e.g. to compare timings or rule out a threading problem
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Runs every step and waits for them all. If a step throws, the remaining
+     * steps are cancelled and its exception is rethrown here.
+     */
+    public void run() {
+        long start = clock.nanoTime();
+        try {
+            if (parallel && threads > 1 && steps.size() > 1) {
+                runParallel();
+            } else {
+                for (Step step : steps) {
+                    runStep(step);
+                }
+            }
+        } finally {
+            totalNanos = clock.nanoTime() - start;
+        }
+    }
+
+    private void runStep(Step step) {
+        long start = clock.nanoTime();
+        step.action.run();
+        step.durationNanos = clock.nanoTime() - start;
+    }
+
+    private void runParallel() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, steps.size()), runnable -> {
+            Thread thread = new Thread(runnable, "InitOrchestrator-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ExecutorCompletionService<Integer> completed = new ExecutorCompletionService<>(pool);
+
+        int[] waitingOn = new int[steps.size()];
+        for (int i = 0; i < steps.size(); i++) {
+            waitingOn[i] = steps.get(i).dependencies.length;
+            if (waitingOn[i] == 0) {
+                submit(completed, i);
+            }
+        }
+
+        try {
+            for (int remaining = steps.size(); remaining > 0; remaining--) {
+                Future<Integer> future = completed.take();
+                int finished;
+                try {
+                    finished = future.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new IllegalStateException("Init step failed", cause);
+                }
+                for (int dependent : steps.get(finished).dependents) {
+                    if (--waitingOn[dependent] == 0) {
+                        submit(completed, dependent);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Init interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void submit(ExecutorCompletionService<Integer> completed, int index) {
+        Step step = steps.get(index);
+        completed.submit(() -> {
+            runStep(step);
+            return index;
+        });
+    }
+
+    public int getStepCount() {
+        return steps.size();
+    }
+
+    public String getStepName(int index) {
+        return steps.get(index).name;
+    }
+
+    /**
+     * @return How long the step took in milliseconds, or -1 if it has not finished
+     */
+    public double getStepMillis(int index) {
+        long nanos = steps.get(index).durationNanos;
+        return nanos < 0 ? -1.0 : nanos / 1e6;
+    }
+
+    /**
+     * @return Wall time of the last {@link #run()} in milliseconds, or -1 before it
+     */
+    public double getTotalMillis() {
+        return totalNanos < 0 ? -1.0 : totalNanos / 1e6;
+    }
+
+    /**
+     * @return Sum of the step durations: what init would have taken one step at a time
+     */
+    public double getSequentialMillis() {
+        long sum = 0;
+        for (Step step : steps) {
+            sum += Math.max(0L, step.durationNanos);
+        }
+        return sum / 1e6;
+    }
+}
@@ -0,0 +1,95 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * Limits how fast a value may change per second, and how fast that rate may change.
+ *
+ * A {@link SlewRateLimiter} jumps from zero to its full rate in one loop, so a
+ * drivetrain gets a step in torque every time the stick moves. This one ramps the
+ * rate too (an S-curve), and slows the rate down in time to arrive at the target
+ * instead of stopping abruptly. With an infinite jerk limit it behaves exactly like
+ * a SlewRateLimiter.
+ */
+public class JerkLimiter {
+
+    private double maxRate;
+    private double maxJerk;
+    private double value;
+    private double rate;
+
+    /**
+     * @param maxRate Largest allowed change per second
+     * @param maxJerk Largest allowed change of that rate per second, or
+     *                {@link Double#POSITIVE_INFINITY} for plain slew limiting
+     */
+    public JerkLimiter(double maxRate, double maxJerk) {
+        setLimits(maxRate, maxJerk);
+    }
+
+    /**
+     * @param maxRate Largest allowed change per second
+     * @param maxJerk Largest allowed change of that rate per second
+     */
+    public void setLimits(double maxRate, double maxJerk) {
+        if (!(maxRate > 0) || !(maxJerk > 0)) {
+            throw new IllegalArgumentException("Jerk limiter limits must be positive: " + maxRate + ", " + maxJerk);
+        }
+        this.maxRate = maxRate;
+        this.maxJerk = maxJerk;
+    }
+
+    /**
+     * Moves the output toward the target.
+     *
+     * @param target    Desired value
+     * @param dtSeconds Time since the previous call in seconds
+     * @return Limited value
+     */
+    public double calculate(double target, double dtSeconds) {
+        if (!(dtSeconds > 0)) {
+            return value;
+        }
+        double error = target - value;
+        double distance = Math.abs(error);
+
+        // Fastest rate toward the target that can still be ramped down to zero by the time it gets there
+        double stoppingRate = distance > 0 ? Math.sqrt(2.0 * maxJerk * distance) : 0.0;
+        double desired = Math.signum(error) * Math.min(maxRate, Math.min(stoppingRate, distance / dtSeconds));
+
+        double maxChange = maxJerk * dtSeconds;
+        rate += Math.max(-maxChange, Math.min(maxChange, desired - rate));
+
+        double next = value + rate * dtSeconds;
+        if ((target - next) * error <= 0) {
+            // Arrived (or would pass the target): settle on it
+            value = target;
+            rate = 0.0;
+        } else {
+            value = next;
+        }
+        return value;
+    }
+
+    /**
+     * Jumps the output straight to a value, at rest.
+     *
+     * @param value New output value
+     */
+    public void reset(double value) {
+        this.value = value;
+        this.rate = 0.0;
+    }
+
+    /**
+     * @return Last output value
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * @return Current rate of change per second
+     */
+    public double getRate() {
+        return rate;
+    }
+}
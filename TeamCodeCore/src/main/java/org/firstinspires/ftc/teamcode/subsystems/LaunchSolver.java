@@ -0,0 +1,23 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * Anything that can solve for the launch velocity needed to reach the basket.
+ *
+ * Implemented by the vacuum {@link ShooterKinematics} and the drag-aware
+ * {@link DragShotSolver}, so {@link ShooterSolutionTable} can tabulate either one.
+ */
+public interface LaunchSolver {
+
+    /**
+     * @param horizontalDistance Distance to target in meters
+     * @return Required launch velocity in m/s, or -1 if unreachable
+     */
+    double calculateLaunchVelocity(double horizontalDistance);
+
+    /**
+     * @param horizontalDistance Distance to target in meters
+     * @param launchVelocity     Launch velocity in m/s
+     * @return Time of flight to the target distance in seconds
+     */
+    double calculateTimeOfFlight(double horizontalDistance, double launchVelocity);
+}
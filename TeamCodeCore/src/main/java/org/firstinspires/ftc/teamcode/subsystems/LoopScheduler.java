@@ -0,0 +1,257 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * Fixed-rate loop scheduler with per-phase timing.
+ *
+ * A bare while(opModeIsActive()) loop runs as fast as vision, IMU and telemetry
+ * allow, so its period changes all the time. This scheduler runs the registered
+ * phases in order (read sensors, compute, write actuators, telemetry), then waits
+ * for the next period so the loop runs at a steady target rate.
+ *
+ * Each phase is timed in nanoseconds. The scheduler also reports:
+ * - jitter: how far each measured period was from the target period
+ * - overruns: loops whose work took longer than the target period
+ * - {@link #getDeltaSeconds()}: the real time since the previous loop, for
+ *   control constants expressed per second instead of per iteration
+ *
+ * Usage in a LinearOpMode:
+ * <pre>
+ * scheduler.setPhase(LoopScheduler.Phase.READ, this::readSensors);
+ * ...
+ * while (opModeIsActive()) {
+ *     scheduler.runOnce();
+ * }
+ * </pre>
+ */
+public class LoopScheduler {
+
+    /** Loop phases, run in declaration order. */
+    public enum Phase {
+        READ,
+        COMPUTE,
+        WRITE,
+        TELEMETRY
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    // Weight of the newest sample in the running averages
+    private static final double AVERAGE_WEIGHT = 0.05;
+
+    private final NanoClock clock;
+    private final long periodNanos;
+    private final Runnable[] actions = new Runnable[PHASES.length];
+
+    // Per-phase timing
+    private final long[] phaseNanos = new long[PHASES.length];
+    private final long[] maxPhaseNanos = new long[PHASES.length];
+    private final double[] averagePhaseNanos = new double[PHASES.length];
+
+    private boolean waitForPeriod = true;
+
+    private long loopCount = 0;
+    private long lastStartNanos = 0;
+    private long nextStartNanos = 0;
+    private long lastPeriodNanos = 0;
+    private long lastWorkNanos = 0;
+    private long maxJitterNanos = 0;
+    private double averageJitterNanos = 0;
+    private long overruns = 0;
+
+    /**
+     * @param targetHz Target loop rate in Hz
+     */
+    public LoopScheduler(double targetHz) {
+        this(targetHz, NanoClock.SYSTEM);
+    }
+
+    /**
+     * @param targetHz Target loop rate in Hz
+     * @param clock    Time source
+     */
+    public LoopScheduler(double targetHz, NanoClock clock) {
+        if (targetHz <= 0) {
+            throw new IllegalArgumentException("Loop rate must be positive: " + targetHz);
+        }
+        this.clock = clock;
+        this.periodNanos = (long) (1e9 / targetHz);
+    }
+
+    /**
+     * Registers the action for a phase, replacing any previous one.
+     *
+     * @param phase  The phase
+     * @param action The action to run, or null to skip the phase
+     */
+    public void setPhase(Phase phase, Runnable action) {
+        actions[phase.ordinal()] = action;
+    }
+
+    /**
+     * Whether {@link #runOnce()} should wait for the next period before running.
+     * Turn this off in iterative OpModes, where the SDK already paces loop().
+     *
+     * @param waitForPeriod true to hold the target rate (default: true)
+     */
+    public void setWaitForPeriod(boolean waitForPeriod) {
+        this.waitForPeriod = waitForPeriod;
+    }
+
+    /**
+     * Waits until the next period starts (if enabled), then runs every phase once.
+     *
+     * @throws InterruptedException if the OpMode is stopped while waiting
+     */
+    public void runOnce() throws InterruptedException {
+        if (waitForPeriod && loopCount > 0) {
+            waitUntil(nextStartNanos);
+        }
+
+        long start = clock.nanoTime();
+        if (loopCount > 0) {
+            lastPeriodNanos = start - lastStartNanos;
+            long jitter = Math.abs(lastPeriodNanos - periodNanos);
+            if (jitter > maxJitterNanos) maxJitterNanos = jitter;
+            averageJitterNanos += AVERAGE_WEIGHT * (jitter - averageJitterNanos);
+        } else {
+            lastPeriodNanos = periodNanos;
+        }
+        lastStartNanos = start;
+
+        long phaseStart = start;
+        for (int i = 0; i < PHASES.length; i++) {
+            Runnable action = actions[i];
+            if (action != null) {
+                action.run();
+            }
+            long phaseEnd = clock.nanoTime();
+            long elapsed = phaseEnd - phaseStart;
+            phaseNanos[i] = elapsed;
+            if (elapsed > maxPhaseNanos[i]) maxPhaseNanos[i] = elapsed;
+            averagePhaseNanos[i] += AVERAGE_WEIGHT * (elapsed - averagePhaseNanos[i]);
+            phaseStart = phaseEnd;
+        }
+
+        lastWorkNanos = phaseStart - start;
+        if (lastWorkNanos > periodNanos) {
+            // Start the next loop right away instead of trying to catch up
+            overruns++;
+            nextStartNanos = phaseStart;
+        } else {
+            nextStartNanos = start + periodNanos;
+        }
+        loopCount++;
+    }
+
+    private void waitUntil(long deadlineNanos) throws InterruptedException {
+        long remaining = deadlineNanos - clock.nanoTime();
+        while (remaining > 0) {
+            if (remaining > 1_000_000L) {
+                // Sleep most of the way, then yield for the last millisecond
+                Thread.sleep((remaining - 1_000_000L) / 1_000_000L);
+            } else {
+                Thread.yield();
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            remaining = deadlineNanos - clock.nanoTime();
+        }
+    }
+
+    /**
+     * Time since the previous loop started. Use this to scale per-second control
+     * constants. Returns the target period on the first loop.
+     *
+     * @return Loop delta time in seconds
+     */
+    public double getDeltaSeconds() {
+        return lastPeriodNanos / 1e9;
+    }
+
+    /**
+     * @return Target loop period in milliseconds
+     */
+    public double getTargetPeriodMs() {
+        return periodNanos / 1e6;
+    }
+
+    /**
+     * @return Last measured loop period in milliseconds
+     */
+    public double getLastPeriodMs() {
+        return lastPeriodNanos / 1e6;
+    }
+
+    /**
+     * @return Time spent in all phases of the last loop, in milliseconds
+     */
+    public double getLastWorkMs() {
+        return lastWorkNanos / 1e6;
+    }
+
+    /**
+     * @return Largest difference between a measured and the target period, in milliseconds
+     */
+    public double getMaxJitterMs() {
+        return maxJitterNanos / 1e6;
+    }
+
+    /**
+     * @return Running average difference between measured and target period, in milliseconds
+     */
+    public double getAverageJitterMs() {
+        return averageJitterNanos / 1e6;
+    }
+
+    /**
+     * @return Number of loops whose work took longer than the target period
+     */
+    public long getOverruns() {
+        return overruns;
+    }
+
+    /**
+     * @return Number of loops run
+     */
+    public long getLoopCount() {
+        return loopCount;
+    }
+
+    /**
+     * @param phase The phase
+     * @return Time the phase took in the last loop, in nanoseconds
+     */
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * @param phase The phase
+     * @return Running average time of the phase, in milliseconds
+     */
+    public double getAveragePhaseMs(Phase phase) {
+        return averagePhaseNanos[phase.ordinal()] / 1e6;
+    }
+
+    /**
+     * @param phase The phase
+     * @return Longest time the phase has taken, in milliseconds
+     */
+    public double getMaxPhaseMs(Phase phase) {
+        return maxPhaseNanos[phase.ordinal()] / 1e6;
+    }
+
+    /**
+     * Clears jitter, overrun and max phase statistics (e.g. after init hiccups).
+     */
+    public void resetStats() {
+        maxJitterNanos = 0;
+        averageJitterNanos = 0;
+        overruns = 0;
+        for (int i = 0; i < PHASES.length; i++) {
+            maxPhaseNanos[i] = 0;
+            averagePhaseNanos[i] = 0;
+        }
+    }
+}
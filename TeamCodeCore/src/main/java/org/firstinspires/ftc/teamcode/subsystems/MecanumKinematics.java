@@ -0,0 +1,96 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * Field-centric mecanum drive math: stick inputs and heading to four wheel powers.
+ *
+ * The steps match the TeleOps' original inline code:
+ * - rotate the stick vector by -heading so "forward" is away from the driver
+ * - scale strafe to counteract imperfect strafing
+ * - divide by the largest wheel sum (or 1) so the powers keep their ratio
+ * - clamp each wheel to the power limit
+ *
+ * {@link #calculate} writes the powers into fields, so the math allocates nothing.
+ */
+public class MecanumKinematics {
+
+    public static final double DEFAULT_STRAFE_CORRECTION = 1.1;
+
+    private final double strafeCorrection;
+    private double maxPower;
+
+    private double frontLeft;
+    private double backLeft;
+    private double frontRight;
+    private double backRight;
+
+    /**
+     * @param maxPower Largest allowed wheel power (0-1]
+     */
+    public MecanumKinematics(double maxPower) {
+        this(maxPower, DEFAULT_STRAFE_CORRECTION);
+    }
+
+    /**
+     * @param maxPower         Largest allowed wheel power (0-1]
+     * @param strafeCorrection Multiplier on the strafe component
+     */
+    public MecanumKinematics(double maxPower, double strafeCorrection) {
+        setMaxPower(maxPower);
+        this.strafeCorrection = strafeCorrection;
+    }
+
+    /**
+     * Computes wheel powers. Results are read with the getters.
+     *
+     * @param x       Strafe input, right positive
+     * @param y       Forward input
+     * @param rx      Turn input, clockwise positive
+     * @param heading Robot heading in radians; 0 for robot-centric driving
+     */
+    public void calculate(double x, double y, double rx, double heading) {
+        double cos = Math.cos(-heading);
+        double sin = Math.sin(-heading);
+        double rotX = (x * cos - y * sin) * strafeCorrection;
+        double rotY = x * sin + y * cos;
+
+        double denominator = Math.max(Math.abs(rotY) + Math.abs(rotX) + Math.abs(rx), 1);
+        frontLeft = clamp((rotY + rotX + rx) / denominator);
+        backLeft = clamp((rotY - rotX + rx) / denominator);
+        frontRight = clamp((rotY - rotX - rx) / denominator);
+        backRight = clamp((rotY + rotX - rx) / denominator);
+    }
+
+    private double clamp(double power) {
+        return Math.max(-maxPower, Math.min(maxPower, power));
+    }
+
+    /**
+     * @param maxPower Largest allowed wheel power (0-1]
+     */
+    public void setMaxPower(double maxPower) {
+        if (!(maxPower > 0) || maxPower > 1) {
+            throw new IllegalArgumentException("Max drive power must be in (0, 1]: " + maxPower);
+        }
+        this.maxPower = maxPower;
+    }
+
+    public double getMaxPower() {
+        return maxPower;
+    }
+
+    public double getFrontLeft() {
+        return frontLeft;
+    }
+
+    public double getBackLeft() {
+        return backLeft;
+    }
+
+    public double getFrontRight() {
+        return frontRight;
+    }
+
+    public double getBackRight() {
+        return backRight;
+    }
+}
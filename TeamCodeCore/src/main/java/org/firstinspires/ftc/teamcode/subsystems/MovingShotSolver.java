@@ -0,0 +1,232 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * Shoot-on-the-move solver: where to aim and how fast to spin while driving.
+ *
+ * A ball leaves the robot carrying the robot's velocity, so shooting straight at
+ * the basket while moving misses by (robot velocity * time of flight). This aims
+ * at a virtual target = basket - robot velocity * time of flight instead. The time
+ * of flight depends on the distance to that virtual target, so the two are
+ * iterated until the time of flight stops changing (capped at {@link #MAX_ITERATIONS}).
+ * Driving fast toward the basket makes plain substitution crawl, so after the first
+ * step each guess is a secant step on (time of flight - guess).
+ *
+ * Inputs are Pedro field coordinates (inches, radians, inches/s). Outputs:
+ * - lead angle: how far to turn from the basket toward the virtual target
+ * - turret angle: the virtual target bearing relative to the robot heading
+ * - RPM for the virtual distance
+ * Angles are counter-clockwise positive, matching Pedro headings.
+ *
+ * The solver keeps its results in fields and allocates nothing per solve.
+ */
+public class MovingShotSolver {
+
+    public static final int MAX_ITERATIONS = 6;
+
+    private static final double METERS_PER_INCH = 0.0254;
+    // Stop iterating once time of flight changes less than this (seconds)
+    private static final double TIME_TOLERANCE = 1e-4;
+
+    private final ShooterSolutionTable table;
+    private final ShooterKinematics kinematics;
+    private double flywheelDiameter;
+
+    // Results of the last solve
+    private boolean valid;
+    private boolean converged;
+    private int iterations;
+    private double virtualX;
+    private double virtualY;
+    private double virtualDistance;
+    private double timeOfFlight;
+    private double launchVelocity;
+    private double requiredRPM;
+    private double leadAngle;
+    private double turretAngle;
+
+    /**
+     * @param table            Launch velocity and time of flight lookup
+     * @param kinematics       Converts launch velocity to RPM
+     * @param flywheelDiameter Flywheel diameter in meters
+     */
+    public MovingShotSolver(ShooterSolutionTable table, ShooterKinematics kinematics, double flywheelDiameter) {
+        this.table = table;
+        this.kinematics = kinematics;
+        this.flywheelDiameter = flywheelDiameter;
+    }
+
+    /**
+     * Solves for the aim and RPM that score while moving.
+     *
+     * @param robotX       Robot x in inches
+     * @param robotY       Robot y in inches
+     * @param robotHeading Robot heading in radians
+     * @param velocityX    Robot field velocity x in inches/s
+     * @param velocityY    Robot field velocity y in inches/s
+     * @param goalX        Basket x in inches
+     * @param goalY        Basket y in inches
+     * @return true if the shot is reachable; results are valid only then
+     */
+    public boolean solve(double robotX, double robotY, double robotHeading,
+                         double velocityX, double velocityY,
+                         double goalX, double goalY) {
+        double dx = goalX - robotX;
+        double dy = goalY - robotY;
+
+        // Start from the stationary shot
+        double tof = table.getTimeOfFlight(Math.hypot(dx, dy) * METERS_PER_INCH);
+        valid = tof > 0;
+        converged = false;
+        iterations = 0;
+        if (!valid) return false;
+
+        double vdx = dx;
+        double vdy = dy;
+        double flight = tof;
+        double lastGuess = 0;
+        double lastError = 0;
+        while (iterations < MAX_ITERATIONS) {
+            iterations++;
+            vdx = dx - velocityX * tof;
+            vdy = dy - velocityY * tof;
+
+            flight = table.getTimeOfFlight(Math.hypot(vdx, vdy) * METERS_PER_INCH);
+            if (flight <= 0) {
+                valid = false;
+                return false;
+            }
+            double error = flight - tof;
+            if (Math.abs(error) < TIME_TOLERANCE) {
+                converged = true;
+                break;
+            }
+            double next = flight;
+            if (iterations > 1 && error != lastError) {
+                double secant = tof - error * (tof - lastGuess) / (error - lastError);
+                if (secant > 0) next = secant;
+            }
+            lastGuess = tof;
+            lastError = error;
+            tof = next;
+        }
+
+        virtualX = robotX + vdx;
+        virtualY = robotY + vdy;
+        virtualDistance = Math.hypot(vdx, vdy);
+        timeOfFlight = flight;
+
+        launchVelocity = table.getLaunchVelocity(virtualDistance * METERS_PER_INCH);
+        if (launchVelocity < 0) {
+            valid = false;
+            return false;
+        }
+        requiredRPM = kinematics.velocityToRpm(launchVelocity, flywheelDiameter);
+
+        double aim = Math.atan2(vdy, vdx);
+        leadAngle = Math.toDegrees(wrap(aim - Math.atan2(dy, dx)));
+        turretAngle = Math.toDegrees(wrap(aim - robotHeading));
+        return true;
+    }
+
+    /**
+     * Clears the last result so no lead is applied, e.g. when the robot stops and
+     * vision takes over.
+     */
+    public void clear() {
+        valid = false;
+        converged = false;
+        iterations = 0;
+        leadAngle = 0;
+        turretAngle = 0;
+    }
+
+    private static double wrap(double radians) {
+        while (radians > Math.PI) radians -= 2 * Math.PI;
+        while (radians < -Math.PI) radians += 2 * Math.PI;
+        return radians;
+    }
+
+    /**
+     * @param flywheelDiameter Flywheel diameter in meters
+     */
+    public void setFlywheelDiameter(double flywheelDiameter) {
+        this.flywheelDiameter = flywheelDiameter;
+    }
+
+    /**
+     * @return true if the last solve found a reachable shot
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * @return true if the last solve converged before the iteration cap
+     */
+    public boolean isConverged() {
+        return converged;
+    }
+
+    /**
+     * @return Iterations used by the last solve
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return Virtual target x in inches
+     */
+    public double getVirtualX() {
+        return virtualX;
+    }
+
+    /**
+     * @return Virtual target y in inches
+     */
+    public double getVirtualY() {
+        return virtualY;
+    }
+
+    /**
+     * @return Distance to the virtual target in inches
+     */
+    public double getVirtualDistance() {
+        return virtualDistance;
+    }
+
+    /**
+     * @return Time of flight to the virtual target in seconds
+     */
+    public double getTimeOfFlight() {
+        return timeOfFlight;
+    }
+
+    /**
+     * @return Launch velocity for the virtual target in m/s
+     */
+    public double getLaunchVelocity() {
+        return launchVelocity;
+    }
+
+    /**
+     * @return Flywheel RPM for the virtual target
+     */
+    public double getRequiredRPM() {
+        return requiredRPM;
+    }
+
+    /**
+     * @return Angle from the basket to the virtual target, degrees counter-clockwise
+     */
+    public double getLeadAngleDegrees() {
+        return leadAngle;
+    }
+
+    /**
+     * @return Virtual target bearing relative to the robot heading, degrees counter-clockwise
+     */
+    public double getTurretAngleDegrees() {
+        return turretAngle;
+    }
+}
@@ -0,0 +1,19 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * Monotonic nanosecond time source.
+ *
+ * Anything that measures time in a control loop takes one of these instead of
+ * calling System.nanoTime() directly, so tests and simulation can drive time
+ * themselves.
+ */
+public interface NanoClock {
+
+    /** The real monotonic clock. */
+    NanoClock SYSTEM = System::nanoTime;
+
+    /**
+     * @return Current time in nanoseconds (only differences are meaningful)
+     */
+    long nanoTime();
+}
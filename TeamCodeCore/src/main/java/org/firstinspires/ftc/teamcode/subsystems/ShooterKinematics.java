@@ -6,7 +6,7 @@ package org.firstinspires.ftc.teamcode.subsystems;
  * 
  * DECODE 2025-26 Season - Basket Scoring
  */
-public class ShooterKinematics {
+public class ShooterKinematics implements LaunchSolver {
     
     // Physical constants
     private static final double GRAVITY = 9.81; // m/s^2 (or 386.4 in/s^2 if using inches)
@@ -44,6 +44,7 @@ public class ShooterKinematics {
      * @param horizontalDistance Distance to target in meters
      * @return Required launch velocity in m/s
      */
+    @Override
     public double calculateLaunchVelocity(double horizontalDistance) {
         double angleRad = Math.toRadians(launchAngle);
         double heightDiff = basketHeight - shooterHeight;
@@ -92,6 +93,25 @@ public class ShooterKinematics {
      */
     public double calculateVelocityFromAngle(double verticalAngle, double cameraHeight, 
                                              double cameraMountAngle) {
+        double distance = calculateDistanceFromAngle(verticalAngle, cameraHeight, cameraMountAngle);
+        
+        if (distance < 0) {
+            return -1;
+        }
+        
+        return calculateLaunchVelocity(distance);
+    }
+    
+    /**
+     * Calculates horizontal distance to the basket from the Limelight vertical angle.
+     * 
+     * @param verticalAngle Vertical angle to target in degrees (ty from Limelight)
+     * @param cameraHeight Height of camera above ground (meters)
+     * @param cameraMountAngle Angle of camera mount in degrees (positive = tilted up)
+     * @return Horizontal distance in meters, or -1 if the angle gives no valid distance
+     */
+    public double calculateDistanceFromAngle(double verticalAngle, double cameraHeight,
+                                             double cameraMountAngle) {
         // Calculate horizontal distance using trigonometry
         double totalAngle = cameraMountAngle + verticalAngle;
         double heightDiff = basketHeight - cameraHeight;
@@ -106,7 +126,7 @@ public class ShooterKinematics {
             return -1; // Target is behind or at same height
         }
         
-        return calculateLaunchVelocity(distance);
+        return distance;
     }
     
     /**
@@ -193,6 +213,7 @@ public class ShooterKinematics {
      * @param launchVelocity Launch velocity in m/s
      * @return Time of flight in seconds
      */
+    @Override
     public double calculateTimeOfFlight(double horizontalDistance, double launchVelocity) {
         double angleRad = Math.toRadians(launchAngle);
         return horizontalDistance / (launchVelocity * Math.cos(angleRad));
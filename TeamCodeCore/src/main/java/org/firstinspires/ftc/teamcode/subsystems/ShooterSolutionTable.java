@@ -0,0 +1,277 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * Precomputed launch velocity and time of flight over a distance range.
+ *
+ * ShooterKinematics solves the projectile equation with tan/cos/sqrt on every
+ * call, and SmartShooter asks for it several times per loop. This table samples a
+ * {@link LaunchSolver} once at init on a uniform distance grid, then answers queries
+ * with linear interpolation over primitive arrays. The sampled model is the vacuum
+ * ShooterKinematics by default, or a {@link DragShotSolver} that is far too slow to
+ * call from the loop.
+ *
+ * Queries are answered by the sampled model itself (and count a fallback) when:
+ * - the distance is outside the sampled range
+ * - the interval touches an unreachable sample
+ * - the interval's interpolation error was over the tolerance when built (this
+ *   happens next to the unreachable edge, where the velocity curve gets steep)
+ * so the answer stays continuous at the edges of the table. With a drag model a
+ * fallback costs a full numerical solve, so size the range to cover every shot
+ * the robot takes.
+ *
+ * The table remembers the kinematics parameters it was built from and rebuilds
+ * itself on the next query if they change, so callers never get stale answers.
+ */
+public class ShooterSolutionTable {
+
+    public static final int DEFAULT_SAMPLES = 256;
+
+    // Intervals whose midpoint error is above this fraction of the exact value use the solver
+    private static final double MAX_RELATIVE_ERROR = 0.001;
+
+    private final ShooterKinematics kinematics;
+    private LaunchSolver model;
+    private final int samples;
+
+    private double minDistance;
+    private double maxDistance;
+    private double invStep;
+
+    // Launch velocity (m/s, -1 if unreachable) and time of flight (s) at each grid point
+    private final double[] velocity;
+    private final double[] timeOfFlight;
+    // Whether interval i (between samples i and i + 1) may be interpolated
+    private final boolean[] intervalValid;
+
+    // Kinematics parameters the table was built from
+    private double builtShooterHeight = Double.NaN;
+    private double builtBasketHeight = Double.NaN;
+    private double builtLaunchAngle = Double.NaN;
+    private boolean dirty = true;
+
+    // Build statistics
+    private double maxAbsoluteError = 0;
+    private double maxRelativeError = 0;
+    private int rebuilds = 0;
+    private long fallbacks = 0;
+
+    /**
+     * @param kinematics  Vacuum solver to sample
+     * @param minDistance Closest distance to cover, in meters
+     * @param maxDistance Farthest distance to cover, in meters
+     */
+    public ShooterSolutionTable(ShooterKinematics kinematics, double minDistance, double maxDistance) {
+        this(kinematics, minDistance, maxDistance, DEFAULT_SAMPLES);
+    }
+
+    /**
+     * @param kinematics  Vacuum solver to sample
+     * @param minDistance Closest distance to cover, in meters
+     * @param maxDistance Farthest distance to cover, in meters
+     * @param samples     Number of grid points (at least 2)
+     */
+    public ShooterSolutionTable(ShooterKinematics kinematics, double minDistance, double maxDistance,
+                                int samples) {
+        this(kinematics, kinematics, minDistance, maxDistance, samples);
+    }
+
+    /**
+     * @param kinematics  Vacuum solver; provides the geometry the table is built for
+     * @param model       Solver to sample into the table
+     * @param minDistance Closest distance to cover, in meters
+     * @param maxDistance Farthest distance to cover, in meters
+     * @param samples     Number of grid points (at least 2)
+     */
+    public ShooterSolutionTable(ShooterKinematics kinematics, LaunchSolver model,
+                                double minDistance, double maxDistance, int samples) {
+        if (samples < 2) {
+            throw new IllegalArgumentException("Solution table needs at least 2 samples: " + samples);
+        }
+        this.kinematics = kinematics;
+        this.model = model;
+        this.samples = samples;
+        this.velocity = new double[samples];
+        this.timeOfFlight = new double[samples];
+        this.intervalValid = new boolean[samples - 1];
+        setRange(minDistance, maxDistance);
+    }
+
+    /**
+     * Changes the covered distance range. The table is rebuilt on the next query.
+     *
+     * @param minDistance Closest distance to cover, in meters
+     * @param maxDistance Farthest distance to cover, in meters
+     */
+    public void setRange(double minDistance, double maxDistance) {
+        if (!(maxDistance > minDistance)) {
+            throw new IllegalArgumentException(
+                    "Invalid solution table range: " + minDistance + " to " + maxDistance);
+        }
+        this.minDistance = minDistance;
+        this.maxDistance = maxDistance;
+        this.invStep = (samples - 1) / (maxDistance - minDistance);
+        dirty = true;
+    }
+
+    /**
+     * Changes the sampled model. The table is rebuilt on the next query.
+     *
+     * @param model Solver to sample, e.g. the kinematics itself or a DragShotSolver
+     */
+    public void setModel(LaunchSolver model) {
+        this.model = model;
+        dirty = true;
+    }
+
+    /**
+     * @return The solver the table samples
+     */
+    public LaunchSolver getModel() {
+        return model;
+    }
+
+    /**
+     * Marks the table for rebuilding on the next query.
+     * Call this after changing parameters of the model other than the kinematics.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Resamples the model over the whole range and measures the interpolation error.
+     */
+    public void rebuild() {
+        builtShooterHeight = kinematics.getShooterHeight();
+        builtBasketHeight = kinematics.getBasketHeight();
+        builtLaunchAngle = kinematics.getLaunchAngle();
+
+        double step = 1.0 / invStep;
+        for (int i = 0; i < samples; i++) {
+            double d = minDistance + i * step;
+            double v = model.calculateLaunchVelocity(d);
+            double tof = v > 0 ? model.calculateTimeOfFlight(d, v) : -1;
+            velocity[i] = tof > 0 ? v : -1;
+            timeOfFlight[i] = tof;
+        }
+
+        // Linear interpolation error peaks near the middle of each interval
+        maxAbsoluteError = 0;
+        maxRelativeError = 0;
+        for (int i = 0; i < samples - 1; i++) {
+            intervalValid[i] = false;
+            if (velocity[i] <= 0 || velocity[i + 1] <= 0) continue;
+
+            double exact = model.calculateLaunchVelocity(minDistance + (i + 0.5) * step);
+            if (exact <= 0) continue;
+
+            double error = Math.abs(0.5 * (velocity[i] + velocity[i + 1]) - exact);
+            if (error > MAX_RELATIVE_ERROR * exact) continue;
+
+            intervalValid[i] = true;
+            if (error > maxAbsoluteError) maxAbsoluteError = error;
+            if (error / exact > maxRelativeError) maxRelativeError = error / exact;
+        }
+
+        dirty = false;
+        rebuilds++;
+    }
+
+    private void ensureBuilt() {
+        if (dirty
+                || kinematics.getShooterHeight() != builtShooterHeight
+                || kinematics.getBasketHeight() != builtBasketHeight
+                || kinematics.getLaunchAngle() != builtLaunchAngle) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Gets the required launch velocity for a distance.
+     * Same contract as {@link ShooterKinematics#calculateLaunchVelocity(double)}.
+     *
+     * @param horizontalDistance Distance to target in meters
+     * @return Required launch velocity in m/s, or -1 if unreachable
+     */
+    public double getLaunchVelocity(double horizontalDistance) {
+        ensureBuilt();
+        double u = (horizontalDistance - minDistance) * invStep;
+        int i = (int) u;
+        if (!(u >= 0) || i >= samples - 1 || !intervalValid[i]) {
+            // u == samples - 1 (the last grid point) also lands here; the model is exact there
+            fallbacks++;
+            return model.calculateLaunchVelocity(horizontalDistance);
+        }
+        double t = u - i;
+        return velocity[i] + t * (velocity[i + 1] - velocity[i]);
+    }
+
+    /**
+     * Gets the time of flight for a distance at the required launch velocity.
+     *
+     * @param horizontalDistance Distance to target in meters
+     * @return Time of flight in seconds, or -1 if unreachable
+     */
+    public double getTimeOfFlight(double horizontalDistance) {
+        ensureBuilt();
+        double u = (horizontalDistance - minDistance) * invStep;
+        int i = (int) u;
+        if (!(u >= 0) || i >= samples - 1 || !intervalValid[i]) {
+            fallbacks++;
+            double v = model.calculateLaunchVelocity(horizontalDistance);
+            return v > 0 ? model.calculateTimeOfFlight(horizontalDistance, v) : -1;
+        }
+        double t = u - i;
+        return timeOfFlight[i] + t * (timeOfFlight[i + 1] - timeOfFlight[i]);
+    }
+
+    /**
+     * @return Worst launch velocity error of the interpolated intervals against the model, in m/s
+     */
+    public double getMaxAbsoluteError() {
+        ensureBuilt();
+        return maxAbsoluteError;
+    }
+
+    /**
+     * @return Worst launch velocity error of the interpolated intervals, as a fraction of the exact value
+     */
+    public double getMaxRelativeError() {
+        ensureBuilt();
+        return maxRelativeError;
+    }
+
+    /**
+     * @return Number of intervals answered by interpolation
+     */
+    public int getValidIntervalCount() {
+        ensureBuilt();
+        int count = 0;
+        for (int i = 0; i < samples - 1; i++) {
+            if (intervalValid[i]) count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return Queries answered by the model instead of the table
+     */
+    public long getFallbackCount() {
+        return fallbacks;
+    }
+
+    /**
+     * @return Number of times the table has been built
+     */
+    public int getRebuildCount() {
+        return rebuilds;
+    }
+
+    public double getMinDistance() {
+        return minDistance;
+    }
+
+    public double getMaxDistance() {
+        return maxDistance;
+    }
+}
@@ -0,0 +1,199 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * Detects balls leaving the shooter from the flywheel speed.
+ *
+ * A ball squeezing through the wheels steals energy: the speed dips well below the
+ * target, bottoms out, and climbs back as the controller recovers. This watches the
+ * average of both flywheels for that dip-and-recover signature:
+ * - armed: the speed has been within the recovery tolerance of the target for a few samples
+ * - dip: while armed, the speed falls more than the dip threshold below the target
+ * - shot: the speed climbs back a third of the threshold off the bottom of the dip;
+ *   the shot is recorded with the time the dip started
+ *
+ * Spin-up from rest never counts as a shot because the detector is not armed yet,
+ * and changing the target by more than the tolerance disarms it until it settles.
+ *
+ * {@link #isRecovered()} is the "safe to feed the next ball" signal.
+ */
+public class ShotDetector {
+
+    public static final double DEFAULT_DIP_THRESHOLD = 150.0;      // RPM below target
+    public static final double DEFAULT_RECOVERY_TOLERANCE = 50.0;  // RPM from target
+    public static final int DEFAULT_RECOVERY_SAMPLES = 3;
+
+    // Dips longer than this are a stall or a target change, not a ball
+    private static final long MAX_DIP_NANOS = 1_000_000_000L;
+    private static final int HISTORY_SIZE = 16;
+
+    private final NanoClock clock;
+
+    private double dipThreshold = DEFAULT_DIP_THRESHOLD;
+    private double recoveryTolerance = DEFAULT_RECOVERY_TOLERANCE;
+    private int recoverySamples = DEFAULT_RECOVERY_SAMPLES;
+
+    private double lastTarget = 0.0;
+    private int samplesInTolerance = 0;
+    private boolean armed = false;
+    private boolean inDip = false;
+    private long dipStartNanos;
+    private double dipMinimum;
+
+    // Shot events, newest at (shotCount - 1) % HISTORY_SIZE
+    private final long[] shotTimes = new long[HISTORY_SIZE];
+    private final double[] shotDips = new double[HISTORY_SIZE];
+    private int shotCount = 0;
+
+    /**
+     * Constructs a detector on the system clock.
+     */
+    public ShotDetector() {
+        this(NanoClock.SYSTEM);
+    }
+
+    /**
+     * @param clock Time source for shot timestamps
+     */
+    public ShotDetector(NanoClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Feeds one speed sample. Call once per loop while the shooter holds a velocity target.
+     *
+     * @param leftRPM   Left flywheel speed
+     * @param rightRPM  Right flywheel speed
+     * @param targetRPM Commanded speed; 0 or less disarms the detector
+     */
+    public void update(double leftRPM, double rightRPM, double targetRPM) {
+        if (!(targetRPM > 0)) {
+            disarm();
+            lastTarget = 0.0;
+            return;
+        }
+        if (Math.abs(targetRPM - lastTarget) > recoveryTolerance) {
+            disarm();
+        }
+        lastTarget = targetRPM;
+
+        double rpm = 0.5 * (leftRPM + rightRPM);
+        double error = targetRPM - rpm;
+        long now = clock.nanoTime();
+
+        if (inDip) {
+            if (rpm < dipMinimum) {
+                dipMinimum = rpm;
+            }
+            if (rpm >= dipMinimum + dipThreshold / 3.0) {
+                recordShot(dipStartNanos, targetRPM - dipMinimum);
+                inDip = false;
+            } else if (now - dipStartNanos > MAX_DIP_NANOS) {
+                inDip = false;
+            }
+        } else if (armed && error > dipThreshold) {
+            inDip = true;
+            armed = false;
+            dipStartNanos = now;
+            dipMinimum = rpm;
+        }
+
+        if (Math.abs(error) <= recoveryTolerance) {
+            samplesInTolerance++;
+            if (samplesInTolerance >= recoverySamples && !inDip) {
+                armed = true;
+            }
+        } else {
+            samplesInTolerance = 0;
+        }
+    }
+
+    private void recordShot(long timeNanos, double dipRPM) {
+        int slot = shotCount % HISTORY_SIZE;
+        shotTimes[slot] = timeNanos;
+        shotDips[slot] = dipRPM;
+        shotCount++;
+    }
+
+    private void disarm() {
+        armed = false;
+        inDip = false;
+        samplesInTolerance = 0;
+    }
+
+    /**
+     * Forgets the current dip and recovery state. Shot history is kept.
+     */
+    public void reset() {
+        disarm();
+        lastTarget = 0.0;
+    }
+
+    /**
+     * @return true if the flywheels have been back within tolerance for enough samples
+     */
+    public boolean isRecovered() {
+        return armed;
+    }
+
+    /**
+     * @return true while a dip is in progress
+     */
+    public boolean isInDip() {
+        return inDip;
+    }
+
+    /**
+     * @return Shots detected since construction
+     */
+    public int getShotCount() {
+        return shotCount;
+    }
+
+    /**
+     * @return Time the last shot's dip started, from the detector's clock (0 if none)
+     */
+    public long getLastShotNanos() {
+        return shotCount > 0 ? shotTimes[(shotCount - 1) % HISTORY_SIZE] : 0L;
+    }
+
+    /**
+     * @return Depth of the last shot's dip below target in RPM (0 if none)
+     */
+    public double getLastDipRPM() {
+        return shotCount > 0 ? shotDips[(shotCount - 1) % HISTORY_SIZE] : 0.0;
+    }
+
+    /**
+     * Gets the timestamp of a recent shot.
+     *
+     * @param shotIndex Shot number, 0-based; only the last 16 are kept
+     * @return Time the dip started, from the detector's clock
+     */
+    public long getShotNanos(int shotIndex) {
+        if (shotIndex < 0 || shotIndex >= shotCount || shotIndex < shotCount - HISTORY_SIZE) {
+            throw new IllegalArgumentException("Shot not in history: " + shotIndex);
+        }
+        return shotTimes[shotIndex % HISTORY_SIZE];
+    }
+
+    /**
+     * @param rpm Drop below target that starts a dip
+     */
+    public void setDipThreshold(double rpm) {
+        this.dipThreshold = Math.abs(rpm);
+    }
+
+    /**
+     * @param rpm Distance from target that counts as recovered
+     */
+    public void setRecoveryTolerance(double rpm) {
+        this.recoveryTolerance = Math.abs(rpm);
+    }
+
+    /**
+     * @param samples Consecutive samples within tolerance before the detector re-arms
+     */
+    public void setRecoverySamples(int samples) {
+        this.recoverySamples = Math.max(1, samples);
+    }
+}
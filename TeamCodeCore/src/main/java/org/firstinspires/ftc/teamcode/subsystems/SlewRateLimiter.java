@@ -0,0 +1,71 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * Limits how fast a value may change per second.
+ *
+ * Replaces per-iteration ramping (a fixed step every loop), which made the ramp
+ * time depend on how fast the loop happened to run.
+ */
+public class SlewRateLimiter {
+
+    private double maxRatePerSecond;
+    private double value;
+
+    /**
+     * @param maxRatePerSecond Largest allowed change per second
+     */
+    public SlewRateLimiter(double maxRatePerSecond) {
+        this(maxRatePerSecond, 0.0);
+    }
+
+    /**
+     * @param maxRatePerSecond Largest allowed change per second
+     * @param initialValue     Starting output value
+     */
+    public SlewRateLimiter(double maxRatePerSecond, double initialValue) {
+        this.maxRatePerSecond = Math.abs(maxRatePerSecond);
+        this.value = initialValue;
+    }
+
+    /**
+     * Moves the output toward the target by at most maxRate * dt.
+     *
+     * @param target    Desired value
+     * @param dtSeconds Time since the previous call in seconds
+     * @return Rate-limited value
+     */
+    public double calculate(double target, double dtSeconds) {
+        double maxStep = maxRatePerSecond * Math.max(0.0, dtSeconds);
+        double diff = target - value;
+
+        if (Math.abs(diff) <= maxStep) {
+            value = target;
+        } else {
+            value += Math.signum(diff) * maxStep;
+        }
+        return value;
+    }
+
+    /**
+     * Jumps the output straight to a value.
+     *
+     * @param value New output value
+     */
+    public void reset(double value) {
+        this.value = value;
+    }
+
+    /**
+     * @return Last output value
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * @param maxRatePerSecond Largest allowed change per second
+     */
+    public void setMaxRate(double maxRatePerSecond) {
+        this.maxRatePerSecond = Math.abs(maxRatePerSecond);
+    }
+}
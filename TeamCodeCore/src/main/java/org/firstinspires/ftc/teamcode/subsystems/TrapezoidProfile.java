@@ -0,0 +1,155 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+/**
+ * Trapezoidal motion profile: accelerate, cruise, decelerate to a stop at the goal.
+ *
+ * Planning can start from a moving state, so a mechanism that gets a new goal every
+ * loop (a turret tracking a target) replans from where its previous profile was
+ * instead of jerking to a stop. If the start speed is too high to stop in time the
+ * profile decelerates immediately and overshoots; same behavior as WPILib's.
+ *
+ * {@link #calculate(double)} writes the sample into fields, so sampling allocates nothing.
+ */
+public class TrapezoidProfile {
+
+    private double maxVelocity;
+    private double maxAcceleration;
+
+    // Plan, stored in the "positive direction" frame
+    private double direction = 1.0;
+    private double startPosition;
+    private double startVelocity;
+    private double goalPosition;
+    private double endAccel;
+    private double endFullSpeed;
+    private double endDecel;
+
+    // Last sample
+    private double position;
+    private double velocity;
+    private double acceleration;
+
+    /**
+     * @param maxVelocity     Cruise speed (units/s)
+     * @param maxAcceleration Acceleration and deceleration (units/s^2)
+     */
+    public TrapezoidProfile(double maxVelocity, double maxAcceleration) {
+        setConstraints(maxVelocity, maxAcceleration);
+    }
+
+    /**
+     * Changes the limits. Takes effect on the next {@link #plan}.
+     *
+     * @param maxVelocity     Cruise speed (units/s)
+     * @param maxAcceleration Acceleration and deceleration (units/s^2)
+     */
+    public void setConstraints(double maxVelocity, double maxAcceleration) {
+        if (!(maxVelocity > 0) || !(maxAcceleration > 0)) {
+            throw new IllegalArgumentException(
+                    "Profile constraints must be positive: " + maxVelocity + ", " + maxAcceleration);
+        }
+        this.maxVelocity = maxVelocity;
+        this.maxAcceleration = maxAcceleration;
+    }
+
+    /**
+     * Plans a move from a (possibly moving) state to rest at the goal.
+     *
+     * @param fromPosition Start position
+     * @param fromVelocity Start velocity
+     * @param toPosition   Goal position
+     */
+    public void plan(double fromPosition, double fromVelocity, double toPosition) {
+        direction = fromPosition > toPosition ? -1.0 : 1.0;
+        startPosition = fromPosition * direction;
+        startVelocity = Math.max(-maxVelocity, Math.min(maxVelocity, fromVelocity * direction));
+        goalPosition = toPosition * direction;
+
+        double a = maxAcceleration;
+        // Pretend the move started from rest earlier so one formula covers a moving start
+        double cutoffBegin = startVelocity / a;
+        double cutoffDistBegin = cutoffBegin * cutoffBegin * a / 2.0;
+
+        double fullTrapezoidDist = cutoffDistBegin + (goalPosition - startPosition);
+        double accelTime = maxVelocity / a;
+        double fullSpeedDist = fullTrapezoidDist - accelTime * accelTime * a;
+
+        // Too short to reach cruise speed: triangle profile
+        if (fullSpeedDist < 0) {
+            accelTime = Math.sqrt(Math.max(0.0, fullTrapezoidDist) / a);
+            fullSpeedDist = 0;
+        }
+
+        endAccel = accelTime - cutoffBegin;
+        endFullSpeed = endAccel + fullSpeedDist / maxVelocity;
+        endDecel = endFullSpeed + accelTime;
+
+        calculate(0.0);
+    }
+
+    /**
+     * Samples the plan. Results are read with the getters.
+     *
+     * @param t Seconds since {@link #plan}
+     */
+    public void calculate(double t) {
+        double a = maxAcceleration;
+        double p;
+        double v;
+        double acc;
+        if (t < endAccel) {
+            v = startVelocity + t * a;
+            p = startPosition + (startVelocity + t * a / 2.0) * t;
+            acc = a;
+        } else if (t < endFullSpeed) {
+            double cruise = startVelocity + endAccel * a;
+            v = cruise;
+            p = startPosition + (startVelocity + endAccel * a / 2.0) * endAccel
+                    + cruise * (t - endAccel);
+            acc = 0;
+        } else if (t <= endDecel) {
+            double remaining = endDecel - t;
+            v = remaining * a;
+            p = goalPosition - (remaining * a / 2.0) * remaining;
+            acc = -a;
+        } else {
+            v = 0;
+            p = goalPosition;
+            acc = 0;
+        }
+        position = p * direction;
+        velocity = v * direction;
+        acceleration = acc * direction;
+    }
+
+    /**
+     * @param t Seconds since {@link #plan}
+     * @return true once the profile has reached the goal
+     */
+    public boolean isFinished(double t) {
+        return t > endDecel;
+    }
+
+    /**
+     * @return Total duration of the plan in seconds
+     */
+    public double getTotalTime() {
+        return Math.max(0.0, endDecel);
+    }
+
+    public double getPosition() {
+        return position;
+    }
+
+    public double getVelocity() {
+        return velocity;
+    }
+
+    public double getAcceleration() {
+        return acceleration;
+    }
+
+    public double getGoal() {
+        return goalPosition * direction;
+    }
+}
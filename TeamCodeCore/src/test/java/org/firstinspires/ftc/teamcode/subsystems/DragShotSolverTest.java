@@ -0,0 +1,82 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.DoubleRange;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for DragShotSolver against the vacuum kinematics and its own trajectories.
+ */
+class DragShotSolverTest {
+
+    private final ShooterKinematics kinematics = new ShooterKinematics(0.3, 1.2, 45);
+
+    @Property(tries = 50)
+    void testWithoutDragMatchesVacuum(@ForAll @DoubleRange(min = 1.0, max = 6.0) double distance) {
+        DragShotSolver solver = new DragShotSolver(kinematics);
+        solver.configureBall(DragShotSolver.DEFAULT_BALL_MASS, DragShotSolver.DEFAULT_BALL_DIAMETER, 0.0, 0.0);
+
+        double vacuum = kinematics.calculateLaunchVelocity(distance);
+        double v = solver.calculateLaunchVelocity(distance);
+        // The crossing is interpolated within one integration step
+        assertEquals(vacuum, v, 1e-3 * vacuum);
+        assertEquals(kinematics.calculateTimeOfFlight(distance, vacuum), solver.calculateTimeOfFlight(distance, v), 1e-3);
+    }
+
+    @Test
+    void testDragNeedsMoreSpeedAndGrowsWithDistance() {
+        DragShotSolver solver = new DragShotSolver(kinematics);
+        double last = 0.0;
+        // Past the minimum-speed distance the required speed only grows
+        for (double d = 2.0; d <= 6.0; d += 0.25) {
+            double v = solver.calculateLaunchVelocity(d);
+            assertTrue(v > kinematics.calculateLaunchVelocity(d), "no drag penalty at " + d);
+            assertTrue(v > last, "not monotonic at " + d);
+            assertEquals(kinematics.getBasketHeight(), solver.calculateHeightAtDistance(v, d), 1e-4);
+            last = v;
+        }
+    }
+
+    @Test
+    void testLiftNeedsLessSpeedAndStillHitsTheTarget() {
+        DragShotSolver solver = new DragShotSolver(kinematics);
+        double noLift = solver.calculateLaunchVelocity(3.0);
+        for (double lift = 0.2; lift <= 1.0; lift += 0.2) {
+            solver.configureBall(DragShotSolver.DEFAULT_BALL_MASS, DragShotSolver.DEFAULT_BALL_DIAMETER,
+                    DragShotSolver.DEFAULT_DRAG_COEFFICIENT, lift);
+            double v = solver.calculateLaunchVelocity(3.0);
+            assertTrue(v > 0 && v < noLift, "lift " + lift + " gave " + v);
+            assertEquals(kinematics.getBasketHeight(), solver.calculateHeightAtDistance(v, 3.0), 1e-4);
+        }
+    }
+
+    @Test
+    void testRangeEdges() {
+        DragShotSolver solver = new DragShotSolver(kinematics);
+
+        // Too close for a 45 degree shot to climb to the basket, and not a distance at all
+        assertEquals(-1.0, solver.calculateLaunchVelocity(0.5), 0.0);
+        assertEquals(-1.0, solver.calculateLaunchVelocity(0.0), 0.0);
+        assertEquals(-1.0, solver.calculateLaunchVelocity(Double.NaN), 0.0);
+
+        // Just past the vacuum edge the drag answer is finite and hits the target
+        double edge = (kinematics.getBasketHeight() - kinematics.getShooterHeight()) + 0.05;
+        double v = solver.calculateLaunchVelocity(edge);
+        assertTrue(v > kinematics.calculateLaunchVelocity(edge), "edge gave " + v);
+        assertEquals(kinematics.getBasketHeight(), solver.calculateHeightAtDistance(v, edge), 1e-4);
+
+        // A shot that lands short never reaches the distance
+        assertEquals(-1.0, solver.calculateTimeOfFlight(5.0, 2.0), 0.0);
+        assertTrue(Double.isNaN(solver.calculateHeightAtDistance(2.0, 5.0)));
+    }
+
+    @Test
+    void testRejectsBadBall() {
+        DragShotSolver solver = new DragShotSolver(kinematics);
+        assertThrows(IllegalArgumentException.class, () -> solver.configureBall(0.0, 0.127, 0.47, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> solver.configureBall(0.075, -1.0, 0.47, 0.0));
+    }
+}
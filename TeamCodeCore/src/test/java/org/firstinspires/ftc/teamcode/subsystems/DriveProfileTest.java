@@ -0,0 +1,148 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.DoubleRange;
+import net.jqwik.api.constraints.Size;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for DriveProfile and the JerkLimiter behind it.
+ */
+class DriveProfileTest {
+
+    private static final double MAX_POWER = 0.85;
+
+    /** Seconds until forward power first reaches the target, driving at a fixed loop period. */
+    private static double timeToFullForward(double period) {
+        DriveProfile profile = new DriveProfile(MAX_POWER);
+        double t = 0.0;
+        while (profile.getFrontLeft() < MAX_POWER && t < 5.0) {
+            profile.calculate(0, 1, 0, 0, period);
+            t += period;
+        }
+        return t;
+    }
+
+    @Test
+    void testRampTimeDoesNotDependOnLoopRate() {
+        double at50Hz = timeToFullForward(0.02);
+        double at200Hz = timeToFullForward(0.005);
+        double at20Hz = timeToFullForward(0.05);
+
+        assertTrue(at50Hz > 0.1 && at50Hz < 1.0, "ramp " + at50Hz);
+        assertEquals(at50Hz, at200Hz, 0.02);
+        assertEquals(at50Hz, at20Hz, 0.05);
+    }
+
+    @Test
+    void testJerkLimiterRampsTheRateAndSettlesOnTarget() {
+        double maxRate = 7.5;
+        double maxJerk = 75.0;
+        double dt = 0.01;
+        JerkLimiter limiter = new JerkLimiter(maxRate, maxJerk);
+
+        double lastRate = 0.0;
+        for (int i = 0; i < 100; i++) {
+            double value = limiter.calculate(1.0, dt);
+            assertTrue(value <= 1.0, "overshot to " + value);
+            if (value < 1.0) {
+                assertTrue(Math.abs(limiter.getRate() - lastRate) <= maxJerk * dt + 1e-9,
+                        "rate jumped from " + lastRate + " to " + limiter.getRate());
+            }
+            assertTrue(limiter.getRate() <= maxRate + 1e-9);
+            lastRate = limiter.getRate();
+        }
+        assertEquals(1.0, limiter.getValue(), 0.0);
+        assertEquals(0.0, limiter.getRate(), 0.0);
+    }
+
+    @Property(tries = 100)
+    void testInfiniteJerkMatchesSlewRateLimiter(@ForAll @Size(50) List<@DoubleRange(min = -1, max = 1) Double> targets) {
+        JerkLimiter jerk = new JerkLimiter(7.5, Double.POSITIVE_INFINITY);
+        SlewRateLimiter slew = new SlewRateLimiter(7.5);
+        for (double target : targets) {
+            assertEquals(slew.calculate(target, 0.02), jerk.calculate(target, 0.02), 1e-12);
+        }
+    }
+
+    @Property(tries = 200)
+    void testWheelsNeverChangeFasterThanTheBelts(
+            @ForAll @Size(40) List<@DoubleRange(min = -1, max = 1) Double> sticks,
+            @ForAll @Size(40) List<@DoubleRange(min = 0.01, max = 0.2) Double> periods,
+            @ForAll @DoubleRange(min = -3.14, max = 3.14) double heading) {
+        DriveProfile profile = new DriveProfile(new MecanumKinematics(MAX_POWER), 50.0, Double.POSITIVE_INFINITY);
+        double maxStep = DriveProfile.DEFAULT_MAX_STEP_SECONDS;
+        double limit = DriveProfile.DEFAULT_MAX_WHEEL_RATE;
+
+        double[] last = new double[4];
+        for (int i = 0; i < sticks.size(); i++) {
+            double dt = periods.get(i);
+            profile.calculate(sticks.get(i), sticks.get((i + 7) % sticks.size()), sticks.get((i + 13) % sticks.size()),
+                    heading + 0.1 * i, dt);
+            double[] now = {profile.getFrontLeft(), profile.getBackLeft(), profile.getFrontRight(), profile.getBackRight()};
+            for (int w = 0; w < 4; w++) {
+                assertTrue(Math.abs(now[w] - last[w]) <= limit * Math.min(dt, maxStep) + 1e-9,
+                        "wheel " + w + " stepped " + (now[w] - last[w]) + " in " + dt + " s");
+                assertTrue(Math.abs(now[w]) <= MAX_POWER + 1e-12);
+            }
+            last = now;
+        }
+        assertTrue(profile.getPeakWheelRate() <= limit + 1e-9);
+        assertTrue(profile.getPeakRequestedWheelRate() >= profile.getPeakWheelRate());
+    }
+
+    @Test
+    void testBeltCapKeepsWheelRatioAndCountsTheEvent() {
+        // Chassis limits far above the belts, so the belt cap does all the limiting
+        DriveProfile profile = new DriveProfile(new MecanumKinematics(MAX_POWER), 1000.0, Double.POSITIVE_INFINITY);
+        MecanumKinematics direct = new MecanumKinematics(MAX_POWER);
+        direct.calculate(0.3, 0.6, 0.1, 0);
+
+        profile.calculate(0.3, 0.6, 0.1, 0, 0.02);
+        assertTrue(profile.isBeltLimited());
+        assertEquals(DriveProfile.DEFAULT_MAX_WHEEL_RATE, profile.getWheelRate(), 1e-9);
+        double ratio = profile.getFrontLeft() / direct.getFrontLeft();
+        assertEquals(ratio, profile.getBackLeft() / direct.getBackLeft(), 1e-9);
+        assertEquals(ratio, profile.getFrontRight() / direct.getFrontRight(), 1e-9);
+        assertEquals(ratio, profile.getBackRight() / direct.getBackRight(), 1e-9);
+
+        for (int i = 0; i < 50; i++) {
+            profile.calculate(0.3, 0.6, 0.1, 0, 0.02);
+        }
+        assertFalse(profile.isBeltLimited());
+        assertEquals(direct.getFrontLeft(), profile.getFrontLeft(), 1e-12);
+        assertEquals(1, profile.getBeltLimitedEvents());
+        assertTrue(profile.getBeltLimitedSeconds() > 0.0 && profile.getBeltLimitedSeconds() < 0.2,
+                "limited " + profile.getBeltLimitedSeconds());
+        assertTrue(profile.getPeakRequestedWheelRate() > DriveProfile.DEFAULT_MAX_WHEEL_RATE);
+    }
+
+    @Test
+    void testStallDoesNotJump() {
+        DriveProfile profile = new DriveProfile(MAX_POWER);
+        profile.calculate(0, 1, 0, 0, 0.5);
+
+        assertEquals(1, profile.getStalls());
+        assertTrue(profile.getFrontLeft() <= DriveProfile.DEFAULT_MAX_WHEEL_RATE * DriveProfile.DEFAULT_MAX_STEP_SECONDS,
+                "jumped to " + profile.getFrontLeft());
+
+        // The stall counts as one max step of belt-limited time, not its whole length
+        DriveProfile capped = new DriveProfile(new MecanumKinematics(MAX_POWER), 1000.0, Double.POSITIVE_INFINITY);
+        capped.calculate(0, 1, 0, 0, 0.5);
+        assertTrue(capped.isBeltLimited());
+        assertEquals(DriveProfile.DEFAULT_MAX_STEP_SECONDS, capped.getBeltLimitedSeconds(), 1e-12);
+    }
+
+    @Test
+    void testRejectsBadLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new JerkLimiter(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new JerkLimiter(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> new DriveProfile(MAX_POWER).setMaxWheelRate(0));
+        assertThrows(IllegalArgumentException.class, () -> new DriveProfile(MAX_POWER).setMaxStepSeconds(Double.NaN));
+    }
+}
@@ -0,0 +1,191 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-trip tests for FlightRecorder and FlightLogReader.
+ */
+class FlightRecorderTest {
+
+    @TempDir
+    File dir;
+
+    private final long[] now = {1_000_000L};
+
+    private void fill(FlightSample sample, int i) {
+        sample.setDrive(0.1 * (i % 10), -0.2, 0.3, -0.4);
+        sample.setShooter(3000 + i, 3010 + i, 3050);
+        sample.setTurret(0.25, -i, 12.5);
+        sample.setVision(i % 2 == 0, 1.5, -2.5, 0.75);
+        sample.addTag(20);
+        sample.addTag(24);
+        sample.setPose(true, 72.0 + i, 36.0, Math.PI / 2);
+        sample.setBatteryVoltage(12.6);
+        sample.setStep(i / 10);
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        File log = new File(dir, "logs/test.flr");
+        FlightRecorder recorder = new FlightRecorder(64, () -> now[0]);
+        assertTrue(recorder.start(log, "RedAuto"));
+
+        for (int i = 0; i < 20; i++) {
+            fill(recorder.getSample(), i);
+            recorder.record();
+            now[0] += 20_000_000L;
+        }
+        recorder.stop();
+        assertFalse(recorder.isRecording());
+
+        FlightLogReader reader = new FlightLogReader(log);
+        assertEquals("RedAuto", reader.getOpModeName());
+        assertEquals(20, reader.getRecordCount());
+        assertEquals(0, reader.getFirstSequence());
+        assertEquals(headerPlus(64), log.length());
+
+        FlightSample sample = new FlightSample();
+        assertTrue(reader.read(7, sample));
+        assertEquals(7, sample.getSequence());
+        assertEquals(7 * 20_000_000L, sample.getTimeNanos());
+        assertEquals(0.7, sample.getFrontLeftPower(), 1e-6);
+        assertEquals(-0.4, sample.getBackRightPower(), 1e-6);
+        assertEquals(3007, sample.getLeftRPM(), 1e-3);
+        assertEquals(3050, sample.getTargetRPM(), 1e-3);
+        assertEquals(-7, sample.getTurretTicks());
+        assertEquals(12.5, sample.getTurretTargetDegrees(), 1e-6);
+        assertFalse(sample.hasVisionTarget());
+        assertEquals(-2.5, sample.getTy(), 1e-6);
+        assertEquals(2, sample.getTagCount());
+        assertEquals(24, sample.getTagId(1));
+        assertTrue(sample.isPoseValid());
+        assertEquals(79.0, sample.getPoseX(), 0.0);
+        assertEquals(Math.PI / 2, sample.getPoseHeading(), 0.0);
+        assertEquals(12.6, sample.getBatteryVoltage(), 1e-5);
+        assertEquals(0, sample.getStep());
+
+        assertFalse(reader.read(20, sample));
+    }
+
+    private static long headerPlus(int records) {
+        return FlightRecorder.HEADER_SIZE + (long) records * FlightRecorder.RECORD_SIZE;
+    }
+
+    @Test
+    void testRingKeepsNewestRecords() throws IOException {
+        File log = new File(dir, "ring.flr");
+        FlightRecorder recorder = new FlightRecorder(16, () -> now[0]);
+        assertTrue(recorder.start(log, "TeleOp"));
+        for (int i = 0; i < 40; i++) {
+            fill(recorder.getSample(), i);
+            recorder.record();
+        }
+        recorder.stop();
+
+        FlightLogReader reader = new FlightLogReader(log);
+        assertEquals(40, reader.getRecordCount());
+        assertEquals(24, reader.getFirstSequence());
+
+        FlightSample sample = new FlightSample();
+        assertFalse(reader.read(23, sample));
+        for (long seq = 24; seq < 40; seq++) {
+            assertTrue(reader.read(seq, sample));
+            assertEquals(3000 + seq, sample.getLeftRPM(), 1e-3);
+        }
+    }
+
+    @Test
+    void testReaderRecoversCountAfterPowerLoss() throws IOException {
+        File log = new File(dir, "crash.flr");
+        FlightRecorder recorder = new FlightRecorder(32, () -> now[0]);
+        assertTrue(recorder.start(log, "TeleOp"));
+        for (int i = 0; i < 10; i++) {
+            fill(recorder.getSample(), i);
+            recorder.record();
+        }
+        recorder.stop();
+
+        try (RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+            // Header count never written back
+            file.seek(FlightRecorder.H_RECORD_COUNT);
+            file.write(new byte[8]);
+            // Last record torn: its sequence was not written
+            file.seek(FlightRecorder.HEADER_SIZE + 9L * FlightRecorder.RECORD_SIZE);
+            file.write(new byte[]{-1, -1, -1, -1, -1, -1, -1, -1});
+        }
+
+        FlightLogReader reader = new FlightLogReader(log);
+        assertEquals(9, reader.getRecordCount());
+        assertFalse(reader.read(9, new FlightSample()));
+    }
+
+    @Test
+    void testRecordWithoutStartIsIgnored() {
+        FlightRecorder recorder = new FlightRecorder(8, () -> now[0]);
+        recorder.record();
+        recorder.stop();
+        assertEquals(0, recorder.getRecordCount());
+    }
+
+    @Test
+    void testStartFailureIsReported() throws IOException {
+        File notADirectory = new File(dir, "file");
+        assertTrue(notADirectory.createNewFile());
+
+        FlightRecorder recorder = new FlightRecorder(8, () -> now[0]);
+        assertFalse(recorder.start(new File(notADirectory, "log.flr"), "TeleOp"));
+        assertNotNull(recorder.getError());
+        assertFalse(recorder.isRecording());
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        File junk = new File(dir, "junk.flr");
+        try (RandomAccessFile file = new RandomAccessFile(junk, "rw")) {
+            file.setLength(4096);
+        }
+        assertThrows(IOException.class, () -> new FlightLogReader(junk));
+    }
+
+    @Test
+    void testPruneKeepsTheNewestLogs() throws IOException {
+        File logs = new File(dir, "flightlogs");
+        assertEquals(0, FlightRecorder.pruneLogs(logs, 3)); // not created yet
+        assertTrue(logs.mkdirs());
+
+        long base = 1_700_000_000_000L;
+        for (int i = 0; i < 6; i++) {
+            File log = new File(logs, "TeleOp-" + i + FlightRecorder.LOG_EXTENSION);
+            assertTrue(log.createNewFile());
+            assertTrue(log.setLastModified(base + i * 60_000L));
+        }
+        File other = new File(logs, "notes.txt");
+        assertTrue(other.createNewFile());
+        assertTrue(other.setLastModified(base - 60_000L));
+
+        assertEquals(3, FlightRecorder.pruneLogs(logs, 3));
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i >= 3, new File(logs, "TeleOp-" + i + FlightRecorder.LOG_EXTENSION).exists(), "log " + i);
+        }
+        assertTrue(other.exists());
+        assertEquals(0, FlightRecorder.pruneLogs(logs, 3));
+    }
+
+    @Test
+    void testExtraTagsAreDropped() {
+        FlightSample sample = new FlightSample();
+        sample.setVision(true, 0, 0, 0);
+        for (int i = 0; i < FlightSample.MAX_TAGS + 3; i++) {
+            sample.addTag(i);
+        }
+        assertEquals(FlightSample.MAX_TAGS, sample.getTagCount());
+        assertThrows(IllegalArgumentException.class, () -> sample.getTagId(FlightSample.MAX_TAGS));
+    }
+}
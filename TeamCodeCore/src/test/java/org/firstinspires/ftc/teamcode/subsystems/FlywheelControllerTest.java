@@ -0,0 +1,156 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.DoubleRange;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for FlywheelController against a simulated flywheel.
+ */
+class FlywheelControllerTest {
+
+    private static final long LOOP_NANOS = 5_000_000L; // 200 Hz caller
+    private static final double SIM_STEP = 0.001;       // s
+
+    /**
+     * Flywheel following V = kS * sign(w) + kV * w + kA * dw/dt, with constants
+     * deliberately off from the controller defaults.
+     */
+    private static class FlywheelPlant {
+        final double kS = 0.3;
+        final double kV = 0.0021;
+        final double kA = 0.00065;
+        double rpm = 0.0;
+
+        void step(double power, double batteryVoltage, double dt) {
+            double volts = power * batteryVoltage;
+            double friction = rpm != 0 ? kS * Math.signum(rpm) : 0.0;
+            double accel = (volts - friction - kV * rpm) / kA;
+            if (rpm == 0 && Math.abs(volts) <= kS) accel = 0;
+            rpm += accel * dt;
+        }
+    }
+
+    /** Closed loop of controller, plant and a shared fake clock. */
+    private static class Rig {
+        final long[] now = {0L};
+        final FlywheelController controller = new FlywheelController(100.0, () -> now[0]);
+        final FlywheelPlant plant = new FlywheelPlant();
+        double batteryVoltage = 12.0;
+
+        void run(double targetRPM, double seconds) {
+            long loops = Math.round(seconds * 1e9 / LOOP_NANOS);
+            for (long i = 0; i < loops; i++) {
+                double power = controller.calculate(targetRPM, plant.rpm, batteryVoltage);
+                int substeps = (int) Math.round(LOOP_NANOS * 1e-9 / SIM_STEP);
+                for (int k = 0; k < substeps; k++) {
+                    plant.step(power, batteryVoltage, SIM_STEP);
+                }
+                now[0] += LOOP_NANOS;
+            }
+        }
+
+        /** Seconds until the plant stays within tolerance of the target, or -1. */
+        double settleTime(double targetRPM, double tolerance, double maxSeconds) {
+            double settledAt = -1;
+            long loops = Math.round(maxSeconds * 1e9 / LOOP_NANOS);
+            for (long i = 0; i < loops; i++) {
+                run(targetRPM, LOOP_NANOS * 1e-9);
+                boolean inside = Math.abs(plant.rpm - targetRPM) <= tolerance;
+                if (inside && settledAt < 0) settledAt = (i + 1) * LOOP_NANOS * 1e-9;
+                if (!inside) settledAt = -1;
+            }
+            return settledAt;
+        }
+    }
+
+    @Test
+    void testSpinUpSettlesWithoutLargeOvershoot() {
+        Rig rig = new Rig();
+        double settle = rig.settleTime(3000, 30, 2.0);
+
+        assertTrue(settle > 0 && settle < 1.0, "settle time " + settle);
+        assertEquals(3000, rig.plant.rpm, 30);
+    }
+
+    @Test
+    void testOvershootIsSmall() {
+        Rig rig = new Rig();
+        double peak = 0;
+        for (int i = 0; i < 400; i++) {
+            rig.run(3000, LOOP_NANOS * 1e-9);
+            peak = Math.max(peak, rig.plant.rpm);
+        }
+        assertTrue(peak < 3000 * 1.05, "peak " + peak);
+    }
+
+    /**
+     * Property: steady state speed does not depend on battery voltage.
+     */
+    @Property(tries = 20)
+    void testVoltageCompensation(@ForAll @DoubleRange(min = 10.5, max = 13.5) double batteryVoltage) {
+        Rig rig = new Rig();
+        rig.batteryVoltage = batteryVoltage;
+        rig.run(3000, 2.0);
+
+        assertEquals(3000, rig.plant.rpm, 30);
+    }
+
+    @Test
+    void testBangBangRecoversAfterBall() {
+        Rig rig = new Rig();
+        rig.run(3000, 2.0);
+
+        // A ball steals a chunk of flywheel speed
+        rig.plant.rpm -= 500;
+        double power = rig.controller.calculate(3000, rig.plant.rpm, rig.batteryVoltage);
+        assertTrue(rig.controller.isBangBang());
+        assertEquals(1.0, power, 1e-9);
+
+        double settle = rig.settleTime(3000, 30, 1.0);
+        assertTrue(settle > 0 && settle < 0.4, "recovery time " + settle);
+    }
+
+    @Test
+    void testCoastsWhenFarAboveTarget() {
+        Rig rig = new Rig();
+        rig.run(3000, 2.0);
+
+        double power = rig.controller.calculate(2000, rig.plant.rpm, rig.batteryVoltage);
+        assertTrue(rig.controller.isBangBang());
+        assertEquals(0.0, power, 1e-9);
+    }
+
+    @Test
+    void testHoldsOutputBetweenPeriods() {
+        long[] now = {0L};
+        FlywheelController controller = new FlywheelController(100.0, () -> now[0]);
+
+        double first = controller.calculate(3000, 2900, 12.0);
+        now[0] += 4_000_000L;
+        assertFalse(controller.isDue());
+        assertEquals(first, controller.calculate(3000, 0, 12.0), 0.0);
+        assertEquals(1, controller.getUpdateCount());
+
+        now[0] += 6_000_000L;
+        assertTrue(controller.isDue());
+        controller.calculate(3000, 2950, 12.0);
+        assertEquals(2, controller.getUpdateCount());
+    }
+
+    @Test
+    void testZeroTargetGivesZeroPower() {
+        long[] now = {0L};
+        FlywheelController controller = new FlywheelController(100.0, () -> now[0]);
+
+        assertEquals(0.0, controller.calculate(0, 1500, 12.0), 0.0);
+    }
+
+    @Test
+    void testInvalidRateThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new FlywheelController(0, NanoClock.SYSTEM));
+    }
+}
@@ -0,0 +1,117 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for InitOrchestrator.
+ */
+class InitOrchestratorTest {
+
+    @Test
+    void testDependenciesFinishFirst() {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        InitOrchestrator init = new InitOrchestrator();
+        init.addStep("Follower", () -> {
+            sleep(30);
+            order.add("Follower");
+        });
+        init.addStep("Vision", () -> order.add("Vision"));
+        init.addStep("Paths", () -> order.add("Paths"), "Follower");
+        init.addStep("Shooter", () -> order.add("Shooter"), "Vision", "Paths");
+        init.run();
+
+        assertEquals(4, order.size());
+        assertTrue(order.indexOf("Follower") < order.indexOf("Paths"));
+        assertTrue(order.indexOf("Paths") < order.indexOf("Shooter"));
+        assertTrue(order.indexOf("Vision") < order.indexOf("Shooter"));
+    }
+
+    @Test
+    void testIndependentStepsRunConcurrently() {
+        // Each step waits for the other to start; run one at a time this would time out
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        boolean[] overlapped = new boolean[2];
+        InitOrchestrator init = new InitOrchestrator();
+        init.addStep("A", () -> overlapped[0] = awaitOther(bothStarted));
+        init.addStep("B", () -> overlapped[1] = awaitOther(bothStarted));
+        init.run();
+
+        assertTrue(overlapped[0] && overlapped[1]);
+    }
+
+    @Test
+    void testReportsStepDurations() {
+        InitOrchestrator init = new InitOrchestrator();
+        init.addStep("Slow", () -> sleep(50));
+        init.addStep("Also slow", () -> sleep(50));
+        assertEquals(-1.0, init.getStepMillis(0));
+        init.run();
+
+        assertEquals("Slow", init.getStepName(0));
+        assertTrue(init.getStepMillis(0) >= 45, "step " + init.getStepMillis(0));
+        assertTrue(init.getSequentialMillis() >= 90, "sum " + init.getSequentialMillis());
+        assertTrue(init.getTotalMillis() < init.getSequentialMillis(), "total " + init.getTotalMillis());
+    }
+
+    @Test
+    void testSequentialModeRunsInOrder() {
+        List<String> order = new ArrayList<>();
+        InitOrchestrator init = new InitOrchestrator();
+        init.setParallel(false);
+        init.addStep("A", () -> order.add("A"));
+        init.addStep("B", () -> order.add("B"));
+        init.addStep("C", () -> order.add("C"));
+        init.run();
+
+        assertEquals("[A, B, C]", order.toString());
+    }
+
+    @Test
+    void testStepFailureIsRethrown() {
+        boolean[] dependentRan = {false};
+        InitOrchestrator init = new InitOrchestrator();
+        init.addStep("Motor", () -> {
+            throw new IllegalArgumentException("Could not find motor: lf");
+        });
+        init.addStep("Drive", () -> dependentRan[0] = true, "Motor");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, init::run);
+        assertEquals("Could not find motor: lf", e.getMessage());
+        assertFalse(dependentRan[0]);
+    }
+
+    @Test
+    void testInvalidStepsThrow() {
+        InitOrchestrator init = new InitOrchestrator();
+        init.addStep("A", () -> { });
+        assertThrows(IllegalArgumentException.class, () -> init.addStep("A", () -> { }));
+        assertThrows(IllegalArgumentException.class, () -> init.addStep("B", () -> { }, "Later"));
+        assertThrows(IllegalArgumentException.class, () -> new InitOrchestrator(0, NanoClock.SYSTEM));
+    }
+
+    private static boolean awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
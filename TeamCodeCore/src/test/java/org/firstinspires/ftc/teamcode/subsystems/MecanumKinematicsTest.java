@@ -0,0 +1,67 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.DoubleRange;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MecanumKinematics against the TeleOps' original inline drive math.
+ */
+class MecanumKinematicsTest {
+
+    private static final double MAX_POWER = 0.85;
+
+    /** The drive math as it was written inline in computeDrive(). */
+    private static double[] inline(double x, double y, double rx, double botHeading) {
+        double rotX = x * Math.cos(-botHeading) - y * Math.sin(-botHeading);
+        double rotY = x * Math.sin(-botHeading) + y * Math.cos(-botHeading);
+        rotX = rotX * 1.1;
+
+        double denominator = Math.max(Math.abs(rotY) + Math.abs(rotX) + Math.abs(rx), 1);
+        double[] powers = {
+                (rotY + rotX + rx) / denominator,
+                (rotY - rotX + rx) / denominator,
+                (rotY - rotX - rx) / denominator,
+                (rotY + rotX - rx) / denominator
+        };
+        for (int i = 0; i < 4; i++) {
+            powers[i] = Math.max(-MAX_POWER, Math.min(MAX_POWER, powers[i]));
+        }
+        return powers;
+    }
+
+    @Property(tries = 200)
+    void testMatchesInlineMath(@ForAll @DoubleRange(min = -1, max = 1) double x,
+                               @ForAll @DoubleRange(min = -1, max = 1) double y,
+                               @ForAll @DoubleRange(min = -1, max = 1) double rx,
+                               @ForAll @DoubleRange(min = -3.14, max = 3.14) double heading) {
+        MecanumKinematics kinematics = new MecanumKinematics(MAX_POWER);
+        kinematics.calculate(x, y, rx, heading);
+        double[] expected = inline(x, y, rx, heading);
+
+        assertEquals(expected[0], kinematics.getFrontLeft(), 1e-12);
+        assertEquals(expected[1], kinematics.getBackLeft(), 1e-12);
+        assertEquals(expected[2], kinematics.getFrontRight(), 1e-12);
+        assertEquals(expected[3], kinematics.getBackRight(), 1e-12);
+    }
+
+    @Test
+    void testForwardDrivesAllWheelsEqually() {
+        MecanumKinematics kinematics = new MecanumKinematics(MAX_POWER);
+        kinematics.calculate(0, 0.5, 0, 0);
+
+        assertEquals(0.5, kinematics.getFrontLeft(), 1e-12);
+        assertEquals(0.5, kinematics.getBackLeft(), 1e-12);
+        assertEquals(0.5, kinematics.getFrontRight(), 1e-12);
+        assertEquals(0.5, kinematics.getBackRight(), 1e-12);
+    }
+
+    @Test
+    void testInvalidMaxPowerThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new MecanumKinematics(0));
+        assertThrows(IllegalArgumentException.class, () -> new MecanumKinematics(1.5));
+    }
+}
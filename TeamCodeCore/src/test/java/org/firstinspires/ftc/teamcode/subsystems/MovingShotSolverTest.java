@@ -0,0 +1,87 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.DoubleRange;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MovingShotSolver against the stationary solution and its own fixed point.
+ */
+class MovingShotSolverTest {
+
+    private static final double METERS_PER_INCH = 0.0254;
+    private static final double FLYWHEEL_DIAMETER = 0.1;
+
+    private final ShooterKinematics kinematics = new ShooterKinematics(0.3, 1.2, 45);
+    private final ShooterSolutionTable table = new ShooterSolutionTable(kinematics, 0.1, 5.2);
+    private final MovingShotSolver solver = new MovingShotSolver(table, kinematics, FLYWHEEL_DIAMETER);
+
+    @Test
+    void testStationaryMatchesTheStaticShot() {
+        // Goal 100 in ahead and 40 in to the left; robot facing 30 degrees
+        assertTrue(solver.solve(0, 0, Math.toRadians(30), 0, 0, 100, 40));
+
+        double distance = Math.hypot(100, 40) * METERS_PER_INCH;
+        assertTrue(solver.isConverged());
+        assertEquals(1, solver.getIterations());
+        assertEquals(100.0, solver.getVirtualX(), 0.0);
+        assertEquals(40.0, solver.getVirtualY(), 0.0);
+        assertEquals(0.0, solver.getLeadAngleDegrees(), 0.0);
+        assertEquals(Math.toDegrees(Math.atan2(40, 100)) - 30, solver.getTurretAngleDegrees(), 1e-9);
+        assertEquals(table.getTimeOfFlight(distance), solver.getTimeOfFlight(), 0.0);
+        assertEquals(kinematics.velocityToRpm(table.getLaunchVelocity(distance), FLYWHEEL_DIAMETER),
+                solver.getRequiredRPM(), 1e-9);
+    }
+
+    @Test
+    void testLeadsAgainstTheRobotVelocity() {
+        // Strafing left (+y) past a goal straight ahead: aim right of it
+        assertTrue(solver.solve(0, 0, 0, 0, 30, 100, 0));
+        assertTrue(solver.getLeadAngleDegrees() < 0, "lead " + solver.getLeadAngleDegrees());
+        assertEquals(solver.getLeadAngleDegrees(), solver.getTurretAngleDegrees(), 1e-9);
+        assertEquals(-30 * solver.getTimeOfFlight(), solver.getVirtualY(), 30 * 1e-3);
+        assertEquals(100.0, solver.getVirtualX(), 0.0);
+
+        // Driving at the goal shortens the shot, backing away lengthens it
+        solver.solve(0, 0, 0, 0, 0, 100, 0);
+        double still = solver.getRequiredRPM();
+        solver.solve(0, 0, 0, 30, 0, 100, 0);
+        double toward = solver.getRequiredRPM();
+        solver.solve(0, 0, 0, -30, 0, 100, 0);
+        double away = solver.getRequiredRPM();
+        assertTrue(toward < still && still < away, toward + " / " + still + " / " + away);
+    }
+
+    @Property(tries = 200)
+    void testConvergesToTheFixedPoint(@ForAll @DoubleRange(min = -60, max = 60) double velocityX,
+                                      @ForAll @DoubleRange(min = -60, max = 60) double velocityY,
+                                      @ForAll @DoubleRange(min = 0, max = 6.28) double bearing) {
+        double goalX = 120 * Math.cos(bearing);
+        double goalY = 120 * Math.sin(bearing);
+        assertTrue(solver.solve(0, 0, 0, velocityX, velocityY, goalX, goalY));
+        assertTrue(solver.isConverged(), "iterations " + solver.getIterations());
+        assertTrue(solver.getIterations() <= MovingShotSolver.MAX_ITERATIONS);
+
+        // The ball carries the robot velocity for the time of flight to the virtual target
+        double tof = table.getTimeOfFlight(solver.getVirtualDistance() * METERS_PER_INCH);
+        assertEquals(solver.getTimeOfFlight(), tof, 1e-9);
+        assertEquals(goalX, solver.getVirtualX() + velocityX * tof, 0.05);
+        assertEquals(goalY, solver.getVirtualY() + velocityY * tof, 0.05);
+    }
+
+    @Test
+    void testUnreachableShotIsInvalid() {
+        // Closer than a 45 degree shot can climb to the basket
+        assertFalse(solver.solve(0, 0, 0, 0, 0, 10, 0));
+        assertFalse(solver.isValid());
+
+        assertTrue(solver.solve(0, 0, 0, 0, 30, 100, 0));
+        solver.clear();
+        assertFalse(solver.isValid());
+        assertEquals(0.0, solver.getLeadAngleDegrees(), 0.0);
+        assertEquals(0.0, solver.getTurretAngleDegrees(), 0.0);
+    }
+}
@@ -0,0 +1,104 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.DoubleRange;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ShooterSolutionTable with the vacuum and the drag model.
+ */
+class ShooterSolutionTableTest {
+
+    // The TeleOp configuration
+    private static final double MIN_DISTANCE = 0.1;
+    private static final double MAX_DISTANCE = 5.2;
+
+    private final ShooterKinematics kinematics = new ShooterKinematics(0.3, 1.2, 45);
+
+    @Property(tries = 200)
+    void testTableMatchesKinematics(@ForAll @DoubleRange(min = 0.1, max = 5.2) double distance) {
+        ShooterSolutionTable table = new ShooterSolutionTable(kinematics, MIN_DISTANCE, MAX_DISTANCE);
+        double exact = kinematics.calculateLaunchVelocity(distance);
+        double v = table.getLaunchVelocity(distance);
+
+        if (exact > 0) {
+            assertEquals(exact, v, 0.001 * exact);
+            assertEquals(kinematics.calculateTimeOfFlight(distance, exact), table.getTimeOfFlight(distance),
+                    0.001 * kinematics.calculateTimeOfFlight(distance, exact));
+        } else {
+            assertEquals(-1.0, v, 0.0);
+        }
+    }
+
+    @Test
+    void testTableIsContinuousPastTheRange() {
+        ShooterSolutionTable table = new ShooterSolutionTable(kinematics, MIN_DISTANCE, MAX_DISTANCE);
+
+        double inside = table.getLaunchVelocity(MAX_DISTANCE - 0.01);
+        long fallbacks = table.getFallbackCount();
+        double outside = table.getLaunchVelocity(MAX_DISTANCE + 0.01);
+
+        // Past the table the kinematics answer
+        assertEquals(fallbacks + 1, table.getFallbackCount());
+        assertEquals(kinematics.calculateLaunchVelocity(MAX_DISTANCE + 0.01), outside, 1e-9);
+        assertEquals(inside, outside, 0.005 * inside);
+        assertTrue(outside > inside);
+
+        double tofInside = table.getTimeOfFlight(MAX_DISTANCE - 0.01);
+        double tofOutside = table.getTimeOfFlight(MAX_DISTANCE + 0.01);
+        assertEquals(tofInside, tofOutside, 0.005 * tofInside);
+    }
+
+    @Test
+    void testDragTableIsContinuousPastTheRange() {
+        DragShotSolver drag = new DragShotSolver(kinematics);
+        ShooterSolutionTable table = new ShooterSolutionTable(kinematics, drag, MIN_DISTANCE, MAX_DISTANCE,
+                ShooterSolutionTable.DEFAULT_SAMPLES);
+
+        double inside = table.getLaunchVelocity(MAX_DISTANCE - 0.01);
+        long fallbacks = table.getFallbackCount();
+        double outside = table.getLaunchVelocity(MAX_DISTANCE + 0.01);
+
+        // Past the table the drag model answers, not the vacuum kinematics (about 10% lower here)
+        assertEquals(fallbacks + 1, table.getFallbackCount());
+        assertEquals(drag.calculateLaunchVelocity(MAX_DISTANCE + 0.01), outside, 1e-9);
+        assertEquals(inside, outside, 0.005 * inside);
+        assertTrue(outside > inside);
+
+        double tofInside = table.getTimeOfFlight(MAX_DISTANCE - 0.01);
+        double tofOutside = table.getTimeOfFlight(MAX_DISTANCE + 0.01);
+        assertEquals(tofInside, tofOutside, 0.005 * tofInside);
+    }
+
+    @Test
+    void testUnreachableAndBelowRange() {
+        ShooterSolutionTable table = new ShooterSolutionTable(kinematics, 1.0, 5.0);
+
+        // Below the range the kinematics answer; too close at 45 degrees is unreachable
+        assertEquals(kinematics.calculateLaunchVelocity(0.95), table.getLaunchVelocity(0.95), 0.0);
+        assertEquals(-1.0, table.getLaunchVelocity(0.5), 0.0);
+        assertEquals(-1.0, table.getTimeOfFlight(0.5), 0.0);
+        assertEquals(3, table.getFallbackCount());
+    }
+
+    @Test
+    void testRebuildsWhenKinematicsChange() {
+        ShooterSolutionTable table = new ShooterSolutionTable(kinematics, MIN_DISTANCE, MAX_DISTANCE);
+        table.getLaunchVelocity(3.0);
+        assertEquals(1, table.getRebuildCount());
+
+        kinematics.setLaunchAngle(50);
+        assertEquals(kinematics.calculateLaunchVelocity(3.0), table.getLaunchVelocity(3.0), 0.001 * 7.0);
+        assertEquals(2, table.getRebuildCount());
+        assertTrue(table.getMaxRelativeError() <= 0.001);
+    }
+
+    @Test
+    void testRejectsBadSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new ShooterSolutionTable(kinematics, 0.1, 5.2, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ShooterSolutionTable(kinematics, 5.2, 0.1));
+    }
+}
@@ -0,0 +1,133 @@
+package org.firstinspires.ftc.teamcode.subsystems;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ShotDetector fed with synthetic flywheel RPM traces.
+ */
+class ShotDetectorTest {
+
+    private static final long LOOP_NANOS = 5_000_000L; // 200 Hz caller
+    private static final double TARGET = 3000.0;
+
+    private final long[] now = {0L};
+    private final ShotDetector detector = new ShotDetector(() -> now[0]);
+
+    /** Feeds one sample at the current time and advances one loop. */
+    private void feed(double rpm, double target) {
+        detector.update(rpm, rpm, target);
+        now[0] += LOOP_NANOS;
+    }
+
+    private void hold(double rpm, double target, int loops) {
+        for (int i = 0; i < loops; i++) {
+            feed(rpm, target);
+        }
+    }
+
+    /** A ball going through: drop by depth over 30 ms, then climb back over 100 ms. */
+    private void dip(double depth) {
+        for (int i = 1; i <= 6; i++) {
+            feed(TARGET - depth * i / 6.0, TARGET);
+        }
+        for (int i = 1; i <= 20; i++) {
+            feed(TARGET - depth + depth * i / 20.0, TARGET);
+        }
+    }
+
+    @Test
+    void testRealDipCountsOneShotAtItsStart() {
+        hold(TARGET, TARGET, 20);
+        assertTrue(detector.isRecovered());
+
+        // The fourth sample (200 below) is the first past the threshold and starts the dip
+        long dipStart = now[0] + 3 * LOOP_NANOS;
+        dip(300.0);
+
+        assertEquals(1, detector.getShotCount());
+        assertEquals(dipStart, detector.getLastShotNanos());
+        assertEquals(300.0, detector.getLastDipRPM(), 1e-9);
+        assertFalse(detector.isInDip());
+    }
+
+    @Test
+    void testSpinUpNoiseAndSetpointChangesDoNotCount() {
+        // Spin-up from rest: far below target, but never armed
+        for (int i = 0; i <= 100; i++) {
+            feed(TARGET * i / 100.0, TARGET);
+        }
+
+        // Noise inside the threshold
+        Random random = new Random(42);
+        for (int i = 0; i < 400; i++) {
+            feed(TARGET + 80.0 * (random.nextDouble() - 0.5), TARGET);
+        }
+
+        // Raising the target leaves the wheels well below it, like a dip would
+        double target = TARGET + 500.0;
+        for (int i = 0; i <= 60; i++) {
+            feed(TARGET + 500.0 * i / 60.0, target);
+        }
+        hold(target, target, 20);
+
+        // Lowering it leaves them above, which is never a dip
+        hold(target, TARGET, 5);
+        hold(TARGET, TARGET, 20);
+
+        // Stopping disarms
+        hold(0.0, 0.0, 5);
+        assertFalse(detector.isRecovered());
+
+        assertEquals(0, detector.getShotCount());
+    }
+
+    @Test
+    void testStallIsNotAShot() {
+        hold(TARGET, TARGET, 20);
+        // More than a second below target before recovering is a jam, not a ball
+        hold(TARGET - 400.0, TARGET, 250);
+        hold(TARGET, TARGET, 20);
+
+        assertEquals(0, detector.getShotCount());
+    }
+
+    @Test
+    void testReArmsOnlyAfterRecovering() {
+        hold(TARGET, TARGET, 20);
+        feed(TARGET - 300.0, TARGET);
+        feed(TARGET - 200.0, TARGET);
+        assertEquals(1, detector.getShotCount());
+        assertFalse(detector.isRecovered());
+
+        // A second ball before the wheels are back on target is not told apart from the first
+        feed(TARGET - 350.0, TARGET);
+        feed(TARGET - 200.0, TARGET);
+        assertEquals(1, detector.getShotCount(), "counted a dip before re-arming");
+
+        hold(TARGET, TARGET, ShotDetector.DEFAULT_RECOVERY_SAMPLES - 1);
+        assertFalse(detector.isRecovered());
+        feed(TARGET, TARGET);
+        assertTrue(detector.isRecovered());
+
+        long dipStart = now[0] + 3 * LOOP_NANOS;
+        dip(300.0);
+        assertEquals(2, detector.getShotCount());
+        assertEquals(dipStart, detector.getShotNanos(1));
+    }
+
+    @Test
+    void testHistoryKeepsTheLastSixteenShots() {
+        for (int shot = 0; shot < 20; shot++) {
+            hold(TARGET, TARGET, 10);
+            dip(200.0 + shot);
+        }
+        assertEquals(20, detector.getShotCount());
+        assertEquals(219.0, detector.getLastDipRPM(), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> detector.getShotNanos(3));
+        assertTrue(detector.getShotNanos(4) < detector.getShotNanos(19));
+    }
+}